@@ -137,6 +137,13 @@ public final class Check<T> {
     }
   }
 
+  public static void index(long index, long size) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %d out of bounds for dimension with size %d", index, size));
+    }
+  }
+
   public static void index(int row, int rows, int column, int columns) {
     index(row, rows);
     index(column, columns);
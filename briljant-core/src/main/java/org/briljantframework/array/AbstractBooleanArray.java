@@ -171,16 +171,19 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
   @Override
   public BooleanArray copy() {
     BooleanArray n = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      n.set(i, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor nCursor = n.cursor();
+    while (cursor.hasNext()) {
+      nCursor.setNext(getElement(cursor.next()));
     }
     return n;
   }
 
   @Override
   public void assign(boolean value) {
-    for (int i = 0; i < size(); i++) {
-      set(i, value);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
     }
   }
 
@@ -191,8 +194,9 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
 
   @Override
   public void assign(Supplier<Boolean> supplier) {
-    for (int i = 0; i < size(); i++) {
-      set(i, supplier.get());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), supplier.get());
     }
   }
 
@@ -226,24 +230,30 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
   @Override
   public BooleanArray map(Function<Boolean, Boolean> mapper) {
     BooleanArray empty = newEmptyArray(getShape());
-    for (int i = 0, size = size(); i < size; i++) {
-      empty.set(i, mapper.apply(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor emptyCursor = empty.cursor();
+    while (cursor.hasNext()) {
+      emptyCursor.setNext(mapper.apply(getElement(cursor.next())));
     }
     return empty;
   }
 
   @Override
   public void apply(UnaryOperator<Boolean> operator) {
-    for (int i = 0; i < size(); i++) {
-      set(i, operator.apply(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, operator.apply(getElement(position)));
     }
   }
 
   @Override
   public BooleanArray not() {
     BooleanArray bm = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      bm.set(i, !get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor bmCursor = bm.cursor();
+    while (cursor.hasNext()) {
+      bmCursor.setNext(!getElement(cursor.next()));
     }
     return bm;
   }
@@ -271,8 +281,9 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
 
   @Override
   public boolean any() {
-    for (int i = 0; i < size(); i++) {
-      if (get(i)) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      if (getElement(cursor.next())) {
         return true;
       }
     }
@@ -284,10 +295,23 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
     return reduceAlong(dim, BooleanArray::all);
   }
 
+  @Override
+  public int sum() {
+    int sum = 0;
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      if (getElement(cursor.next())) {
+        sum++;
+      }
+    }
+    return sum;
+  }
+
   @Override
   public boolean all() {
-    for (int i = 0; i < size(); i++) {
-      if (!get(i)) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      if (!getElement(cursor.next())) {
         return false;
       }
     }
@@ -355,6 +379,21 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
   // };
   // }
 
+  @Override
+  public BooleanCursor cursor() {
+    return new BooleanCursor(getOffset(), shape, stride) {
+      @Override
+      public boolean get() {
+        return getElement(position());
+      }
+
+      @Override
+      public void set(boolean value) {
+        setElement(position(), value);
+      }
+    };
+  }
+
   protected abstract boolean getElement(int i);
 
   protected abstract void setElement(int i, boolean value);
@@ -362,8 +401,9 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
   @Override
   public int hashCode() {
     int value = Objects.hash(getShape(), getStride());
-    for (int i = 0; i < size(); i++) {
-      value = value * 31 + Boolean.hashCode(get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      value = value * 31 + Boolean.hashCode(getElement(cursor.next()));
     }
     return value;
   }
@@ -378,8 +418,10 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
       if (!Arrays.equals(shape, o.getShape())) {
         return false;
       }
-      for (int i = 0; i < size(); i++) {
-        if (get(i) != o.get(i)) {
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      BooleanCursor oCursor = o.cursor();
+      while (cursor.hasNext()) {
+        if (getElement(cursor.next()) != oCursor.nextBoolean()) {
           return false;
         }
       }
@@ -431,8 +473,9 @@ public abstract class AbstractBooleanArray extends AbstractBaseArray<BooleanArra
     if (!(o instanceof Integer)) {
       return false;
     }
-    for (int i = 0; i < size(); i++) {
-      if (o.equals(get(i))) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      if (o.equals(getElement(cursor.next()))) {
         return true;
       }
     }
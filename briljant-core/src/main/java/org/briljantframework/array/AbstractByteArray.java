@@ -0,0 +1,295 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+
+import org.apache.commons.math3.complex.Complex;
+import org.briljantframework.Check;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * This class provides a skeletal implementation of a byte array.
+ *
+ * @author Isak Karlsson
+ */
+public abstract class AbstractByteArray extends AbstractBaseArray<ByteArray> implements ByteArray {
+
+  protected AbstractByteArray(ArrayBackend backend, int[] shape) {
+    super(backend, shape);
+  }
+
+  protected AbstractByteArray(ArrayBackend backend, int offset, int[] shape, int[] stride) {
+    super(backend, offset, shape, stride);
+  }
+
+  @Override
+  public void swap(int a, int b) {
+    int tmp = get(a);
+    set(a, get(b));
+    set(b, tmp);
+  }
+
+  @Override
+  public void setFrom(int toIndex, ByteArray from, int fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int toRow, int toColumn, ByteArray from, int fromRow, int fromColumn) {
+    set(toRow, toColumn, from.get(fromRow, fromColumn));
+  }
+
+  @Override
+  public void setFrom(int[] toIndex, ByteArray from, int[] fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int[] toIndex, ByteArray from, int fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int toIndex, ByteArray from, int[] fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public DoubleArray doubleArray() {
+    return new AsDoubleArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      protected double getElement(int i) {
+        return AbstractByteArray.this.getValue(i);
+      }
+
+      @Override
+      protected void setElement(int i, double value) {
+        AbstractByteArray.this.setElement(i, (byte) (int) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractByteArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public IntArray intArray() {
+    return new AsIntArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public int getElement(int index) {
+        return AbstractByteArray.this.getValue(index);
+      }
+
+      @Override
+      public void setElement(int index, int value) {
+        AbstractByteArray.this.setElement(index, (byte) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractByteArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public LongArray longArray() {
+    return new AsLongArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public long getElement(int index) {
+        return AbstractByteArray.this.getValue(index);
+      }
+
+      @Override
+      public void setElement(int index, long value) {
+        AbstractByteArray.this.setElement(index, (byte) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractByteArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public ComplexArray complexArray() {
+    return new AsComplexArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public Complex getElement(int index) {
+        return Complex.valueOf(AbstractByteArray.this.getValue(index));
+      }
+
+      @Override
+      public void setElement(int index, Complex value) {
+        AbstractByteArray.this.setElement(index, (byte) (int) value.getReal());
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractByteArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public final ByteArray copy() {
+    ByteArray array = newEmptyArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    int i = 0;
+    while (cursor.hasNext()) {
+      array.set(i++, getValue(cursor.next()));
+    }
+    return array;
+  }
+
+  @Override
+  public ByteArray assign(int value) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), (byte) value);
+    }
+    return this;
+  }
+
+  @Override
+  public void assign(byte[] values) {
+    Check.dimension(this.size(), values.length);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    for (byte value : values) {
+      setElement(cursor.next(), value);
+    }
+  }
+
+  @Override
+  public final int get(int i, int j) {
+    Check.argument(isMatrix());
+    return getValue(getOffset() + i * stride(0) + j * stride(1));
+  }
+
+  @Override
+  public final int get(int index) {
+    return getValue(StrideUtils.index(index, getOffset(), stride, shape));
+  }
+
+  @Override
+  public final int get(int... ix) {
+    Check.argument(ix.length == dims());
+    return getValue(StrideUtils.index(ix, getOffset(), getStride()));
+  }
+
+  @Override
+  public final void set(int index, int value) {
+    setElement(StrideUtils.index(index, getOffset(), stride, shape), (byte) value);
+  }
+
+  @Override
+  public final void set(int i, int j, int value) {
+    Check.argument(isMatrix());
+    setElement(getOffset() + i * stride(0) + j * stride(1), (byte) value);
+  }
+
+  @Override
+  public final void set(int[] ix, int value) {
+    Check.argument(ix.length == dims());
+    setElement(StrideUtils.index(ix, getOffset(), getStride()), (byte) value);
+  }
+
+  @Override
+  public byte[] data() {
+    byte[] data = new byte[size()];
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = getElement(cursor.next());
+    }
+    return data;
+  }
+
+  /**
+   * Returns the (unsigned) value of the element at the given position.
+   */
+  final int getValue(int i) {
+    return getElement(i) & 0xFF;
+  }
+
+  protected abstract void setElement(int i, byte value);
+
+  protected abstract byte getElement(int i);
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      result = 31 * result + getElement(cursor.next());
+    }
+    return Objects.hash(Arrays.hashCode(shape), result);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof ByteArray) {
+      ByteArray array = (ByteArray) obj;
+      if (!Arrays.equals(shape, array.getShape())) {
+        return false;
+      }
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      for (int i = 0; cursor.hasNext(); i++) {
+        if (getValue(cursor.next()) != array.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return ArrayPrinter.toString(this);
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return new Iterator<Integer>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size();
+      }
+
+      @Override
+      public Integer next() {
+        return get(index++);
+      }
+    };
+  }
+}
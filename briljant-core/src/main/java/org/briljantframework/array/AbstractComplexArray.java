@@ -54,8 +54,9 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
 
   @Override
   public void assign(Complex value) {
-    for (int i = 0; i < size(); i++) {
-      set(i, value);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
     }
   }
 
@@ -63,8 +64,9 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   public void assign(double[] value) {
     Check.argument(value.length == size() * 2);
     int j = 0;
-    for (int i = 0; i < size(); i++) {
-      Complex c = Complex.valueOf(value[j], value[j + 1]);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value[j], value[j + 1]);
       j += 2;
     }
   }
@@ -79,8 +81,9 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
 
   @Override
   public void assign(Supplier<Complex> supplier) {
-    for (int i = 0; i < size(); i++) {
-      set(i, supplier.get());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), supplier.get());
     }
   }
 
@@ -153,8 +156,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public ComplexArray map(UnaryOperator<Complex> operator) {
     ComplexArray m = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, operator.apply(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    ComplexCursor mCursor = m.cursor();
+    while (cursor.hasNext()) {
+      mCursor.setNext(operator.apply(getElement(cursor.next())));
     }
     return m;
   }
@@ -162,8 +167,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public IntArray mapToInt(ToIntFunction<Complex> function) {
     IntArray matrix = getArrayBackend().getArrayFactory().newIntArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, function.applyAsInt(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    IntCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(function.applyAsInt(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -171,8 +178,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public LongArray mapToLong(ToLongFunction<Complex> function) {
     LongArray matrix = getArrayBackend().getArrayFactory().newLongArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, function.applyAsLong(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(function.applyAsLong(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -180,8 +189,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public DoubleArray mapToDouble(ToDoubleFunction<Complex> function) {
     DoubleArray matrix = getArrayBackend().getArrayFactory().newDoubleArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, function.applyAsDouble(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    DoubleCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(function.applyAsDouble(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -197,16 +208,19 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
 
   @Override
   public void apply(UnaryOperator<Complex> operator) {
-    for (int i = 0; i < size(); i++) {
-      set(i, operator.apply(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, operator.apply(getElement(position)));
     }
   }
 
   @Override
   public ComplexArray filter(Predicate<Complex> predicate) {
     IncrementalBuilder builder = new IncrementalBuilder();
-    for (int i = 0; i < size(); i++) {
-      Complex value = get(i);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      Complex value = getElement(cursor.next());
       if (predicate.test(value)) {
         builder.add(value);
       }
@@ -217,8 +231,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public BooleanArray where(Predicate<Complex> predicate) {
     BooleanArray bits = getArrayBackend().getArrayFactory().newBooleanArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      bits.set(i, predicate.test(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor bitsCursor = bits.cursor();
+    while (cursor.hasNext()) {
+      bitsCursor.setNext(predicate.test(getElement(cursor.next())));
     }
     return bits;
   }
@@ -253,12 +269,25 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public Complex reduce(Complex identity, BinaryOperator<Complex> reduce,
       UnaryOperator<Complex> map) {
-    for (int i = 0; i < size(); i++) {
-      identity = reduce.apply(map.apply(get(i)), identity);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      identity = reduce.apply(map.apply(getElement(cursor.next())), identity);
     }
     return identity;
   }
 
+  @Override
+  public ComplexArray conjugate() {
+    ComplexArray n = newEmptyArray(getShape());
+    ComplexCursor to = n.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      int position = from.next();
+      to.setNext(getRealElement(position), -getImaginaryElement(position));
+    }
+    return n;
+  }
+
   @Override
   public ComplexArray conjugateTranspose() {
     ComplexArray matrix = newEmptyArray(columns(), rows());
@@ -291,6 +320,21 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
     return getElement(StrideUtils.index(index, getOffset(), stride, shape));
   }
 
+  @Override
+  public final double getReal(int index) {
+    return getRealElement(StrideUtils.index(index, getOffset(), stride, shape));
+  }
+
+  @Override
+  public final double getImaginary(int index) {
+    return getImaginaryElement(StrideUtils.index(index, getOffset(), stride, shape));
+  }
+
+  @Override
+  public final void set(int index, double real, double imaginary) {
+    setElement(StrideUtils.index(index, getOffset(), stride, shape), real, imaginary);
+  }
+
   @Override
   public final Complex get(int i, int j) {
     Check.argument(isMatrix(), REQUIRE_2D);
@@ -349,15 +393,46 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   public double[] data() {
     double[] data = new double[size() * 2];
     int j = 0;
-    for (int i = 0; i < size(); i++) {
-      Complex c = get(i);
-      data[j] = c.getReal();
-      data[j + 1] = c.getImaginary();
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      data[j] = getRealElement(position);
+      data[j + 1] = getImaginaryElement(position);
       j += 2;
     }
     return data;
   }
 
+  @Override
+  public ComplexCursor cursor() {
+    return new ComplexCursor(getOffset(), shape, stride) {
+      @Override
+      public Complex get() {
+        return getElement(position());
+      }
+
+      @Override
+      public void set(Complex value) {
+        setElement(position(), value);
+      }
+
+      @Override
+      public double getReal() {
+        return getRealElement(position());
+      }
+
+      @Override
+      public double getImaginary() {
+        return getImaginaryElement(position());
+      }
+
+      @Override
+      public void set(double real, double imaginary) {
+        setElement(position(), real, imaginary);
+      }
+    };
+  }
+
   /**
    * Gets the element at index {@code i}, ignoring offsets and strides.
    *
@@ -374,11 +449,46 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
    */
   protected abstract void setElement(int i, Complex value);
 
+  /**
+   * Returns the real part of the element at the specified position. Implementations backed by
+   * primitive storage should override this method to avoid allocating a {@link Complex}.
+   *
+   * @param i the position
+   * @return the real part
+   */
+  protected double getRealElement(int i) {
+    return getElement(i).getReal();
+  }
+
+  /**
+   * Returns the imaginary part of the element at the specified position.
+   *
+   * @param i the position
+   * @return the imaginary part
+   * @see #getRealElement(int)
+   */
+  protected double getImaginaryElement(int i) {
+    return getElement(i).getImaginary();
+  }
+
+  /**
+   * Set the real and imaginary part of the element at the specified position.
+   *
+   * @param i the position
+   * @param real the real part
+   * @param imaginary the imaginary part
+   * @see #getRealElement(int)
+   */
+  protected void setElement(int i, double real, double imaginary) {
+    setElement(i, new Complex(real, imaginary));
+  }
+
   @Override
   public int hashCode() {
     int result = 1;
-    for (int i = 0; i < size(); i++) {
-      int bits = get(i).hashCode();
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int bits = getElement(cursor.next()).hashCode();
       result = 31 * result + bits;
     }
 
@@ -395,8 +505,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
       if (!Arrays.equals(shape, mat.getShape())) {
         return false;
       }
-      for (int i = 0; i < size(); i++) {
-        if (!get(i).equals(mat.get(i))) {
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      ComplexCursor matCursor = mat.cursor();
+      while (cursor.hasNext()) {
+        if (!getElement(cursor.next()).equals(matCursor.nextComplex())) {
           return false;
         }
       }
@@ -442,12 +554,12 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
 
       @Override
       protected double getElement(int i) {
-        return AbstractComplexArray.this.getElement(i).getReal();
+        return AbstractComplexArray.this.getRealElement(i);
       }
 
       @Override
       protected void setElement(int i, double value) {
-        AbstractComplexArray.this.setElement(i, Complex.valueOf(value));
+        AbstractComplexArray.this.setElement(i, value, 0);
       }
 
       @Override
@@ -508,8 +620,9 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
     if (!(o instanceof Complex)) {
       return false;
     }
-    for (int i = 0; i < size(); i++) {
-      if (Objects.equals(get(i), o)) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      if (Objects.equals(getElement(cursor.next()), o)) {
         return true;
       }
     }
@@ -581,8 +694,10 @@ public abstract class AbstractComplexArray extends AbstractBaseArray<ComplexArra
   @Override
   public ComplexArray copy() {
     ComplexArray n = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      n.set(i, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    ComplexCursor nCursor = n.cursor();
+    while (cursor.hasNext()) {
+      nCursor.setNext(getElement(cursor.next()));
     }
     return n;
   }
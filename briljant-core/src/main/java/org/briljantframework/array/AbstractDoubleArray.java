@@ -33,8 +33,9 @@ import org.apache.commons.math3.util.Precision;
 import org.briljantframework.Check;
 import org.briljantframework.array.api.ArrayBackend;
 import org.briljantframework.util.primitive.DoubleList;
-import org.briljantframework.util.sort.QuickSort;
+import org.briljantframework.util.sort.RadixSort;
 
+import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.DoubleComparator;
 
 import static org.briljantframework.array.Arrays.broadcastCombine;
@@ -149,8 +150,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public DoubleArray copy() {
     DoubleArray n = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      n.set(i, get(i));
+    DoubleCursor to = n.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(getElement(from.next()));
     }
     return n;
   }
@@ -163,24 +166,26 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
 
   @Override
   public void assign(double value) {
-    final int size = size();
-    for (int i = 0; i < size; i++) {
-      set(i, value);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
     }
   }
 
   @Override
   public void assign(double[] array) {
     Check.dimension(this.size(), array.length);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
     for (int i = 0; i < array.length; i++) {
-      set(i, array[i]);
+      setElement(cursor.next(), array[i]);
     }
   }
 
   @Override
   public void assign(DoubleSupplier supplier) {
-    for (int i = 0; i < size(); i++) {
-      set(i, supplier.getAsDouble());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), supplier.getAsDouble());
     }
   }
 
@@ -188,8 +193,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   public void assign(DoubleArray other, DoubleUnaryOperator operator) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, operator.applyAsDouble(b.get(i)));
+      DoubleCursor to = a.cursor();
+      DoubleCursor from = b.cursor();
+      while (to.hasNext()) {
+        to.setNext(operator.applyAsDouble(from.nextDouble()));
       }
     });
   }
@@ -198,8 +205,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   public void assign(IntArray other, IntToDoubleFunction function) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsDouble(b.get(i)));
+      DoubleCursor to = a.cursor();
+      IntCursor from = b.cursor();
+      while (to.hasNext()) {
+        to.setNext(function.applyAsDouble(from.nextInt()));
       }
     });
   }
@@ -208,8 +217,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   public void assign(LongArray other, LongToDoubleFunction function) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsDouble(b.get(i)));
+      DoubleCursor to = a.cursor();
+      LongCursor from = b.cursor();
+      while (to.hasNext()) {
+        to.setNext(function.applyAsDouble(from.nextLong()));
       }
     });
   }
@@ -218,8 +229,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   public void assign(ComplexArray other, ToDoubleFunction<? super Complex> function) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsDouble(b.get(i)));
+      DoubleCursor to = a.cursor();
+      ComplexCursor from = b.cursor();
+      while (to.hasNext()) {
+        to.setNext(function.applyAsDouble(from.nextComplex()));
       }
     });
   }
@@ -228,8 +241,11 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   public void combineAssign(DoubleArray other, DoubleBinaryOperator combine) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, combine.applyAsDouble(a.get(i), b.get(i)));
+      DoubleCursor to = a.cursor();
+      DoubleCursor from = b.cursor();
+      while (to.hasNext()) {
+        to.next();
+        to.set(combine.applyAsDouble(to.get(), from.nextDouble()));
       }
     });
   }
@@ -238,8 +254,11 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   public DoubleArray combine(DoubleArray other, DoubleBinaryOperator combine) {
     return broadcastCombine(this, other, (a, b) -> {
       DoubleArray out = newEmptyArray(a.getShape());
-      for (int i = 0, size = a.size(); i < size; i++) {
-        out.set(i, combine.applyAsDouble(a.get(i), b.get(i)));
+      DoubleCursor outCursor = out.cursor();
+      DoubleCursor aCursor = a.cursor();
+      DoubleCursor bCursor = b.cursor();
+      while (outCursor.hasNext()) {
+        outCursor.setNext(combine.applyAsDouble(aCursor.nextDouble(), bCursor.nextDouble()));
       }
       return out;
     });
@@ -248,8 +267,9 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public <R, C> R collect(Collector<? super Double, C, R> collector) {
     C accum = collector.supplier().get();
-    for (int i = 0; i < size(); i++) {
-      collector.accumulator().accept(accum, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      collector.accumulator().accept(accum, getElement(cursor.next()));
     }
     return collector.finisher().apply(accum);
   }
@@ -257,8 +277,9 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public <T> T collect(Supplier<T> supplier, ObjDoubleConsumer<T> consumer) {
     T accumulator = supplier.get();
-    for (int i = 0; i < size(); i++) {
-      consumer.accept(accumulator, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      consumer.accept(accumulator, getElement(cursor.next()));
     }
     return accumulator;
   }
@@ -266,8 +287,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public DoubleArray map(DoubleUnaryOperator operator) {
     DoubleArray mat = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      mat.set(i, operator.applyAsDouble(get(i)));
+    DoubleCursor to = mat.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(operator.applyAsDouble(getElement(from.next())));
     }
     return mat;
   }
@@ -275,8 +298,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public IntArray mapToInt(DoubleToIntFunction function) {
     IntArray m = getArrayBackend().getArrayFactory().newIntArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, function.applyAsInt(get(i)));
+    IntCursor to = m.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(function.applyAsInt(getElement(from.next())));
     }
     return m;
   }
@@ -284,8 +309,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public LongArray mapToLong(DoubleToLongFunction function) {
     LongArray m = getArrayBackend().getArrayFactory().newLongArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, function.applyAsLong(get(i)));
+    LongCursor to = m.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(function.applyAsLong(getElement(from.next())));
     }
     return m;
   }
@@ -293,8 +320,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public ComplexArray mapToComplex(DoubleFunction<Complex> function) {
     ComplexArray m = getArrayBackend().getArrayFactory().newComplexArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, function.apply(get(i)));
+    ComplexCursor to = m.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(function.apply(getElement(from.next())));
     }
     return m;
   }
@@ -310,16 +339,19 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
 
   @Override
   public void apply(DoubleUnaryOperator operator) {
-    for (int i = 0; i < size(); i++) {
-      set(i, operator.applyAsDouble(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, operator.applyAsDouble(getElement(position)));
     }
   }
 
   @Override
   public DoubleArray filter(DoublePredicate predicate) {
     DoubleList builder = new DoubleList();
-    for (int i = 0; i < size(); i++) {
-      double value = get(i);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      double value = getElement(cursor.next());
       if (predicate.test(value)) {
         builder.add(value);
       }
@@ -330,15 +362,17 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
 
   @Override
   public void forEachDouble(DoubleConsumer consumer) {
-    for (int i = 0; i < size(); i++) {
-      consumer.accept(get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      consumer.accept(getElement(cursor.next()));
     }
   }
 
   @Override
   public double reduce(double identity, DoubleBinaryOperator reduce) {
-    for (int i = 0; i < size(); i++) {
-      identity = reduce.applyAsDouble(identity, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      identity = reduce.applyAsDouble(identity, getElement(cursor.next()));
     }
     return identity;
   }
@@ -388,8 +422,13 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public void set(BooleanArray array, double value) {
     Check.dimension(array, this);
-    for (int i = 0; i < size(); i++) {
-      set(i, array.get(i) ? value : get(i));
+    BooleanCursor mask = array.cursor();
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      if (mask.nextBoolean()) {
+        setElement(position, value);
+      }
     }
   }
 
@@ -398,17 +437,48 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
     Check.dimension(array, this);
     double[] data = new double[size()];
     int idx = 0;
-    for (int i = 0; i < size(); i++) {
-      if (array.get(i)) {
-        data[idx++] = get(i);
+    BooleanCursor mask = array.cursor();
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      if (mask.nextBoolean()) {
+        data[idx++] = getElement(position);
       }
     }
     return getArrayBackend().getArrayFactory().newDoubleVector(Arrays.copyOf(data, idx));
   }
 
+  /**
+   * Sort the elements in their natural order using a {@linkplain RadixSort radix sort}. The
+   * elements are sorted in a (linear) copy which is written back, so that views with arbitrary
+   * strides are sorted without translating the indices of each comparison.
+   */
+  @Override
+  public void sort() {
+    double[] values = linearCopy();
+    RadixSort.sort(values, 0, values.length);
+    assignLinear(values);
+  }
+
   @Override
   public void sort(DoubleComparator cmp) {
-    QuickSort.quickSort(0, size(), (left, right) -> cmp.compare(get(left), get(right)), this);
+    double[] values = linearCopy();
+    Primitive.sort(values, 0, values.length, cmp);
+    assignLinear(values);
+  }
+
+  private double[] linearCopy() {
+    double[] values = new double[size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = get(i);
+    }
+    return values;
+  }
+
+  private void assignLinear(double[] values) {
+    for (int i = 0; i < values.length; i++) {
+      set(i, values[i]);
+    }
   }
 
   @Override
@@ -456,8 +526,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public DoubleArray negate() {
     DoubleArray n = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      n.set(i, -get(i));
+    DoubleCursor to = n.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(-getElement(from.next()));
     }
     return n;
   }
@@ -465,12 +537,29 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public BooleanArray where(DoublePredicate predicate) {
     BooleanArray bits = getArrayBackend().getArrayFactory().newBooleanArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      bits.set(i, predicate.test(get(i)));
+    BooleanCursor to = bits.cursor();
+    StrideCursor from = new StrideCursor(getOffset(), shape, stride);
+    while (from.hasNext()) {
+      to.setNext(predicate.test(getElement(from.next())));
     }
     return bits;
   }
 
+  @Override
+  public DoubleCursor cursor() {
+    return new DoubleCursor(getOffset(), shape, stride) {
+      @Override
+      public double get() {
+        return getElement(position());
+      }
+
+      @Override
+      public void set(double value) {
+        setElement(position(), value);
+      }
+    };
+  }
+
   protected abstract double getElement(int i);
 
   protected abstract void setElement(int i, double value);
@@ -478,8 +567,9 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
   @Override
   public int hashCode() {
     int result = 1;
-    for (int i = 0; i < size(); i++) {
-      long bits = Double.doubleToLongBits(get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      long bits = Double.doubleToLongBits(getElement(cursor.next()));
       result = 31 * result + (int) (bits ^ (bits >>> 32));
     }
 
@@ -497,8 +587,10 @@ public abstract class AbstractDoubleArray extends AbstractBaseArray<DoubleArray>
         return false;
       }
 
-      for (int i = 0; i < size(); i++) {
-        if (!Precision.equalsIncludingNaN(get(i), mat.get(i))) {
+      DoubleCursor other = mat.cursor();
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      while (cursor.hasNext()) {
+        if (!Precision.equalsIncludingNaN(getElement(cursor.next()), other.nextDouble())) {
           return false;
         }
       }
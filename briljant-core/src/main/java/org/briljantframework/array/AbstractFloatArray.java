@@ -0,0 +1,378 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+import org.apache.commons.math3.complex.Complex;
+import org.briljantframework.Check;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * This class provides a skeletal implementation of a float array.
+ *
+ * @author Isak Karlsson
+ */
+public abstract class AbstractFloatArray extends AbstractBaseArray<FloatArray>
+    implements FloatArray {
+
+  protected AbstractFloatArray(ArrayBackend backend, int[] shape) {
+    super(backend, shape);
+  }
+
+  protected AbstractFloatArray(ArrayBackend backend, int offset, int[] shape, int[] stride) {
+    super(backend, offset, shape, stride);
+  }
+
+  @Override
+  public void swap(int a, int b) {
+    float tmp = get(a);
+    set(a, get(b));
+    set(b, tmp);
+  }
+
+  @Override
+  public void setFrom(int toIndex, FloatArray from, int fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int toRow, int toColumn, FloatArray from, int fromRow, int fromColumn) {
+    set(toRow, toColumn, from.get(fromRow, fromColumn));
+  }
+
+  @Override
+  public void setFrom(int[] toIndex, FloatArray from, int[] fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int[] toIndex, FloatArray from, int fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int toIndex, FloatArray from, int[] fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public DoubleArray doubleArray() {
+    return new AsDoubleArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      protected double getElement(int i) {
+        return AbstractFloatArray.this.getElement(i);
+      }
+
+      @Override
+      protected void setElement(int i, double value) {
+        AbstractFloatArray.this.setElement(i, (float) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractFloatArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public IntArray intArray() {
+    return new AsIntArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public int getElement(int index) {
+        return (int) AbstractFloatArray.this.getElement(index);
+      }
+
+      @Override
+      public void setElement(int index, int value) {
+        AbstractFloatArray.this.setElement(index, value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractFloatArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public LongArray longArray() {
+    return new AsLongArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public long getElement(int index) {
+        return (long) AbstractFloatArray.this.getElement(index);
+      }
+
+      @Override
+      public void setElement(int index, long value) {
+        AbstractFloatArray.this.setElement(index, value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractFloatArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public ComplexArray complexArray() {
+    return new AsComplexArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public Complex getElement(int index) {
+        return Complex.valueOf(AbstractFloatArray.this.getElement(index));
+      }
+
+      @Override
+      public void setElement(int index, Complex value) {
+        AbstractFloatArray.this.setElement(index, (float) value.getReal());
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractFloatArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public final FloatArray copy() {
+    FloatArray array = newEmptyArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    FloatCursor arrayCursor = array.cursor();
+    while (cursor.hasNext()) {
+      arrayCursor.setNext(getElement(cursor.next()));
+    }
+    return array;
+  }
+
+  @Override
+  public FloatArray assign(float value) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
+    }
+    return this;
+  }
+
+  @Override
+  public void assign(float[] values) {
+    Check.dimension(this.size(), values.length);
+    for (int i = 0; i < values.length; i++) {
+      set(i, values[i]);
+    }
+  }
+
+  @Override
+  public void assign(DoubleSupplier supplier) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), (float) supplier.getAsDouble());
+    }
+  }
+
+  @Override
+  public void assign(DoubleArray other) {
+    org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
+      Check.size(a, b);
+      FloatCursor ac = a.cursor();
+      DoubleCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.setNext((float) bc.nextDouble());
+      }
+    });
+  }
+
+  @Override
+  public FloatArray map(DoubleUnaryOperator operator) {
+    FloatArray array = newEmptyArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    FloatCursor arrayCursor = array.cursor();
+    while (cursor.hasNext()) {
+      arrayCursor.setNext((float) operator.applyAsDouble(getElement(cursor.next())));
+    }
+    return array;
+  }
+
+  @Override
+  public void apply(DoubleUnaryOperator operator) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, (float) operator.applyAsDouble(getElement(position)));
+    }
+  }
+
+  @Override
+  public BooleanArray where(DoublePredicate predicate) {
+    BooleanArray bits = getArrayBackend().getArrayFactory().newBooleanArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor bitsCursor = bits.cursor();
+    while (cursor.hasNext()) {
+      bitsCursor.setNext(predicate.test(getElement(cursor.next())));
+    }
+    return bits;
+  }
+
+  @Override
+  public double reduce(double identity, DoubleBinaryOperator reduce) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      identity = reduce.applyAsDouble(identity, getElement(cursor.next()));
+    }
+    return identity;
+  }
+
+  @Override
+  public final float get(int i, int j) {
+    Check.argument(isMatrix());
+    return getElement(getOffset() + i * stride(0) + j * stride(1));
+  }
+
+  @Override
+  public final float get(int index) {
+    return getElement(StrideUtils.index(index, getOffset(), stride, shape));
+  }
+
+  @Override
+  public final float get(int... ix) {
+    Check.argument(ix.length == dims());
+    return getElement(StrideUtils.index(ix, getOffset(), getStride()));
+  }
+
+  @Override
+  public final void set(int index, float value) {
+    setElement(StrideUtils.index(index, getOffset(), stride, shape), value);
+  }
+
+  @Override
+  public final void set(int i, int j, float value) {
+    Check.argument(isMatrix());
+    setElement(getOffset() + i * stride(0) + j * stride(1), value);
+  }
+
+  @Override
+  public final void set(int[] ix, float value) {
+    Check.argument(ix.length == dims());
+    setElement(StrideUtils.index(ix, getOffset(), getStride()), value);
+  }
+
+  @Override
+  public FloatArray negate() {
+    FloatArray array = newEmptyArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    FloatCursor arrayCursor = array.cursor();
+    while (cursor.hasNext()) {
+      arrayCursor.setNext(-getElement(cursor.next()));
+    }
+    return array;
+  }
+
+  @Override
+  public float[] data() {
+    float[] data = new float[size()];
+    for (int i = 0; i < size(); i++) {
+      data[i] = get(i);
+    }
+    return data;
+  }
+
+  @Override
+  public FloatCursor cursor() {
+    return new FloatCursor(getOffset(), shape, stride) {
+      @Override
+      public float get() {
+        return getElement(position());
+      }
+
+      @Override
+      public void set(float value) {
+        setElement(position(), value);
+      }
+    };
+  }
+
+  protected abstract void setElement(int i, float value);
+
+  protected abstract float getElement(int i);
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      result = 31 * result + Float.floatToIntBits(getElement(cursor.next()));
+    }
+    return Objects.hash(Arrays.hashCode(shape), result);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof FloatArray) {
+      FloatArray array = (FloatArray) obj;
+      if (!Arrays.equals(shape, array.getShape())) {
+        return false;
+      }
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      FloatCursor arrayCursor = array.cursor();
+      while (cursor.hasNext()) {
+        if (Float.compare(getElement(cursor.next()), arrayCursor.nextFloat()) != 0) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return ArrayPrinter.toString(this);
+  }
+
+  @Override
+  public Iterator<Float> iterator() {
+    return new Iterator<Float>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size();
+      }
+
+      @Override
+      public Float next() {
+        return get(index++);
+      }
+    };
+  }
+}
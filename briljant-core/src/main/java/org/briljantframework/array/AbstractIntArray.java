@@ -31,8 +31,9 @@ import org.apache.commons.math3.complex.Complex;
 import org.briljantframework.Check;
 import org.briljantframework.array.api.ArrayBackend;
 import org.briljantframework.util.primitive.IntList;
-import org.briljantframework.util.sort.QuickSort;
+import org.briljantframework.util.sort.RadixSort;
 
+import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.IntComparator;
 
 import static org.briljantframework.array.Arrays.*;
@@ -152,31 +153,37 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public IntArray copy() {
     IntArray matrix = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    IntCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(getElement(cursor.next()));
     }
     return matrix;
   }
 
   @Override
   public void assign(int value) {
-    for (int i = 0; i < size(); i++) {
-      set(i, value);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
     }
   }
 
   @Override
   public void assign(int[] data) {
     Check.dimension(this.size(), data.length);
-    for (int i = 0; i < data.length; i++) {
-      set(i, data[i]);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, data[cursor.index()]);
     }
   }
 
   @Override
   public void assign(IntSupplier supplier) {
-    for (int i = 0; i < size(); i++) {
-      set(i, supplier.getAsInt());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), supplier.getAsInt());
     }
   }
 
@@ -192,8 +199,11 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   public void combineAssign(IntArray other, IntBinaryOperator combine) {
     broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, combine.applyAsInt(a.get(i), b.get(i)));
+      IntCursor ac = a.cursor();
+      IntCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(combine.applyAsInt(ac.get(), bc.nextInt()));
       }
     });
   }
@@ -202,8 +212,11 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   public void assign(ComplexArray other, ToIntFunction<? super Complex> function) {
     broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsInt(b.get(i)));
+      IntCursor ac = a.cursor();
+      ComplexCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsInt(bc.nextComplex()));
       }
     });
   }
@@ -212,8 +225,11 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   public void assign(DoubleArray other, DoubleToIntFunction function) {
     broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsInt(b.get(i)));
+      IntCursor ac = a.cursor();
+      DoubleCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsInt(bc.nextDouble()));
       }
     });
   }
@@ -222,8 +238,11 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   public void assign(LongArray other, LongToIntFunction function) {
     broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsInt(b.get(i)));
+      IntCursor ac = a.cursor();
+      LongCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsInt(bc.nextLong()));
       }
     });
   }
@@ -232,24 +251,31 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   public void assign(BooleanArray other, ToIntFunction<Boolean> function) {
     broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsInt(b.get(i)));
+      IntCursor ac = a.cursor();
+      BooleanCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsInt(bc.nextBoolean()));
       }
     });
   }
 
   @Override
   public void apply(IntUnaryOperator operator) {
-    for (int i = 0; i < size(); i++) {
-      set(i, operator.applyAsInt(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, operator.applyAsInt(getElement(position)));
     }
   }
 
   @Override
   public IntArray map(IntUnaryOperator operator) {
     IntArray mat = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      mat.set(i, operator.applyAsInt(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    IntCursor matCursor = mat.cursor();
+    while (cursor.hasNext()) {
+      matCursor.setNext(operator.applyAsInt(getElement(cursor.next())));
     }
     return mat;
   }
@@ -257,8 +283,10 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public LongArray mapToLong(IntToLongFunction function) {
     LongArray matrix = getArrayBackend().getArrayFactory().newLongArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, function.applyAsLong(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(function.applyAsLong(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -266,17 +294,21 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public DoubleArray mapToDouble(IntToDoubleFunction function) {
     DoubleArray matrix = getArrayBackend().getArrayFactory().newDoubleArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, function.applyAsDouble(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    DoubleCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(function.applyAsDouble(getElement(cursor.next())));
     }
     return matrix;
   }
 
   @Override
   public ComplexArray mapToComplex(IntFunction<Complex> function) {
-    ComplexArray matrix = getArrayBackend().getArrayFactory().newComplexArray();
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, function.apply(get(i)));
+    ComplexArray matrix = getArrayBackend().getArrayFactory().newComplexArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    ComplexCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(function.apply(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -293,8 +325,9 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public IntArray filter(IntPredicate operator) {
     IntList builder = new IntList();
-    for (int i = 0; i < size(); i++) {
-      int value = get(i);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int value = getElement(cursor.next());
       if (operator.test(value)) {
         builder.add(value);
       }
@@ -306,16 +339,19 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public BooleanArray where(IntPredicate predicate) {
     BooleanArray bits = getArrayBackend().getArrayFactory().newBooleanArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      bits.set(i, predicate.test(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor bitsCursor = bits.cursor();
+    while (cursor.hasNext()) {
+      bitsCursor.setNext(predicate.test(getElement(cursor.next())));
     }
     return bits;
   }
 
   @Override
   public void forEachPrimitive(IntConsumer consumer) {
-    for (int i = 0; i < size(); i++) {
-      consumer.accept(get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      consumer.accept(getElement(cursor.next()));
     }
   }
 
@@ -326,8 +362,9 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
 
   @Override
   public int reduce(int identity, IntBinaryOperator reduce, IntUnaryOperator map) {
-    for (int i = 0, size = size(); i < size; i++) {
-      identity = reduce.applyAsInt(map.applyAsInt(get(i)), identity);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      identity = reduce.applyAsInt(map.applyAsInt(getElement(cursor.next())), identity);
     }
     return identity;
   }
@@ -420,20 +457,45 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
     };
   }
 
+  /**
+   * Sort the elements in their natural order using a {@linkplain RadixSort radix sort}. The
+   * elements are sorted in a (linear) copy which is written back, so that views with arbitrary
+   * strides are sorted without translating the indices of each comparison.
+   */
   @Override
   public void sort() {
-    sort(Integer::compare);
+    int[] values = linearCopy();
+    RadixSort.sort(values, 0, values.length);
+    assignLinear(values);
   }
 
   @Override
   public void sort(IntComparator cmp) {
-    QuickSort.quickSort(0, size(), (left, right) -> cmp.compare(get(left), get(right)), this);
+    int[] values = linearCopy();
+    Primitive.sort(values, 0, values.length, cmp);
+    assignLinear(values);
+  }
+
+  private int[] linearCopy() {
+    int[] values = new int[size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = get(i);
+    }
+    return values;
+  }
+
+  private void assignLinear(int[] values) {
+    for (int i = 0; i < values.length; i++) {
+      set(i, values[i]);
+    }
   }
 
   private IntArray plus(int scalar) {
     IntArray m = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, get(i) + scalar);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    IntCursor mCursor = m.cursor();
+    while (cursor.hasNext()) {
+      mCursor.setNext(getElement(cursor.next()) + scalar);
     }
     return m;
   }
@@ -441,12 +503,29 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public IntArray negate() {
     IntArray n = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      n.set(i, -get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    IntCursor nCursor = n.cursor();
+    while (cursor.hasNext()) {
+      nCursor.setNext(-getElement(cursor.next()));
     }
     return n;
   }
 
+  @Override
+  public IntCursor cursor() {
+    return new IntCursor(getOffset(), shape, stride) {
+      @Override
+      public int get() {
+        return getElement(position());
+      }
+
+      @Override
+      public void set(int value) {
+        setElement(position(), value);
+      }
+    };
+  }
+
   protected abstract int getElement(int i);
 
   protected abstract void setElement(int i, int value);
@@ -454,8 +533,9 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
   @Override
   public int hashCode() {
     int result = 1;
-    for (int i = 0; i < size(); i++) {
-      int bits = get(i);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int bits = getElement(cursor.next());
       result = 31 * result + bits;
     }
 
@@ -479,8 +559,10 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
       if (!equalShape) {
         return false;
       }
-      for (int i = 0; i < size(); i++) {
-        if (get(i) != mat.get(i)) {
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      IntCursor matCursor = mat.cursor();
+      while (cursor.hasNext()) {
+        if (getElement(cursor.next()) != matCursor.nextInt()) {
           return false;
         }
       }
@@ -525,8 +607,9 @@ public abstract class AbstractIntArray extends AbstractBaseArray<IntArray> imple
     if (!(o instanceof Integer)) {
       return false;
     }
-    for (int i = 0; i < size(); i++) {
-      if (o.equals(get(i))) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      if (o.equals(getElement(cursor.next()))) {
         return true;
       }
     }
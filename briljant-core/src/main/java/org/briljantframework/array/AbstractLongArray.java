@@ -35,8 +35,9 @@ import org.briljantframework.Check;
 import org.briljantframework.array.api.ArrayBackend;
 import org.briljantframework.exceptions.MultiDimensionMismatchException;
 import org.briljantframework.util.primitive.ArrayAllocations;
-import org.briljantframework.util.sort.QuickSort;
+import org.briljantframework.util.sort.RadixSort;
 
+import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.LongComparator;
 
 /**
@@ -161,8 +162,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public final LongArray copy() {
     LongArray matrix = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(getElement(cursor.next()));
     }
     return matrix;
   }
@@ -224,8 +227,9 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
 
   @Override
   public LongArray assign(long value) {
-    for (int i = 0; i < size(); i++) {
-      set(i, value);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
     }
     return this;
   }
@@ -240,8 +244,9 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
 
   @Override
   public void assign(LongSupplier supplier) {
-    for (int i = 0; i < size(); i++) {
-      set(i, supplier.getAsLong());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), supplier.getAsLong());
     }
   }
 
@@ -249,8 +254,11 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   public void assign(LongArray other, LongUnaryOperator operator) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, operator.applyAsLong(b.get(i)));
+      LongCursor ac = a.cursor();
+      LongCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(operator.applyAsLong(bc.nextLong()));
       }
     });
   }
@@ -259,8 +267,11 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   public void combineAssign(LongArray other, LongBinaryOperator combine) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, combine.applyAsLong(a.get(i), b.get(i)));
+      LongCursor ac = a.cursor();
+      LongCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(combine.applyAsLong(ac.get(), bc.nextLong()));
       }
     });
   }
@@ -269,8 +280,11 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   public void assign(ComplexArray other, ToLongFunction<? super Complex> function) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsLong(b.get(i)));
+      LongCursor ac = a.cursor();
+      ComplexCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsLong(bc.nextComplex()));
       }
     });
   }
@@ -279,8 +293,11 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   public void assign(IntArray other, IntToLongFunction function) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsLong(b.get(i)));
+      LongCursor ac = a.cursor();
+      IntCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsLong(bc.nextInt()));
       }
     });
   }
@@ -289,8 +306,11 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   public void assign(DoubleArray other, DoubleToLongFunction function) {
     org.briljantframework.array.Arrays.broadcastWith(this, other, (a, b) -> {
       Check.size(a, b);
-      for (int i = 0, size = a.size(); i < size; i++) {
-        a.set(i, function.applyAsLong(b.get(i)));
+      LongCursor ac = a.cursor();
+      DoubleCursor bc = b.cursor();
+      while (ac.hasNext()) {
+        ac.next();
+        ac.set(function.applyAsLong(bc.nextDouble()));
       }
     });
   }
@@ -298,8 +318,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public LongArray map(LongUnaryOperator operator) {
     LongArray mat = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      mat.set(i, operator.applyAsLong(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor matCursor = mat.cursor();
+    while (cursor.hasNext()) {
+      matCursor.setNext(operator.applyAsLong(getElement(cursor.next())));
     }
     return mat;
   }
@@ -307,8 +329,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public IntArray mapToInt(LongToIntFunction map) {
     IntArray matrix = getArrayBackend().getArrayFactory().newIntArray(3, 3);
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, map.applyAsInt(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    IntCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(map.applyAsInt(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -316,8 +340,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public DoubleArray mapToDouble(LongToDoubleFunction map) {
     DoubleArray matrix = getArrayBackend().getArrayFactory().newDoubleArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, map.applyAsDouble(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    DoubleCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(map.applyAsDouble(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -325,8 +351,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public ComplexArray mapToComplex(LongFunction<Complex> map) {
     ComplexArray matrix = getArrayBackend().getArrayFactory().newComplexArray();
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, map.apply(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    ComplexCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(map.apply(getElement(cursor.next())));
     }
     return matrix;
   }
@@ -342,16 +370,20 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
 
   @Override
   public void apply(LongUnaryOperator operator) {
-    for (int i = 0; i < size(); i++) {
-      set(i, operator.applyAsLong(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      int position = cursor.next();
+      setElement(position, operator.applyAsLong(getElement(position)));
     }
   }
 
   @Override
   public BooleanArray where(LongPredicate predicate) {
     BooleanArray bits = getArrayBackend().getArrayFactory().newBooleanArray();
-    for (int i = 0; i < size(); i++) {
-      bits.set(i, predicate.test(get(i)));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    BooleanCursor bitsCursor = bits.cursor();
+    while (cursor.hasNext()) {
+      bitsCursor.setNext(predicate.test(getElement(cursor.next())));
     }
     return bits;
   }
@@ -363,8 +395,9 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
 
   @Override
   public long reduce(long identity, LongBinaryOperator reduce, LongUnaryOperator map) {
-    for (int i = 0; i < size(); i++) {
-      identity = reduce.applyAsLong(map.applyAsLong(get(i)), identity);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      identity = reduce.applyAsLong(map.applyAsLong(getElement(cursor.next())), identity);
     }
     return identity;
   }
@@ -384,8 +417,9 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public LongArray filter(LongPredicate operator) {
     IncrementalBuilder builder = new IncrementalBuilder();
-    for (int i = 0; i < size(); i++) {
-      long value = get(i);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      long value = getElement(cursor.next());
       if (operator.test(value)) {
         builder.add(value);
       }
@@ -425,9 +459,37 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
     setElement(getOffset() + i * stride(0) + j * stride(1), value);
   }
 
+  /**
+   * Sort the elements in their natural order using a {@linkplain RadixSort radix sort}. The
+   * elements are sorted in a (linear) copy which is written back, so that views with arbitrary
+   * strides are sorted without translating the indices of each comparison.
+   */
+  @Override
+  public void sort() {
+    long[] values = linearCopy();
+    RadixSort.sort(values, 0, values.length);
+    assignLinear(values);
+  }
+
   @Override
   public void sort(LongComparator cmp) {
-    QuickSort.quickSort(0, size(), (left, right) -> cmp.compare(get(left), get(right)), this);
+    long[] values = linearCopy();
+    Primitive.sort(values, 0, values.length, cmp);
+    assignLinear(values);
+  }
+
+  private long[] linearCopy() {
+    long[] values = new long[size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = get(i);
+    }
+    return values;
+  }
+
+  private void assignLinear(long[] values) {
+    for (int i = 0; i < values.length; i++) {
+      set(i, values[i]);
+    }
   }
 
   @Override
@@ -513,8 +575,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public LongArray times(long scalar) {
     LongArray m = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, get(i) * scalar);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor mCursor = m.cursor();
+    while (cursor.hasNext()) {
+      mCursor.setNext(getElement(cursor.next()) * scalar);
     }
     return m;
   }
@@ -595,8 +659,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public LongArray div(long other) {
     LongArray m = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      m.set(i, get(i) / other);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor mCursor = m.cursor();
+    while (cursor.hasNext()) {
+      mCursor.setNext(getElement(cursor.next()) / other);
     }
     return m;
   }
@@ -604,8 +670,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public LongArray reverseDiv(long other) {
     LongArray matrix = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      matrix.set(i, other / get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor matrixCursor = matrix.cursor();
+    while (cursor.hasNext()) {
+      matrixCursor.setNext(other / getElement(cursor.next()));
     }
     return matrix;
   }
@@ -613,8 +681,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public LongArray negate() {
     LongArray n = newEmptyArray(getShape());
-    for (int i = 0; i < size(); i++) {
-      n.set(i, -get(i));
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    LongCursor nCursor = n.cursor();
+    while (cursor.hasNext()) {
+      nCursor.setNext(-getElement(cursor.next()));
     }
     return n;
   }
@@ -628,6 +698,21 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
     return data;
   }
 
+  @Override
+  public LongCursor cursor() {
+    return new LongCursor(getOffset(), shape, stride) {
+      @Override
+      public long get() {
+        return getElement(position());
+      }
+
+      @Override
+      public void set(long value) {
+        setElement(position(), value);
+      }
+    };
+  }
+
   protected abstract void setElement(int i, long value);
 
   protected abstract long getElement(int i);
@@ -674,8 +759,9 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
   @Override
   public int hashCode() {
     int result = 1;
-    for (int i = 0; i < size(); i++) {
-      long bits = get(i);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      long bits = getElement(cursor.next());
       result = 31 * result + (int) (bits ^ (bits >>> 32));
     }
 
@@ -692,8 +778,10 @@ public abstract class AbstractLongArray extends AbstractBaseArray<LongArray> imp
       if (!Arrays.equals(shape, mat.getShape())) {
         return false;
       }
-      for (int i = 0; i < size(); i++) {
-        if (get(i) != mat.get(i)) {
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      LongCursor matCursor = mat.cursor();
+      while (cursor.hasNext()) {
+        if (getElement(cursor.next()) != matCursor.nextLong()) {
           return false;
         }
       }
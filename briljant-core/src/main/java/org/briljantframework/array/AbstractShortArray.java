@@ -0,0 +1,289 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+
+import org.apache.commons.math3.complex.Complex;
+import org.briljantframework.Check;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * This class provides a skeletal implementation of a short array.
+ *
+ * @author Isak Karlsson
+ */
+public abstract class AbstractShortArray extends AbstractBaseArray<ShortArray>
+    implements ShortArray {
+
+  protected AbstractShortArray(ArrayBackend backend, int[] shape) {
+    super(backend, shape);
+  }
+
+  protected AbstractShortArray(ArrayBackend backend, int offset, int[] shape, int[] stride) {
+    super(backend, offset, shape, stride);
+  }
+
+  @Override
+  public void swap(int a, int b) {
+    short tmp = get(a);
+    set(a, get(b));
+    set(b, tmp);
+  }
+
+  @Override
+  public void setFrom(int toIndex, ShortArray from, int fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int toRow, int toColumn, ShortArray from, int fromRow, int fromColumn) {
+    set(toRow, toColumn, from.get(fromRow, fromColumn));
+  }
+
+  @Override
+  public void setFrom(int[] toIndex, ShortArray from, int[] fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int[] toIndex, ShortArray from, int fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public void setFrom(int toIndex, ShortArray from, int[] fromIndex) {
+    set(toIndex, from.get(fromIndex));
+  }
+
+  @Override
+  public DoubleArray doubleArray() {
+    return new AsDoubleArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      protected double getElement(int i) {
+        return AbstractShortArray.this.getElement(i);
+      }
+
+      @Override
+      protected void setElement(int i, double value) {
+        AbstractShortArray.this.setElement(i, (short) (int) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractShortArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public IntArray intArray() {
+    return new AsIntArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public int getElement(int index) {
+        return AbstractShortArray.this.getElement(index);
+      }
+
+      @Override
+      public void setElement(int index, int value) {
+        AbstractShortArray.this.setElement(index, (short) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractShortArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public LongArray longArray() {
+    return new AsLongArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public long getElement(int index) {
+        return AbstractShortArray.this.getElement(index);
+      }
+
+      @Override
+      public void setElement(int index, long value) {
+        AbstractShortArray.this.setElement(index, (short) value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractShortArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public ComplexArray complexArray() {
+    return new AsComplexArray(getArrayBackend(), getOffset(), getShape(), getStride()) {
+      @Override
+      public Complex getElement(int index) {
+        return Complex.valueOf(AbstractShortArray.this.getElement(index));
+      }
+
+      @Override
+      public void setElement(int index, Complex value) {
+        AbstractShortArray.this.setElement(index, (short) (int) value.getReal());
+      }
+
+      @Override
+      protected int elementSize() {
+        return AbstractShortArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public final ShortArray copy() {
+    ShortArray array = newEmptyArray(getShape());
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    int i = 0;
+    while (cursor.hasNext()) {
+      array.set(i++, getElement(cursor.next()));
+    }
+    return array;
+  }
+
+  @Override
+  public ShortArray assign(short value) {
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      setElement(cursor.next(), value);
+    }
+    return this;
+  }
+
+  @Override
+  public void assign(short[] values) {
+    Check.dimension(this.size(), values.length);
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    for (short value : values) {
+      setElement(cursor.next(), value);
+    }
+  }
+
+  @Override
+  public final short get(int i, int j) {
+    Check.argument(isMatrix());
+    return getElement(getOffset() + i * stride(0) + j * stride(1));
+  }
+
+  @Override
+  public final short get(int index) {
+    return getElement(StrideUtils.index(index, getOffset(), stride, shape));
+  }
+
+  @Override
+  public final short get(int... ix) {
+    Check.argument(ix.length == dims());
+    return getElement(StrideUtils.index(ix, getOffset(), getStride()));
+  }
+
+  @Override
+  public final void set(int index, short value) {
+    setElement(StrideUtils.index(index, getOffset(), stride, shape), value);
+  }
+
+  @Override
+  public final void set(int i, int j, short value) {
+    Check.argument(isMatrix());
+    setElement(getOffset() + i * stride(0) + j * stride(1), value);
+  }
+
+  @Override
+  public final void set(int[] ix, short value) {
+    Check.argument(ix.length == dims());
+    setElement(StrideUtils.index(ix, getOffset(), getStride()), value);
+  }
+
+  @Override
+  public short[] data() {
+    short[] data = new short[size()];
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = getElement(cursor.next());
+    }
+    return data;
+  }
+
+  protected abstract void setElement(int i, short value);
+
+  protected abstract short getElement(int i);
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+    while (cursor.hasNext()) {
+      result = 31 * result + getElement(cursor.next());
+    }
+    return Objects.hash(Arrays.hashCode(shape), result);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof ShortArray) {
+      ShortArray array = (ShortArray) obj;
+      if (!Arrays.equals(shape, array.getShape())) {
+        return false;
+      }
+      StrideCursor cursor = new StrideCursor(getOffset(), shape, stride);
+      for (int i = 0; cursor.hasNext(); i++) {
+        if (getElement(cursor.next()) != array.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return ArrayPrinter.toString(this);
+  }
+
+  @Override
+  public Iterator<Short> iterator() {
+    return new Iterator<Short>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size();
+      }
+
+      @Override
+      public Short next() {
+        return get(index++);
+      }
+    };
+  }
+}
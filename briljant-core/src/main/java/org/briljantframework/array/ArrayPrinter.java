@@ -61,6 +61,24 @@ public final class ArrayPrinter {
     return builder.toString();
   }
 
+  public static String toString(ByteArray array) {
+    StringBuilder builder = new StringBuilder();
+    append(builder, array);
+    return builder.toString();
+  }
+
+  public static String toString(ShortArray array) {
+    StringBuilder builder = new StringBuilder();
+    append(builder, array);
+    return builder.toString();
+  }
+
+  public static String toString(FloatArray array) {
+    StringBuilder builder = new StringBuilder();
+    append(builder, array);
+    return builder.toString();
+  }
+
   public static String toString(IntArray array) {
     StringBuilder builder = new StringBuilder();
     append(builder, array);
@@ -93,6 +111,18 @@ public final class ArrayPrinter {
     append(out, new DoubleToStringArray(matrix, floatFormat), "[", "]");
   }
 
+  public static void append(StringBuilder out, ByteArray matrix) {
+    append(out, new LongToStringArray(matrix.longArray(), intFormat), "[", "]");
+  }
+
+  public static void append(StringBuilder out, ShortArray matrix) {
+    append(out, new LongToStringArray(matrix.longArray(), intFormat), "[", "]");
+  }
+
+  public static void append(StringBuilder out, FloatArray matrix) {
+    append(out, new DoubleToStringArray(matrix.doubleArray(), floatFormat), "[", "]");
+  }
+
   public static void append(StringBuilder out, BooleanArray matrix) {
     append(out, new LongToStringArray(matrix.longArray(), intFormat), "[", "]");
   }
@@ -33,11 +33,14 @@ import org.apache.commons.math3.exception.NotStrictlyPositiveException;
 import org.briljantframework.Check;
 import org.briljantframework.array.api.*;
 import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.briljantframework.data.SortOrder;
 import org.briljantframework.data.statistics.FastStatistics;
 import org.briljantframework.exceptions.MultiDimensionMismatchException;
+import org.briljantframework.util.sort.ArgSort;
 import org.briljantframework.util.sort.IndexComparator;
 import org.briljantframework.util.sort.QuickSort;
 
+import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.DoubleComparator;
 import net.mintern.primitive.comparators.IntComparator;
 import net.mintern.primitive.comparators.LongComparator;
@@ -94,6 +97,12 @@ public final class Arrays {
   private static final ArrayFactory ARRAY_FACTORY;
   private static final ArrayRoutines ARRAY_ROUTINES;
 
+  /**
+   * The number of elements required before the vectors of {@code sort(dim, x)} and
+   * {@code order(dim, x)} are processed in parallel
+   */
+  private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
   static {
     ARRAY_BACKEND =
         StreamSupport.stream(ServiceLoader.load(ArrayService.class).spliterator(), false)
@@ -114,74 +123,80 @@ public final class Arrays {
   }
 
   /**
-   * Reads a matrix from an IDX file.
+   * Reads an array from an IDX file. The elements are widened to {@code double}.
    * 
    * @param inputStream the input stream
-   * @return a double matrix
+   * @return a double array
    * @throws IOException if an IO error occurs
+   * @see #readIdxArray(InputStream)
    */
   public static DoubleArray readIdx(InputStream inputStream) throws IOException {
-    DataInputStream dis = new DataInputStream(new BufferedInputStream(inputStream));
-    int magic = dis.readInt();
-    int first = magic >> 24 & 0xFF;
-    int second = magic >> 16 & 0xFF;
-    int size = magic >> 8 & 0xFF;
-    int dims = magic & 0xFF;
-
-    Check.state(first == 0 && second == 0);
-    int[] shape = new int[dims];
-    int sum = 1;
-    for (int i = 0; i < dims; i++) {
-      shape[i] = dis.readInt();
-      sum *= shape[i];
-    }
-
-    int[] stride = StrideUtils.computeStride(shape);
-    double[] data = new double[sum];
-    for (int i = 0; i < data.length; i++) {
-      double value;
-      switch (size) {
-        case 0x08:
-          value = dis.readUnsignedByte();
-          break;
-        case 0x09:
-          value = dis.readByte();
-          break;
-        case 0x0B:
-          value = dis.readShort();
-          break;
-        case 0x0C:
-          value = dis.readInt();
-          break;
-        case 0x0D:
-          value = dis.readFloat();
-          break;
-        case 0x0E:
-          value = dis.readDouble();
-          break;
-        default:
-          throw new IllegalStateException("illegal size");
-      }
-      int cindex = StrideUtils.cindex(i, 0, stride, shape);
-      data[cindex] = value;
-    }
+    return (DoubleArray) Idx.read(inputStream, true);
+  }
 
-    return doubleVector(data).reshape(shape);
+  /**
+   * Reads an array from an IDX file, keeping the element type of the file. Unsigned bytes, bytes,
+   * shorts and ints are returned as an {@link IntArray}; floats and doubles as a
+   * {@link DoubleArray}.
+   *
+   * <p/>
+   * To avoid reading the file onto the heap, use
+   * {@link org.briljantframework.array.offheap.MappedArrays#mapIdx(java.nio.file.Path,
+   * java.nio.channels.FileChannel.MapMode) MappedArrays.mapIdx} which maps the elements in place
+   * (e.g., an unsigned byte file is mapped as an {@code IntArray} backed by the bytes of the file).
+   *
+   * @param inputStream the input stream
+   * @return an int or double array
+   * @throws IOException if an IO error occurs
+   */
+  public static BaseArray<?> readIdxArray(InputStream inputStream) throws IOException {
+    return Idx.read(inputStream, false);
   }
 
-  public static void writeIdx(BaseArray<?> array, OutputStream outputStream) {
-    DataOutputStream dis = new DataOutputStream(new BufferedOutputStream(outputStream));
-    int dims = array.dims();
-    int size;
-    if (array instanceof DoubleArray) {
-      size = 0x0E;
-    } else if (array instanceof IntArray) {
-      size = 0x0C;
-    } else {
-      throw new IllegalArgumentException();
-    }
-    throw new UnsupportedOperationException();
+  /**
+   * Reads an array from an IDX file using the smallest array type which represents the elements
+   * exactly. Unsigned bytes are returned as a {@link ByteArray}, bytes and shorts as a
+   * {@link ShortArray}, ints as an {@link IntArray}, floats as a {@link FloatArray} and doubles as
+   * a {@link DoubleArray}. For example, an image data set stored as unsigned bytes uses a single
+   * byte per pixel (compared to eight when read using {@link #readIdx(InputStream)}) and can be
+   * converted to doubles in batches using {@link #dequantize(ByteArray, double, double)}.
+   *
+   * @param inputStream the input stream
+   * @return a byte, short, int, float or double array
+   * @throws IOException if an IO error occurs
+   */
+  public static BaseArray<?> readIdxCompact(InputStream inputStream) throws IOException {
+    return Idx.readCompact(inputStream);
+  }
 
+  /**
+   * Writes an array in the IDX format. Double arrays are written as doubles ({@code 0x0E}), float
+   * arrays as floats ({@code 0x0D}), int arrays as ints ({@code 0x0C}), short arrays as shorts
+   * ({@code 0x0B}) and byte and boolean arrays as unsigned bytes ({@code 0x08}).
+   *
+   * @param array the array
+   * @param outputStream the output stream
+   * @throws IOException if an IO error occurs
+   * @throws IllegalArgumentException if the array type has no IDX representation
+   */
+  public static void writeIdx(BaseArray<?> array, OutputStream outputStream) throws IOException {
+    Idx.write(array, Idx.typeOf(array), outputStream);
+  }
+
+  /**
+   * Writes an array in the IDX format using the given element type. The values are narrowed (as
+   * by a primitive cast) to the element type, e.g., to store {@code [0, 255]}-valued image data as
+   * unsigned bytes use {@code writeIdx(array, 0x08, out)}.
+   *
+   * @param array the array
+   * @param type the IDX element type (one of {@code 0x08} (unsigned byte), {@code 0x09} (byte),
+   *        {@code 0x0B} (short), {@code 0x0C} (int), {@code 0x0D} (float) or {@code 0x0E} (double))
+   * @param outputStream the output stream
+   * @throws IOException if an IO error occurs
+   */
+  public static void writeIdx(BaseArray<?> array, int type, OutputStream outputStream)
+      throws IOException {
+    Idx.write(array, type, outputStream);
   }
 
   public static IntArray hist(DoubleArray array, double min, double max, int bins) {
@@ -395,6 +410,120 @@ public final class Arrays {
     return ARRAY_FACTORY.newLongMatrix(data);
   }
 
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newByteArray(int...)
+   */
+  public static ByteArray byteArray(int... shape) {
+    return ARRAY_FACTORY.newByteArray(shape);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newByteVector(byte[])
+   */
+  public static ByteArray byteVector(byte... data) {
+    return ARRAY_FACTORY.newByteVector(data);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newShortArray(int...)
+   */
+  public static ShortArray shortArray(int... shape) {
+    return ARRAY_FACTORY.newShortArray(shape);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newShortVector(short[])
+   */
+  public static ShortArray shortVector(short... data) {
+    return ARRAY_FACTORY.newShortVector(data);
+  }
+
+  /**
+   * Returns a double array of {@code scale * (x - zeroPoint)}.
+   *
+   * @param x the quantized array
+   * @param scale the scale
+   * @param zeroPoint the value of {@code x} which represents zero
+   * @return a new double array
+   * @see org.briljantframework.array.api.ArrayRoutines#dequantize(ByteArray, double, double,
+   *      DoubleArray)
+   */
+  public static DoubleArray dequantize(ByteArray x, double scale, double zeroPoint) {
+    DoubleArray out = doubleArray(x.getShape());
+    ARRAY_ROUTINES.dequantize(x, scale, zeroPoint, out);
+    return out;
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#dequantize(ByteArray, double, double,
+   *      DoubleArray)
+   */
+  public static void dequantize(ByteArray x, double scale, double zeroPoint, DoubleArray out) {
+    ARRAY_ROUTINES.dequantize(x, scale, zeroPoint, out);
+  }
+
+  /**
+   * @see #dequantize(ByteArray, double, double)
+   */
+  public static DoubleArray dequantize(ShortArray x, double scale, double zeroPoint) {
+    DoubleArray out = doubleArray(x.getShape());
+    ARRAY_ROUTINES.dequantize(x, scale, zeroPoint, out);
+    return out;
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#dequantize(ShortArray, double, double,
+   *      DoubleArray)
+   */
+  public static void dequantize(ShortArray x, double scale, double zeroPoint, DoubleArray out) {
+    ARRAY_ROUTINES.dequantize(x, scale, zeroPoint, out);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newFloatArray(int...)
+   */
+  public static FloatArray floatArray(int... shape) {
+    return ARRAY_FACTORY.newFloatArray(shape);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newFloatVector(float[])
+   */
+  public static FloatArray floatVector(float... data) {
+    return ARRAY_FACTORY.newFloatVector(data);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayFactory#newFloatMatrix(float[][])
+   */
+  public static FloatArray floatMatrix(float[][] data) {
+    return ARRAY_FACTORY.newFloatMatrix(data);
+  }
+
+  /**
+   * Returns a float array with the same shape as the given array and its elements rounded to the
+   * nearest float.
+   *
+   * @param array the double array
+   * @return a new float array
+   */
+  public static FloatArray toFloatArray(DoubleArray array) {
+    FloatArray out = floatArray(array.getShape());
+    out.assign(array);
+    return out;
+  }
+
+  /**
+   * Returns a double array with the same shape and elements as the given float array. Unlike
+   * {@link FloatArray#doubleArray()}, which returns a view, the returned array is a copy.
+   *
+   * @param array the float array
+   * @return a new double array
+   */
+  public static DoubleArray toDoubleArray(FloatArray array) {
+    return array.doubleArray().copy();
+  }
+
   /**
    * @see org.briljantframework.array.api.ArrayFactory#newBooleanArray(int...)
    */
@@ -516,7 +645,7 @@ public final class Arrays {
   }
 
   public static int sum(BooleanArray x) {
-    return sum(x.intArray());
+    return x.sum();
   }
 
   /**
@@ -545,6 +674,41 @@ public final class Arrays {
     return ARRAY_ROUTINES.sum(x);
   }
 
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#sum(ByteArray)
+   */
+  public static long sum(ByteArray x) {
+    return ARRAY_ROUTINES.sum(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#sum(int, ByteArray)
+   */
+  public static LongArray sum(int dim, ByteArray x) {
+    return ARRAY_ROUTINES.sum(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#sum(ShortArray)
+   */
+  public static long sum(ShortArray x) {
+    return ARRAY_ROUTINES.sum(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#sum(int, ShortArray)
+   */
+  public static LongArray sum(int dim, ShortArray x) {
+    return ARRAY_ROUTINES.sum(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#sum(FloatArray)
+   */
+  public static double sum(FloatArray x) {
+    return ARRAY_ROUTINES.sum(x);
+  }
+
   /**
    * @see org.briljantframework.array.api.ArrayRoutines#sum(int,
    *      org.briljantframework.array.DoubleArray)
@@ -765,7 +929,7 @@ public final class Arrays {
   }
 
   /**
-   * @see org.briljantframework.array.api.ArrayRoutines#cumsum(org.briljantframework.array.DoubleArray)
+   * @see org.briljantframework.array.api.ArrayRoutines#cumsum(DoubleArray)
    */
   public static DoubleArray cumsum(DoubleArray x) {
     return ARRAY_ROUTINES.cumsum(x);
@@ -779,6 +943,171 @@ public final class Arrays {
     return ARRAY_ROUTINES.cumsum(dim, x);
   }
 
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumprod(DoubleArray)
+   */
+  public static DoubleArray cumprod(DoubleArray x) {
+    return ARRAY_ROUTINES.cumprod(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumprod(int,
+   *      org.briljantframework.array.DoubleArray)
+   */
+  public static DoubleArray cumprod(int dim, DoubleArray x) {
+    return ARRAY_ROUTINES.cumprod(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummin(DoubleArray)
+   */
+  public static DoubleArray cummin(DoubleArray x) {
+    return ARRAY_ROUTINES.cummin(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummin(int,
+   *      org.briljantframework.array.DoubleArray)
+   */
+  public static DoubleArray cummin(int dim, DoubleArray x) {
+    return ARRAY_ROUTINES.cummin(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummax(DoubleArray)
+   */
+  public static DoubleArray cummax(DoubleArray x) {
+    return ARRAY_ROUTINES.cummax(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummax(int,
+   *      org.briljantframework.array.DoubleArray)
+   */
+  public static DoubleArray cummax(int dim, DoubleArray x) {
+    return ARRAY_ROUTINES.cummax(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumsum(IntArray)
+   */
+  public static IntArray cumsum(IntArray x) {
+    return ARRAY_ROUTINES.cumsum(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumsum(int,
+   *      org.briljantframework.array.IntArray)
+   */
+  public static IntArray cumsum(int dim, IntArray x) {
+    return ARRAY_ROUTINES.cumsum(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumprod(IntArray)
+   */
+  public static IntArray cumprod(IntArray x) {
+    return ARRAY_ROUTINES.cumprod(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumprod(int,
+   *      org.briljantframework.array.IntArray)
+   */
+  public static IntArray cumprod(int dim, IntArray x) {
+    return ARRAY_ROUTINES.cumprod(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummin(IntArray)
+   */
+  public static IntArray cummin(IntArray x) {
+    return ARRAY_ROUTINES.cummin(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummin(int,
+   *      org.briljantframework.array.IntArray)
+   */
+  public static IntArray cummin(int dim, IntArray x) {
+    return ARRAY_ROUTINES.cummin(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummax(IntArray)
+   */
+  public static IntArray cummax(IntArray x) {
+    return ARRAY_ROUTINES.cummax(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummax(int,
+   *      org.briljantframework.array.IntArray)
+   */
+  public static IntArray cummax(int dim, IntArray x) {
+    return ARRAY_ROUTINES.cummax(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumsum(LongArray)
+   */
+  public static LongArray cumsum(LongArray x) {
+    return ARRAY_ROUTINES.cumsum(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumsum(int,
+   *      org.briljantframework.array.LongArray)
+   */
+  public static LongArray cumsum(int dim, LongArray x) {
+    return ARRAY_ROUTINES.cumsum(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumprod(LongArray)
+   */
+  public static LongArray cumprod(LongArray x) {
+    return ARRAY_ROUTINES.cumprod(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cumprod(int,
+   *      org.briljantframework.array.LongArray)
+   */
+  public static LongArray cumprod(int dim, LongArray x) {
+    return ARRAY_ROUTINES.cumprod(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummin(LongArray)
+   */
+  public static LongArray cummin(LongArray x) {
+    return ARRAY_ROUTINES.cummin(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummin(int,
+   *      org.briljantframework.array.LongArray)
+   */
+  public static LongArray cummin(int dim, LongArray x) {
+    return ARRAY_ROUTINES.cummin(dim, x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummax(LongArray)
+   */
+  public static LongArray cummax(LongArray x) {
+    return ARRAY_ROUTINES.cummax(x);
+  }
+
+  /**
+   * @see org.briljantframework.array.api.ArrayRoutines#cummax(int,
+   *      org.briljantframework.array.LongArray)
+   */
+  public static LongArray cummax(int dim, LongArray x) {
+    return ARRAY_ROUTINES.cummax(dim, x);
+  }
+
   public static DoubleArray cos(ComplexArray array) {
     return ARRAY_ROUTINES.abs(array);
   }
@@ -1765,7 +2094,9 @@ public final class Arrays {
    * @see DoubleArray#sort()
    */
   public static DoubleArray sort(DoubleArray x) {
-    return sort(x, Double::compare);
+    DoubleArray c = x.copy();
+    c.sort();
+    return c;
   }
 
   /**
@@ -1789,7 +2120,7 @@ public final class Arrays {
    * @return a new array
    */
   public static DoubleArray sort(int dim, DoubleArray x) {
-    return sort(dim, x, Double::compare);
+    return sortVectors(dim, x, DoubleArray::sort);
   }
 
   /**
@@ -1800,11 +2131,20 @@ public final class Arrays {
    * @return a new array
    */
   public static DoubleArray sort(int dim, DoubleArray x, DoubleComparator comparator) {
-    DoubleArray c = x.copy();
-    int vectors = c.vectors(dim);
-    for (int i = 0; i < vectors; i++) {
-      c.getVector(dim, i).sort(comparator);
+    return sortVectors(dim, x, v -> v.sort(comparator));
+  }
+
+  /**
+   * Sort (a copy of) each vector along the specified dimension. The vectors are sorted in parallel
+   * if the array is large (and not a, possibly bit-packed, boolean array).
+   */
+  private static <S extends BaseArray<S>> S sortVectors(int dim, S x, Consumer<S> sort) {
+    S c = x.copy();
+    IntStream vectors = IntStream.range(0, c.vectors(dim));
+    if (c.size() >= PARALLEL_SORT_THRESHOLD && c.vectors(dim) > 1 && !(c instanceof BooleanArray)) {
+      vectors = vectors.parallel();
     }
+    vectors.forEach(i -> sort.accept(c.getVector(dim, i)));
     return c;
   }
 
@@ -1816,7 +2156,9 @@ public final class Arrays {
    * @see IntArray#sort()
    */
   public static IntArray sort(IntArray x) {
-    return sort(x, Integer::compare);
+    IntArray c = x.copy();
+    c.sort();
+    return c;
   }
 
   /**
@@ -1840,7 +2182,7 @@ public final class Arrays {
    * @return a new array
    */
   public static IntArray sort(int dim, IntArray x) {
-    return sort(dim, x, Integer::compare);
+    return sortVectors(dim, x, IntArray::sort);
   }
 
   /**
@@ -1851,12 +2193,7 @@ public final class Arrays {
    * @return a new array
    */
   public static IntArray sort(int dim, IntArray x, IntComparator comparator) {
-    IntArray c = x.copy();
-    int vectors = c.vectors(dim);
-    for (int i = 0; i < vectors; i++) {
-      c.getVector(dim, i).sort(comparator);
-    }
-    return c;
+    return sortVectors(dim, x, v -> v.sort(comparator));
   }
 
   /**
@@ -1867,7 +2204,9 @@ public final class Arrays {
    * @see LongArray#sort()
    */
   public static LongArray sort(LongArray x) {
-    return sort(x, Long::compare);
+    LongArray c = x.copy();
+    c.sort();
+    return c;
   }
 
   /**
@@ -1891,7 +2230,7 @@ public final class Arrays {
    * @return a new array
    */
   public static LongArray sort(int dim, LongArray x) {
-    return sort(dim, x, Long::compare);
+    return sortVectors(dim, x, LongArray::sort);
   }
 
   /**
@@ -1902,12 +2241,7 @@ public final class Arrays {
    * @return a new array
    */
   public static LongArray sort(int dim, LongArray x, LongComparator comparator) {
-    LongArray c = x.copy();
-    int vectors = c.vectors(dim);
-    for (int i = 0; i < vectors; i++) {
-      c.getVector(dim, i).sort(comparator);
-    }
-    return c;
+    return sortVectors(dim, x, v -> v.sort(comparator));
   }
 
   /**
@@ -2009,26 +2343,63 @@ public final class Arrays {
   }
 
   /**
-   * Return the order of the values in array (with smallest index first).
+   * Return the order of the values in array (with smallest index first). Equal values keep their
+   * relative order and {@code NaN} (and {@code NA}) values are placed last.
    *
    * @param array the array
    * @return the indexes in order
    */
   public static IntArray order(DoubleArray array) {
-    return order(array, Double::compare);
+    return order(array, SortOrder.ASC);
   }
 
   /**
-   * Return the order of the values in the given array (according to the comparator).
+   * Return the (stable) order of the values in array in the given direction, with {@code NaN} (and
+   * {@code NA}) values placed last.
+   *
+   * @param array the array
+   * @param order the sort order
+   * @return the indexes in order
+   * @see ArgSort#argsort(double[], boolean, boolean)
+   */
+  public static IntArray order(DoubleArray array, SortOrder order) {
+    return order(array, order, true);
+  }
+
+  /**
+   * Return the (stable) order of the values in array in the given direction, with {@code NaN} (and
+   * {@code NA}) values placed first or last.
+   *
+   * @param array the array
+   * @param order the sort order
+   * @param naLast if true, place {@code NaN} values last; otherwise first
+   * @return the indexes in order
+   */
+  public static IntArray order(DoubleArray array, SortOrder order, boolean naLast) {
+    double[] values = new double[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = array.get(i);
+    }
+    return IntArray.of(ArgSort.argsort(values, order == SortOrder.ASC, naLast));
+  }
+
+  /**
+   * Return the order of the values in the given array (according to the comparator). Equal values
+   * keep their relative order.
    *
    * @param array the array
    * @param cmp the comparator
    * @return the indexes in order
    */
   public static IntArray order(DoubleArray array, DoubleComparator cmp) {
-    IntArray order = Arrays.range(array.size()).copy();
-    order.sort((a, b) -> cmp.compare(array.get(a), array.get(b)));
-    return order;
+    double[] values = new double[array.size()];
+    int[] order = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = array.get(i);
+      order[i] = i;
+    }
+    Primitive.sort(order, (a, b) -> cmp.compare(values[a], values[b]), true);
+    return IntArray.of(order);
   }
 
   /**
@@ -2039,7 +2410,7 @@ public final class Arrays {
    * @return the order of each dimension
    */
   public static IntArray order(int dim, DoubleArray array) {
-    return order(dim, array, Double::compare);
+    return orderVectors(dim, array, Arrays::order);
   }
 
   /**
@@ -2051,12 +2422,70 @@ public final class Arrays {
    * @return the order of each dimension
    */
   public static IntArray order(int dim, DoubleArray array, DoubleComparator cmp) {
-    int vectors = array.vectors(dim);
-    IntArray order = IntArray.zeros(array.getShape());
-    for (int i = 0; i < vectors; i++) {
-      order.setVector(dim, i, order(array.getVector(dim, i), cmp));
+    return orderVectors(dim, array, v -> order(v, cmp));
+  }
+
+  /**
+   * Return the (stable) order of the values in the array.
+   *
+   * @param array the array
+   * @return the indexes in order
+   */
+  public static IntArray order(IntArray array) {
+    return order(array, SortOrder.ASC);
+  }
+
+  /**
+   * Return the (stable) order of the values in the array in the given direction.
+   *
+   * @param array the array
+   * @param order the sort order
+   * @return the indexes in order
+   * @see ArgSort#argsort(int[], boolean)
+   */
+  public static IntArray order(IntArray array, SortOrder order) {
+    int[] values = new int[array.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = array.get(i);
     }
-    return order;
+    return IntArray.of(ArgSort.argsort(values, order == SortOrder.ASC));
+  }
+
+  /**
+   * Return the (stable) order of the values in the array.
+   *
+   * @param array the array
+   * @return the indexes in order
+   */
+  public static IntArray order(LongArray array) {
+    return order(array, SortOrder.ASC);
+  }
+
+  /**
+   * Return the (stable) order of the values in the array in the given direction.
+   *
+   * @param array the array
+   * @param order the sort order
+   * @return the indexes in order
+   * @see ArgSort#argsort(long[], boolean)
+   */
+  public static IntArray order(LongArray array, SortOrder order) {
+    return IntArray.of(ArgSort.argsort(array.data(), order == SortOrder.ASC));
+  }
+
+  /**
+   * The order of each vector along the specified dimension. The vectors are ordered in parallel if
+   * the array is large.
+   */
+  private static <S extends BaseArray<S>> IntArray orderVectors(int dim, S x,
+      Function<S, IntArray> order) {
+    IntArray o = IntArray.zeros(x.getShape());
+    IntStream vectors = IntStream.range(0, x.vectors(dim));
+    if (x.size() >= PARALLEL_SORT_THRESHOLD && x.vectors(dim) > 1) {
+      vectors = vectors.parallel();
+    }
+    vectors.forEach(i -> o.setVector(dim, i, order.apply(x.getVector(dim, i))));
+    return o;
   }
 
   /**
@@ -2237,6 +2666,22 @@ public final class Arrays {
     return times(a, doubleVector(b));
   }
 
+  public static FloatArray plus(FloatArray a, FloatArray b) {
+    return ARRAY_ROUTINES.plus(a, b);
+  }
+
+  public static FloatArray minus(FloatArray a, FloatArray b) {
+    return ARRAY_ROUTINES.minus(a, b);
+  }
+
+  public static FloatArray times(FloatArray a, FloatArray b) {
+    return ARRAY_ROUTINES.times(a, b);
+  }
+
+  public static FloatArray div(FloatArray nominator, FloatArray denominator) {
+    return ARRAY_ROUTINES.div(nominator, denominator);
+  }
+
   public static IntArray plus(IntArray a, IntArray b) {
     return ARRAY_ROUTINES.plus(a, b);
   }
@@ -2362,12 +2807,16 @@ public final class Arrays {
    *
    * <p/>
    * For more control and in some situations better performance consider
-   * {@link #gemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray, double, DoubleArray)
-   * gemm}, {@link #ger(double, DoubleArray, DoubleArray, DoubleArray) ger}
+   * {@link #gemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray, double,
+   * DoubleArray) gemm}, {@link #ger(double, DoubleArray, DoubleArray, DoubleArray) ger}
    *
    * <p/>
    * The inner product is computed using {@link #inner(DoubleArray, DoubleArray)}.
    *
+   * <p/>
+   * If either array has more than two dimensions, the product is computed for each matrix in the
+   * batch as by {@link #matmul(ArrayOperation, ArrayOperation, DoubleArray, double, DoubleArray)}.
+   *
    * @param transA the transposition of the first array
    * @param transB the transposition of the second array
    * @param a the first array
@@ -2380,6 +2829,9 @@ public final class Arrays {
       double alpha, DoubleArray b) {
 
     // TODO(isak): select implementation based on the input
+    if (a.dims() > 2 || b.dims() > 2) {
+      return matmul(transA, transB, a, alpha, b);
+    }
     Check.argument(a.isMatrix() && b.isMatrix(), "require 2d-arrays");
     int m = a.size(transA == ArrayOperation.KEEP ? 0 : 1);
     int bm = b.size(transB == ArrayOperation.KEEP ? 0 : 1);
@@ -2425,6 +2877,79 @@ public final class Arrays {
     return dot(transA, transB, a, 1.0, b);
   }
 
+  /**
+   * Matrix product of two arrays, treating all but the last two dimensions as a batch of matrices.
+   *
+   * @param a the first array
+   * @param b the second array
+   * @return a new array
+   * @see #matmul(ArrayOperation, ArrayOperation, DoubleArray, double, DoubleArray)
+   */
+  public static DoubleArray matmul(DoubleArray a, DoubleArray b) {
+    return matmul(ArrayOperation.KEEP, ArrayOperation.KEEP, a, 1, b);
+  }
+
+  /**
+   * Matrix product of two arrays, treating all but the last two dimensions as a batch of matrices.
+   *
+   * @param transA transposition of each matrix in the first array
+   * @param transB transposition of each matrix in the second array
+   * @param a the first array
+   * @param b the second array
+   * @return a new array
+   * @see #matmul(ArrayOperation, ArrayOperation, DoubleArray, double, DoubleArray)
+   */
+  public static DoubleArray matmul(ArrayOperation transA, ArrayOperation transB, DoubleArray a,
+      DoubleArray b) {
+    return matmul(transA, transB, a, 1, b);
+  }
+
+  /**
+   * Matrix product of two arrays, treating all but the last two dimensions as a batch of matrices.
+   * The batch dimensions are broadcast, e.g., the product of a {@code [10, 1, 3, 4]} and a
+   * {@code [5, 4, 2]} array is a {@code [10, 5, 3, 2]} array.
+   *
+   * <p/>
+   * Each product is computed by
+   * {@link #gemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray, double,
+   * DoubleArray) gemm} (and thus BLAS, if available) or, for small matrices, a direct kernel. The
+   * batch is computed in parallel.
+   *
+   * <pre>
+   * DoubleArray a = Arrays.randn(1000 * 3 * 3).reshape(1000, 3, 3);
+   * DoubleArray x = Arrays.randn(1000 * 3).reshape(1000, 3, 1);
+   * Arrays.matmul(a, x); // 1000 x 3 x 1
+   * </pre>
+   *
+   * @param transA transposition of each matrix in the first array
+   * @param transB transposition of each matrix in the second array
+   * @param a the first array
+   * @param alpha scaling factor for the first array
+   * @param b the second array
+   * @return a new array
+   * @see #batchGemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray, double,
+   *      DoubleArray)
+   */
+  public static DoubleArray matmul(ArrayOperation transA, ArrayOperation transB, DoubleArray a,
+      double alpha, DoubleArray b) {
+    Check.argument(a.dims() >= 2 && b.dims() >= 2, "require arrays with at least 2 dimensions");
+    int dims = Math.max(a.dims(), b.dims());
+    int[] shape = new int[dims];
+    for (int i = 0; i < dims - 2; i++) {
+      int as = a.dims() - 3 - i >= 0 ? a.size(a.dims() - 3 - i) : 1;
+      int bs = b.dims() - 3 - i >= 0 ? b.size(b.dims() - 3 - i) : 1;
+      if (as != bs && as != 1 && bs != 1) {
+        throw new IllegalArgumentException("arrays cannot be broadcast to the same shape");
+      }
+      shape[dims - 3 - i] = as == 1 ? bs : as;
+    }
+    shape[dims - 2] = a.size(a.dims() - (transA.isTranspose() ? 1 : 2));
+    shape[dims - 1] = b.size(b.dims() - (transB.isTranspose() ? 2 : 1));
+    DoubleArray c = doubleArray(shape);
+    batchGemm(transA, transB, alpha, a, b, 0, c);
+    return c;
+  }
+
   /**
    * Compute the inner product of two arrays. If the arguments are non-{@code vectors}, the
    * arguments are raveled.
@@ -2571,6 +3096,61 @@ public final class Arrays {
     gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 1, c);
   }
 
+  /**
+   * @see ArrayRoutines#batchGemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray,
+   *      double, DoubleArray)
+   */
+  public static void batchGemm(ArrayOperation transA, ArrayOperation transB, double alpha,
+      DoubleArray a, DoubleArray b, double beta, DoubleArray c) {
+    ARRAY_ROUTINES.batchGemm(transA, transB, alpha, a, b, beta, c);
+  }
+
+  /**
+   * @see ArrayRoutines#inner(FloatArray, FloatArray)
+   */
+  public static float inner(FloatArray a, FloatArray b) {
+    return ARRAY_ROUTINES.inner(a, b);
+  }
+
+  /**
+   * @see ArrayRoutines#scal(float, FloatArray)
+   */
+  public static void scal(float alpha, FloatArray x) {
+    ARRAY_ROUTINES.scal(alpha, x);
+  }
+
+  /**
+   * @see ArrayRoutines#axpy(float, FloatArray, FloatArray)
+   */
+  public static void axpy(float alpha, FloatArray x, FloatArray y) {
+    ARRAY_ROUTINES.axpy(alpha, x, y);
+  }
+
+  /**
+   * @see ArrayRoutines#gemv(ArrayOperation, float, FloatArray, FloatArray, float, FloatArray)
+   */
+  public static void gemv(ArrayOperation transA, float alpha, FloatArray a, FloatArray x,
+      float beta, FloatArray y) {
+    ARRAY_ROUTINES.gemv(transA, alpha, a, x, beta, y);
+  }
+
+  public static void gemv(FloatArray a, FloatArray x, FloatArray y) {
+    gemv(ArrayOperation.KEEP, 1, a, x, 1, y);
+  }
+
+  /**
+   * @see ArrayRoutines#gemm(ArrayOperation, ArrayOperation, float, FloatArray, FloatArray, float,
+   *      FloatArray)
+   */
+  public static void gemm(ArrayOperation transA, ArrayOperation transB, float alpha, FloatArray a,
+      FloatArray b, float beta, FloatArray c) {
+    ARRAY_ROUTINES.gemm(transA, transB, alpha, a, b, beta, c);
+  }
+
+  public static void gemm(FloatArray a, FloatArray b, FloatArray c) {
+    gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 1, c);
+  }
+
   /**
    * Find argument with max value.
    *
@@ -2657,10 +3237,8 @@ public final class Arrays {
   public static <T extends BaseArray<T>> void putMask(T a, BooleanArray mask, T values) {
     Check.dimension(a, mask);
     Check.dimension(a, values);
-    for (int i = 0; i < a.size(); i++) {
-      if (mask.get(i)) {
-        a.setFrom(i, values, i);
-      }
+    for (int i = mask.nextSetIndex(0); i >= 0; i = mask.nextSetIndex(i + 1)) {
+      a.setFrom(i, values, i);
     }
   }
 
@@ -2728,7 +3306,7 @@ public final class Arrays {
    * @see #any(Array, Predicate)
    */
   public static boolean any(BooleanArray array) {
-    return any(array.boxed(), (v) -> v);
+    return array.any();
   }
 
   /**
@@ -2792,10 +3370,8 @@ public final class Arrays {
       from = broadcastTo(from, sum);
     }
     int fromIndex = 0;
-    for (int i = 0; i < in.size(); i++) {
-      if (mask.get(i)) {
-        in.setFrom(i, from, fromIndex++);
-      }
+    for (int i = mask.nextSetIndex(0); i >= 0; i = mask.nextSetIndex(i + 1)) {
+      in.setFrom(i, from, fromIndex++);
     }
   }
 
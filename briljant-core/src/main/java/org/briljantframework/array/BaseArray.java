@@ -1174,6 +1174,17 @@ public interface BaseArray<S extends BaseArray<S>> extends ElementSwapper {
    */
   int[] getStride();
 
+  /**
+   * Returns a cursor over the memory positions of the elements in this array. The positions are
+   * visited in the same order as the linear indexes, but computed without integer division.
+   *
+   * @return a new cursor
+   * @see StrideCursor
+   */
+  default StrideCursor cursor() {
+    return new StrideCursor(getOffset(), getShape(), getStride());
+  }
+
   /**
    * Returns {@code true} if this array is a 2d-array and both dimensions have the same size.
    *
@@ -160,8 +160,67 @@ public interface BooleanArray extends BaseArray<BooleanArray>, Collection<Boolea
    */
   boolean all();
 
+  /**
+   * Returns the number of elements that are true.
+   *
+   * @return the number of true elements
+   */
+  default int sum() {
+    int sum = 0;
+    BooleanCursor cursor = cursor();
+    while (cursor.hasNext()) {
+      if (cursor.nextBoolean()) {
+        sum++;
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the (linear) index of the first element that is true on or after the specified index,
+   * or {@code -1} if no such element exist. To iterate over the indexes of the true elements:
+   *
+   * <pre>
+   * for (int i = x.nextSetIndex(0); i &gt;= 0; i = x.nextSetIndex(i + 1)) {
+   *   // ...
+   * }
+   * </pre>
+   *
+   * @param fromIndex the index to start checking from (inclusive)
+   * @return the index of the next true element or {@code -1}
+   */
+  default int nextSetIndex(int fromIndex) {
+    for (int i = fromIndex, size = size(); i < size; i++) {
+      if (get(i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   Array<Boolean> boxed();
 
   Stream<Boolean> stream();
 
+  /**
+   * Returns a cursor over the elements of this array in linear (column-major) order. For arrays
+   * extending {@link AbstractBooleanArray}, the cursor reads and writes the underlying storage
+   * without any index arithmetic.
+   *
+   * @return a new cursor
+   */
+  @Override
+  default BooleanCursor cursor() {
+    return new BooleanCursor(getOffset(), getShape(), getStride()) {
+      @Override
+      public boolean get() {
+        return BooleanArray.this.get(index());
+      }
+
+      @Override
+      public void set(boolean value) {
+        BooleanArray.this.set(index(), value);
+      }
+    };
+  }
 }
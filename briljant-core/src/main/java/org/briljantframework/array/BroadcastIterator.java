@@ -0,0 +1,411 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.NoSuchElementException;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+import org.briljantframework.Check;
+
+/**
+ * An iterator over several arrays (operands) {@linkplain Arrays#broadcastTo(BaseArray, int...)
+ * broadcast} to a common shape, without creating any broadcast views. The operands are visited in
+ * lock-step in linear (column-major) order.
+ *
+ * <p/>
+ * Before iterating, dimensions that can be addressed using a single stride (in all operands) are
+ * merged and dimensions of size {@code 1} are removed. The first of the remaining dimensions forms
+ * the <i>run</i> of the iterator, i.e., {@link #runLength()} consecutive elements where the memory
+ * position of the {@code k}:th operand is advanced by {@link #runStride(int) runStride(k)}
+ * (which is {@code 0} for a broadcast dimension). For example, subtracting the column means from
+ * a {@code m x n} matrix ({@code x - mean(0, x)}) iterates over {@code n} runs of length
+ * {@code m}, where the stride of the means are {@code 0}.
+ *
+ * <pre>
+ * BroadcastIterator it = BroadcastIterator.of(out, a, b);
+ * while (it.hasNextRun()) {
+ *   it.nextRun();
+ *   int o = it.position(0), x = it.position(1), y = it.position(2);
+ *   for (int i = 0; i &lt; it.runLength(); i++) {
+ *     // ...
+ *     o += it.runStride(0);
+ *     x += it.runStride(1);
+ *     y += it.runStride(2);
+ *   }
+ * }
+ * </pre>
+ *
+ * <p/>
+ * The {@code apply}-methods compute element-wise (binary) functions using the iterator.
+ *
+ * @author Isak Karlsson
+ * @see StrideCursor
+ */
+public final class BroadcastIterator {
+
+  private final int[] shape;
+  private final int operands;
+  private final int dims;
+  private final int[] runShape;
+  private final int[][] runStrides;
+  private final int[] offsets;
+  private final int[] counter;
+  private final int[] positions;
+  private final int runLength;
+  private final int runs;
+  private int run;
+
+  /**
+   * Construct a new iterator over operands with the given offsets and strides broadcast to the
+   * given shape.
+   *
+   * @param shape the shape of the iteration
+   * @param offsets the offset of each operand
+   * @param strides the (broadcast) strides of each operand; {@code strides[k].length} must equal
+   *        {@code shape.length}
+   */
+  BroadcastIterator(int[] shape, int[] offsets, int[][] strides) {
+    int operands = offsets.length;
+    int[] newShape = new int[Math.max(1, shape.length)];
+    int[][] newStrides = new int[operands][newShape.length];
+    int dims = 0;
+    int size = 1;
+    for (int i = 0; i < shape.length; i++) {
+      size *= shape[i];
+      if (shape[i] == 1) {
+        continue;
+      }
+      if (dims > 0 && isMergeable(strides, i, newShape[dims - 1], newStrides, dims - 1)) {
+        newShape[dims - 1] *= shape[i];
+      } else {
+        newShape[dims] = shape[i];
+        for (int k = 0; k < operands; k++) {
+          newStrides[k][dims] = strides[k][i];
+        }
+        dims++;
+      }
+    }
+    if (dims == 0) {
+      newShape[0] = 1;
+      dims = 1;
+    }
+    this.shape = shape.clone();
+    this.operands = operands;
+    this.dims = dims;
+    this.runShape = newShape;
+    this.runStrides = newStrides;
+    this.offsets = offsets.clone();
+    this.counter = new int[dims];
+    this.positions = offsets.clone();
+    this.runLength = size == 0 ? 0 : newShape[0];
+    this.runs = size == 0 ? 0 : size / runLength;
+    this.run = -1;
+  }
+
+  private static boolean isMergeable(int[][] strides, int i, int previousShape,
+      int[][] newStrides, int previous) {
+    for (int k = 0; k < strides.length; k++) {
+      if (strides[k][i] != previousShape * newStrides[k][previous]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns an iterator over the memory positions of the given arrays broadcast to their combined
+   * shape.
+   *
+   * @param arrays the arrays
+   * @return a new iterator
+   */
+  public static BroadcastIterator of(BaseArray<?>... arrays) {
+    int[] shape = ShapeUtils.findCombinedBroadcastShape(java.util.Arrays.asList(arrays));
+    int[] offsets = new int[arrays.length];
+    int[][] strides = new int[arrays.length][];
+    for (int k = 0; k < arrays.length; k++) {
+      BaseArray<?> array = arrays[k];
+      offsets[k] = array.getOffset();
+      strides[k] = StrideUtils.broadcastStrides(array.getStride(), array.getShape(), shape);
+    }
+    return new BroadcastIterator(shape, offsets, strides);
+  }
+
+  /**
+   * Compute {@code out = operator(a, b)} element-wise, where {@code a} and {@code b} are broadcast
+   * to the shape of {@code out}. The combined broadcast shape of {@code a} and {@code b} must equal
+   * the shape of {@code out}. {@code out} can be one of the operands.
+   *
+   * @param out the output array
+   * @param a the first operand
+   * @param b the second operand
+   * @param operator the operator
+   */
+  public static void apply(DoubleArray out, DoubleArray a, DoubleArray b,
+      DoubleBinaryOperator operator) {
+    BroadcastIterator it = forOutput(out, a, b);
+    while (it.hasNextRun()) {
+      it.nextRun();
+      int o = it.position(0), x = it.position(1), y = it.position(2);
+      int so = it.runStride(0), sx = it.runStride(1), sy = it.runStride(2);
+      for (int i = 0, n = it.runLength(); i < n; i++) {
+        setDouble(out, o, operator.applyAsDouble(getDouble(a, x), getDouble(b, y)));
+        o += so;
+        x += sx;
+        y += sy;
+      }
+    }
+  }
+
+  /**
+   * @see #apply(DoubleArray, DoubleArray, DoubleArray, DoubleBinaryOperator)
+   */
+  public static void apply(IntArray out, IntArray a, IntArray b, IntBinaryOperator operator) {
+    BroadcastIterator it = forOutput(out, a, b);
+    while (it.hasNextRun()) {
+      it.nextRun();
+      int o = it.position(0), x = it.position(1), y = it.position(2);
+      int so = it.runStride(0), sx = it.runStride(1), sy = it.runStride(2);
+      for (int i = 0, n = it.runLength(); i < n; i++) {
+        setInt(out, o, operator.applyAsInt(getInt(a, x), getInt(b, y)));
+        o += so;
+        x += sx;
+        y += sy;
+      }
+    }
+  }
+
+  /**
+   * @see #apply(DoubleArray, DoubleArray, DoubleArray, DoubleBinaryOperator)
+   */
+  public static void apply(LongArray out, LongArray a, LongArray b, LongBinaryOperator operator) {
+    BroadcastIterator it = forOutput(out, a, b);
+    while (it.hasNextRun()) {
+      it.nextRun();
+      int o = it.position(0), x = it.position(1), y = it.position(2);
+      int so = it.runStride(0), sx = it.runStride(1), sy = it.runStride(2);
+      for (int i = 0, n = it.runLength(); i < n; i++) {
+        setLong(out, o, operator.applyAsLong(getLong(a, x), getLong(b, y)));
+        o += so;
+        x += sx;
+        y += sy;
+      }
+    }
+  }
+
+  /**
+   * Compute {@code out = operator(a, b)} element-wise for float arrays. The operator is evaluated
+   * in double precision and the result is rounded to the nearest float.
+   *
+   * @see #apply(DoubleArray, DoubleArray, DoubleArray, DoubleBinaryOperator)
+   */
+  public static void apply(FloatArray out, FloatArray a, FloatArray b,
+      DoubleBinaryOperator operator) {
+    BroadcastIterator it = forOutput(out, a, b);
+    while (it.hasNextRun()) {
+      it.nextRun();
+      int o = it.position(0), x = it.position(1), y = it.position(2);
+      int so = it.runStride(0), sx = it.runStride(1), sy = it.runStride(2);
+      for (int i = 0, n = it.runLength(); i < n; i++) {
+        setFloat(out, o, (float) operator.applyAsDouble(getFloat(a, x), getFloat(b, y)));
+        o += so;
+        x += sx;
+        y += sy;
+      }
+    }
+  }
+
+  /**
+   * Returns an iterator for {@code out} and the operands {@code a} and {@code b}. Arrays not
+   * exposing their storage (i.e., not extending the abstract base classes) are addressed using
+   * their linear index.
+   */
+  private static BroadcastIterator forOutput(BaseArray<?> out, BaseArray<?> a, BaseArray<?> b) {
+    int[] shape = out.getShape();
+    Check.dimension(ShapeUtils.findCombinedBroadcastShape(java.util.Arrays.asList(a, b)), shape);
+    BaseArray<?>[] arrays = {out, a, b};
+    int[] offsets = new int[arrays.length];
+    int[][] strides = new int[arrays.length][];
+    for (int k = 0; k < arrays.length; k++) {
+      BaseArray<?> array = arrays[k];
+      int[] stride;
+      if (isDirect(array)) {
+        offsets[k] = array.getOffset();
+        stride = array.getStride();
+      } else {
+        stride = StrideUtils.computeStride(array.getShape());
+      }
+      strides[k] = StrideUtils.broadcastStrides(stride, array.getShape(), shape);
+    }
+    return new BroadcastIterator(shape, offsets, strides);
+  }
+
+  private static boolean isDirect(BaseArray<?> array) {
+    return array instanceof AbstractDoubleArray || array instanceof AbstractIntArray
+        || array instanceof AbstractLongArray || array instanceof AbstractFloatArray;
+  }
+
+  private static double getDouble(DoubleArray x, int position) {
+    return x instanceof AbstractDoubleArray ? ((AbstractDoubleArray) x).getElement(position)
+        : x.get(position);
+  }
+
+  private static void setDouble(DoubleArray x, int position, double value) {
+    if (x instanceof AbstractDoubleArray) {
+      ((AbstractDoubleArray) x).setElement(position, value);
+    } else {
+      x.set(position, value);
+    }
+  }
+
+  private static int getInt(IntArray x, int position) {
+    return x instanceof AbstractIntArray ? ((AbstractIntArray) x).getElement(position)
+        : x.get(position);
+  }
+
+  private static void setInt(IntArray x, int position, int value) {
+    if (x instanceof AbstractIntArray) {
+      ((AbstractIntArray) x).setElement(position, value);
+    } else {
+      x.set(position, value);
+    }
+  }
+
+  private static long getLong(LongArray x, int position) {
+    return x instanceof AbstractLongArray ? ((AbstractLongArray) x).getElement(position)
+        : x.get(position);
+  }
+
+  private static void setLong(LongArray x, int position, long value) {
+    if (x instanceof AbstractLongArray) {
+      ((AbstractLongArray) x).setElement(position, value);
+    } else {
+      x.set(position, value);
+    }
+  }
+
+  private static float getFloat(FloatArray x, int position) {
+    return x instanceof AbstractFloatArray ? ((AbstractFloatArray) x).getElement(position)
+        : x.get(position);
+  }
+
+  private static void setFloat(FloatArray x, int position, float value) {
+    if (x instanceof AbstractFloatArray) {
+      ((AbstractFloatArray) x).setElement(position, value);
+    } else {
+      x.set(position, value);
+    }
+  }
+
+  /**
+   * Returns the shape of the iteration, i.e., the shape all operands are broadcast to.
+   *
+   * @return the shape
+   */
+  public int[] getShape() {
+    return shape.clone();
+  }
+
+  /**
+   * Returns the number of operands.
+   *
+   * @return the number of operands
+   */
+  public int operands() {
+    return operands;
+  }
+
+  /**
+   * Returns true if there are more runs.
+   *
+   * @return true if there are more runs
+   */
+  public boolean hasNextRun() {
+    return run + 1 < runs;
+  }
+
+  /**
+   * Advance the iterator to the first element of the next run.
+   *
+   * @throws NoSuchElementException if there are no more runs
+   */
+  public void nextRun() {
+    if (run + 1 >= runs) {
+      throw new NoSuchElementException();
+    }
+    if (++run > 0) {
+      for (int i = 1; i < dims; i++) {
+        for (int k = 0; k < operands; k++) {
+          positions[k] += runStrides[k][i];
+        }
+        if (++counter[i] < runShape[i]) {
+          break;
+        }
+        for (int k = 0; k < operands; k++) {
+          positions[k] -= runStrides[k][i] * runShape[i];
+        }
+        counter[i] = 0;
+      }
+    }
+  }
+
+  /**
+   * Returns the memory position of the first element of the current run in the {@code k}:th
+   * operand.
+   *
+   * @param k the operand
+   * @return the memory position
+   */
+  public int position(int k) {
+    return positions[k];
+  }
+
+  /**
+   * Returns the number of memory positions between two consecutive elements of a run in the
+   * {@code k}:th operand.
+   *
+   * @param k the operand
+   * @return the stride
+   */
+  public int runStride(int k) {
+    return runStrides[k][0];
+  }
+
+  /**
+   * Returns the number of elements in each run.
+   *
+   * @return the number of elements in each run
+   */
+  public int runLength() {
+    return runLength;
+  }
+
+  /**
+   * Reset the iterator to its initial position, i.e., before the first run.
+   */
+  public void reset() {
+    java.util.Arrays.fill(counter, 0);
+    System.arraycopy(offsets, 0, positions, 0, operands);
+    run = -1;
+  }
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+/**
+ * A n-dimensional array of unsigned 8-bit integers, i.e., values in {@code [0, 255]}.
+ *
+ * <p/>
+ * Byte arrays store quantized data (e.g., images or features read from an IDX file) using a
+ * single byte per element. Elements are read as {@code int} and values written to the array are
+ * narrowed to their lowest 8 bits (i.e., {@code 256} is stored as {@code 0}). Reductions over byte
+ * arrays (e.g., {@link Arrays#sum(ByteArray)}) widen the elements before accumulating and
+ * {@link Arrays#dequantize(ByteArray, double, double)} computes a double array of
+ * {@code scale * (x - zeroPoint)} without allocating any intermediate arrays.
+ *
+ * <p/>
+ * The {@linkplain #doubleArray() number views} of a byte array are widening views; values
+ * written through a view are narrowed.
+ *
+ * @author Isak Karlsson
+ */
+public interface ByteArray extends NumberArray, BaseArray<ByteArray>, Iterable<Integer> {
+
+  static ByteArray zeros(int... shape) {
+    return Arrays.byteArray(shape);
+  }
+
+  static ByteArray of(byte... data) {
+    return Arrays.byteVector(data);
+  }
+
+  /**
+   * Assign the given value (narrowed to 8 bits) to all elements.
+   *
+   * @param value the value
+   * @return this array
+   */
+  ByteArray assign(int value);
+
+  /**
+   * Assign the given bytes to the elements of this array in linear order.
+   *
+   * @param values the bytes
+   */
+  void assign(byte[] values);
+
+  int get(int index);
+
+  int get(int i, int j);
+
+  int get(int... ix);
+
+  void set(int index, int value);
+
+  void set(int i, int j, int value);
+
+  void set(int[] ix, int value);
+
+  /**
+   * Returns the (raw) bytes of this array in linear order.
+   *
+   * @return the bytes
+   */
+  byte[] data();
+}
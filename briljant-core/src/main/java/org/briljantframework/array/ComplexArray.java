@@ -198,12 +198,54 @@ public interface ComplexArray
    */
   ComplexArray conjugateTranspose();
 
+  /**
+   * Returns a new array with the complex conjugate of each element.
+   *
+   * @return a new array
+   */
+  default ComplexArray conjugate() {
+    return map(Complex::conjugate);
+  }
+
   void set(int i, int j, Complex complex);
 
   void set(int index, Complex complex);
 
   void set(int[] index, Complex complex);
 
+  /**
+   * Set the real and imaginary part of the element at the specified linear index.
+   *
+   * @param index the index
+   * @param real the real part
+   * @param imaginary the imaginary part
+   */
+  default void set(int index, double real, double imaginary) {
+    set(index, new Complex(real, imaginary));
+  }
+
+  /**
+   * Returns the real part of the element at the specified linear index. For arrays backed by
+   * primitive storage, this does not allocate a new {@link Complex}.
+   *
+   * @param index the index
+   * @return the real part
+   */
+  default double getReal(int index) {
+    return get(index).getReal();
+  }
+
+  /**
+   * Returns the imaginary part of the element at the specified linear index.
+   *
+   * @param index the index
+   * @return the imaginary part
+   * @see #getReal(int)
+   */
+  default double getImaginary(int index) {
+    return get(index).getImaginary();
+  }
+
   /**
    * Flattens the traversal of the matrix in column-major order. The matrix is traversed in
    * column-major order. For example, given the following matrix
@@ -275,4 +317,26 @@ public interface ComplexArray
   LongArray longArray();
 
   ComplexArray complexArray();
+
+  /**
+   * Returns a cursor over the elements of this array in linear (column-major) order. For arrays
+   * extending {@link AbstractComplexArray}, the cursor reads and writes the underlying storage
+   * without any index arithmetic.
+   *
+   * @return a new cursor
+   */
+  @Override
+  default ComplexCursor cursor() {
+    return new ComplexCursor(getOffset(), getShape(), getStride()) {
+      @Override
+      public Complex get() {
+        return ComplexArray.this.get(index());
+      }
+
+      @Override
+      public void set(Complex value) {
+        ComplexArray.this.set(index(), value);
+      }
+    };
+  }
 }
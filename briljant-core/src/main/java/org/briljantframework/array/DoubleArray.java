@@ -430,4 +430,39 @@ public interface DoubleArray
     return get(index);
   }
 
+  /**
+   * Returns a cursor over the elements of this array in linear (column-major) order. For arrays
+   * extending {@link AbstractDoubleArray}, the cursor reads and writes the underlying storage
+   * without any index arithmetic.
+   *
+   * @return a new cursor
+   */
+  @Override
+  default DoubleCursor cursor() {
+    return new DoubleCursor(getOffset(), getShape(), getStride()) {
+      @Override
+      public double get() {
+        return DoubleArray.this.get(index());
+      }
+
+      @Override
+      public void set(double value) {
+        DoubleArray.this.set(index(), value);
+      }
+    };
+  }
+
+  /**
+   * Returns a lazy expression of this array. Operations on the expression are fused and computed
+   * in a single pass (without intermediate arrays) when the expression is evaluated.
+   *
+   * <pre>
+   * DoubleArray c = a.lazy().times(b).plus(a).evaluate();
+   * </pre>
+   *
+   * @return a lazy expression
+   */
+  default DoubleExpression lazy() {
+    return DoubleExpression.of(this);
+  }
 }
@@ -0,0 +1,599 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import org.briljantframework.Check;
+
+/**
+ * A lazy, element-wise expression over double arrays. Operations on an expression does not
+ * compute anything; instead they build an expression tree which is evaluated in a single fused
+ * loop (without any intermediate arrays) when the expression is {@linkplain #evaluate()
+ * evaluated}.
+ *
+ * <p/>
+ * Example:
+ *
+ * <pre>
+ * DoubleArray a = Arrays.linspace(0, 1, 100);
+ * DoubleArray b = Arrays.rand(100);
+ * DoubleArray c = a.lazy().times(b).plus(2).sqrt().evaluate(); // sqrt(a * b + 2)
+ * </pre>
+ *
+ * <p/>
+ * The operands are {@linkplain Arrays#broadcastTo(BaseArray, int...) broadcast} to a common shape
+ * when the expression is evaluated. The expression is evaluated in blocks of {@value #BLOCK_SIZE}
+ * elements; each node of the tree computes its block from the blocks of its children before the
+ * next block is computed. Hence, the memory is only traversed once.
+ *
+ * <p/>
+ * Note that the operands are read when the expression is evaluated (not when the expression is
+ * constructed) and that the destination of {@link #evaluate(DoubleArray)} can be one of the
+ * operands only if it is not a broadcast (or otherwise overlapping) view.
+ *
+ * @author Isak Karlsson
+ * @see DoubleArray#lazy()
+ * @see IntExpression
+ */
+public abstract class DoubleExpression {
+
+  /**
+   * The number of elements computed by each node at a time
+   */
+  static final int BLOCK_SIZE = 1024;
+
+  private static final int PLUS = 0;
+  private static final int MINUS = 1;
+  private static final int TIMES = 2;
+  private static final int DIV = 3;
+  private static final int SQRT = 4;
+  private static final int ABS = 5;
+  private static final int EXP = 6;
+  private static final int LOG = 7;
+  private static final int SQUARE = 8;
+
+  DoubleExpression() {}
+
+  /**
+   * Returns an expression of the given array.
+   *
+   * @param array the array
+   * @return a new expression
+   */
+  public static DoubleExpression of(DoubleArray array) {
+    return new ArrayNode(array);
+  }
+
+  /**
+   * Returns an expression of a constant value, broadcast to the shape of the other operands.
+   *
+   * @param value the value
+   * @return a new expression
+   */
+  public static DoubleExpression constant(double value) {
+    return new ConstantNode(value);
+  }
+
+  public DoubleExpression plus(DoubleExpression other) {
+    return new BinaryNode(PLUS, this, other);
+  }
+
+  public DoubleExpression plus(DoubleArray other) {
+    return plus(of(other));
+  }
+
+  public DoubleExpression plus(double value) {
+    return new ScalarNode(PLUS, this, value, false);
+  }
+
+  public DoubleExpression minus(DoubleExpression other) {
+    return new BinaryNode(MINUS, this, other);
+  }
+
+  public DoubleExpression minus(DoubleArray other) {
+    return minus(of(other));
+  }
+
+  public DoubleExpression minus(double value) {
+    return new ScalarNode(MINUS, this, value, false);
+  }
+
+  /**
+   * Returns an expression of {@code value - this}.
+   *
+   * @param value the value
+   * @return a new expression
+   */
+  public DoubleExpression reverseMinus(double value) {
+    return new ScalarNode(MINUS, this, value, true);
+  }
+
+  public DoubleExpression times(DoubleExpression other) {
+    return new BinaryNode(TIMES, this, other);
+  }
+
+  public DoubleExpression times(DoubleArray other) {
+    return times(of(other));
+  }
+
+  public DoubleExpression times(double value) {
+    return new ScalarNode(TIMES, this, value, false);
+  }
+
+  public DoubleExpression div(DoubleExpression other) {
+    return new BinaryNode(DIV, this, other);
+  }
+
+  public DoubleExpression div(DoubleArray other) {
+    return div(of(other));
+  }
+
+  public DoubleExpression div(double value) {
+    return new ScalarNode(DIV, this, value, false);
+  }
+
+  /**
+   * Returns an expression of {@code value / this}.
+   *
+   * @param value the value
+   * @return a new expression
+   */
+  public DoubleExpression reverseDiv(double value) {
+    return new ScalarNode(DIV, this, value, true);
+  }
+
+  public DoubleExpression negate() {
+    return times(-1);
+  }
+
+  /**
+   * Returns an expression which applies the given operator to each element of this expression.
+   *
+   * @param operator the operator
+   * @return a new expression
+   */
+  public DoubleExpression map(DoubleUnaryOperator operator) {
+    return new UnaryNode(this, operator);
+  }
+
+  /**
+   * Returns an expression which combines the elements of this and the other expression using the
+   * given operator.
+   *
+   * @param other the other expression
+   * @param operator the operator
+   * @return a new expression
+   */
+  public DoubleExpression combine(DoubleExpression other, DoubleBinaryOperator operator) {
+    return new CombineNode(this, other, operator);
+  }
+
+  public DoubleExpression sqrt() {
+    return new MathNode(SQRT, this);
+  }
+
+  public DoubleExpression abs() {
+    return new MathNode(ABS, this);
+  }
+
+  public DoubleExpression exp() {
+    return new MathNode(EXP, this);
+  }
+
+  public DoubleExpression log() {
+    return new MathNode(LOG, this);
+  }
+
+  public DoubleExpression pow(double power) {
+    return power == 2 ? new MathNode(SQUARE, this) : map(x -> Math.pow(x, power));
+  }
+
+  /**
+   * Returns the shape of the evaluated expression, i.e., the shape the operands are broadcast to.
+   *
+   * @return the shape
+   * @throws IllegalStateException if the expression has no array operands
+   */
+  public int[] getShape() {
+    return getShape(leaves(this));
+  }
+
+  /**
+   * Evaluate the expression into a new array.
+   *
+   * @return a new array
+   */
+  public DoubleArray evaluate() {
+    List<BaseArray<?>> leaves = leaves(this);
+    int[] shape = getShape(leaves);
+    BaseArray<?> first = leaves.get(0);
+    DoubleArray out = first instanceof DoubleArray ? ((DoubleArray) first).newEmptyArray(shape)
+        : Arrays.doubleArray(shape);
+    evaluate(out);
+    return out;
+  }
+
+  /**
+   * Evaluate the expression into the given array. The operands are broadcast to the shape of the
+   * destination.
+   *
+   * @param out the destination
+   */
+  public void evaluate(DoubleArray out) {
+    Block block = block(out.getShape());
+    double[] buffer = new double[BLOCK_SIZE];
+    DoubleCursor cursor = out.cursor();
+    int size = out.size();
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      block.next(buffer, n);
+      for (int j = 0; j < n; j++) {
+        cursor.setNext(buffer[j]);
+      }
+    }
+  }
+
+  /**
+   * Evaluate the sum of the elements of the expression (without materializing it).
+   *
+   * @return the sum
+   */
+  public double sum() {
+    int[] shape = getShape();
+    Block block = block(shape);
+    double[] buffer = new double[BLOCK_SIZE];
+    int size = ShapeUtils.size(shape);
+    double sum = 0;
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      block.next(buffer, n);
+      for (int j = 0; j < n; j++) {
+        sum += buffer[j];
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Returns an evaluator of this expression broadcast to the given shape.
+   */
+  abstract Block block(int[] shape);
+
+  /**
+   * Add the arrays of this expression to the list.
+   */
+  abstract void collect(List<BaseArray<?>> leaves);
+
+  static List<BaseArray<?>> leaves(DoubleExpression expression) {
+    List<BaseArray<?>> leaves = new ArrayList<>();
+    expression.collect(leaves);
+    return leaves;
+  }
+
+  static int[] getShape(List<BaseArray<?>> leaves) {
+    Check.state(!leaves.isEmpty(), "expression without arrays");
+    return ShapeUtils.findCombinedBroadcastShape(leaves);
+  }
+
+  /**
+   * Computes the elements of an expression, a block at a time, in linear (column-major) order.
+   */
+  abstract static class Block {
+
+    /**
+     * Compute the next {@code n} values and store them in the first {@code n} positions of the
+     * buffer.
+     */
+    abstract void next(double[] buffer, int n);
+  }
+
+  private static final class ArrayNode extends DoubleExpression {
+
+    private final DoubleArray array;
+
+    private ArrayNode(DoubleArray array) {
+      this.array = array;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      DoubleCursor cursor = Arrays.broadcastTo(array, shape).cursor();
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          for (int i = 0; i < n; i++) {
+            buffer[i] = cursor.nextDouble();
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      leaves.add(array);
+    }
+  }
+
+  private static final class ConstantNode extends DoubleExpression {
+
+    private final double value;
+
+    private ConstantNode(double value) {
+      this.value = value;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          java.util.Arrays.fill(buffer, 0, n, value);
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {}
+  }
+
+  private static final class BinaryNode extends DoubleExpression {
+
+    private final int op;
+    private final DoubleExpression left;
+    private final DoubleExpression right;
+
+    private BinaryNode(int op, DoubleExpression left, DoubleExpression right) {
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block l = left.block(shape);
+      Block r = right.block(shape);
+      double[] other = new double[BLOCK_SIZE];
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          l.next(buffer, n);
+          r.next(other, n);
+          switch (op) {
+            case PLUS:
+              for (int i = 0; i < n; i++) {
+                buffer[i] += other[i];
+              }
+              break;
+            case MINUS:
+              for (int i = 0; i < n; i++) {
+                buffer[i] -= other[i];
+              }
+              break;
+            case TIMES:
+              for (int i = 0; i < n; i++) {
+                buffer[i] *= other[i];
+              }
+              break;
+            default:
+              for (int i = 0; i < n; i++) {
+                buffer[i] /= other[i];
+              }
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      left.collect(leaves);
+      right.collect(leaves);
+    }
+  }
+
+  private static final class ScalarNode extends DoubleExpression {
+
+    private final int op;
+    private final DoubleExpression expression;
+    private final double value;
+    private final boolean reverse;
+
+    private ScalarNode(int op, DoubleExpression expression, double value, boolean reverse) {
+      this.op = op;
+      this.expression = expression;
+      this.value = value;
+      this.reverse = reverse;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block e = expression.block(shape);
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          e.next(buffer, n);
+          double v = value;
+          switch (op) {
+            case PLUS:
+              for (int i = 0; i < n; i++) {
+                buffer[i] += v;
+              }
+              break;
+            case MINUS:
+              if (reverse) {
+                for (int i = 0; i < n; i++) {
+                  buffer[i] = v - buffer[i];
+                }
+              } else {
+                for (int i = 0; i < n; i++) {
+                  buffer[i] -= v;
+                }
+              }
+              break;
+            case TIMES:
+              for (int i = 0; i < n; i++) {
+                buffer[i] *= v;
+              }
+              break;
+            default:
+              if (reverse) {
+                for (int i = 0; i < n; i++) {
+                  buffer[i] = v / buffer[i];
+                }
+              } else {
+                for (int i = 0; i < n; i++) {
+                  buffer[i] /= v;
+                }
+              }
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      expression.collect(leaves);
+    }
+  }
+
+  private static final class UnaryNode extends DoubleExpression {
+
+    private final DoubleExpression expression;
+    private final DoubleUnaryOperator operator;
+
+    private UnaryNode(DoubleExpression expression, DoubleUnaryOperator operator) {
+      this.expression = expression;
+      this.operator = operator;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block e = expression.block(shape);
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          e.next(buffer, n);
+          for (int i = 0; i < n; i++) {
+            buffer[i] = operator.applyAsDouble(buffer[i]);
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      expression.collect(leaves);
+    }
+  }
+
+  private static final class MathNode extends DoubleExpression {
+
+    private final int op;
+    private final DoubleExpression expression;
+
+    private MathNode(int op, DoubleExpression expression) {
+      this.op = op;
+      this.expression = expression;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block e = expression.block(shape);
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          e.next(buffer, n);
+          switch (op) {
+            case SQRT:
+              for (int i = 0; i < n; i++) {
+                buffer[i] = Math.sqrt(buffer[i]);
+              }
+              break;
+            case ABS:
+              for (int i = 0; i < n; i++) {
+                buffer[i] = Math.abs(buffer[i]);
+              }
+              break;
+            case EXP:
+              for (int i = 0; i < n; i++) {
+                buffer[i] = Math.exp(buffer[i]);
+              }
+              break;
+            case LOG:
+              for (int i = 0; i < n; i++) {
+                buffer[i] = Math.log(buffer[i]);
+              }
+              break;
+            default:
+              for (int i = 0; i < n; i++) {
+                buffer[i] *= buffer[i];
+              }
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      expression.collect(leaves);
+    }
+  }
+
+  private static final class CombineNode extends DoubleExpression {
+
+    private final DoubleExpression left;
+    private final DoubleExpression right;
+    private final DoubleBinaryOperator operator;
+
+    private CombineNode(DoubleExpression left, DoubleExpression right,
+        DoubleBinaryOperator operator) {
+      this.left = left;
+      this.right = right;
+      this.operator = operator;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block l = left.block(shape);
+      Block r = right.block(shape);
+      double[] other = new double[BLOCK_SIZE];
+      return new Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          l.next(buffer, n);
+          r.next(other, n);
+          for (int i = 0; i < n; i++) {
+            buffer[i] = operator.applyAsDouble(buffer[i], other[i]);
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      left.collect(leaves);
+      right.collect(leaves);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A n-dimensional array of single precision (32-bit) floating point numbers.
+ *
+ * <p/>
+ * Compared to a {@link DoubleArray}, a float array halves the memory requirement (and the memory
+ * bandwidth) at the cost of precision. The array routines for float arrays (e.g., {@code gemm},
+ * {@code gemv} and {@code axpy}) use the single precision BLAS routines when available. Functions
+ * (e.g., in {@link #map(DoubleUnaryOperator)}) are evaluated in double precision and the results
+ * are rounded to the nearest float.
+ *
+ * <p/>
+ * Element-wise arithmetic is provided by {@link Arrays} (e.g.,
+ * {@link Arrays#plus(FloatArray, FloatArray)}). Use {@link #doubleArray()} for a (widening) double
+ * view of a float array and {@link Arrays#toFloatArray(DoubleArray)} to convert a double array to
+ * a float array.
+ *
+ * @author Isak Karlsson
+ */
+public interface FloatArray extends NumberArray, BaseArray<FloatArray>, Iterable<Float> {
+
+  static FloatArray ones(int... shape) {
+    FloatArray array = zeros(shape);
+    array.assign(1);
+    return array;
+  }
+
+  static FloatArray zeros(int... shape) {
+    return Arrays.floatArray(shape);
+  }
+
+  static FloatArray of(float... data) {
+    return Arrays.floatVector(data);
+  }
+
+  // Assignments
+
+  FloatArray assign(float value);
+
+  void assign(float[] values);
+
+  void assign(DoubleSupplier supplier);
+
+  /**
+   * Assign the values of the given array (broadcast to the shape of this array) rounded to the
+   * nearest float.
+   *
+   * @param array the array
+   */
+  void assign(DoubleArray array);
+
+  // Transform
+
+  FloatArray map(DoubleUnaryOperator operator);
+
+  void apply(DoubleUnaryOperator operator);
+
+  BooleanArray where(DoublePredicate predicate);
+
+  double reduce(double identity, DoubleBinaryOperator reduce);
+
+  float get(int i, int j);
+
+  float get(int index);
+
+  float get(int... ix);
+
+  void set(int index, float value);
+
+  void set(int row, int column, float value);
+
+  void set(int[] ix, float value);
+
+  FloatArray negate();
+
+  float[] data();
+
+  /**
+   * Returns a cursor over the elements of this array in linear (column-major) order. For arrays
+   * extending {@link AbstractFloatArray}, the cursor reads and writes the underlying storage
+   * without any index arithmetic.
+   *
+   * @return a new cursor
+   */
+  @Override
+  default FloatCursor cursor() {
+    return new FloatCursor(getOffset(), getShape(), getStride()) {
+      @Override
+      public float get() {
+        return FloatArray.this.get(index());
+      }
+
+      @Override
+      public void set(float value) {
+        FloatArray.this.set(index(), value);
+      }
+    };
+  }
+}
@@ -0,0 +1,423 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.briljantframework.Check;
+
+/**
+ * Reading and writing of arrays in the IDX format. An IDX file consists of a magic number
+ * ({@code 0x0000TTDD}, where {@code TT} is the element type and {@code DD} the number of
+ * dimensions), the size of each dimension as a 32-bit integer and the elements in row-major order.
+ * All values are stored in big-endian byte order.
+ *
+ * <p/>
+ * The elements are decoded (and encoded) in blocks using bulk {@link ByteBuffer} operations and
+ * scattered into column-major order using a {@link StrideCursor} over the reversed shape, i.e.,
+ * without computing the index of each element.
+ *
+ * @author Isak Karlsson
+ * @see Arrays#readIdx(InputStream)
+ * @see Arrays#writeIdx(BaseArray, OutputStream)
+ */
+final class Idx {
+
+  static final int UNSIGNED_BYTE = 0x08;
+  static final int BYTE = 0x09;
+  static final int SHORT = 0x0B;
+  static final int INT = 0x0C;
+  static final int FLOAT = 0x0D;
+  static final int DOUBLE = 0x0E;
+
+  /**
+   * The number of elements decoded (or encoded) in each block
+   */
+  private static final int BLOCK_SIZE = 8192;
+
+  private Idx() {}
+
+  /**
+   * Returns the width (in bytes) of the given element type
+   *
+   * @param type the element type
+   * @return the width
+   * @throws IllegalArgumentException if the type is unknown
+   */
+  static int width(int type) {
+    switch (type) {
+      case UNSIGNED_BYTE:
+      case BYTE:
+        return 1;
+      case SHORT:
+        return 2;
+      case INT:
+      case FLOAT:
+        return 4;
+      case DOUBLE:
+        return 8;
+      default:
+        throw new IllegalArgumentException(String.format("Illegal IDX type: 0x%02X", type));
+    }
+  }
+
+  /**
+   * Read an array from the input stream. If {@code widen} is true, the array is always a
+   * {@link DoubleArray}; otherwise integral types are returned as an {@link IntArray}.
+   */
+  static BaseArray<?> read(InputStream inputStream, boolean widen) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+    int magic = in.readInt();
+    int type = magic >> 8 & 0xFF;
+    int[] shape = readShape(in, magic);
+    if (widen || type == FLOAT || type == DOUBLE) {
+      return readDoubles(in, type, shape);
+    } else {
+      return readInts(in, type, shape);
+    }
+  }
+
+  /**
+   * Read an array from the input stream using the smallest array type which represents the
+   * elements exactly, i.e., unsigned bytes are returned as a {@link ByteArray}, bytes and shorts
+   * as a {@link ShortArray}, ints as an {@link IntArray}, floats as a {@link FloatArray} and
+   * doubles as a {@link DoubleArray}.
+   */
+  static BaseArray<?> readCompact(InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+    int magic = in.readInt();
+    int type = magic >> 8 & 0xFF;
+    int[] shape = readShape(in, magic);
+    switch (type) {
+      case UNSIGNED_BYTE:
+        return readBytes(in, shape);
+      case BYTE:
+      case SHORT:
+        return readShorts(in, type, shape);
+      case INT:
+        return readInts(in, type, shape);
+      case FLOAT:
+        return readFloats(in, shape);
+      default:
+        return readDoubles(in, type, shape);
+    }
+  }
+
+  private static int[] readShape(DataInputStream in, int magic) throws IOException {
+    Check.state(magic >>> 16 == 0, "Illegal IDX magic number: 0x%08X", magic);
+    int dims = magic & 0xFF;
+    Check.state(dims > 0, "Illegal number of dimensions: %s", dims);
+    width(magic >> 8 & 0xFF);
+    int[] shape = new int[dims];
+    for (int i = 0; i < dims; i++) {
+      shape[i] = in.readInt();
+      Check.state(shape[i] >= 0, "Illegal dimension: %s", shape[i]);
+    }
+    return shape;
+  }
+
+  /**
+   * Iterating the reversed shape in column-major order visits the elements in row-major order
+   */
+  private static StrideCursor rowMajorCursor(int[] shape) {
+    return new StrideCursor(0, StrideUtils.reverse(shape),
+        StrideUtils.reverse(StrideUtils.computeStride(shape)));
+  }
+
+  private static DoubleArray readDoubles(DataInputStream in, int type, int[] shape)
+      throws IOException {
+    int size = ShapeUtils.size(shape);
+    int width = width(type);
+    StrideCursor cursor = rowMajorCursor(shape);
+    byte[] buffer = new byte[BLOCK_SIZE * width];
+    double[] data = new double[size];
+    double[] block = new double[BLOCK_SIZE];
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      in.readFully(buffer, 0, n * width);
+      decode(type, ByteBuffer.wrap(buffer, 0, n * width), block, n);
+      for (int j = 0; j < n; j++) {
+        data[cursor.next()] = block[j];
+      }
+    }
+    return Arrays.doubleVector(data).reshape(shape);
+  }
+
+  private static IntArray readInts(DataInputStream in, int type, int[] shape) throws IOException {
+    int size = ShapeUtils.size(shape);
+    int width = width(type);
+    StrideCursor cursor = rowMajorCursor(shape);
+    byte[] buffer = new byte[BLOCK_SIZE * width];
+    int[] data = new int[size];
+    int[] block = new int[BLOCK_SIZE];
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      in.readFully(buffer, 0, n * width);
+      decode(type, ByteBuffer.wrap(buffer, 0, n * width), block, n);
+      for (int j = 0; j < n; j++) {
+        data[cursor.next()] = block[j];
+      }
+    }
+    return Arrays.intVector(data).reshape(shape);
+  }
+
+  private static ByteArray readBytes(DataInputStream in, int[] shape) throws IOException {
+    int size = ShapeUtils.size(shape);
+    StrideCursor cursor = rowMajorCursor(shape);
+    byte[] buffer = new byte[BLOCK_SIZE];
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      in.readFully(buffer, 0, n);
+      for (int j = 0; j < n; j++) {
+        data[cursor.next()] = buffer[j];
+      }
+    }
+    return Arrays.byteVector(data).reshape(shape);
+  }
+
+  private static ShortArray readShorts(DataInputStream in, int type, int[] shape)
+      throws IOException {
+    int size = ShapeUtils.size(shape);
+    int width = width(type);
+    StrideCursor cursor = rowMajorCursor(shape);
+    byte[] buffer = new byte[BLOCK_SIZE * width];
+    short[] data = new short[size];
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      in.readFully(buffer, 0, n * width);
+      ByteBuffer block = ByteBuffer.wrap(buffer, 0, n * width);
+      for (int j = 0; j < n; j++) {
+        data[cursor.next()] = type == SHORT ? block.getShort() : block.get();
+      }
+    }
+    return Arrays.shortVector(data).reshape(shape);
+  }
+
+  private static FloatArray readFloats(DataInputStream in, int[] shape) throws IOException {
+    int size = ShapeUtils.size(shape);
+    StrideCursor cursor = rowMajorCursor(shape);
+    byte[] buffer = new byte[BLOCK_SIZE * Float.BYTES];
+    float[] data = new float[size];
+    for (int i = 0; i < size; i += BLOCK_SIZE) {
+      int n = Math.min(BLOCK_SIZE, size - i);
+      in.readFully(buffer, 0, n * Float.BYTES);
+      ByteBuffer block = ByteBuffer.wrap(buffer, 0, n * Float.BYTES);
+      for (int j = 0; j < n; j++) {
+        data[cursor.next()] = block.getFloat();
+      }
+    }
+    return Arrays.floatVector(data).reshape(shape);
+  }
+
+  private static void decode(int type, ByteBuffer buffer, double[] out, int n) {
+    switch (type) {
+      case DOUBLE:
+        buffer.asDoubleBuffer().get(out, 0, n);
+        break;
+      case FLOAT:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.getFloat();
+        }
+        break;
+      case INT:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.getInt();
+        }
+        break;
+      case SHORT:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.getShort();
+        }
+        break;
+      case BYTE:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.get();
+        }
+        break;
+      case UNSIGNED_BYTE:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.get() & 0xFF;
+        }
+        break;
+      default:
+        throw new IllegalArgumentException(String.format("Illegal IDX type: 0x%02X", type));
+    }
+  }
+
+  private static void decode(int type, ByteBuffer buffer, int[] out, int n) {
+    switch (type) {
+      case INT:
+        buffer.asIntBuffer().get(out, 0, n);
+        break;
+      case SHORT:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.getShort();
+        }
+        break;
+      case BYTE:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.get();
+        }
+        break;
+      case UNSIGNED_BYTE:
+        for (int i = 0; i < n; i++) {
+          out[i] = buffer.get() & 0xFF;
+        }
+        break;
+      default:
+        throw new IllegalArgumentException(String.format("Illegal IDX type: 0x%02X", type));
+    }
+  }
+
+  /**
+   * Returns the natural IDX type of the given array.
+   */
+  static int typeOf(BaseArray<?> array) {
+    if (array instanceof DoubleArray) {
+      return DOUBLE;
+    } else if (array instanceof IntArray) {
+      return INT;
+    } else if (array instanceof BooleanArray || array instanceof ByteArray) {
+      return UNSIGNED_BYTE;
+    } else if (array instanceof ShortArray) {
+      return SHORT;
+    } else if (array instanceof FloatArray) {
+      return FLOAT;
+    } else {
+      throw new IllegalArgumentException(
+          String.format("Can't write %s as IDX", array.getClass().getSimpleName()));
+    }
+  }
+
+  /**
+   * Write the array to the output stream using the given element type. Values are narrowed (as
+   * by a primitive cast) to the element type.
+   */
+  static void write(BaseArray<?> array, int type, OutputStream outputStream) throws IOException {
+    int width = width(type);
+    Check.argument(array.dims() <= 0xFF, "Too many dimensions: %s", array.dims());
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    out.writeInt(type << 8 | array.dims());
+    for (int i = 0; i < array.dims(); i++) {
+      out.writeInt(array.size(i));
+    }
+
+    // The transpose reverses the dimensions; its column-major order is the row-major order
+    BaseArray<?> rowMajor = array.transpose();
+    int size = array.size();
+    byte[] bytes = new byte[BLOCK_SIZE * width];
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if (rowMajor instanceof DoubleArray || rowMajor instanceof FloatArray) {
+      DoubleCursor cursor = ((NumberArray) rowMajor).doubleArray().cursor();
+      double[] block = new double[BLOCK_SIZE];
+      for (int i = 0; i < size; i += BLOCK_SIZE) {
+        int n = Math.min(BLOCK_SIZE, size - i);
+        for (int j = 0; j < n; j++) {
+          block[j] = cursor.nextDouble();
+        }
+        buffer.clear();
+        encode(type, buffer, block, n);
+        out.write(bytes, 0, n * width);
+      }
+    } else if (rowMajor instanceof IntArray || rowMajor instanceof BooleanArray
+        || rowMajor instanceof ByteArray || rowMajor instanceof ShortArray) {
+      IntCursor cursor = rowMajor instanceof BooleanArray
+          ? ((BooleanArray) rowMajor).intArray().cursor()
+          : ((NumberArray) rowMajor).intArray().cursor();
+      int[] block = new int[BLOCK_SIZE];
+      for (int i = 0; i < size; i += BLOCK_SIZE) {
+        int n = Math.min(BLOCK_SIZE, size - i);
+        for (int j = 0; j < n; j++) {
+          block[j] = cursor.nextInt();
+        }
+        buffer.clear();
+        encode(type, buffer, block, n);
+        out.write(bytes, 0, n * width);
+      }
+    } else {
+      throw new IllegalArgumentException(
+          String.format("Can't write %s as IDX", array.getClass().getSimpleName()));
+    }
+    out.flush();
+  }
+
+  private static void encode(int type, ByteBuffer buffer, double[] in, int n) {
+    switch (type) {
+      case DOUBLE:
+        buffer.asDoubleBuffer().put(in, 0, n);
+        break;
+      case FLOAT:
+        for (int i = 0; i < n; i++) {
+          buffer.putFloat((float) in[i]);
+        }
+        break;
+      case INT:
+        for (int i = 0; i < n; i++) {
+          buffer.putInt((int) in[i]);
+        }
+        break;
+      case SHORT:
+        for (int i = 0; i < n; i++) {
+          buffer.putShort((short) in[i]);
+        }
+        break;
+      default:
+        for (int i = 0; i < n; i++) {
+          buffer.put((byte) (int) in[i]);
+        }
+    }
+  }
+
+  private static void encode(int type, ByteBuffer buffer, int[] in, int n) {
+    switch (type) {
+      case DOUBLE:
+        for (int i = 0; i < n; i++) {
+          buffer.putDouble(in[i]);
+        }
+        break;
+      case FLOAT:
+        for (int i = 0; i < n; i++) {
+          buffer.putFloat(in[i]);
+        }
+        break;
+      case INT:
+        buffer.asIntBuffer().put(in, 0, n);
+        break;
+      case SHORT:
+        for (int i = 0; i < n; i++) {
+          buffer.putShort((short) in[i]);
+        }
+        break;
+      default:
+        for (int i = 0; i < n; i++) {
+          buffer.put((byte) in[i]);
+        }
+    }
+  }
+}
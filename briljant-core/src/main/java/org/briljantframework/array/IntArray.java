@@ -286,4 +286,39 @@ public interface IntArray
 
   IntStream intStream();
 
+  /**
+   * Returns a cursor over the elements of this array in linear (column-major) order. For arrays
+   * extending {@link AbstractIntArray}, the cursor reads and writes the underlying storage
+   * without any index arithmetic.
+   *
+   * @return a new cursor
+   */
+  @Override
+  default IntCursor cursor() {
+    return new IntCursor(getOffset(), getShape(), getStride()) {
+      @Override
+      public int get() {
+        return IntArray.this.get(index());
+      }
+
+      @Override
+      public void set(int value) {
+        IntArray.this.set(index(), value);
+      }
+    };
+  }
+
+  /**
+   * Returns a lazy expression of this array. Operations on the expression are fused and computed
+   * in a single pass (without intermediate arrays) when the expression is evaluated.
+   *
+   * <pre>
+   * IntArray c = a.lazy().times(b).plus(a).evaluate();
+   * </pre>
+   *
+   * @return a lazy expression
+   */
+  default IntExpression lazy() {
+    return IntExpression.of(this);
+  }
 }
@@ -0,0 +1,86 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+/**
+ * A {@linkplain StrideCursor cursor} over the elements of an {@link IntArray}.
+ *
+ * <p/>
+ * Copying the elements of {@code x} to {@code y} (with the same shape):
+ *
+ * <pre>
+ * IntCursor from = x.cursor();
+ * IntCursor to = y.cursor();
+ * while (from.hasNext()) {
+ *   to.setNext(from.nextInt());
+ * }
+ * </pre>
+ *
+ * @author Isak Karlsson
+ * @see IntArray#cursor()
+ */
+public abstract class IntCursor extends StrideCursor {
+
+  /**
+   * Construct a new cursor for the array with the given offset, shape and stride.
+   *
+   * @param offset the offset
+   * @param shape the shape
+   * @param stride the stride
+   */
+  protected IntCursor(int offset, int[] shape, int[] stride) {
+    super(offset, shape, stride);
+  }
+
+  /**
+   * Returns the value of the current element.
+   *
+   * @return the current value
+   */
+  public abstract int get();
+
+  /**
+   * Set the value of the current element.
+   *
+   * @param value the new value
+   */
+  public abstract void set(int value);
+
+  /**
+   * Advance the cursor and return the value of the next element.
+   *
+   * @return the next value
+   */
+  public final int nextInt() {
+    next();
+    return get();
+  }
+
+  /**
+   * Advance the cursor and set the value of the next element.
+   *
+   * @param value the new value
+   */
+  public final void setNext(int value) {
+    next();
+    set(value);
+  }
+}
@@ -0,0 +1,360 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A lazy, element-wise expression over int arrays. The expression is evaluated in a single fused
+ * loop, a block of elements at a time, when it is {@linkplain #evaluate() evaluated}. See
+ * {@link DoubleExpression} for details.
+ *
+ * @author Isak Karlsson
+ * @see IntArray#lazy()
+ */
+public abstract class IntExpression {
+
+  private static final int PLUS = 0;
+  private static final int MINUS = 1;
+  private static final int TIMES = 2;
+
+  IntExpression() {}
+
+  /**
+   * Returns an expression of the given array.
+   *
+   * @param array the array
+   * @return a new expression
+   */
+  public static IntExpression of(IntArray array) {
+    return new ArrayNode(array);
+  }
+
+  /**
+   * Returns an expression of a constant value, broadcast to the shape of the other operands.
+   *
+   * @param value the value
+   * @return a new expression
+   */
+  public static IntExpression constant(int value) {
+    return new ConstantNode(value);
+  }
+
+  public IntExpression plus(IntExpression other) {
+    return new BinaryNode(PLUS, this, other);
+  }
+
+  public IntExpression plus(IntArray other) {
+    return plus(of(other));
+  }
+
+  public IntExpression plus(int value) {
+    return plus(constant(value));
+  }
+
+  public IntExpression minus(IntExpression other) {
+    return new BinaryNode(MINUS, this, other);
+  }
+
+  public IntExpression minus(IntArray other) {
+    return minus(of(other));
+  }
+
+  public IntExpression minus(int value) {
+    return minus(constant(value));
+  }
+
+  public IntExpression times(IntExpression other) {
+    return new BinaryNode(TIMES, this, other);
+  }
+
+  public IntExpression times(IntArray other) {
+    return times(of(other));
+  }
+
+  public IntExpression times(int value) {
+    return times(constant(value));
+  }
+
+  public IntExpression negate() {
+    return times(-1);
+  }
+
+  /**
+   * Returns an expression which applies the given operator to each element of this expression.
+   *
+   * @param operator the operator
+   * @return a new expression
+   */
+  public IntExpression map(IntUnaryOperator operator) {
+    return new UnaryNode(this, operator);
+  }
+
+  /**
+   * Returns this expression converted to a double expression.
+   *
+   * @return a double expression
+   */
+  public DoubleExpression asDouble() {
+    return new AsDoubleNode(this);
+  }
+
+  /**
+   * Returns the shape of the evaluated expression, i.e., the shape the operands are broadcast to.
+   *
+   * @return the shape
+   * @throws IllegalStateException if the expression has no array operands
+   */
+  public int[] getShape() {
+    return DoubleExpression.getShape(leaves());
+  }
+
+  /**
+   * Evaluate the expression into a new array.
+   *
+   * @return a new array
+   */
+  public IntArray evaluate() {
+    List<BaseArray<?>> leaves = leaves();
+    int[] shape = DoubleExpression.getShape(leaves);
+    IntArray out = ((IntArray) leaves.get(0)).newEmptyArray(shape);
+    evaluate(out);
+    return out;
+  }
+
+  /**
+   * Evaluate the expression into the given array. The operands are broadcast to the shape of the
+   * destination.
+   *
+   * @param out the destination
+   */
+  public void evaluate(IntArray out) {
+    Block block = block(out.getShape());
+    int[] buffer = new int[DoubleExpression.BLOCK_SIZE];
+    IntCursor cursor = out.cursor();
+    int size = out.size();
+    for (int i = 0; i < size; i += buffer.length) {
+      int n = Math.min(buffer.length, size - i);
+      block.next(buffer, n);
+      for (int j = 0; j < n; j++) {
+        cursor.setNext(buffer[j]);
+      }
+    }
+  }
+
+  /**
+   * Evaluate the sum of the elements of the expression (without materializing it).
+   *
+   * @return the sum
+   */
+  public int sum() {
+    int[] shape = getShape();
+    Block block = block(shape);
+    int[] buffer = new int[DoubleExpression.BLOCK_SIZE];
+    int size = ShapeUtils.size(shape);
+    int sum = 0;
+    for (int i = 0; i < size; i += buffer.length) {
+      int n = Math.min(buffer.length, size - i);
+      block.next(buffer, n);
+      for (int j = 0; j < n; j++) {
+        sum += buffer[j];
+      }
+    }
+    return sum;
+  }
+
+  abstract Block block(int[] shape);
+
+  abstract void collect(List<BaseArray<?>> leaves);
+
+  private List<BaseArray<?>> leaves() {
+    List<BaseArray<?>> leaves = new ArrayList<>();
+    collect(leaves);
+    return leaves;
+  }
+
+  /**
+   * @see DoubleExpression.Block
+   */
+  abstract static class Block {
+
+    abstract void next(int[] buffer, int n);
+  }
+
+  private static final class ArrayNode extends IntExpression {
+
+    private final IntArray array;
+
+    private ArrayNode(IntArray array) {
+      this.array = array;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      IntCursor cursor = Arrays.broadcastTo(array, shape).cursor();
+      return new Block() {
+        @Override
+        void next(int[] buffer, int n) {
+          for (int i = 0; i < n; i++) {
+            buffer[i] = cursor.nextInt();
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      leaves.add(array);
+    }
+  }
+
+  private static final class ConstantNode extends IntExpression {
+
+    private final int value;
+
+    private ConstantNode(int value) {
+      this.value = value;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      return new Block() {
+        @Override
+        void next(int[] buffer, int n) {
+          java.util.Arrays.fill(buffer, 0, n, value);
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {}
+  }
+
+  private static final class BinaryNode extends IntExpression {
+
+    private final int op;
+    private final IntExpression left;
+    private final IntExpression right;
+
+    private BinaryNode(int op, IntExpression left, IntExpression right) {
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block l = left.block(shape);
+      Block r = right.block(shape);
+      int[] other = new int[DoubleExpression.BLOCK_SIZE];
+      return new Block() {
+        @Override
+        void next(int[] buffer, int n) {
+          l.next(buffer, n);
+          r.next(other, n);
+          switch (op) {
+            case PLUS:
+              for (int i = 0; i < n; i++) {
+                buffer[i] += other[i];
+              }
+              break;
+            case MINUS:
+              for (int i = 0; i < n; i++) {
+                buffer[i] -= other[i];
+              }
+              break;
+            default:
+              for (int i = 0; i < n; i++) {
+                buffer[i] *= other[i];
+              }
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      left.collect(leaves);
+      right.collect(leaves);
+    }
+  }
+
+  private static final class UnaryNode extends IntExpression {
+
+    private final IntExpression expression;
+    private final IntUnaryOperator operator;
+
+    private UnaryNode(IntExpression expression, IntUnaryOperator operator) {
+      this.expression = expression;
+      this.operator = operator;
+    }
+
+    @Override
+    Block block(int[] shape) {
+      Block e = expression.block(shape);
+      return new Block() {
+        @Override
+        void next(int[] buffer, int n) {
+          e.next(buffer, n);
+          for (int i = 0; i < n; i++) {
+            buffer[i] = operator.applyAsInt(buffer[i]);
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      expression.collect(leaves);
+    }
+  }
+
+  private static final class AsDoubleNode extends DoubleExpression {
+
+    private final IntExpression expression;
+
+    private AsDoubleNode(IntExpression expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    DoubleExpression.Block block(int[] shape) {
+      IntExpression.Block e = expression.block(shape);
+      int[] values = new int[BLOCK_SIZE];
+      return new DoubleExpression.Block() {
+        @Override
+        void next(double[] buffer, int n) {
+          e.next(values, n);
+          for (int i = 0; i < n; i++) {
+            buffer[i] = values[i];
+          }
+        }
+      };
+    }
+
+    @Override
+    void collect(List<BaseArray<?>> leaves) {
+      expression.collect(leaves);
+    }
+  }
+}
@@ -331,4 +331,26 @@ public interface LongArray extends NumberArray, BaseArray<LongArray>, Iterable<L
   BooleanArray geq(LongArray other);
 
   long[] data();
+
+  /**
+   * Returns a cursor over the elements of this array in linear (column-major) order. For arrays
+   * extending {@link AbstractLongArray}, the cursor reads and writes the underlying storage
+   * without any index arithmetic.
+   *
+   * @return a new cursor
+   */
+  @Override
+  default LongCursor cursor() {
+    return new LongCursor(getOffset(), getShape(), getStride()) {
+      @Override
+      public long get() {
+        return LongArray.this.get(index());
+      }
+
+      @Override
+      public void set(long value) {
+        LongArray.this.set(index(), value);
+      }
+    };
+  }
 }
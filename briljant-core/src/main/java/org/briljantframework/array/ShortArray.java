@@ -0,0 +1,66 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+/**
+ * A n-dimensional array of (signed) 16-bit integers.
+ *
+ * <p/>
+ * Short arrays store quantized data using two bytes per element. Reductions over short arrays
+ * (e.g., {@link Arrays#sum(ShortArray)}) widen the elements before accumulating and
+ * {@link Arrays#dequantize(ShortArray, double, double)} computes a double array of
+ * {@code scale * (x - zeroPoint)} without allocating any intermediate arrays.
+ *
+ * <p/>
+ * The {@linkplain #doubleArray() number views} of a short array are widening views; values
+ * written through a view are narrowed.
+ *
+ * @author Isak Karlsson
+ * @see ByteArray
+ */
+public interface ShortArray extends NumberArray, BaseArray<ShortArray>, Iterable<Short> {
+
+  static ShortArray zeros(int... shape) {
+    return Arrays.shortArray(shape);
+  }
+
+  static ShortArray of(short... data) {
+    return Arrays.shortVector(data);
+  }
+
+  ShortArray assign(short value);
+
+  void assign(short[] values);
+
+  short get(int index);
+
+  short get(int i, int j);
+
+  short get(int... ix);
+
+  void set(int index, short value);
+
+  void set(int i, int j, short value);
+
+  void set(int[] ix, short value);
+
+  short[] data();
+}
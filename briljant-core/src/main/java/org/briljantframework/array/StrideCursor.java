@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over the memory positions of a strided array. The positions are visited in the same
+ * (column-major) order as the linear indexes used by e.g. {@link DoubleArray#get(int)}, but the
+ * positions are computed incrementally (like an odometer) instead of dividing the linear index by
+ * the shape of each dimension.
+ *
+ * <p/>
+ * Before iterating, dimensions that can be addressed using a single stride are merged and
+ * dimensions of size {@code 1} are removed. The first of the remaining dimensions forms the
+ * <i>run</i> of the cursor, i.e., {@link #runLength()} consecutive elements separated by
+ * {@link #runStride()} positions. For a contiguous array (regardless of the number of dimensions)
+ * there is a single run covering all elements.
+ *
+ * <p/>
+ * The cursor can be advanced one element at a time:
+ *
+ * <pre>
+ * StrideCursor cursor = x.cursor();
+ * while (cursor.hasNext()) {
+ *   int position = cursor.next();
+ *   // ...
+ * }
+ * </pre>
+ *
+ * or one run at a time:
+ *
+ * <pre>
+ * StrideCursor cursor = x.cursor();
+ * while (cursor.hasNextRun()) {
+ *   int position = cursor.nextRun();
+ *   for (int i = 0; i &lt; cursor.runLength(); i++) {
+ *     // ...
+ *     position += cursor.runStride();
+ *   }
+ * }
+ * </pre>
+ *
+ * @author Isak Karlsson
+ * @see BaseArray#cursor()
+ */
+public class StrideCursor {
+
+  private final int offset;
+  private final int size;
+  private final int dims;
+  private final int[] shape;
+  private final int[] stride;
+  private final int[] counter;
+  private final int runLength;
+  private final int runStride;
+  private final int runs;
+
+  private int run;
+  private int runStart;
+  private int position;
+  private int index;
+  private int remaining;
+
+  /**
+   * Construct a new cursor for the array with the given offset, shape and stride.
+   *
+   * @param offset the offset
+   * @param shape the shape (not modified)
+   * @param stride the stride (not modified)
+   */
+  public StrideCursor(int offset, int[] shape, int[] stride) {
+    int[] newShape = new int[Math.max(1, shape.length)];
+    int[] newStride = new int[newShape.length];
+    int dims = 0;
+    int size = 1;
+    for (int i = 0; i < shape.length; i++) {
+      size *= shape[i];
+      if (shape[i] == 1) {
+        continue;
+      }
+      if (dims > 0 && stride[i] == newShape[dims - 1] * newStride[dims - 1]) {
+        newShape[dims - 1] *= shape[i];
+      } else {
+        newShape[dims] = shape[i];
+        newStride[dims] = stride[i];
+        dims++;
+      }
+    }
+    if (dims == 0) {
+      newShape[0] = 1;
+      newStride[0] = 1;
+      dims = 1;
+    }
+    this.offset = offset;
+    this.size = size;
+    this.dims = dims;
+    this.shape = newShape;
+    this.stride = newStride;
+    this.counter = new int[dims];
+    this.runLength = size == 0 ? 0 : newShape[0];
+    this.runStride = newStride[0];
+    this.runs = size == 0 ? 0 : size / runLength;
+    reset();
+  }
+
+  /**
+   * Reset the cursor to its initial position, i.e., before the first element.
+   */
+  public final void reset() {
+    java.util.Arrays.fill(counter, 0);
+    this.run = -1;
+    this.runStart = offset;
+    this.position = offset;
+    this.index = -1;
+    this.remaining = 0;
+  }
+
+  /**
+   * Returns true if there are more elements.
+   *
+   * @return true if there are more elements
+   */
+  public final boolean hasNext() {
+    return index + 1 < size;
+  }
+
+  /**
+   * Advance the cursor to the next element and return its memory position.
+   *
+   * @return the memory position of the next element
+   * @throws NoSuchElementException if there are no more elements
+   */
+  public final int next() {
+    if (remaining > 0) {
+      remaining--;
+      position += runStride;
+      index++;
+    } else {
+      nextRun();
+    }
+    return position;
+  }
+
+  /**
+   * Returns true if there are more runs.
+   *
+   * @return true if there are more runs
+   */
+  public final boolean hasNextRun() {
+    return run + 1 < runs;
+  }
+
+  /**
+   * Advance the cursor to the first element of the next run and return its memory position.
+   * Elements not yet visited in the current run are skipped.
+   *
+   * @return the memory position of the first element in the next run
+   * @throws NoSuchElementException if there are no more runs
+   */
+  public final int nextRun() {
+    if (run + 1 >= runs) {
+      throw new NoSuchElementException();
+    }
+    if (++run > 0) {
+      for (int i = 1; i < dims; i++) {
+        runStart += stride[i];
+        if (++counter[i] < shape[i]) {
+          break;
+        }
+        runStart -= stride[i] * shape[i];
+        counter[i] = 0;
+      }
+    }
+    position = runStart;
+    index = run * runLength;
+    remaining = runLength - 1;
+    return position;
+  }
+
+  /**
+   * Returns the memory position of the current element.
+   *
+   * @return the memory position of the current element
+   */
+  public final int position() {
+    return position;
+  }
+
+  /**
+   * Returns the linear (column-major) index of the current element, i.e., the index {@code i} for
+   * which {@code x.get(i)} returns the element at {@link #position()}.
+   *
+   * @return the linear index of the current element
+   */
+  public final int index() {
+    return index;
+  }
+
+  /**
+   * Returns the number of elements in each run.
+   *
+   * @return the number of elements in each run
+   */
+  public final int runLength() {
+    return runLength;
+  }
+
+  /**
+   * Returns the number of memory positions between two consecutive elements in a run.
+   *
+   * @return the stride of a run
+   */
+  public final int runStride() {
+    return runStride;
+  }
+
+  /**
+   * Returns the total number of elements visited by this cursor.
+   *
+   * @return the number of elements
+   */
+  public final int size() {
+    return size;
+  }
+}
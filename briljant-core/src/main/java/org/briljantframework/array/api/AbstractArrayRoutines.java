@@ -20,17 +20,17 @@
  */
 package org.briljantframework.array.api;
 
-
-import static org.briljantframework.array.StrideUtils.columnMajor;
-import static org.briljantframework.array.StrideUtils.rowMajor;
-
 import java.util.Comparator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
 
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.util.FastMath;
 import org.apache.commons.math3.util.Precision;
 import org.briljantframework.Check;
 import org.briljantframework.array.*;
+import org.briljantframework.array.sparse.SparseArrays;
+import org.briljantframework.array.sparse.SparseDoubleArray;
 import org.briljantframework.data.statistics.FastStatistics;
 import org.briljantframework.exceptions.MultiDimensionMismatchException;
 import org.briljantframework.util.complex.MutableComplex;
@@ -59,6 +59,9 @@ public class AbstractArrayRoutines implements ArrayRoutines {
 
   @Override
   public DoubleArray mean(int dim, DoubleArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.mean(dim, x);
+    }
     return x.reduceVectors(dim, this::mean);
   }
 
@@ -66,12 +69,15 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public double var(DoubleArray x) {
     Check.argument(x.isVector(), VECTOR_REQUIRED);
     FastStatistics s = new FastStatistics();
-    x.forEachDouble(s::addValue);
+    s.addAll(x);
     return s.getVariance();
   }
 
   @Override
   public DoubleArray var(int dim, DoubleArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.var(dim, x);
+    }
     return x.reduceVectors(dim, this::var);
   }
 
@@ -83,6 +89,9 @@ public class AbstractArrayRoutines implements ArrayRoutines {
 
   @Override
   public DoubleArray std(int dim, DoubleArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.std(dim, x);
+    }
     return x.reduceVectors(dim, this::std);
   }
 
@@ -127,16 +136,25 @@ public class AbstractArrayRoutines implements ArrayRoutines {
 
   @Override
   public DoubleArray min(int dim, DoubleArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.min(dim, x);
+    }
     return x.reduceVectors(dim, this::min);
   }
 
   @Override
   public IntArray min(int dim, IntArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.min(dim, x);
+    }
     return x.reduceVectors(dim, this::min);
   }
 
   @Override
   public LongArray min(int dim, LongArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.min(dim, x);
+    }
     return x.reduceVector(dim, this::min);
   }
 
@@ -191,16 +209,25 @@ public class AbstractArrayRoutines implements ArrayRoutines {
 
   @Override
   public DoubleArray max(int dim, DoubleArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.max(dim, x);
+    }
     return x.reduceVectors(dim, this::max);
   }
 
   @Override
   public IntArray max(int dim, IntArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.max(dim, x);
+    }
     return x.reduceVectors(dim, this::max);
   }
 
   @Override
   public LongArray max(int dim, LongArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.max(dim, x);
+    }
     return x.reduceVector(dim, this::max);
   }
 
@@ -232,24 +259,34 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public Complex sum(ComplexArray x) {
     MutableComplex sum = new MutableComplex(0);
-    for (int i = 0; i < x.size(); i++) {
-      sum.plus(x.get(i));
+    ComplexCursor cursor = x.cursor();
+    while (cursor.hasNext()) {
+      sum.plus(cursor.nextComplex());
     }
     return sum.toComplex();
   }
 
   @Override
   public DoubleArray sum(int dim, DoubleArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.sum(dim, x);
+    }
     return x.reduceVectors(dim, this::sum);
   }
 
   @Override
   public IntArray sum(int dim, IntArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.sum(dim, x);
+    }
     return x.reduceVectors(dim, this::sum);
   }
 
   @Override
   public LongArray sum(int dim, LongArray x) {
+    if (DimensionReductions.isSupported(dim, x)) {
+      return DimensionReductions.sum(dim, x);
+    }
     return x.reduceVector(dim, this::sum);
   }
 
@@ -268,9 +305,10 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public double prod(DoubleArray x) {
     Check.argument(x.isVector(), VECTOR_REQUIRED);
-    double prod = x.get(0);
-    for (int i = 1; i < x.size(); i++) {
-      prod *= x.get(i);
+    DoubleCursor cursor = x.cursor();
+    double prod = cursor.nextDouble();
+    while (cursor.hasNext()) {
+      prod *= cursor.nextDouble();
     }
     return prod;
   }
@@ -283,33 +321,144 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public DoubleArray cumsum(DoubleArray x) {
     Check.argument(x.isVector(), VECTOR_REQUIRED);
-    DoubleArray n = x.newEmptyArray(x.rows(), x.columns());
-    double sum = 0;
-    for (int i = 0; i < n.size(); i++) {
-      sum += x.get(i);
-      n.set(i, sum);
-    }
-    return n;
+    return PrefixScans.scan(PrefixScans.Scan.SUM, x);
   }
 
   @Override
   public DoubleArray cumsum(int dim, DoubleArray x) {
-    DoubleArray n = x.newEmptyArray(x.rows(), x.columns());
-    int vectors = x.vectors(dim);
-    for (int i = 0; i < vectors; i++) {
-      n.setVector(dim, i, cumsum(n.getVector(dim, i)));
-    }
+    return PrefixScans.scan(PrefixScans.Scan.SUM, dim, x);
+  }
+
+  @Override
+  public DoubleArray cumprod(DoubleArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.PROD, x);
+  }
+
+  @Override
+  public DoubleArray cumprod(int dim, DoubleArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.PROD, dim, x);
+  }
+
+  @Override
+  public DoubleArray cummin(DoubleArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.MIN, x);
+  }
+
+  @Override
+  public DoubleArray cummin(int dim, DoubleArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.MIN, dim, x);
+  }
+
+  @Override
+  public DoubleArray cummax(DoubleArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.MAX, x);
+  }
+
+  @Override
+  public DoubleArray cummax(int dim, DoubleArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.MAX, dim, x);
+  }
+
+  @Override
+  public IntArray cumsum(IntArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.SUM, x);
+  }
+
+  @Override
+  public IntArray cumsum(int dim, IntArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.SUM, dim, x);
+  }
+
+  @Override
+  public IntArray cumprod(IntArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.PROD, x);
+  }
+
+  @Override
+  public IntArray cumprod(int dim, IntArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.PROD, dim, x);
+  }
+
+  @Override
+  public IntArray cummin(IntArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.MIN, x);
+  }
+
+  @Override
+  public IntArray cummin(int dim, IntArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.MIN, dim, x);
+  }
+
+  @Override
+  public IntArray cummax(IntArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.MAX, x);
+  }
+
+  @Override
+  public IntArray cummax(int dim, IntArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.MAX, dim, x);
+  }
+
+  @Override
+  public LongArray cumsum(LongArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.SUM, x);
+  }
+
+  @Override
+  public LongArray cumsum(int dim, LongArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.SUM, dim, x);
+  }
+
+  @Override
+  public LongArray cumprod(LongArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.PROD, x);
+  }
+
+  @Override
+  public LongArray cumprod(int dim, LongArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.PROD, dim, x);
+  }
+
+  @Override
+  public LongArray cummin(LongArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.MIN, x);
+  }
+
+  @Override
+  public LongArray cummin(int dim, LongArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.MIN, dim, x);
+  }
+
+  @Override
+  public LongArray cummax(LongArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    return PrefixScans.scan(PrefixScans.Scan.MAX, x);
+  }
 
-    return n;
+  @Override
+  public LongArray cummax(int dim, LongArray x) {
+    return PrefixScans.scan(PrefixScans.Scan.MAX, dim, x);
   }
 
   @Override
   public double inner(DoubleArray a, DoubleArray b) {
     Check.argument(a.isVector() && b.isVector(), VECTOR_REQUIRED);
     Check.size(a, b);
+    DoubleCursor ac = a.cursor();
+    DoubleCursor bc = b.cursor();
     double s = 0;
-    for (int i = 0; i < a.size(); i++) {
-      s += a.get(i) * b.get(i);
+    while (ac.hasNext()) {
+      s += ac.nextDouble() * bc.nextDouble();
     }
     return s;
   }
@@ -327,9 +476,10 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public double norm2(DoubleArray a) {
     Check.argument(a.isVector(), VECTOR_REQUIRED);
+    DoubleCursor cursor = a.cursor();
     double sum = 0;
-    for (int i = 0; i < a.size(); i++) {
-      double v = a.get(i);
+    while (cursor.hasNext()) {
+      double v = cursor.nextDouble();
       sum += v * v;
     }
 
@@ -344,9 +494,10 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public Complex norm2(ComplexArray a) {
     Check.argument(a.isVector(), VECTOR_REQUIRED);
-    MutableComplex c = new MutableComplex(a.get(0).pow(2));
-    for (int i = 1; i < a.size(); i++) {
-      c.plus(a.get(i).pow(2));
+    ComplexCursor cursor = a.cursor();
+    MutableComplex c = new MutableComplex(cursor.nextComplex().pow(2));
+    while (cursor.hasNext()) {
+      c.plus(cursor.nextComplex().pow(2));
     }
     return c.toComplex().sqrt();
   }
@@ -354,9 +505,10 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public double asum(DoubleArray a) {
     Check.argument(a.isVector(), VECTOR_REQUIRED);
+    DoubleCursor cursor = a.cursor();
     double sum = 0;
-    for (int i = 0; i < a.size(); i++) {
-      sum += Math.abs(a.get(i));
+    while (cursor.hasNext()) {
+      sum += Math.abs(cursor.nextDouble());
     }
     return sum;
   }
@@ -364,9 +516,10 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public double asum(ComplexArray a) {
     Check.argument(a.isVector(), VECTOR_REQUIRED);
+    ComplexCursor cursor = a.cursor();
     double s = 0;
-    for (int i = 0; i < a.size(); i++) {
-      s += a.get(i).abs();
+    while (cursor.hasNext()) {
+      s += cursor.nextComplex().abs();
     }
     return s;
   }
@@ -374,12 +527,13 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public int iamax(DoubleArray x) {
     Check.argument(x.isVector(), VECTOR_REQUIRED);
+    DoubleCursor cursor = x.cursor();
     int i = 0;
-    double m = Math.abs(x.get(0));
-    for (int j = 1; j < x.size(); j++) {
-      double d = Math.abs(x.get(j));
+    double m = Math.abs(cursor.nextDouble());
+    while (cursor.hasNext()) {
+      double d = Math.abs(cursor.nextDouble());
       if (d > m) {
-        i = j;
+        i = cursor.index();
         m = d;
       }
     }
@@ -398,9 +552,10 @@ public class AbstractArrayRoutines implements ArrayRoutines {
     if (alpha == 1) {
       return;
     }
-    final int n = x.size();
-    for (int i = 0; i < n; i++) {
-      x.set(i, x.get(i) * alpha);
+    DoubleCursor cursor = x.cursor();
+    while (cursor.hasNext()) {
+      cursor.next();
+      cursor.set(cursor.get() * alpha);
     }
   }
 
@@ -421,16 +576,28 @@ public class AbstractArrayRoutines implements ArrayRoutines {
     if (alpha == 0) {
       return;
     }
-    int size = x.size();
-    for (int i = 0; i < size; i++) {
-      y.set(i, alpha * x.get(i) + y.get(i));
+    DoubleCursor xc = x.cursor();
+    DoubleCursor yc = y.cursor();
+    while (yc.hasNext()) {
+      yc.next();
+      yc.set(alpha * xc.nextDouble() + yc.get());
     }
   }
 
   @Override
   public void gemv(ArrayOperation transA, double alpha, DoubleArray a, DoubleArray x, double beta,
       DoubleArray y) {
-    throw new UnsupportedOperationException();
+    Check.argument(a.isMatrix(), "'a' has %s dims", a.dims());
+    Check.argument(x.isVector() && y.isVector(), VECTOR_REQUIRED);
+    int m = a.size(transA.isTranspose() ? 1 : 0);
+    int n = a.size(transA.isTranspose() ? 0 : 1);
+    Check.dimension(n, x.size());
+    Check.dimension(m, y.size());
+    if (a instanceof SparseDoubleArray) {
+      SparseArrays.gemv(transA, alpha, (SparseDoubleArray) a, x, beta, y);
+      return;
+    }
+    DoubleGemm.gemv(transA.isTranspose(), alpha, a, x, beta, y, m, n);
   }
 
   @Override
@@ -448,7 +615,28 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public void gemm(ArrayOperation transA, ArrayOperation transB, double alpha, DoubleArray a,
       DoubleArray b, double beta, DoubleArray c) {
+    int[] mnk = gemmSize(transA, transB, a, b, c);
+    if (a instanceof SparseDoubleArray || b instanceof SparseDoubleArray) {
+      SparseArrays.gemm(transA, transB, alpha, a, b, beta, c);
+      return;
+    }
+    DoubleGemm.gemm(transA.isTranspose(), transB.isTranspose(), alpha, a, b, beta, c, mnk[0],
+        mnk[1], mnk[2]);
+  }
 
+  @Override
+  public void batchGemm(ArrayOperation transA, ArrayOperation transB, double alpha, DoubleArray a,
+      DoubleArray b, double beta, DoubleArray c) {
+    BatchedGemm.gemm(transA.isTranspose(), transB.isTranspose(), alpha, a, b, beta, c,
+        (x, y, z) -> gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, alpha, x, y, beta, z));
+  }
+
+  /**
+   * Returns {@code [m, n, k]} for {@code c[m, n] = op(a)[m, k] * op(b)[k, n]}, throwing if the
+   * arrays do not agree.
+   */
+  private static int[] gemmSize(ArrayOperation transA, ArrayOperation transB, BaseArray<?> a,
+      BaseArray<?> b, BaseArray<?> c) {
     int thisRows = a.rows();
     int thisCols = a.columns();
     if (transA.isTranspose()) {
@@ -473,20 +661,7 @@ public class AbstractArrayRoutines implements ArrayRoutines {
           String.format("a has size (%d,%d), b has size (%d,%d), c has size (%d, %d)", m, dk, dk, n,
               c.size(0), c.size(1)));
     }
-
-    for (int row = 0; row < thisRows; row++) {
-      for (int col = 0; col < otherColumns; col++) {
-        double sum = 0.0;
-        for (int k = 0; k < thisCols; k++) {
-          int thisIndex = transA.isTranspose() ? rowMajor(row, k, thisRows, thisCols)
-              : columnMajor(0, row, k, thisRows, thisCols);
-          int otherIndex = transB.isTranspose() ? rowMajor(k, col, otherRows, otherColumns)
-              : columnMajor(0, k, col, otherRows, otherColumns);
-          sum += a.get(thisIndex) * b.get(otherIndex);
-        }
-        c.set(row, col, alpha * sum + beta * c.get(row, col));
-      }
-    }
+    return new int[] {m, n, dk};
   }
 
   @Override
@@ -510,258 +685,323 @@ public class AbstractArrayRoutines implements ArrayRoutines {
 
   @Override
   public DoubleArray plus(DoubleArray a, DoubleArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      DoubleArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) + y.get(i));
-      }
-      return out;
-    });
+    DoubleArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x + y);
+    return out;
   }
 
   @Override
-  public void plus(DoubleArray a, DoubleArray b, final DoubleArray out) {
-    Arrays.broadcastCombine(a, b, (x, y) -> {
-      Check.dimension(x, out);
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) + y.get(i));
-      }
-      return null;
-    });
+  public void plus(DoubleArray a, DoubleArray b, DoubleArray out) {
+    BroadcastIterator.apply(out, a, b, (x, y) -> x + y);
   }
 
   @Override
   public DoubleArray minus(DoubleArray a, DoubleArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      DoubleArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) - y.get(i));
-      }
-      return out;
-    });
+    DoubleArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x - y);
+    return out;
   }
 
   @Override
   public void minus(DoubleArray a, DoubleArray b, DoubleArray out) {
-    Arrays.broadcastCombine(a, b, (x, y) -> {
-      Check.dimension(x, out);
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, y.get(i) - x.get(i));
-      }
-      return null;
-    });
+    BroadcastIterator.apply(out, a, b, (x, y) -> y - x);
   }
 
   @Override
   public DoubleArray times(DoubleArray a, DoubleArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      DoubleArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) * y.get(i));
-      }
-      return out;
-    });
+    DoubleArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x * y);
+    return out;
   }
 
   @Override
   public void times(DoubleArray a, DoubleArray b, DoubleArray out) {
-    Arrays.broadcastCombine(a, b, (x, y) -> {
-      Check.dimension(x, out);
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) * y.get(i));
-      }
-      return null;
-    });
+    BroadcastIterator.apply(out, a, b, (x, y) -> x * y);
   }
 
   @Override
   public DoubleArray div(DoubleArray nominator, DoubleArray denominator) {
-    return Arrays.broadcastCombine(nominator, denominator, (x, y) -> {
-      DoubleArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) / y.get(i));
-      }
-      return out;
-    });
+    DoubleArray out = nominator.newEmptyArray(broadcastShape(nominator, denominator));
+    BroadcastIterator.apply(out, nominator, denominator, (x, y) -> x / y);
+    return out;
   }
 
   @Override
   public void div(DoubleArray a, DoubleArray b, DoubleArray out) {
-    Arrays.broadcastCombine(a, b, (x, y) -> {
-      Check.dimension(x, out);
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, y.get(i) / x.get(i));
-      }
-      return null;
-    });
+    BroadcastIterator.apply(out, a, b, (x, y) -> y / x);
   }
 
   @Override
   public IntArray plus(IntArray a, IntArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      IntArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) + y.get(i));
-      }
-      return out;
-    });
+    IntArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x + y);
+    return out;
   }
 
   @Override
-  public void plusAssign(IntArray a, final IntArray out) {
-    Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, x.get(i) + y.get(i));
-      }
-    });
+  public void plusAssign(IntArray a, IntArray out) {
+    assign(a, out, (x, y) -> x + y);
   }
 
   @Override
   public IntArray minus(IntArray a, IntArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      IntArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) - y.get(i));
-      }
-      return out;
-    });
+    IntArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x - y);
+    return out;
   }
 
   @Override
   public void minusAssign(IntArray a, IntArray out) {
-    Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, y.get(i) - x.get(i));
-      }
-    });
+    assign(a, out, (x, y) -> y - x);
   }
 
   @Override
   public IntArray times(IntArray a, IntArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      IntArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) * y.get(i));
-      }
-      return out;
-    });
+    IntArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x * y);
+    return out;
   }
 
   @Override
   public void timesAssign(IntArray a, IntArray out) {
-    Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, x.get(i) * y.get(i));
-      }
-    });
+    assign(a, out, (x, y) -> x * y);
   }
 
   @Override
   public IntArray div(IntArray nominator, IntArray denominator) {
-    return Arrays.broadcastCombine(nominator, denominator, (x, y) -> {
-      IntArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) / y.get(i));
-      }
-      return out;
-    });
+    IntArray out = nominator.newEmptyArray(broadcastShape(nominator, denominator));
+    BroadcastIterator.apply(out, nominator, denominator, (x, y) -> x / y);
+    return out;
   }
 
   @Override
   public void divAssign(IntArray nominator, IntArray denominatorOut) {
-    Arrays.broadcastWith(denominatorOut, nominator, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, y.get(i) / x.get(i));
-      }
-    });
+    assign(nominator, denominatorOut, (x, y) -> y / x);
   }
 
   @Override
   public LongArray plus(LongArray a, LongArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      LongArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) + y.get(i));
-      }
-      return out;
-    });
+    LongArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x + y);
+    return out;
   }
 
   @Override
-  public void plusAssign(LongArray a, final LongArray out) {
-    Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, x.get(i) + y.get(i));
-      }
-    });
+  public void plusAssign(LongArray a, LongArray out) {
+    assign(a, out, (x, y) -> x + y);
   }
 
   @Override
   public LongArray minus(LongArray a, LongArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      LongArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) - y.get(i));
-      }
-      return out;
-    });
+    LongArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x - y);
+    return out;
   }
 
   @Override
   public void minusAssign(LongArray a, LongArray out) {
-    Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, y.get(i) - x.get(i));
-      }
-    });
+    assign(a, out, (x, y) -> y - x);
   }
 
   @Override
   public LongArray times(LongArray a, LongArray b) {
-    return Arrays.broadcastCombine(a, b, (x, y) -> {
-      LongArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) * y.get(i));
-      }
-      return out;
-    });
+    LongArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x * y);
+    return out;
   }
 
   @Override
   public void timesAssign(LongArray a, LongArray out) {
-    Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, x.get(i) * y.get(i));
-      }
-    });
+    assign(a, out, (x, y) -> x * y);
   }
 
   @Override
   public LongArray div(LongArray nominator, LongArray denominator) {
-    return Arrays.broadcastCombine(nominator, denominator, (x, y) -> {
-      LongArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) / y.get(i));
-      }
-      return out;
-    });
+    LongArray out = nominator.newEmptyArray(broadcastShape(nominator, denominator));
+    BroadcastIterator.apply(out, nominator, denominator, (x, y) -> x / y);
+    return out;
   }
 
   @Override
   public void divAssign(LongArray nominator, LongArray denominatorOut) {
-    Arrays.broadcastWith(denominatorOut, nominator, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, y.get(i) / x.get(i));
+    assign(nominator, denominatorOut, (x, y) -> y / x);
+  }
+
+  @Override
+  public long sum(ByteArray x) {
+    long sum = 0;
+    IntCursor cursor = x.intArray().cursor();
+    while (cursor.hasNext()) {
+      sum += cursor.nextInt();
+    }
+    return sum;
+  }
+
+  @Override
+  public long sum(ShortArray x) {
+    long sum = 0;
+    IntCursor cursor = x.intArray().cursor();
+    while (cursor.hasNext()) {
+      sum += cursor.nextInt();
+    }
+    return sum;
+  }
+
+  @Override
+  public LongArray sum(int dim, ByteArray x) {
+    LongArray sums = newReducedArray(dim, x);
+    for (int i = 0, vectors = x.vectors(dim); i < vectors; i++) {
+      sums.set(i, sum(x.getVector(dim, i)));
+    }
+    return sums;
+  }
+
+  @Override
+  public LongArray sum(int dim, ShortArray x) {
+    LongArray sums = newReducedArray(dim, x);
+    for (int i = 0, vectors = x.vectors(dim); i < vectors; i++) {
+      sums.set(i, sum(x.getVector(dim, i)));
+    }
+    return sums;
+  }
+
+  private LongArray newReducedArray(int dim, BaseArray<?> x) {
+    Check.argument(dim >= 0 && dim < x.dims(), "illegal dimension %s", dim);
+    int[] shape = new int[x.dims() - 1];
+    for (int i = 0, j = 0; i < x.dims(); i++) {
+      if (i != dim) {
+        shape[j++] = x.size(i);
       }
-    });
+    }
+    return backend.getArrayFactory().newLongArray(shape);
+  }
+
+  @Override
+  public void dequantize(ByteArray x, double scale, double zeroPoint, DoubleArray out) {
+    Check.dimension(x, out);
+    IntCursor xc = x.intArray().cursor();
+    DoubleCursor oc = out.cursor();
+    while (oc.hasNext()) {
+      oc.setNext(scale * (xc.nextInt() - zeroPoint));
+    }
+  }
+
+  @Override
+  public void dequantize(ShortArray x, double scale, double zeroPoint, DoubleArray out) {
+    Check.dimension(x, out);
+    IntCursor xc = x.intArray().cursor();
+    DoubleCursor oc = out.cursor();
+    while (oc.hasNext()) {
+      oc.setNext(scale * (xc.nextInt() - zeroPoint));
+    }
+  }
+
+  @Override
+  public FloatArray plus(FloatArray a, FloatArray b) {
+    FloatArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x + y);
+    return out;
+  }
+
+  @Override
+  public FloatArray minus(FloatArray a, FloatArray b) {
+    FloatArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x - y);
+    return out;
+  }
+
+  @Override
+  public FloatArray times(FloatArray a, FloatArray b) {
+    FloatArray out = a.newEmptyArray(broadcastShape(a, b));
+    BroadcastIterator.apply(out, a, b, (x, y) -> x * y);
+    return out;
+  }
+
+  @Override
+  public FloatArray div(FloatArray nominator, FloatArray denominator) {
+    FloatArray out = nominator.newEmptyArray(broadcastShape(nominator, denominator));
+    BroadcastIterator.apply(out, nominator, denominator, (x, y) -> x / y);
+    return out;
+  }
+
+  @Override
+  public double sum(FloatArray x) {
+    return x.reduce(0, Double::sum);
+  }
+
+  @Override
+  public float inner(FloatArray a, FloatArray b) {
+    Check.argument(a.isVector() && b.isVector(), VECTOR_REQUIRED);
+    Check.size(a, b);
+    FloatCursor ac = a.cursor();
+    FloatCursor bc = b.cursor();
+    double s = 0;
+    while (ac.hasNext()) {
+      s += ac.nextFloat() * bc.nextFloat();
+    }
+    return (float) s;
+  }
+
+  @Override
+  public void scal(float alpha, FloatArray x) {
+    Check.argument(x.isVector(), VECTOR_REQUIRED);
+    if (alpha == 1) {
+      return;
+    }
+    FloatCursor cursor = x.cursor();
+    while (cursor.hasNext()) {
+      cursor.next();
+      cursor.set(cursor.get() * alpha);
+    }
+  }
+
+  @Override
+  public void axpy(float alpha, FloatArray x, FloatArray y) {
+    Check.size(x, y);
+    if (alpha == 0) {
+      return;
+    }
+    FloatCursor xc = x.cursor();
+    FloatCursor yc = y.cursor();
+    while (yc.hasNext()) {
+      yc.next();
+      yc.set(alpha * xc.nextFloat() + yc.get());
+    }
+  }
+
+  @Override
+  public void gemv(ArrayOperation transA, float alpha, FloatArray a, FloatArray x, float beta,
+      FloatArray y) {
+    Check.argument(a.isMatrix(), "'a' has %s dims", a.dims());
+    Check.argument(x.isVector() && y.isVector(), VECTOR_REQUIRED);
+    int m = a.size(transA.isTranspose() ? 1 : 0);
+    int n = a.size(transA.isTranspose() ? 0 : 1);
+    Check.dimension(n, x.size());
+    Check.dimension(m, y.size());
+    DoubleGemm.gemv(transA.isTranspose(), alpha, a.doubleArray(), x.doubleArray(), beta,
+        y.doubleArray(), m, n);
+  }
+
+  @Override
+  public void gemm(ArrayOperation transA, ArrayOperation transB, float alpha, FloatArray a,
+      FloatArray b, float beta, FloatArray c) {
+    // The fallback accumulates in double precision over widening views of the float arrays
+    int[] mnk = gemmSize(transA, transB, a, b, c);
+    DoubleGemm.gemm(transA.isTranspose(), transB.isTranspose(), alpha, a.doubleArray(),
+        b.doubleArray(), beta, c.doubleArray(), mnk[0], mnk[1], mnk[2]);
   }
 
   @Override
   public ComplexArray plus(ComplexArray a, ComplexArray b) {
     return Arrays.broadcastCombine(a, b, (x, y) -> {
       ComplexArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i).add(y.get(i)));
+      ComplexCursor oc = out.cursor();
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        xc.next();
+        yc.next();
+        oc.setNext(xc.getReal() + yc.getReal(), xc.getImaginary() + yc.getImaginary());
       }
       return out;
     });
@@ -770,8 +1010,12 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public void plusAssign(ComplexArray a, final ComplexArray out) {
     Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, x.get(i).add(y.get(i)));
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (xc.hasNext()) {
+        xc.next();
+        yc.next();
+        xc.set(xc.getReal() + yc.getReal(), xc.getImaginary() + yc.getImaginary());
       }
     });
   }
@@ -780,8 +1024,13 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public ComplexArray minus(ComplexArray a, ComplexArray b) {
     return Arrays.broadcastCombine(a, b, (x, y) -> {
       ComplexArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i).subtract(y.get(i)));
+      ComplexCursor oc = out.cursor();
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        xc.next();
+        yc.next();
+        oc.setNext(xc.getReal() - yc.getReal(), xc.getImaginary() - yc.getImaginary());
       }
       return out;
     });
@@ -790,8 +1039,12 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public void minusAssign(ComplexArray a, ComplexArray out) {
     Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, y.get(i).subtract(x.get(i)));
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (xc.hasNext()) {
+        xc.next();
+        yc.next();
+        xc.set(yc.getReal() - xc.getReal(), yc.getImaginary() - xc.getImaginary());
       }
     });
   }
@@ -800,8 +1053,15 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public ComplexArray times(ComplexArray a, ComplexArray b) {
     return Arrays.broadcastCombine(a, b, (x, y) -> {
       ComplexArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i).multiply(y.get(i)));
+      ComplexCursor oc = out.cursor();
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        xc.next();
+        yc.next();
+        double ar = xc.getReal(), ai = xc.getImaginary();
+        double br = yc.getReal(), bi = yc.getImaginary();
+        oc.setNext(ar * br - ai * bi, ar * bi + ai * br);
       }
       return out;
     });
@@ -810,8 +1070,14 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public void timesAssign(ComplexArray a, ComplexArray out) {
     Arrays.broadcastWith(out, a, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, x.get(i).multiply(y.get(i)));
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (xc.hasNext()) {
+        xc.next();
+        yc.next();
+        double ar = xc.getReal(), ai = xc.getImaginary();
+        double br = yc.getReal(), bi = yc.getImaginary();
+        xc.set(ar * br - ai * bi, ar * bi + ai * br);
       }
     });
   }
@@ -820,8 +1086,11 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public ComplexArray div(ComplexArray nominator, ComplexArray denominator) {
     return Arrays.broadcastCombine(nominator, denominator, (x, y) -> {
       ComplexArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i).divide(y.get(i)));
+      ComplexCursor oc = out.cursor();
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        oc.setNext(xc.nextComplex().divide(yc.nextComplex()));
       }
       return out;
     });
@@ -830,8 +1099,11 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   @Override
   public void divAssign(ComplexArray nominator, ComplexArray denominatorOut) {
     Arrays.broadcastWith(denominatorOut, nominator, (x, y) -> {
-      for (int i = 0, size = x.size(); i < size; i++) {
-        x.set(i, y.get(i).divide(x.get(i)));
+      ComplexCursor xc = x.cursor();
+      ComplexCursor yc = y.cursor();
+      while (xc.hasNext()) {
+        xc.next();
+        xc.set(yc.nextComplex().divide(xc.get()));
       }
     });
   }
@@ -840,8 +1112,11 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public BooleanArray and(BooleanArray a, BooleanArray b) {
     return Arrays.broadcastCombine(a, b, (x, y) -> {
       BooleanArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) && y.get(i));
+      BooleanCursor oc = out.cursor();
+      BooleanCursor xc = x.cursor();
+      BooleanCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        oc.setNext(xc.nextBoolean() && yc.nextBoolean());
       }
       return out;
     });
@@ -851,8 +1126,11 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public BooleanArray or(BooleanArray a, BooleanArray b) {
     return Arrays.broadcastCombine(a, b, (x, y) -> {
       BooleanArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) || y.get(i));
+      BooleanCursor oc = out.cursor();
+      BooleanCursor xc = x.cursor();
+      BooleanCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        oc.setNext(xc.nextBoolean() || yc.nextBoolean());
       }
       return out;
     });
@@ -862,8 +1140,11 @@ public class AbstractArrayRoutines implements ArrayRoutines {
   public BooleanArray xor(BooleanArray a, BooleanArray b) {
     return Arrays.broadcastCombine(a, b, (x, y) -> {
       BooleanArray out = x.newEmptyArray(x.getShape());
-      for (int i = 0, size = x.size(); i < size; i++) {
-        out.set(i, x.get(i) ^ y.get(i));
+      BooleanCursor oc = out.cursor();
+      BooleanCursor xc = x.cursor();
+      BooleanCursor yc = y.cursor();
+      while (oc.hasNext()) {
+        oc.setNext(xc.nextBoolean() ^ yc.nextBoolean());
       }
       return out;
     });
@@ -1073,4 +1354,45 @@ public class AbstractArrayRoutines implements ArrayRoutines {
     out.assign(in, Math::round);
     return out;
   }
+
+  /**
+   * Returns the shape of the given arrays broadcast to a common shape.
+   */
+  private static int[] broadcastShape(BaseArray<?> a, BaseArray<?> b) {
+    return ShapeUtils.findCombinedBroadcastShape(java.util.Arrays.asList(a, b));
+  }
+
+  /**
+   * Compute {@code out = operator(out, a)} for each element. If broadcasting {@code a} to the
+   * shape of {@code out} is not {@linkplain ShapeUtils#isBroadcastSensible(BaseArray, BaseArray)
+   * sensible} (e.g., a row vector and a column vector, or a {@code 3 x 2} and a {@code 2 x 3}
+   * matrix) and the arrays have the same size, the elements are paired in linear order.
+   */
+  private static void assign(IntArray a, IntArray out, IntBinaryOperator operator) {
+    if (isLinearAssign(a, out)) {
+      for (int i = 0, size = out.size(); i < size; i++) {
+        out.set(i, operator.applyAsInt(out.get(i), a.get(i)));
+      }
+    } else {
+      BroadcastIterator.apply(out, out, a, operator);
+    }
+  }
+
+  /**
+   * @see #assign(IntArray, IntArray, IntBinaryOperator)
+   */
+  private static void assign(LongArray a, LongArray out, LongBinaryOperator operator) {
+    if (isLinearAssign(a, out)) {
+      for (int i = 0, size = out.size(); i < size; i++) {
+        out.set(i, operator.applyAsLong(out.get(i), a.get(i)));
+      }
+    } else {
+      BroadcastIterator.apply(out, out, a, operator);
+    }
+  }
+
+  private static boolean isLinearAssign(BaseArray<?> a, BaseArray<?> out) {
+    return a.size() == out.size() && !java.util.Arrays.equals(a.getShape(), out.getShape())
+        && !ShapeUtils.isBroadcastSensible(out, a);
+  }
 }
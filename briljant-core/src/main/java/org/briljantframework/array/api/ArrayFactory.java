@@ -124,6 +124,62 @@ public interface ArrayFactory {
    */
   LongArray newLongArray(int... shape);
 
+  /**
+   * Create a byte vector with the given (raw) data.
+   *
+   * @param data the data array
+   * @return a new byte vector
+   */
+  ByteArray newByteVector(byte... data);
+
+  /**
+   * Create a byte array with designated shape filled with {@code 0}.
+   *
+   * @param shape the shape
+   * @return a new byte array
+   */
+  ByteArray newByteArray(int... shape);
+
+  /**
+   * Create a short vector with the given data.
+   *
+   * @param data the data array
+   * @return a new short vector
+   */
+  ShortArray newShortVector(short... data);
+
+  /**
+   * Create a short array with designated shape filled with {@code 0}.
+   *
+   * @param shape the shape
+   * @return a new short array
+   */
+  ShortArray newShortArray(int... shape);
+
+  /**
+   * Create a float array with the given data in row-major order.
+   *
+   * @param data the data
+   * @return a new float matrix
+   */
+  FloatArray newFloatMatrix(float[][] data);
+
+  /**
+   * Create a float vector with the given data.
+   *
+   * @param data the data array
+   * @return a new float vector
+   */
+  FloatArray newFloatVector(float... data);
+
+  /**
+   * Create a float array with designated shape filled with {@code 0}.
+   *
+   * @param shape the shape
+   * @return a new float array
+   */
+  FloatArray newFloatArray(int... shape);
+
   /**
    * Create a matrix with given data in row-major order.
    *
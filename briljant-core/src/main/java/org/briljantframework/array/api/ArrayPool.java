@@ -0,0 +1,428 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.BaseArray;
+
+/**
+ * A pool of primitive buffers used for storing the elements of temporary arrays.
+ *
+ * <p/>
+ * Arrays created by the {@linkplain ArrayFactory array factory} (and by
+ * {@link BaseArray#newEmptyArray(int...)}) of backends supporting pooling (e.g., the netlib
+ * backend) while a {@linkplain #openScope() scope} is open on the current thread are backed by
+ * buffers served from the pool. When the scope is closed, the buffers of all arrays created
+ * inside the scope are released in bulk to the pool and reused by arrays of the same size in later
+ * scopes. This avoids allocating new arrays of the same shapes in each iteration of long running
+ * iterative algorithms.
+ *
+ * <pre>
+ * DoubleArray x = ...;
+ * for (int i = 0; i &lt; iterations; i++) {
+ *   try (ArrayPool.Scope scope = ArrayPool.openScope()) {
+ *     DoubleArray gradient = ...; // temporary arrays
+ *     x = scope.keep(Arrays.minus(x, Arrays.times(gradient, step)));
+ *   }
+ * }
+ * </pre>
+ *
+ * <p/>
+ * <b>Note</b> that arrays (and views of arrays) created inside a scope must not be used after the
+ * scope is closed, since their storage can be reused by other arrays. Arrays that should outlive
+ * the scope must be {@linkplain Scope#keep(BaseArray) kept}.
+ *
+ * <p/>
+ * Each thread has its own pool and scopes are confined to the thread that opened them; hence, no
+ * synchronization is required.
+ *
+ * @author Isak Karlsson
+ */
+public final class ArrayPool {
+
+  /**
+   * The default maximum number of bytes retained by a pool
+   */
+  public static final long DEFAULT_MAX_RETAINED_BYTES = 64L << 20;
+
+  /**
+   * Arrays with fewer elements are not pooled
+   */
+  static final int MIN_POOLED_SIZE = 16;
+
+  private static final ThreadLocal<ArrayPool> POOL =
+      ThreadLocal.withInitial(() -> new ArrayPool(DEFAULT_MAX_RETAINED_BYTES));
+  private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+  private final Map<Integer, ArrayDeque<double[]>> doubles = new HashMap<>();
+  private final Map<Integer, ArrayDeque<int[]>> ints = new HashMap<>();
+  private final Map<Integer, ArrayDeque<long[]>> longs = new HashMap<>();
+  private final Map<Integer, ArrayDeque<float[]>> floats = new HashMap<>();
+  private final Map<Integer, ArrayDeque<short[]>> shorts = new HashMap<>();
+  private final Map<Integer, ArrayDeque<byte[]>> bytes = new HashMap<>();
+  private final long maxRetainedBytes;
+
+  private long retainedBytes = 0;
+  private long requests = 0;
+  private long reused = 0;
+  private long released = 0;
+  private long discarded = 0;
+
+  /**
+   * Construct a new pool retaining at most the given number of bytes.
+   *
+   * @param maxRetainedBytes the maximum number of bytes retained by the pool
+   */
+  public ArrayPool(long maxRetainedBytes) {
+    Check.argument(maxRetainedBytes >= 0, "negative size");
+    this.maxRetainedBytes = maxRetainedBytes;
+  }
+
+  /**
+   * Returns the pool of the current thread.
+   *
+   * @return the pool of the current thread
+   */
+  public static ArrayPool getInstance() {
+    return POOL.get();
+  }
+
+  /**
+   * Open a new scope on the {@linkplain #getInstance() pool of the current thread}.
+   *
+   * @return a new scope
+   * @see #open()
+   */
+  public static Scope openScope() {
+    return getInstance().open();
+  }
+
+  /**
+   * Returns a zero-filled buffer of the given size, served from the pool of the innermost open
+   * scope of the current thread (if any).
+   *
+   * @param size the size
+   * @return a zero-filled buffer
+   */
+  public static double[] newDoubleBuffer(int size) {
+    Scope scope = SCOPE.get();
+    if (scope == null || size < MIN_POOLED_SIZE) {
+      return new double[size];
+    }
+    double[] buffer = scope.pool.poll(scope.pool.doubles, size, Double.BYTES);
+    if (buffer == null) {
+      buffer = new double[size];
+    } else {
+      java.util.Arrays.fill(buffer, 0);
+    }
+    scope.buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * @see #newDoubleBuffer(int)
+   */
+  public static int[] newIntBuffer(int size) {
+    Scope scope = SCOPE.get();
+    if (scope == null || size < MIN_POOLED_SIZE) {
+      return new int[size];
+    }
+    int[] buffer = scope.pool.poll(scope.pool.ints, size, Integer.BYTES);
+    if (buffer == null) {
+      buffer = new int[size];
+    } else {
+      java.util.Arrays.fill(buffer, 0);
+    }
+    scope.buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * @see #newDoubleBuffer(int)
+   */
+  public static long[] newLongBuffer(int size) {
+    Scope scope = SCOPE.get();
+    if (scope == null || size < MIN_POOLED_SIZE) {
+      return new long[size];
+    }
+    long[] buffer = scope.pool.poll(scope.pool.longs, size, Long.BYTES);
+    if (buffer == null) {
+      buffer = new long[size];
+    } else {
+      java.util.Arrays.fill(buffer, 0);
+    }
+    scope.buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * @see #newDoubleBuffer(int)
+   */
+  public static float[] newFloatBuffer(int size) {
+    Scope scope = SCOPE.get();
+    if (scope == null || size < MIN_POOLED_SIZE) {
+      return new float[size];
+    }
+    float[] buffer = scope.pool.poll(scope.pool.floats, size, Float.BYTES);
+    if (buffer == null) {
+      buffer = new float[size];
+    } else {
+      java.util.Arrays.fill(buffer, 0);
+    }
+    scope.buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * @see #newDoubleBuffer(int)
+   */
+  public static short[] newShortBuffer(int size) {
+    Scope scope = SCOPE.get();
+    if (scope == null || size < MIN_POOLED_SIZE) {
+      return new short[size];
+    }
+    short[] buffer = scope.pool.poll(scope.pool.shorts, size, Short.BYTES);
+    if (buffer == null) {
+      buffer = new short[size];
+    } else {
+      java.util.Arrays.fill(buffer, (short) 0);
+    }
+    scope.buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * @see #newDoubleBuffer(int)
+   */
+  public static byte[] newByteBuffer(int size) {
+    Scope scope = SCOPE.get();
+    if (scope == null || size < MIN_POOLED_SIZE) {
+      return new byte[size];
+    }
+    byte[] buffer = scope.pool.poll(scope.pool.bytes, size, Byte.BYTES);
+    if (buffer == null) {
+      buffer = new byte[size];
+    } else {
+      java.util.Arrays.fill(buffer, (byte) 0);
+    }
+    scope.buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * Open a new scope on this pool for the current thread. Scopes can be nested, in which case
+   * arrays are allocated in the innermost scope.
+   *
+   * @return a new scope
+   */
+  public Scope open() {
+    Scope scope = new Scope(this, SCOPE.get());
+    SCOPE.set(scope);
+    return scope;
+  }
+
+  /**
+   * Remove all retained buffers.
+   */
+  public void clear() {
+    doubles.clear();
+    ints.clear();
+    longs.clear();
+    floats.clear();
+    shorts.clear();
+    bytes.clear();
+    retainedBytes = 0;
+  }
+
+  /**
+   * Returns the number of buffers requested from the pool.
+   *
+   * @return the number of requests
+   */
+  public long getRequests() {
+    return requests;
+  }
+
+  /**
+   * Returns the number of requests served using a retained buffer.
+   *
+   * @return the number of reused buffers
+   */
+  public long getReused() {
+    return reused;
+  }
+
+  /**
+   * Returns the number of buffers released to the pool.
+   *
+   * @return the number of released buffers
+   */
+  public long getReleased() {
+    return released;
+  }
+
+  /**
+   * Returns the number of released buffers discarded since the pool was full.
+   *
+   * @return the number of discarded buffers
+   */
+  public long getDiscarded() {
+    return discarded;
+  }
+
+  /**
+   * Returns the number of bytes currently retained by the pool.
+   *
+   * @return the number of retained bytes
+   */
+  public long getRetainedBytes() {
+    return retainedBytes;
+  }
+
+  /**
+   * Returns the fraction of requests served using a retained buffer.
+   *
+   * @return the reuse rate
+   */
+  public double getReuseRate() {
+    return requests == 0 ? 0 : reused / (double) requests;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ArrayPool(requests=%d, reused=%d, released=%d, discarded=%d, bytes=%d)",
+        requests, reused, released, discarded, retainedBytes);
+  }
+
+  private <T> T poll(Map<Integer, ArrayDeque<T>> buckets, int size, int bytes) {
+    requests++;
+    ArrayDeque<T> bucket = buckets.get(size);
+    T buffer = bucket != null ? bucket.poll() : null;
+    if (buffer != null) {
+      reused++;
+      retainedBytes -= (long) size * bytes;
+    }
+    return buffer;
+  }
+
+  private void release(Object buffer) {
+    if (buffer instanceof double[]) {
+      release(doubles, (double[]) buffer, ((double[]) buffer).length, Double.BYTES);
+    } else if (buffer instanceof int[]) {
+      release(ints, (int[]) buffer, ((int[]) buffer).length, Integer.BYTES);
+    } else if (buffer instanceof float[]) {
+      release(floats, (float[]) buffer, ((float[]) buffer).length, Float.BYTES);
+    } else if (buffer instanceof short[]) {
+      release(shorts, (short[]) buffer, ((short[]) buffer).length, Short.BYTES);
+    } else if (buffer instanceof byte[]) {
+      release(bytes, (byte[]) buffer, ((byte[]) buffer).length, Byte.BYTES);
+    } else {
+      release(longs, (long[]) buffer, ((long[]) buffer).length, Long.BYTES);
+    }
+  }
+
+  private <T> void release(Map<Integer, ArrayDeque<T>> buckets, T buffer, int size, int bytes) {
+    long bytesReleased = (long) size * bytes;
+    if (retainedBytes + bytesReleased > maxRetainedBytes) {
+      discarded++;
+    } else {
+      buckets.computeIfAbsent(size, k -> new ArrayDeque<>()).push(buffer);
+      retainedBytes += bytesReleased;
+      released++;
+    }
+  }
+
+  /**
+   * A scope in which temporary arrays are served from a pool. The storage of arrays created in the
+   * scope is released to the pool when the scope is closed.
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final ArrayPool pool;
+    private final Scope parent;
+    private final List<Object> buffers = new ArrayList<>();
+    private boolean closed = false;
+
+    private Scope(ArrayPool pool, Scope parent) {
+      this.pool = pool;
+      this.parent = parent;
+    }
+
+    /**
+     * Returns a copy of the given array which outlives this scope, i.e., it is allocated in the
+     * enclosing scope (if any) or outside of the pool.
+     *
+     * @param array the array
+     * @param <T> the array type
+     * @return a copy of the array
+     */
+    public <T extends BaseArray<T>> T keep(T array) {
+      Check.state(SCOPE.get() == this, "not the innermost scope of the current thread");
+      SCOPE.set(parent);
+      try {
+        return array.copy();
+      } finally {
+        SCOPE.set(this);
+      }
+    }
+
+    /**
+     * Returns the pool of this scope.
+     *
+     * @return the pool
+     */
+    public ArrayPool getPool() {
+      return pool;
+    }
+
+    /**
+     * Returns the number of buffers allocated in this scope.
+     *
+     * @return the number of allocated buffers
+     */
+    public int getAllocated() {
+      return buffers.size();
+    }
+
+    /**
+     * Release the storage of all arrays created in this scope to the pool.
+     */
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      Check.state(SCOPE.get() == this, "not the innermost scope of the current thread");
+      closed = true;
+      SCOPE.set(parent);
+      for (Object buffer : buffers) {
+        pool.release(buffer);
+      }
+      buffers.clear();
+    }
+  }
+}
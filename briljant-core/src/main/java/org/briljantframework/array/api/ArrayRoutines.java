@@ -353,11 +353,199 @@ public interface ArrayRoutines {
   /**
    * Return the cumulative sum along the specified dimension.
    * 
+   * @param dim the dimension
    * @param x the array
    * @return an array of cumulative sums
    */
   DoubleArray cumsum(int dim, DoubleArray x);
 
+  /**
+   * Return the cumulative product.
+   *
+   * @param x the array
+   * @return an array of cumulative products
+   */
+  DoubleArray cumprod(DoubleArray x);
+
+  /**
+   * Return the cumulative product along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative products
+   */
+  DoubleArray cumprod(int dim, DoubleArray x);
+
+  /**
+   * Return the cumulative minimum.
+   *
+   * @param x the array
+   * @return an array of cumulative minimums
+   */
+  DoubleArray cummin(DoubleArray x);
+
+  /**
+   * Return the cumulative minimum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative minimums
+   */
+  DoubleArray cummin(int dim, DoubleArray x);
+
+  /**
+   * Return the cumulative maximum.
+   *
+   * @param x the array
+   * @return an array of cumulative maximums
+   */
+  DoubleArray cummax(DoubleArray x);
+
+  /**
+   * Return the cumulative maximum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative maximums
+   */
+  DoubleArray cummax(int dim, DoubleArray x);
+
+  /**
+   * Return the cumulative sum.
+   *
+   * @param x the array
+   * @return an array of cumulative sums
+   */
+  IntArray cumsum(IntArray x);
+
+  /**
+   * Return the cumulative sum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative sums
+   */
+  IntArray cumsum(int dim, IntArray x);
+
+  /**
+   * Return the cumulative product.
+   *
+   * @param x the array
+   * @return an array of cumulative products
+   */
+  IntArray cumprod(IntArray x);
+
+  /**
+   * Return the cumulative product along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative products
+   */
+  IntArray cumprod(int dim, IntArray x);
+
+  /**
+   * Return the cumulative minimum.
+   *
+   * @param x the array
+   * @return an array of cumulative minimums
+   */
+  IntArray cummin(IntArray x);
+
+  /**
+   * Return the cumulative minimum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative minimums
+   */
+  IntArray cummin(int dim, IntArray x);
+
+  /**
+   * Return the cumulative maximum.
+   *
+   * @param x the array
+   * @return an array of cumulative maximums
+   */
+  IntArray cummax(IntArray x);
+
+  /**
+   * Return the cumulative maximum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative maximums
+   */
+  IntArray cummax(int dim, IntArray x);
+
+  /**
+   * Return the cumulative sum.
+   *
+   * @param x the array
+   * @return an array of cumulative sums
+   */
+  LongArray cumsum(LongArray x);
+
+  /**
+   * Return the cumulative sum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative sums
+   */
+  LongArray cumsum(int dim, LongArray x);
+
+  /**
+   * Return the cumulative product.
+   *
+   * @param x the array
+   * @return an array of cumulative products
+   */
+  LongArray cumprod(LongArray x);
+
+  /**
+   * Return the cumulative product along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative products
+   */
+  LongArray cumprod(int dim, LongArray x);
+
+  /**
+   * Return the cumulative minimum.
+   *
+   * @param x the array
+   * @return an array of cumulative minimums
+   */
+  LongArray cummin(LongArray x);
+
+  /**
+   * Return the cumulative minimum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative minimums
+   */
+  LongArray cummin(int dim, LongArray x);
+
+  /**
+   * Return the cumulative maximum.
+   *
+   * @param x the array
+   * @return an array of cumulative maximums
+   */
+  LongArray cummax(LongArray x);
+
+  /**
+   * Return the cumulative maximum along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of cumulative maximums
+   */
+  LongArray cummax(int dim, LongArray x);
+
   /**
    * Return the inner product of two vectors.
    * 
@@ -503,6 +691,29 @@ public interface ArrayRoutines {
   void gemm(ArrayOperation transA, ArrayOperation transB, double alpha, DoubleArray a,
       DoubleArray b, double beta, DoubleArray c);
 
+  /**
+   * Computes c[i] <- alpha * transA(a[i]) * transB(b[i]) + beta * c[i] for each matrix i in a batch
+   * of matrices.
+   *
+   * <p/>
+   * The two trailing dimensions of each array are the matrices and the leading dimensions are the
+   * batch. The batch dimensions of {@code a} and {@code b} are broadcast to the batch dimensions of
+   * {@code c}, e.g., a {@code [10, 3, 4]} array multiplied with a {@code [4, 5]} matrix into a
+   * {@code [10, 3, 5]} array. For 2d-arrays this is equivalent to
+   * {@link #gemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray, double,
+   * DoubleArray) gemm}.
+   *
+   * @param transA transpose of each matrix in a
+   * @param transB transpose of each matrix in b
+   * @param alpha the scalar for a
+   * @param a the {@code [..., m, k]} array a
+   * @param b the {@code [..., k, n]} array b
+   * @param beta the scalar for c
+   * @param c the {@code [..., m, n]} result array c
+   */
+  void batchGemm(ArrayOperation transA, ArrayOperation transB, double alpha, DoubleArray a,
+      DoubleArray b, double beta, DoubleArray c);
+
   /**
    * Copy the contents of {@code from} to {@code to}
    *
@@ -594,6 +805,101 @@ public interface ArrayRoutines {
 
   void divAssign(LongArray a, LongArray out);
 
+  /**
+   * Return the sum of the (unsigned) elements of a byte array.
+   *
+   * @param x the array
+   * @return the sum
+   */
+  long sum(ByteArray x);
+
+  /**
+   * Return the sum of the elements of a short array.
+   *
+   * @param x the array
+   * @return the sum
+   */
+  long sum(ShortArray x);
+
+  /**
+   * Return the sums of the (unsigned) elements along the given dimension of a byte array.
+   *
+   * @param dim the dimension
+   * @param x the array
+   * @return an array of sums
+   */
+  LongArray sum(int dim, ByteArray x);
+
+  /**
+   * @see #sum(int, ByteArray)
+   */
+  LongArray sum(int dim, ShortArray x);
+
+  /**
+   * Compute {@code out = scale * (x - zeroPoint)} for each element of the quantized array
+   * {@code x}, without allocating an intermediate widened array.
+   *
+   * @param x the quantized array
+   * @param scale the scale
+   * @param zeroPoint the value of {@code x} which represents zero
+   * @param out the output array (with the same shape as {@code x})
+   */
+  void dequantize(ByteArray x, double scale, double zeroPoint, DoubleArray out);
+
+  /**
+   * @see #dequantize(ByteArray, double, double, DoubleArray)
+   */
+  void dequantize(ShortArray x, double scale, double zeroPoint, DoubleArray out);
+
+  FloatArray plus(FloatArray a, FloatArray b);
+
+  FloatArray minus(FloatArray a, FloatArray b);
+
+  FloatArray times(FloatArray a, FloatArray b);
+
+  FloatArray div(FloatArray nominator, FloatArray denominator);
+
+  /**
+   * Return the sum of a float array. The sum is accumulated in double precision.
+   *
+   * @param x the array
+   * @return the sum
+   */
+  double sum(FloatArray x);
+
+  /**
+   * Return the inner product of two float vectors.
+   *
+   * @param a the first vector
+   * @param b the second vector
+   * @return the inner product
+   * @see #inner(DoubleArray, DoubleArray)
+   */
+  float inner(FloatArray a, FloatArray b);
+
+  /**
+   * @see #scal(double, DoubleArray)
+   */
+  void scal(float alpha, FloatArray x);
+
+  /**
+   * @see #axpy(double, DoubleArray, DoubleArray)
+   */
+  void axpy(float alpha, FloatArray x, FloatArray y);
+
+  /**
+   * @see #gemv(ArrayOperation, double, DoubleArray, DoubleArray, double, DoubleArray)
+   */
+  void gemv(ArrayOperation transA, float alpha, FloatArray a, FloatArray x, float beta,
+      FloatArray y);
+
+  /**
+   * @see #gemm(ArrayOperation, ArrayOperation, double, DoubleArray, DoubleArray, double,
+   *      DoubleArray)
+   */
+  void gemm(ArrayOperation transA, ArrayOperation transB, float alpha, FloatArray a,
+      FloatArray b, float beta, FloatArray c);
+
   ComplexArray plus(ComplexArray a, ComplexArray b);
 
   void plusAssign(ComplexArray a, ComplexArray out);
@@ -0,0 +1,183 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.exceptions.MultiDimensionMismatchException;
+
+/**
+ * Matrix-matrix products over a batch of matrices stored in n-dimensional arrays.
+ *
+ * <p/>
+ * The two trailing dimensions of each operand are the matrices and the leading dimensions are the
+ * batch. The batch dimensions of {@code a} and {@code b} are broadcast (aligned from the right, as
+ * for element-wise operations) to the batch dimensions of {@code c}. Slices are addressed as views
+ * of the operands, i.e., nothing is copied.
+ *
+ * <p/>
+ * Slices with fewer than {@value #SMALL_THRESHOLD} multiply-adds are computed by a direct kernel,
+ * avoiding the packing of {@link DoubleGemm} and the call overhead of BLAS; larger slices are
+ * delegated to the given {@link Kernel}. The batch is partitioned between the threads of the pool
+ * of the calling thread (see {@link ForkJoinTasks}) when the total work is large.
+ *
+ * @author Isak Karlsson
+ */
+final class BatchedGemm {
+
+  /**
+   * The number of multiply-adds of a slice below which the direct kernel is used
+   */
+  static final int SMALL_THRESHOLD = 1 << 15;
+
+  /**
+   * The number of multiply-adds required before the batch is computed in parallel
+   */
+  private static final long PARALLEL_THRESHOLD = 1L << 17;
+
+  private BatchedGemm() {}
+
+  /**
+   * Computes {@code c[i] := alpha * op(a[i]) * op(b[i]) + beta * c[i]} for every matrix {@code i}
+   * in the batch of {@code c}.
+   *
+   * @param large computes {@code c := alpha * a * b + beta * c} for slices too large for the
+   *        direct kernel
+   */
+  static void gemm(boolean transA, boolean transB, double alpha, DoubleArray a, DoubleArray b,
+      double beta, DoubleArray c, Kernel large) {
+    Check.argument(a.dims() >= 2 && b.dims() >= 2 && c.dims() >= 2,
+        "require arrays with at least 2 dimensions");
+    int ar = a.dims() - 2, ac = a.dims() - 1;
+    int br = b.dims() - 2, bc = b.dims() - 1;
+    int m = a.size(transA ? ac : ar);
+    int k = a.size(transA ? ar : ac);
+    int bk = b.size(transB ? bc : br);
+    int n = b.size(transB ? br : bc);
+    if (k != bk) {
+      throw new MultiDimensionMismatchException(m, k, bk, n);
+    }
+    if (m != c.size(c.dims() - 2) || n != c.size(c.dims() - 1)) {
+      throw new IllegalArgumentException(
+          String.format("a has size (%d,%d), b has size (%d,%d), c has size (%d, %d)", m, k, k, n,
+              c.size(c.dims() - 2), c.size(c.dims() - 1)));
+    }
+
+    int[] batch = java.util.Arrays.copyOf(c.getShape(), c.dims() - 2);
+    int batches = java.util.Arrays.stream(batch).reduce(1, Math::multiplyExact);
+    if (batches == 0 || m == 0 || n == 0) {
+      return;
+    }
+    int[] aOffsets = offsets(a, batch, batches);
+    int[] bOffsets = offsets(b, batch, batches);
+    int[] cOffsets = offsets(c, batch, batches);
+    int[] aShape = {m, k}, bShape = {k, n}, cShape = {m, n};
+    int[] aStride = transA ? new int[] {a.stride(ac), a.stride(ar)}
+        : new int[] {a.stride(ar), a.stride(ac)};
+    int[] bStride = transB ? new int[] {b.stride(bc), b.stride(br)}
+        : new int[] {b.stride(br), b.stride(bc)};
+    int[] cStride = {c.stride(c.dims() - 2), c.stride(c.dims() - 1)};
+
+    long work = (long) m * n * k;
+    Kernel kernel = work < SMALL_THRESHOLD ? (x, y, z) -> small(alpha, x, y, beta, z) : large;
+    int parts = batches < 2 || work * batches < PARALLEL_THRESHOLD ? 1
+        : Math.min(batches, 4 * ForkJoinTasks.parallelism());
+    int chunk = (batches + parts - 1) / parts;
+    ForkJoinTasks.invokeAll((batches + chunk - 1) / chunk, part -> {
+      int end = Math.min(batches, (part + 1) * chunk);
+      for (int i = part * chunk; i < end; i++) {
+        kernel.apply(a.asView(aOffsets[i], aShape, aStride),
+            b.asView(bOffsets[i], bShape, bStride), c.asView(cOffsets[i], cShape, cStride));
+      }
+    });
+  }
+
+  /**
+   * Returns the offset of each matrix of {@code x} when its batch dimensions are broadcast to the
+   * given batch shape. The batch is enumerated in column-major order.
+   */
+  private static int[] offsets(DoubleArray x, int[] batch, int batches) {
+    int dims = x.dims() - 2;
+    if (dims > batch.length) {
+      throw new IllegalArgumentException("arrays cannot be broadcast to the same shape");
+    }
+    int shift = batch.length - dims;
+    int[] stride = new int[batch.length];
+    for (int i = 0; i < dims; i++) {
+      int size = x.size(i);
+      if (size != batch[i + shift] && size != 1) {
+        throw new IllegalArgumentException("arrays cannot be broadcast to the same shape");
+      }
+      stride[i + shift] = size == 1 ? 0 : x.stride(i);
+    }
+
+    int[] offsets = new int[batches];
+    int[] index = new int[batch.length];
+    int offset = x.getOffset();
+    for (int i = 0; i < batches; i++) {
+      offsets[i] = offset;
+      for (int d = 0; d < batch.length; d++) {
+        offset += stride[d];
+        if (++index[d] < batch[d]) {
+          break;
+        }
+        offset -= stride[d] * batch[d];
+        index[d] = 0;
+      }
+    }
+    return offsets;
+  }
+
+  /**
+   * Computes {@code c := alpha * a * b + beta * c} one column of {@code c} at a time, reading each
+   * column of {@code c} once.
+   */
+  static void small(double alpha, DoubleArray a, DoubleArray b, double beta, DoubleArray c) {
+    int m = c.size(0);
+    int n = c.size(1);
+    int k = a.size(1);
+    double[] column = new double[m];
+    for (int j = 0; j < n; j++) {
+      java.util.Arrays.fill(column, 0);
+      for (int p = 0; p < k; p++) {
+        double t = b.get(p, j);
+        if (t != 0) {
+          for (int i = 0; i < m; i++) {
+            column[i] += t * a.get(i, p);
+          }
+        }
+      }
+      for (int i = 0; i < m; i++) {
+        c.set(i, j, beta == 0 ? alpha * column[i] : alpha * column[i] + beta * c.get(i, j));
+      }
+    }
+  }
+
+  /**
+   * Computes {@code c := alpha * a * b + beta * c}, for the scalars of the batched product, for a
+   * single (2d) slice of the batch.
+   */
+  @FunctionalInterface
+  interface Kernel {
+
+    void apply(DoubleArray a, DoubleArray b, DoubleArray c);
+  }
+}
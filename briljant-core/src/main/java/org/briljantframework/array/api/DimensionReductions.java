@@ -0,0 +1,310 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import java.util.stream.IntStream;
+
+import org.briljantframework.array.BaseArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+
+/**
+ * Cache-aware and multi-threaded reductions of the vectors along a dimension of 2d-arrays.
+ *
+ * <p/>
+ * The array is oriented so that the reduced vectors are the rows of a (possibly transposed) view.
+ * If the elements of each vector are adjacent in memory (e.g., the columns of a column-major
+ * matrix), each vector is reduced in turn. Otherwise (e.g., the rows of a column-major matrix),
+ * the reduction accumulates a block of {@value #BLOCK} partial results while sweeping over the
+ * elements of the vectors, so that memory is read in the order it is stored. The blocks of vectors
+ * are reduced by the threads of the pool of the calling thread (see {@link ForkJoinTasks}) if
+ * the array is large.
+ *
+ * <p/>
+ * The results agree with reducing each vector in turn: sums are accumulated in order, the variance
+ * is the (population) variance computed using Welford's algorithm and {@code NaN} propagates.
+ *
+ * @author Isak Karlsson
+ */
+final class DimensionReductions {
+
+  /**
+   * The maximum number of vectors reduced together
+   */
+  static final int BLOCK = 512;
+
+  /**
+   * The number of elements required before the vectors are reduced in parallel
+   */
+  private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+  private DimensionReductions() {}
+
+  /**
+   * Returns true if the reduction of {@code x} along {@code dim} is supported, i.e., if {@code x}
+   * is a 2d-array with non-empty vectors along {@code dim}.
+   */
+  static boolean isSupported(int dim, BaseArray<?> x) {
+    return x.dims() == 2 && (dim == 0 || dim == 1) && x.size(dim) > 0;
+  }
+
+  static DoubleArray sum(int dim, DoubleArray x) {
+    DoubleArray y = orient(dim, x);
+    int length = y.columns();
+    double[] out = new double[y.rows()];
+    forEachBlock(y, (from, to) -> {
+      if (isAccumulated(y)) {
+        for (int k = 0; k < length; k++) {
+          for (int v = from; v < to; v++) {
+            out[v] += y.get(v, k);
+          }
+        }
+      } else {
+        for (int v = from; v < to; v++) {
+          double sum = 0;
+          for (int k = 0; k < length; k++) {
+            sum += y.get(v, k);
+          }
+          out[v] = sum;
+        }
+      }
+    });
+    return newDoubleArray(x, out);
+  }
+
+  static DoubleArray mean(int dim, DoubleArray x) {
+    DoubleArray sum = sum(dim, x);
+    int length = x.size(dim);
+    sum.apply(v -> v / length);
+    return sum;
+  }
+
+  static DoubleArray min(int dim, DoubleArray x) {
+    return extremum(dim, x, true);
+  }
+
+  static DoubleArray max(int dim, DoubleArray x) {
+    return extremum(dim, x, false);
+  }
+
+  private static DoubleArray extremum(int dim, DoubleArray x, boolean min) {
+    DoubleArray y = orient(dim, x);
+    int length = y.columns();
+    double identity = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+    double[] out = new double[y.rows()];
+    forEachBlock(y, (from, to) -> {
+      if (isAccumulated(y)) {
+        java.util.Arrays.fill(out, from, to, identity);
+        for (int k = 0; k < length; k++) {
+          for (int v = from; v < to; v++) {
+            out[v] = min ? Math.min(out[v], y.get(v, k)) : Math.max(out[v], y.get(v, k));
+          }
+        }
+      } else {
+        for (int v = from; v < to; v++) {
+          double value = identity;
+          for (int k = 0; k < length; k++) {
+            value = min ? Math.min(value, y.get(v, k)) : Math.max(value, y.get(v, k));
+          }
+          out[v] = value;
+        }
+      }
+    });
+    return newDoubleArray(x, out);
+  }
+
+  static DoubleArray var(int dim, DoubleArray x) {
+    return moments(dim, x, false);
+  }
+
+  static DoubleArray std(int dim, DoubleArray x) {
+    return moments(dim, x, true);
+  }
+
+  /**
+   * The (population) variance (or standard deviation) of each vector
+   */
+  private static DoubleArray moments(int dim, DoubleArray x, boolean std) {
+    DoubleArray y = orient(dim, x);
+    int length = y.columns();
+    double[] out = new double[y.rows()];
+    forEachBlock(y, (from, to) -> {
+      if (isAccumulated(y)) {
+        double[] mean = new double[to - from];
+        for (int k = 0; k < length; k++) {
+          for (int v = from; v < to; v++) {
+            double value = y.get(v, k);
+            double delta = value - mean[v - from];
+            mean[v - from] += delta / (k + 1);
+            out[v] += delta * (value - mean[v - from]);
+          }
+        }
+      } else {
+        for (int v = from; v < to; v++) {
+          double mean = 0;
+          double m2 = 0;
+          for (int k = 0; k < length; k++) {
+            double value = y.get(v, k);
+            double delta = value - mean;
+            mean += delta / (k + 1);
+            m2 += delta * (value - mean);
+          }
+          out[v] = m2;
+        }
+      }
+      for (int v = from; v < to; v++) {
+        double var = length > 1 ? out[v] / length : 0;
+        out[v] = std ? Math.sqrt(var) : var;
+      }
+    });
+    return newDoubleArray(x, out);
+  }
+
+  static IntArray sum(int dim, IntArray x) {
+    return toIntArray(x, reduce(dim, x.longArray(), Reduction.SUM));
+  }
+
+  static IntArray min(int dim, IntArray x) {
+    return toIntArray(x, reduce(dim, x.longArray(), Reduction.MIN));
+  }
+
+  static IntArray max(int dim, IntArray x) {
+    return toIntArray(x, reduce(dim, x.longArray(), Reduction.MAX));
+  }
+
+  static LongArray sum(int dim, LongArray x) {
+    return newLongArray(x, reduce(dim, x, Reduction.SUM));
+  }
+
+  static LongArray min(int dim, LongArray x) {
+    return newLongArray(x, reduce(dim, x, Reduction.MIN));
+  }
+
+  static LongArray max(int dim, LongArray x) {
+    return newLongArray(x, reduce(dim, x, Reduction.MAX));
+  }
+
+  private enum Reduction {
+    SUM(0), MIN(Long.MAX_VALUE), MAX(Long.MIN_VALUE);
+
+    private final long identity;
+
+    Reduction(long identity) {
+      this.identity = identity;
+    }
+
+    private long apply(long a, long b) {
+      switch (this) {
+        case MIN:
+          return Math.min(a, b);
+        case MAX:
+          return Math.max(a, b);
+        default:
+          return a + b;
+      }
+    }
+  }
+
+  private static long[] reduce(int dim, LongArray x, Reduction reduction) {
+    LongArray y = orient(dim, x);
+    int length = y.columns();
+    long[] out = new long[y.rows()];
+    forEachBlock(y, (from, to) -> {
+      if (isAccumulated(y)) {
+        java.util.Arrays.fill(out, from, to, reduction.identity);
+        for (int k = 0; k < length; k++) {
+          for (int v = from; v < to; v++) {
+            out[v] = reduction.apply(out[v], y.get(v, k));
+          }
+        }
+      } else {
+        for (int v = from; v < to; v++) {
+          long value = reduction.identity;
+          for (int k = 0; k < length; k++) {
+            value = reduction.apply(value, y.get(v, k));
+          }
+          out[v] = value;
+        }
+      }
+    });
+    return out;
+  }
+
+  /**
+   * Returns a view where the reduced vectors are the rows
+   */
+  static <E extends BaseArray<E>> E orient(int dim, E x) {
+    return dim == 1 ? x : x.transpose();
+  }
+
+  /**
+   * Returns true if the vectors (i.e., the rows) are reduced together, i.e., if consecutive vectors
+   * are closer in memory than consecutive elements of a vector.
+   */
+  static boolean isAccumulated(BaseArray<?> y) {
+    return y.stride(0) < y.stride(1);
+  }
+
+  @FunctionalInterface
+  interface Block {
+    void reduce(int from, int to);
+  }
+
+  /**
+   * Reduce the blocks of vectors, in parallel if the array is large.
+   */
+  static void forEachBlock(BaseArray<?> y, Block block) {
+    int vectors = y.rows();
+    int parallelism = ForkJoinTasks.parallelism();
+    boolean parallel = y.size() >= PARALLEL_THRESHOLD && vectors > 1 && parallelism > 1;
+    int size = parallel ? Math.max(1, Math.min(BLOCK, (vectors + 4 * parallelism - 1)
+        / (4 * parallelism))) : BLOCK;
+    int blocks = (vectors + size - 1) / size;
+    IntStream range = IntStream.range(0, blocks);
+    (parallel ? range.parallel() : range)
+        .forEach(b -> block.reduce(b * size, Math.min(vectors, (b + 1) * size)));
+  }
+
+  private static DoubleArray newDoubleArray(DoubleArray x, double[] values) {
+    DoubleArray out = x.newEmptyArray(values.length);
+    for (int i = 0; i < values.length; i++) {
+      out.set(i, values[i]);
+    }
+    return out;
+  }
+
+  private static LongArray newLongArray(LongArray x, long[] values) {
+    LongArray out = x.newEmptyArray(values.length);
+    for (int i = 0; i < values.length; i++) {
+      out.set(i, values[i]);
+    }
+    return out;
+  }
+
+  private static IntArray toIntArray(IntArray x, long[] values) {
+    IntArray out = x.newEmptyArray(values.length);
+    for (int i = 0; i < values.length; i++) {
+      out.set(i, (int) values[i]);
+    }
+    return out;
+  }
+}
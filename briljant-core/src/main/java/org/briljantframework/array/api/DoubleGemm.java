@@ -0,0 +1,262 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import org.briljantframework.array.DoubleArray;
+
+/**
+ * Cache-blocked and multi-threaded matrix-matrix and matrix-vector products for arbitrary
+ * (possibly strided) double arrays.
+ *
+ * <p/>
+ * The matrix product follows the layout of Goto's algorithm: {@code B} is packed in panels of
+ * {@value #KC}x{@value #NC} and {@code A} in blocks of {@value #MC}x{@value #KC} (in column and row
+ * slivers of width {@value #NR} and {@value #MR} respectively) so that the inner
+ * {@value #MR}x{@value #NR} register-blocked kernel streams contiguous memory. Only the panels are
+ * copied; the operands are read through their views. The output is partitioned between the
+ * threads of the pool of the calling thread (see {@link ForkJoinTasks}) when the product is large.
+ *
+ * @author Isak Karlsson
+ */
+final class DoubleGemm {
+
+  static final int MR = 4;
+  static final int NR = 4;
+  static final int KC = 256;
+  static final int MC = 128;
+  static final int NC = 2048;
+
+  /**
+   * The number of multiply-adds required before the product is computed in parallel
+   */
+  private static final long PARALLEL_THRESHOLD = 1L << 20;
+
+  private DoubleGemm() {}
+
+  /**
+   * Computes {@code c := alpha * op(a) * op(b) + beta * c}, where {@code op(a)} is {@code m x k},
+   * {@code op(b)} is {@code k x n} and {@code c} is {@code m x n}. The dimensions are assumed to be
+   * validated.
+   */
+  static void gemm(boolean transA, boolean transB, double alpha, DoubleArray a, DoubleArray b,
+      double beta, DoubleArray c, int m, int n, int k) {
+    int parts = (long) m * n * k < PARALLEL_THRESHOLD ? 1 : ForkJoinTasks.parallelism();
+    if (m >= n) {
+      int rows = roundUp(Math.max(1, (m + parts - 1) / parts), MR);
+      ForkJoinTasks.invokeAll((m + rows - 1) / rows, i -> {
+        int r0 = i * rows;
+        gemm(transA, transB, alpha, a, b, beta, c, r0, Math.min(m, r0 + rows), 0, n, k);
+      });
+    } else {
+      int columns = roundUp(Math.max(1, (n + parts - 1) / parts), NR);
+      ForkJoinTasks.invokeAll((n + columns - 1) / columns, i -> {
+        int c0 = i * columns;
+        gemm(transA, transB, alpha, a, b, beta, c, 0, m, c0, Math.min(n, c0 + columns), k);
+      });
+    }
+  }
+
+  /**
+   * Computes the tile {@code c[r0:r1, c0:c1]}
+   */
+  private static void gemm(boolean transA, boolean transB, double alpha, DoubleArray a,
+      DoubleArray b, double beta, DoubleArray c, int r0, int r1, int c0, int c1, int k) {
+    if (beta != 1) {
+      for (int j = c0; j < c1; j++) {
+        for (int i = r0; i < r1; i++) {
+          c.set(i, j, beta == 0 ? 0 : beta * c.get(i, j));
+        }
+      }
+    }
+    if (alpha == 0 || k == 0) {
+      return;
+    }
+
+    double[] packedA = new double[roundUp(Math.min(MC, r1 - r0), MR) * Math.min(KC, k)];
+    double[] packedB = new double[roundUp(Math.min(NC, c1 - c0), NR) * Math.min(KC, k)];
+    double[] acc = new double[MR * NR];
+    for (int jc = c0; jc < c1; jc += NC) {
+      int nc = Math.min(NC, c1 - jc);
+      for (int pc = 0; pc < k; pc += KC) {
+        int kc = Math.min(KC, k - pc);
+        packB(b, transB, pc, kc, jc, nc, packedB);
+        for (int ic = r0; ic < r1; ic += MC) {
+          int mc = Math.min(MC, r1 - ic);
+          packA(a, transA, ic, mc, pc, kc, packedA);
+          for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            for (int ir = 0; ir < mc; ir += MR) {
+              int mr = Math.min(MR, mc - ir);
+              kernel(kc, packedA, ir * kc, packedB, jr * kc, acc);
+              for (int j = 0; j < nr; j++) {
+                for (int i = 0; i < mr; i++) {
+                  int row = ic + ir + i;
+                  int col = jc + jr + j;
+                  c.set(row, col, c.get(row, col) + alpha * acc[j * MR + i]);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Pack {@code op(a)[ic:ic+mc, pc:pc+kc]} in row slivers of height {@link #MR}, i.e. the element
+   * {@code (ir + i, p)} is stored at {@code ir * kc + p * MR + i}. The last sliver is padded with
+   * zeros.
+   */
+  private static void packA(DoubleArray a, boolean transA, int ic, int mc, int pc, int kc,
+      double[] packed) {
+    int index = 0;
+    for (int ir = 0; ir < mc; ir += MR) {
+      int mr = Math.min(MR, mc - ir);
+      for (int p = 0; p < kc; p++) {
+        int col = pc + p;
+        for (int i = 0; i < MR; i++) {
+          int row = ic + ir + i;
+          packed[index++] = i >= mr ? 0 : transA ? a.get(col, row) : a.get(row, col);
+        }
+      }
+    }
+  }
+
+  /**
+   * Pack {@code op(b)[pc:pc+kc, jc:jc+nc]} in column slivers of width {@link #NR}, i.e. the element
+   * {@code (p, jr + j)} is stored at {@code jr * kc + p * NR + j}. The last sliver is padded with
+   * zeros.
+   */
+  private static void packB(DoubleArray b, boolean transB, int pc, int kc, int jc, int nc,
+      double[] packed) {
+    int index = 0;
+    for (int jr = 0; jr < nc; jr += NR) {
+      int nr = Math.min(NR, nc - jr);
+      for (int p = 0; p < kc; p++) {
+        int row = pc + p;
+        for (int j = 0; j < NR; j++) {
+          int col = jc + jr + j;
+          packed[index++] = j >= nr ? 0 : transB ? b.get(col, row) : b.get(row, col);
+        }
+      }
+    }
+  }
+
+  /**
+   * The {@code 4 x 4} register-blocked kernel. The result is stored in column-major order in
+   * {@code acc}.
+   */
+  private static void kernel(int kc, double[] a, int ao, double[] b, int bo, double[] acc) {
+    double c00 = 0, c10 = 0, c20 = 0, c30 = 0;
+    double c01 = 0, c11 = 0, c21 = 0, c31 = 0;
+    double c02 = 0, c12 = 0, c22 = 0, c32 = 0;
+    double c03 = 0, c13 = 0, c23 = 0, c33 = 0;
+    for (int p = 0; p < kc; p++) {
+      int ai = ao + p * MR;
+      int bi = bo + p * NR;
+      double a0 = a[ai], a1 = a[ai + 1], a2 = a[ai + 2], a3 = a[ai + 3];
+      double b0 = b[bi], b1 = b[bi + 1], b2 = b[bi + 2], b3 = b[bi + 3];
+      c00 += a0 * b0;
+      c10 += a1 * b0;
+      c20 += a2 * b0;
+      c30 += a3 * b0;
+      c01 += a0 * b1;
+      c11 += a1 * b1;
+      c21 += a2 * b1;
+      c31 += a3 * b1;
+      c02 += a0 * b2;
+      c12 += a1 * b2;
+      c22 += a2 * b2;
+      c32 += a3 * b2;
+      c03 += a0 * b3;
+      c13 += a1 * b3;
+      c23 += a2 * b3;
+      c33 += a3 * b3;
+    }
+    acc[0] = c00;
+    acc[1] = c10;
+    acc[2] = c20;
+    acc[3] = c30;
+    acc[4] = c01;
+    acc[5] = c11;
+    acc[6] = c21;
+    acc[7] = c31;
+    acc[8] = c02;
+    acc[9] = c12;
+    acc[10] = c22;
+    acc[11] = c32;
+    acc[12] = c03;
+    acc[13] = c13;
+    acc[14] = c23;
+    acc[15] = c33;
+  }
+
+  /**
+   * Computes {@code y := alpha * op(a) * x + beta * y}, where {@code op(a)} is {@code m x n}. The
+   * dimensions are assumed to be validated.
+   */
+  static void gemv(boolean transA, double alpha, DoubleArray a, DoubleArray x, double beta,
+      DoubleArray y, int m, int n) {
+    double[] scaled = new double[n];
+    for (int j = 0; j < n; j++) {
+      scaled[j] = alpha * x.get(j);
+    }
+    int parts = (long) m * n < PARALLEL_THRESHOLD ? 1 : ForkJoinTasks.parallelism();
+    int rows = Math.max(MC, (m + parts - 1) / parts);
+    ForkJoinTasks.invokeAll((m + rows - 1) / rows, part -> {
+      int r0 = part * rows;
+      int r1 = Math.min(m, r0 + rows);
+      double[] acc = new double[r1 - r0];
+      if (!transA) {
+        // column-oriented; accumulate a[r0:r1, j] * x[j]
+        for (int j = 0; j < n; j++) {
+          double xj = scaled[j];
+          for (int i = r0; i < r1; i++) {
+            acc[i - r0] += a.get(i, j) * xj;
+          }
+        }
+      } else {
+        // row-oriented; the dot product of a[:, i] and x
+        for (int i = r0; i < r1; i++) {
+          double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+          int j = 0;
+          for (; j < n - 3; j += 4) {
+            s0 += a.get(j, i) * scaled[j];
+            s1 += a.get(j + 1, i) * scaled[j + 1];
+            s2 += a.get(j + 2, i) * scaled[j + 2];
+            s3 += a.get(j + 3, i) * scaled[j + 3];
+          }
+          for (; j < n; j++) {
+            s0 += a.get(j, i) * scaled[j];
+          }
+          acc[i - r0] = (s0 + s1) + (s2 + s3);
+        }
+      }
+      for (int i = r0; i < r1; i++) {
+        y.set(i, beta == 0 ? acc[i - r0] : beta * y.get(i) + acc[i - r0]);
+      }
+    });
+  }
+
+  private static int roundUp(int value, int multiple) {
+    return (value + multiple - 1) / multiple * multiple;
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork/join helpers for the parallel routines (e.g., the matrix products, the reductions along a
+ * dimension and the transforms).
+ *
+ * <p/>
+ * Tasks forked by a routine (directly or through a parallel stream) are executed by the pool of
+ * the calling thread, i.e., by the {@linkplain ForkJoinPool#commonPool() common pool} unless the
+ * routine is called from a task executing in another pool. Hence, a caller can run the routines
+ * in a pool of its choice by invoking them from within that pool (as done by
+ * {@link org.briljantframework.array.parallel.ParallelArrayRoutines}).
+ *
+ * @author Isak Karlsson
+ */
+public final class ForkJoinTasks {
+
+  private ForkJoinTasks() {}
+
+  /**
+   * Returns the parallelism of the pool executing the calling thread, or the parallelism of the
+   * common pool if the calling thread is not a fork/join worker thread.
+   *
+   * @return the target parallelism
+   */
+  public static int parallelism() {
+    ForkJoinPool pool = ForkJoinTask.getPool();
+    return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+  }
+
+  /**
+   * Apply {@code body} to each part in {@code [0, parts)} in parallel and wait for completion.
+   *
+   * @param parts the number of parts
+   * @param body the body applied to each part
+   */
+  public static void invokeAll(int parts, IntConsumer body) {
+    if (parts <= 1) {
+      if (parts == 1) {
+        body.accept(0);
+      }
+      return;
+    }
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(parts);
+    for (int i = 0; i < parts; i++) {
+      int part = i;
+      tasks.add(ForkJoinTask.adapt(() -> body.accept(part)));
+    }
+    ForkJoinTask.invokeAll(tasks);
+  }
+}
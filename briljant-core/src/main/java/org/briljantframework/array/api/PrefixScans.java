@@ -0,0 +1,346 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import java.util.stream.IntStream;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.BaseArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+
+/**
+ * Multi-threaded prefix scans (i.e., cumulative sums, products, minimums and maximums) of vectors
+ * and of the vectors along a dimension of arrays.
+ *
+ * <p/>
+ * A long vector is scanned in two passes over blocks of {@value #BLOCK} elements. First, the
+ * blocks are scanned independently by the threads of the pool of the calling thread (see
+ * {@link ForkJoinTasks}). Then, the combined totals of the preceding blocks are folded into each
+ * block. Short vectors are scanned in a single sequential pass. The vectors along a dimension of a
+ * 2d-array are scanned in blocks as in {@link DimensionReductions}, i.e., if consecutive vectors
+ * are closer in memory than consecutive elements, the vectors of a block are scanned together.
+ * Elements are read and written through views of the input and the output, without intermediate
+ * copies.
+ *
+ * <p/>
+ * Integer scans wrap around on overflow. Floating point sums and products of long vectors are
+ * re-associated at the block boundaries and can differ from a sequential scan by rounding;
+ * {@code NaN} propagates.
+ *
+ * @author Isak Karlsson
+ */
+final class PrefixScans {
+
+  /**
+   * The number of elements of a vector scanned by a single thread
+   */
+  static final int BLOCK = 1 << 14;
+
+  /**
+   * The number of elements required before the scan is performed in parallel
+   */
+  private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+  private PrefixScans() {}
+
+  enum Scan {
+    SUM, PROD, MIN, MAX;
+
+    double apply(double a, double b) {
+      switch (this) {
+        case PROD:
+          return a * b;
+        case MIN:
+          return Math.min(a, b);
+        case MAX:
+          return Math.max(a, b);
+        default:
+          return a + b;
+      }
+    }
+
+    long apply(long a, long b) {
+      switch (this) {
+        case PROD:
+          return a * b;
+        case MIN:
+          return Math.min(a, b);
+        case MAX:
+          return Math.max(a, b);
+        default:
+          return a + b;
+      }
+    }
+  }
+
+  /**
+   * Scan the vector {@code x}.
+   */
+  static DoubleArray scan(Scan scan, DoubleArray x) {
+    DoubleArray out = x.newEmptyArray(x.getShape());
+    if (x.size() > 0) {
+      int dim = vectorDimension(x);
+      scanVector(scan, x.getVector(dim, 0), out.getVector(dim, 0));
+    }
+    return out;
+  }
+
+  /**
+   * Scan the vectors along the dimension {@code dim} of {@code x}.
+   */
+  static DoubleArray scan(Scan scan, int dim, DoubleArray x) {
+    checkDimension(dim, x);
+    DoubleArray out = x.newEmptyArray(x.getShape());
+    if (x.size() == 0) {
+      return out;
+    }
+    if (x.dims() == 2) {
+      scanVectors(scan, DimensionReductions.orient(dim, x), DimensionReductions.orient(dim, out));
+    } else {
+      int vectors = x.vectors(dim);
+      if (isSplit(vectors, x.size())) {
+        vectors(vectors, isParallel(x.size())).forEach(
+            i -> scanRange(scan, x.getVector(dim, i), out.getVector(dim, i), 0, x.size(dim)));
+      } else {
+        for (int i = 0; i < vectors; i++) {
+          scanVector(scan, x.getVector(dim, i), out.getVector(dim, i));
+        }
+      }
+    }
+    return out;
+  }
+
+  static IntArray scan(Scan scan, IntArray x) {
+    IntArray out = x.newEmptyArray(x.getShape());
+    if (x.size() > 0) {
+      int dim = vectorDimension(x);
+      scanVector(scan, x.getVector(dim, 0).longArray(), out.getVector(dim, 0).longArray());
+    }
+    return out;
+  }
+
+  static IntArray scan(Scan scan, int dim, IntArray x) {
+    IntArray out = x.newEmptyArray(x.getShape());
+    scanInto(scan, dim, x.longArray(), out.longArray());
+    return out;
+  }
+
+  static LongArray scan(Scan scan, LongArray x) {
+    LongArray out = x.newEmptyArray(x.getShape());
+    if (x.size() > 0) {
+      int dim = vectorDimension(x);
+      scanVector(scan, x.getVector(dim, 0), out.getVector(dim, 0));
+    }
+    return out;
+  }
+
+  static LongArray scan(Scan scan, int dim, LongArray x) {
+    LongArray out = x.newEmptyArray(x.getShape());
+    scanInto(scan, dim, x, out);
+    return out;
+  }
+
+  private static void scanInto(Scan scan, int dim, LongArray x, LongArray out) {
+    checkDimension(dim, x);
+    if (x.size() == 0) {
+      return;
+    }
+    if (x.dims() == 2) {
+      scanVectors(scan, DimensionReductions.orient(dim, x), DimensionReductions.orient(dim, out));
+    } else {
+      int vectors = x.vectors(dim);
+      if (isSplit(vectors, x.size())) {
+        vectors(vectors, isParallel(x.size())).forEach(
+            i -> scanRange(scan, x.getVector(dim, i), out.getVector(dim, i), 0, x.size(dim)));
+      } else {
+        for (int i = 0; i < vectors; i++) {
+          scanVector(scan, x.getVector(dim, i), out.getVector(dim, i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Scan the rows of {@code y} into the rows of {@code z}
+   */
+  private static void scanVectors(Scan scan, DoubleArray y, DoubleArray z) {
+    int vectors = y.rows();
+    int length = y.columns();
+    if (!isSplit(vectors, y.size())) {
+      for (int v = 0; v < vectors; v++) {
+        scanVector(scan, y.getVector(1, v), z.getVector(1, v));
+      }
+      return;
+    }
+    DimensionReductions.forEachBlock(y, (from, to) -> {
+      if (DimensionReductions.isAccumulated(y)) {
+        for (int v = from; v < to; v++) {
+          z.set(v, 0, y.get(v, 0));
+        }
+        for (int k = 1; k < length; k++) {
+          for (int v = from; v < to; v++) {
+            z.set(v, k, scan.apply(z.get(v, k - 1), y.get(v, k)));
+          }
+        }
+      } else {
+        for (int v = from; v < to; v++) {
+          double value = y.get(v, 0);
+          z.set(v, 0, value);
+          for (int k = 1; k < length; k++) {
+            value = scan.apply(value, y.get(v, k));
+            z.set(v, k, value);
+          }
+        }
+      }
+    });
+  }
+
+  private static void scanVectors(Scan scan, LongArray y, LongArray z) {
+    int vectors = y.rows();
+    int length = y.columns();
+    if (!isSplit(vectors, y.size())) {
+      for (int v = 0; v < vectors; v++) {
+        scanVector(scan, y.getVector(1, v), z.getVector(1, v));
+      }
+      return;
+    }
+    DimensionReductions.forEachBlock(y, (from, to) -> {
+      if (DimensionReductions.isAccumulated(y)) {
+        for (int v = from; v < to; v++) {
+          z.set(v, 0, y.get(v, 0));
+        }
+        for (int k = 1; k < length; k++) {
+          for (int v = from; v < to; v++) {
+            z.set(v, k, scan.apply(z.get(v, k - 1), y.get(v, k)));
+          }
+        }
+      } else {
+        for (int v = from; v < to; v++) {
+          long value = y.get(v, 0);
+          z.set(v, 0, value);
+          for (int k = 1; k < length; k++) {
+            value = scan.apply(value, y.get(v, k));
+            z.set(v, k, value);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Scan the 1d-array {@code x} into {@code y}, in parallel if {@code x} is large.
+   */
+  private static void scanVector(Scan scan, DoubleArray x, DoubleArray y) {
+    int size = x.size();
+    int blocks = (size + BLOCK - 1) / BLOCK;
+    if (!isParallel(size)) {
+      scanRange(scan, x, y, 0, size);
+      return;
+    }
+    double[] totals = new double[blocks];
+    IntStream.range(0, blocks).parallel().forEach(
+        b -> totals[b] = scanRange(scan, x, y, b * BLOCK, Math.min(size, (b + 1) * BLOCK)));
+    for (int b = 1; b < blocks; b++) {
+      totals[b] = scan.apply(totals[b - 1], totals[b]);
+    }
+    IntStream.range(1, blocks).parallel().forEach(b -> {
+      double carry = totals[b - 1];
+      for (int i = b * BLOCK, to = Math.min(size, (b + 1) * BLOCK); i < to; i++) {
+        y.set(i, scan.apply(carry, y.get(i)));
+      }
+    });
+  }
+
+  private static void scanVector(Scan scan, LongArray x, LongArray y) {
+    int size = x.size();
+    int blocks = (size + BLOCK - 1) / BLOCK;
+    if (!isParallel(size)) {
+      scanRange(scan, x, y, 0, size);
+      return;
+    }
+    long[] totals = new long[blocks];
+    IntStream.range(0, blocks).parallel().forEach(
+        b -> totals[b] = scanRange(scan, x, y, b * BLOCK, Math.min(size, (b + 1) * BLOCK)));
+    for (int b = 1; b < blocks; b++) {
+      totals[b] = scan.apply(totals[b - 1], totals[b]);
+    }
+    IntStream.range(1, blocks).parallel().forEach(b -> {
+      long carry = totals[b - 1];
+      for (int i = b * BLOCK, to = Math.min(size, (b + 1) * BLOCK); i < to; i++) {
+        y.set(i, scan.apply(carry, y.get(i)));
+      }
+    });
+  }
+
+  /**
+   * Scan the elements {@code [from, to)} of the 1d-array {@code x} into {@code y} and return the
+   * last value.
+   */
+  private static double scanRange(Scan scan, DoubleArray x, DoubleArray y, int from, int to) {
+    double value = x.get(from);
+    y.set(from, value);
+    for (int i = from + 1; i < to; i++) {
+      value = scan.apply(value, x.get(i));
+      y.set(i, value);
+    }
+    return value;
+  }
+
+  private static long scanRange(Scan scan, LongArray x, LongArray y, int from, int to) {
+    long value = x.get(from);
+    y.set(from, value);
+    for (int i = from + 1; i < to; i++) {
+      value = scan.apply(value, x.get(i));
+      y.set(i, value);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the dimension along which the elements of the vector {@code x} are laid out
+   */
+  private static int vectorDimension(BaseArray<?> x) {
+    return x.dims() == 1 || x.size(0) == x.size() ? 0 : 1;
+  }
+
+  private static void checkDimension(int dim, BaseArray<?> x) {
+    Check.argument(dim >= 0 && dim < x.dims(), "Dimension out of bounds (%s < %s)", dim, x.dims());
+  }
+
+  private static boolean isParallel(long size) {
+    return size >= PARALLEL_THRESHOLD && ForkJoinTasks.parallelism() > 1;
+  }
+
+  /**
+   * Returns true if the work is split between the vectors, i.e., if there are enough vectors to
+   * keep the threads busy; otherwise each (long) vector is scanned in parallel.
+   */
+  private static boolean isSplit(int vectors, long size) {
+    return !isParallel(size) || vectors >= ForkJoinTasks.parallelism();
+  }
+
+  private static IntStream vectors(int vectors, boolean parallel) {
+    IntStream range = IntStream.range(0, vectors);
+    return parallel ? range.parallel() : range;
+  }
+}
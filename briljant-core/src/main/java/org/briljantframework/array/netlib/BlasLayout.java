@@ -0,0 +1,156 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.BaseArray;
+
+/**
+ * The layout of a matrix as addressed by BLAS, i.e., the offset, the leading dimension and whether
+ * the matrix is stored in row-major order.
+ *
+ * <p/>
+ * A matrix can be passed to BLAS without copying if either its columns or its rows are contiguous
+ * and separated by a leading dimension which is at least as large as their size, e.g., a
+ * sub-matrix view of a column-major matrix or a transposed view. A matrix with contiguous rows is
+ * passed to BLAS as its (column-major) transpose together with the opposite transposition flag.
+ *
+ * <p/>
+ * A vector can be passed to BLAS if its elements are separated by a non-zero (possibly negative)
+ * increment. Since BLAS traverses a vector with a negative increment from the end, the vector is
+ * addressed from the element with the lowest address, i.e., the last element.
+ *
+ * @author Isak Karlsson
+ */
+final class BlasLayout {
+
+  /**
+   * The offset of the first element
+   */
+  final int offset;
+
+  /**
+   * The number of rows of the (column-major) stored matrix
+   */
+  final int rows;
+
+  /**
+   * The number of columns of the (column-major) stored matrix
+   */
+  final int columns;
+
+  /**
+   * The distance between the columns of the stored matrix
+   */
+  final int leadingDimension;
+
+  /**
+   * True if the stored matrix is the transpose of the matrix
+   */
+  final boolean transposed;
+
+  private BlasLayout(int offset, int rows, int columns, int leadingDimension,
+      boolean transposed) {
+    this.offset = offset;
+    this.rows = rows;
+    this.columns = columns;
+    this.leadingDimension = leadingDimension;
+    this.transposed = transposed;
+  }
+
+  /**
+   * Returns the layout of the given matrix or {@code null} if the matrix cannot be addressed by
+   * BLAS without copying.
+   *
+   * @param x the matrix
+   * @return the layout or {@code null}
+   */
+  static BlasLayout of(BaseArray<?> x) {
+    if (x.dims() != 2) {
+      return null;
+    }
+    int rows = x.size(0);
+    int columns = x.size(1);
+    if (isAddressable(x.stride(0), rows, x.stride(1), columns)) {
+      return new BlasLayout(x.getOffset(), rows, columns,
+          leadingDimension(x.stride(1), rows, columns), false);
+    } else if (isAddressable(x.stride(1), columns, x.stride(0), rows)) {
+      return new BlasLayout(x.getOffset(), columns, rows,
+          leadingDimension(x.stride(0), columns, rows), true);
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the BLAS transposition flag of {@code op(x)}, where {@code x} has this layout.
+   *
+   * @param op the operation
+   * @return the BLAS transposition flag of the stored matrix
+   */
+  String transpose(ArrayOperation op) {
+    if (transposed) {
+      return op.isTranspose() ? ArrayOperation.KEEP.getCblasString()
+          : ArrayOperation.TRANSPOSE.getCblasString();
+    }
+    return op.getCblasString();
+  }
+
+  /**
+   * Returns the BLAS increment of the given vector or {@code 0} if the array is not a vector or
+   * cannot be addressed by BLAS without copying.
+   *
+   * @param x the vector
+   * @return the increment or {@code 0}
+   */
+  static int increment(BaseArray<?> x) {
+    if (!x.isVector()) {
+      return 0;
+    } else if (x.size() <= 1) {
+      return 1;
+    } else {
+      return x.dims() == 1 || x.size(0) == x.size() ? x.stride(0) : x.stride(1);
+    }
+  }
+
+  /**
+   * Returns the offset of the vector with the given (non-zero) increment, as addressed by BLAS
+   *
+   * @param x the vector
+   * @param increment the increment
+   * @return the offset of the first (or, if the increment is negative, last) element
+   */
+  static int offset(BaseArray<?> x, int increment) {
+    return increment < 0 ? x.getOffset() + (x.size() - 1) * increment : x.getOffset();
+  }
+
+  /**
+   * Returns true if {@code count} vectors of {@code size} elements separated by {@code inner} are
+   * stored as the columns of a column-major matrix, separated by {@code outer}.
+   */
+  private static boolean isAddressable(int inner, int size, int outer, int count) {
+    return (inner == 1 || size <= 1) && (count <= 1 || outer >= Math.max(1, size));
+  }
+
+  private static int leadingDimension(int outer, int size, int count) {
+    return count <= 1 ? Math.max(1, size) : outer;
+  }
+}
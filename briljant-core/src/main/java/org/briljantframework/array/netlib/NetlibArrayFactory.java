@@ -157,6 +157,54 @@ class NetlibArrayFactory implements ArrayFactory {
     return new NetlibLongArray(backend, shape);
   }
 
+  @Override
+  public ByteArray newByteVector(byte... data) {
+    return new NetlibByteArray(backend, data);
+  }
+
+  @Override
+  public ByteArray newByteArray(int... shape) {
+    return new NetlibByteArray(backend, shape);
+  }
+
+  @Override
+  public ShortArray newShortVector(short... data) {
+    return new NetlibShortArray(backend, data);
+  }
+
+  @Override
+  public ShortArray newShortArray(int... shape) {
+    return new NetlibShortArray(backend, shape);
+  }
+
+  @Override
+  public FloatArray newFloatMatrix(float[][] data) {
+    Check.argument(data.length > 0, "illegal row count");
+    Check.argument(data[0].length > 0, "illegal column count");
+
+    int m = data.length;
+    int n = data[0].length;
+    FloatArray array = newFloatArray(m, n);
+    for (int i = 0; i < m; i++) {
+      float[] row = data[i];
+      Check.argument(row.length == n, "illegal row count");
+      for (int j = 0; j < n; j++) {
+        array.set(i, j, row[j]);
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public FloatArray newFloatVector(float... data) {
+    return new NetlibFloatArray(backend, data);
+  }
+
+  @Override
+  public FloatArray newFloatArray(int... shape) {
+    return new NetlibFloatArray(backend, shape);
+  }
+
   @Override
   public DoubleArray newDoubleMatrix(double[][] data) {
     Check.argument(data.length > 0, "illegal row count");
@@ -199,11 +247,11 @@ class NetlibArrayFactory implements ArrayFactory {
   }
 
   public ComplexArray newComplexVector(double... data) {
-    Complex[] c = new Complex[data.length];
+    ComplexArray array = new NetlibComplexArray(backend, data.length);
     for (int i = 0; i < data.length; i++) {
-      c[i] = Complex.valueOf(data[i]);
+      array.set(i, data[i], 0);
     }
-    return newComplexVector(c);
+    return array;
   }
 
   @Override
@@ -20,14 +20,23 @@
  */
 package org.briljantframework.array.netlib;
 
+import java.util.Arrays;
+
 import org.briljantframework.Check;
 import org.briljantframework.array.ArrayOperation;
 import org.briljantframework.array.BaseArray;
+import org.briljantframework.array.BooleanArray;
+import org.briljantframework.array.ByteArray;
 import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.FloatArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.briljantframework.array.ShortArray;
 import org.briljantframework.array.api.AbstractArrayRoutines;
 import org.briljantframework.array.api.ArrayBackend;
 
 import com.github.fommil.netlib.BLAS;
+import com.github.fommil.netlib.F2jBLAS;
 
 /**
  * Array routines with fortran performance.
@@ -38,6 +47,12 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
 
   private final static BLAS blas = BLAS.getInstance();
 
+  /**
+   * If netlib falls back to the (slow) F2J implementation, the level 3 and level 2 routines are
+   * computed using the blocked and multi-threaded implementation of {@link AbstractArrayRoutines}.
+   */
+  private final static boolean NATIVE_BLAS = blas.getClass() != F2jBLAS.class;
+
   NetlibArrayRoutines(ArrayBackend backend) {
     super(backend);
   }
@@ -58,28 +73,467 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
   // });
   // }
 
+  @Override
+  public double sum(DoubleArray x) {
+    if (isDense(x)) {
+      return NetlibKernels.sum(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.sum(x);
+  }
+
+  @Override
+  public int sum(IntArray x) {
+    if (isDense(x)) {
+      return NetlibKernels.sum(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.sum(x);
+  }
+
+  @Override
+  public long sum(LongArray x) {
+    if (isDense(x)) {
+      return NetlibKernels.sum(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.sum(x);
+  }
+
+  @Override
+  public long sum(ByteArray x) {
+    if (x instanceof NetlibByteArray && NetlibKernels.isDense(x)) {
+      return NetlibKernels.sumUnsigned(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.sum(x);
+  }
+
+  @Override
+  public long sum(ShortArray x) {
+    if (x instanceof NetlibShortArray && NetlibKernels.isDense(x)) {
+      return NetlibKernels.sum(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.sum(x);
+  }
+
+  @Override
+  public void dequantize(ByteArray x, double scale, double zeroPoint, DoubleArray out) {
+    if (x instanceof NetlibByteArray && NetlibKernels.isDense(x) && isDense(out)
+        && Arrays.equals(x.getShape(), out.getShape())) {
+      NetlibKernels.dequantizeUnsigned(getBackingArray(x), x.getOffset(), scale, zeroPoint,
+          getBackingArray(out), out.getOffset(), x.size());
+    } else {
+      super.dequantize(x, scale, zeroPoint, out);
+    }
+  }
+
+  @Override
+  public void dequantize(ShortArray x, double scale, double zeroPoint, DoubleArray out) {
+    if (x instanceof NetlibShortArray && NetlibKernels.isDense(x) && isDense(out)
+        && Arrays.equals(x.getShape(), out.getShape())) {
+      NetlibKernels.dequantize(getBackingArray(x), x.getOffset(), scale, zeroPoint,
+          getBackingArray(out), out.getOffset(), x.size());
+    } else {
+      super.dequantize(x, scale, zeroPoint, out);
+    }
+  }
+
+  private static byte[] getBackingArray(ByteArray x) {
+    return ((NetlibByteArray) x).getBackingArray();
+  }
+
+  private static short[] getBackingArray(ShortArray x) {
+    return ((NetlibShortArray) x).getBackingArray();
+  }
+
+  @Override
+  public double min(DoubleArray x) {
+    if (isDense(x)) {
+      Check.argument(x.isVector(), VECTOR_REQUIRED);
+      return NetlibKernels.min(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.min(x);
+  }
+
+  @Override
+  public int min(IntArray x) {
+    if (isDense(x)) {
+      Check.argument(x.isVector(), VECTOR_REQUIRED);
+      return NetlibKernels.min(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.min(x);
+  }
+
+  @Override
+  public long min(LongArray x) {
+    if (isDense(x)) {
+      Check.argument(x.isVector(), VECTOR_REQUIRED);
+      return NetlibKernels.min(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.min(x);
+  }
+
+  @Override
+  public double max(DoubleArray x) {
+    if (isDense(x)) {
+      Check.argument(x.isVector(), VECTOR_REQUIRED);
+      return NetlibKernels.max(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.max(x);
+  }
+
+  @Override
+  public int max(IntArray x) {
+    if (isDense(x)) {
+      Check.argument(x.isVector(), VECTOR_REQUIRED);
+      return NetlibKernels.max(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.max(x);
+  }
+
+  @Override
+  public long max(LongArray x) {
+    if (isDense(x)) {
+      Check.argument(x.isVector(), VECTOR_REQUIRED);
+      return NetlibKernels.max(getBackingArray(x), x.getOffset(), x.size());
+    }
+    return super.max(x);
+  }
+
+  @Override
+  public DoubleArray plus(DoubleArray a, DoubleArray b) {
+    int[] shape = getDenseShape(a, b);
+    if (shape != null) {
+      DoubleArray out = a.newEmptyArray(shape);
+      if (denseBinary('+', a, b, out)) {
+        return out;
+      }
+    }
+    return super.plus(a, b);
+  }
+
+  @Override
+  public void plus(DoubleArray a, DoubleArray b, DoubleArray out) {
+    int[] shape = getDenseShape(a, b);
+    if (shape == null || !Arrays.equals(shape, out.getShape()) || !denseBinary('+', a, b, out)) {
+      super.plus(a, b, out);
+    }
+  }
+
+  @Override
+  public DoubleArray minus(DoubleArray a, DoubleArray b) {
+    int[] shape = getDenseShape(a, b);
+    if (shape != null) {
+      DoubleArray out = a.newEmptyArray(shape);
+      if (denseBinary('-', a, b, out)) {
+        return out;
+      }
+    }
+    return super.minus(a, b);
+  }
+
+  @Override
+  public void minus(DoubleArray a, DoubleArray b, DoubleArray out) {
+    int[] shape = getDenseShape(a, b);
+    if (shape == null || !Arrays.equals(shape, out.getShape()) || !denseBinary('-', b, a, out)) {
+      super.minus(a, b, out);
+    }
+  }
+
+  @Override
+  public DoubleArray times(DoubleArray a, DoubleArray b) {
+    int[] shape = getDenseShape(a, b);
+    if (shape != null) {
+      DoubleArray out = a.newEmptyArray(shape);
+      if (denseBinary('*', a, b, out)) {
+        return out;
+      }
+    }
+    return super.times(a, b);
+  }
+
+  @Override
+  public void times(DoubleArray a, DoubleArray b, DoubleArray out) {
+    int[] shape = getDenseShape(a, b);
+    if (shape == null || !Arrays.equals(shape, out.getShape()) || !denseBinary('*', a, b, out)) {
+      super.times(a, b, out);
+    }
+  }
+
+  @Override
+  public DoubleArray div(DoubleArray nominator, DoubleArray denominator) {
+    int[] shape = getDenseShape(nominator, denominator);
+    if (shape != null) {
+      DoubleArray out = nominator.newEmptyArray(shape);
+      if (denseBinary('/', nominator, denominator, out)) {
+        return out;
+      }
+    }
+    return super.div(nominator, denominator);
+  }
+
+  @Override
+  public void div(DoubleArray a, DoubleArray b, DoubleArray out) {
+    int[] shape = getDenseShape(a, b);
+    if (shape == null || !Arrays.equals(shape, out.getShape()) || !denseBinary('/', b, a, out)) {
+      super.div(a, b, out);
+    }
+  }
+
+  @Override
+  public IntArray plus(IntArray a, IntArray b) {
+    if (isDense(a) && isDense(b) && Arrays.equals(a.getShape(), b.getShape())) {
+      IntArray out = a.newEmptyArray(a.getShape());
+      NetlibKernels.plus(getBackingArray(a), a.getOffset(), getBackingArray(b), b.getOffset(),
+          getBackingArray(out), 0, a.size());
+      return out;
+    }
+    return super.plus(a, b);
+  }
+
+  @Override
+  public IntArray minus(IntArray a, IntArray b) {
+    if (isDense(a) && isDense(b) && Arrays.equals(a.getShape(), b.getShape())) {
+      IntArray out = a.newEmptyArray(a.getShape());
+      NetlibKernels.minus(getBackingArray(a), a.getOffset(), getBackingArray(b), b.getOffset(),
+          getBackingArray(out), 0, a.size());
+      return out;
+    }
+    return super.minus(a, b);
+  }
+
+  @Override
+  public IntArray times(IntArray a, IntArray b) {
+    if (isDense(a) && isDense(b) && Arrays.equals(a.getShape(), b.getShape())) {
+      IntArray out = a.newEmptyArray(a.getShape());
+      NetlibKernels.times(getBackingArray(a), a.getOffset(), getBackingArray(b), b.getOffset(),
+          getBackingArray(out), 0, a.size());
+      return out;
+    }
+    return super.times(a, b);
+  }
+
+  @Override
+  public LongArray plus(LongArray a, LongArray b) {
+    if (isDense(a) && isDense(b) && Arrays.equals(a.getShape(), b.getShape())) {
+      LongArray out = a.newEmptyArray(a.getShape());
+      NetlibKernels.plus(getBackingArray(a), a.getOffset(), getBackingArray(b), b.getOffset(),
+          getBackingArray(out), 0, a.size());
+      return out;
+    }
+    return super.plus(a, b);
+  }
+
+  @Override
+  public LongArray minus(LongArray a, LongArray b) {
+    if (isDense(a) && isDense(b) && Arrays.equals(a.getShape(), b.getShape())) {
+      LongArray out = a.newEmptyArray(a.getShape());
+      NetlibKernels.minus(getBackingArray(a), a.getOffset(), getBackingArray(b), b.getOffset(),
+          getBackingArray(out), 0, a.size());
+      return out;
+    }
+    return super.minus(a, b);
+  }
+
+  @Override
+  public LongArray times(LongArray a, LongArray b) {
+    if (isDense(a) && isDense(b) && Arrays.equals(a.getShape(), b.getShape())) {
+      LongArray out = a.newEmptyArray(a.getShape());
+      NetlibKernels.times(getBackingArray(a), a.getOffset(), getBackingArray(b), b.getOffset(),
+          getBackingArray(out), 0, a.size());
+      return out;
+    }
+    return super.times(a, b);
+  }
+
+  @Override
+  public DoubleArray sqrt(DoubleArray array) {
+    if (isDense(array)) {
+      DoubleArray out = array.newEmptyArray(array.getShape());
+      NetlibKernels.sqrt(getBackingArray(array), array.getOffset(), getBackingArray(out), 0,
+          array.size());
+      return out;
+    }
+    return super.sqrt(array);
+  }
+
+  @Override
+  public DoubleArray abs(DoubleArray array) {
+    if (isDense(array)) {
+      DoubleArray out = array.newEmptyArray(array.getShape());
+      NetlibKernels.abs(getBackingArray(array), array.getOffset(), getBackingArray(out), 0,
+          array.size());
+      return out;
+    }
+    return super.abs(array);
+  }
+
+  @Override
+  public DoubleArray exp(DoubleArray array) {
+    if (isDense(array)) {
+      DoubleArray out = array.newEmptyArray(array.getShape());
+      NetlibKernels.exp(getBackingArray(array), array.getOffset(), getBackingArray(out), 0,
+          array.size());
+      return out;
+    }
+    return super.exp(array);
+  }
+
+  @Override
+  public DoubleArray log(DoubleArray array) {
+    if (isDense(array)) {
+      DoubleArray out = array.newEmptyArray(array.getShape());
+      NetlibKernels.log(getBackingArray(array), array.getOffset(), getBackingArray(out), 0,
+          array.size());
+      return out;
+    }
+    return super.log(array);
+  }
+
+  @Override
+  public DoubleArray log10(DoubleArray array) {
+    if (isDense(array)) {
+      DoubleArray out = array.newEmptyArray(array.getShape());
+      NetlibKernels.log10(getBackingArray(array), array.getOffset(), getBackingArray(out), 0,
+          array.size());
+      return out;
+    }
+    return super.log10(array);
+  }
+
+  /**
+   * Returns the shape of the result of an element-wise operation if both arrays are dense (or
+   * scalars, i.e., arrays with a single element, broadcast to the shape of the other array);
+   * otherwise {@code null}.
+   */
+  private static int[] getDenseShape(DoubleArray a, DoubleArray b) {
+    boolean aDense = isDense(a);
+    boolean bDense = isDense(b);
+    if (aDense && bDense && Arrays.equals(a.getShape(), b.getShape())) {
+      return a.getShape();
+    } else if (aDense && b.size() == 1 && b.dims() <= a.dims()) {
+      return a.getShape();
+    } else if (bDense && a.size() == 1 && a.dims() <= b.dims()) {
+      return b.getShape();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Compute {@code out = x op y} for dense arrays (or scalars) using the element-wise kernels. An
+   * operand is read as an array only if it is dense; otherwise it is a scalar (as ensured by
+   * {@link #getDenseShape(DoubleArray, DoubleArray)}) and read using {@code get(0)}.
+   *
+   * @return false if the kernels are not applicable
+   */
+  private static boolean denseBinary(char op, DoubleArray x, DoubleArray y, DoubleArray out) {
+    if (!isDense(out)) {
+      return false;
+    }
+    double[] o = getBackingArray(out);
+    int oo = out.getOffset();
+    int n = out.size();
+    boolean xScalar = !isDense(x) || x.size() == 1 && n != 1;
+    boolean yScalar = !isDense(y) || y.size() == 1 && n != 1;
+    if (xScalar && yScalar) {
+      return false;
+    } else if (!xScalar && !yScalar) {
+      double[] xd = getBackingArray(x);
+      double[] yd = getBackingArray(y);
+      int xo = x.getOffset();
+      int yo = y.getOffset();
+      switch (op) {
+        case '+':
+          NetlibKernels.plus(xd, xo, yd, yo, o, oo, n);
+          break;
+        case '-':
+          NetlibKernels.minus(xd, xo, yd, yo, o, oo, n);
+          break;
+        case '*':
+          NetlibKernels.times(xd, xo, yd, yo, o, oo, n);
+          break;
+        default:
+          NetlibKernels.div(xd, xo, yd, yo, o, oo, n);
+      }
+    } else if (yScalar) {
+      double[] xd = getBackingArray(x);
+      int xo = x.getOffset();
+      double value = y.get(0);
+      switch (op) {
+        case '+':
+          NetlibKernels.plus(xd, xo, value, o, oo, n);
+          break;
+        case '-':
+          NetlibKernels.minus(xd, xo, value, o, oo, n);
+          break;
+        case '*':
+          NetlibKernels.times(xd, xo, value, o, oo, n);
+          break;
+        default:
+          NetlibKernels.div(xd, xo, value, o, oo, n);
+      }
+    } else {
+      double value = x.get(0);
+      double[] yd = getBackingArray(y);
+      int yo = y.getOffset();
+      switch (op) {
+        case '+':
+          NetlibKernels.plus(yd, yo, value, o, oo, n);
+          break;
+        case '-':
+          NetlibKernels.minus(value, yd, yo, o, oo, n);
+          break;
+        case '*':
+          NetlibKernels.times(yd, yo, value, o, oo, n);
+          break;
+        default:
+          NetlibKernels.div(value, yd, yo, o, oo, n);
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDense(DoubleArray x) {
+    return x instanceof NetlibDoubleArray && NetlibKernels.isDense(x);
+  }
+
+  private static boolean isDense(IntArray x) {
+    return x instanceof NetlibIntArray && NetlibKernels.isDense(x);
+  }
+
+  private static boolean isDense(LongArray x) {
+    return x instanceof NetlibLongArray && NetlibKernels.isDense(x);
+  }
+
+  private static int[] getBackingArray(IntArray x) {
+    return ((NetlibIntArray) x).getBackingArray();
+  }
+
+  private static long[] getBackingArray(LongArray x) {
+    return ((NetlibLongArray) x).getBackingArray();
+  }
+
   @Override
   public double inner(DoubleArray a, DoubleArray b) {
-    if (isContinuousNetlibArray(a) && isContinuousNetlibArray(b)) {
-      Check.argument(a.isVector() && b.isVector(), VECTOR_REQUIRED);
+    int incA = getIncrement(a);
+    int incB = getIncrement(b);
+    if (incA != 0 && incB != 0) {
       Check.size(a, b);
-      int n = a.size();
-      return blas.ddot(n, getBackingArray(a), a.getOffset(), getVectorMajorStride(a),
-          getBackingArray(b), b.getOffset(), getVectorMajorStride(b));
+      return blas.ddot(a.size(), getBackingArray(a), BlasLayout.offset(a, incA), incA,
+          getBackingArray(b), BlasLayout.offset(b, incB), incB);
     } else {
       return super.inner(a, b);
     }
   }
 
-  private double[] getBackingArray(DoubleArray a) {
+  private static double[] getBackingArray(DoubleArray a) {
     return ((NetlibDoubleArray) a).getBackingArray();
   }
 
   @Override
   public double norm2(DoubleArray a) {
-    if (isContinuousNetlibArray(a)) {
-      Check.argument(a.isVector(), VECTOR_REQUIRED);
-      return blas.dnrm2(a.size(), getBackingArray(a), a.getOffset(), getVectorMajorStride(a));
+    // the norm is independent of the order of the elements
+    int inc = getIncrement(a);
+    if (inc != 0) {
+      return blas.dnrm2(a.size(), getBackingArray(a), BlasLayout.offset(a, inc), Math.abs(inc));
     } else {
       return super.norm2(a);
     }
@@ -87,9 +541,9 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
 
   @Override
   public double asum(DoubleArray a) {
-    if (isContinuousNetlibArray(a)) {
-      Check.argument(a.isVector(), VECTOR_REQUIRED);
-      return blas.dasum(a.size(), getBackingArray(a), a.getOffset(), getVectorMajorStride(a));
+    int inc = getIncrement(a);
+    if (inc != 0) {
+      return blas.dasum(a.size(), getBackingArray(a), BlasLayout.offset(a, inc), Math.abs(inc));
     } else {
       return super.asum(a);
     }
@@ -107,9 +561,9 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
 
   @Override
   public void scal(double alpha, DoubleArray a) {
-    if (isContinuousNetlibArray(a) && alpha != 1) {
-      Check.argument(a.isVector(), VECTOR_REQUIRED);
-      blas.dscal(a.size(), alpha, getBackingArray(a), a.getOffset(), getVectorMajorStride(a));
+    int inc = getIncrement(a);
+    if (inc != 0 && alpha != 1) {
+      blas.dscal(a.size(), alpha, getBackingArray(a), BlasLayout.offset(a, inc), Math.abs(inc));
     } else {
       super.scal(alpha, a);
     }
@@ -119,13 +573,18 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
   public void axpy(double alpha, DoubleArray x, DoubleArray y) {
     if (alpha == 0) {
       return;
-    } // TODO: 11/01/16 we need alternative treatment of transposed vectors
-    if (isContinuousNetlibArray(x) && isContinuousNetlibArray(y)) {
-      // TODO: 5/27/16 we need to rework this
-      // Check.argument(x.isVector() && y.isVector(), VECTOR_REQUIRED);
-      // Check.size(x, y);
-      blas.daxpy(x.size(), alpha, getBackingArray(x), x.getOffset(), getVectorMajorStride(x),
-          getBackingArray(y), y.getOffset(), getVectorMajorStride(y));
+    }
+    int incX = getIncrement(x);
+    int incY = getIncrement(y);
+    if (incX != 0 && incY != 0) {
+      Check.size(x, y);
+      blas.daxpy(x.size(), alpha, getBackingArray(x), BlasLayout.offset(x, incX), incX,
+          getBackingArray(y), BlasLayout.offset(y, incY), incY);
+    } else if (x instanceof NetlibDoubleArray && y instanceof NetlibDoubleArray
+        && NetlibKernels.isDense(x) && NetlibKernels.isDense(y)) {
+      Check.size(x, y);
+      blas.daxpy(x.size(), alpha, getBackingArray(x), x.getOffset(), 1, getBackingArray(y),
+          y.getOffset(), 1);
     } else {
       super.axpy(alpha, x, y);
     }
@@ -134,19 +593,19 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
   @Override
   public void gemv(ArrayOperation transA, double alpha, DoubleArray a, DoubleArray x, double beta,
       DoubleArray y) {
-    Check.argument(a.isMatrix());
-    Check.argument(x.isVector());
-    Check.argument(y.isVector());
-
-    if (a instanceof NetlibDoubleArray && a.stride(0) == 1 && a.stride(1) >= a.size(1)
-        && x instanceof NetlibDoubleArray && y instanceof NetlibDoubleArray) {
-
-      int m = a.size(transA == ArrayOperation.KEEP ? 0 : 1);
-      int n = a.size(transA == ArrayOperation.KEEP ? 1 : 0);
-      // TODO: 5/2/16 ensure correctness
-      blas.dgemv(transA.getCblasString(), m, n, alpha, getBackingArray(a), a.getOffset(),
-          Math.max(1, a.stride(1)), getBackingArray(x), x.getOffset(), x.stride(0), beta,
-          getBackingArray(y), y.getOffset(), y.stride(0));
+    Check.argument(a.isMatrix(), "'a' has %s dims", a.dims());
+    Check.argument(x.isVector() && y.isVector(), VECTOR_REQUIRED);
+    Check.dimension(a.size(transA.isTranspose() ? 0 : 1), x.size());
+    Check.dimension(a.size(transA.isTranspose() ? 1 : 0), y.size());
+
+    BlasLayout layout = a instanceof NetlibDoubleArray ? BlasLayout.of(a) : null;
+    int incX = getIncrement(x);
+    int incY = getIncrement(y);
+    if (NATIVE_BLAS && layout != null && incX != 0 && incY != 0) {
+      blas.dgemv(layout.transpose(transA), layout.rows, layout.columns, alpha,
+          getBackingArray(a), layout.offset, layout.leadingDimension, getBackingArray(x),
+          BlasLayout.offset(x, incX), incX, beta, getBackingArray(y), BlasLayout.offset(y, incY),
+          incY);
     } else {
       super.gemv(transA, alpha, a, x, beta, y);
     }
@@ -157,12 +616,22 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
     Check.argument(a.isMatrix() && x.isVector() && y.isVector());
     Check.dimension(x.size(), a.rows());
     Check.dimension(y.size(), a.columns());
-    if (x instanceof NetlibDoubleArray && y instanceof NetlibDoubleArray
-        && a instanceof NetlibDoubleArray && a.stride(0) == 1 && a.stride(1) >= a.size(1)) {
-      // TODO: 5/3/16 ensure correctness
-      blas.dger(a.rows(), a.columns(), alpha, getBackingArray(x), x.getOffset(), y.stride(0),
-          getBackingArray(y), y.getOffset(), y.stride(0), getBackingArray(a), a.getOffset(),
-          Math.max(1, a.stride(1)));
+    BlasLayout layout = a instanceof NetlibDoubleArray ? BlasLayout.of(a) : null;
+    int incX = getIncrement(x);
+    int incY = getIncrement(y);
+    if (layout != null && incX != 0 && incY != 0) {
+      if (layout.transposed) {
+        // a' = alpha * y * x' + a'
+        DoubleArray tmp = x;
+        x = y;
+        y = tmp;
+        int tmpInc = incX;
+        incX = incY;
+        incY = tmpInc;
+      }
+      blas.dger(layout.rows, layout.columns, alpha, getBackingArray(x), BlasLayout.offset(x, incX),
+          incX, getBackingArray(y), BlasLayout.offset(y, incY), incY, getBackingArray(a),
+          layout.offset, layout.leadingDimension);
     } else {
       super.ger(alpha, x, y, a);
     }
@@ -192,19 +661,38 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
               c.size(0), c.size(1)));
     }
 
-    // Issue: is a or b is non-netlib arrays it might be beneficial to copy here if
-    // the array is a small view of a large array since the view performs a copy of
-    // the large array and, while the copy here might be small.
-    a = !a.isView() && a.isContiguous() && a.stride(0) == 1 ? a : a.copy();
-    b = !b.isView() && b.isContiguous() && b.stride(0) == 1 ? b : b.copy();
-    DoubleArray maybeC =
-        c instanceof NetlibDoubleArray && c.isContiguous() && c.stride(0) == 1 ? c : c.copy();
+    if (!NATIVE_BLAS || !(a instanceof NetlibDoubleArray && b instanceof NetlibDoubleArray
+        && c instanceof NetlibDoubleArray)) {
+      super.gemm(transA, transB, alpha, a, b, beta, c);
+      return;
+    }
 
+    BlasLayout layoutC = BlasLayout.of(c);
+    if (layoutC != null && layoutC.transposed) {
+      // c' = op(b)' * op(a)', where c' is column-major
+      gemm(flip(transB), flip(transA), alpha, b, a, beta, c.transpose());
+      return;
+    }
+
+    // Only arrays which BLAS can't address (e.g., views with non-unit strides in both dimensions)
+    // are copied; sub-matrices and transposed views are passed as is.
+    DoubleArray maybeC = layoutC != null ? c : c.copy();
+    layoutC = layoutC != null ? layoutC : BlasLayout.of(maybeC);
+    BlasLayout layoutA = BlasLayout.of(a);
+    if (layoutA == null) {
+      a = a.copy();
+      layoutA = BlasLayout.of(a);
+    }
+    BlasLayout layoutB = BlasLayout.of(b);
+    if (layoutB == null) {
+      b = b.copy();
+      layoutB = BlasLayout.of(b);
+    }
 
-    blas.dgemm(transA.getCblasString(), transB.getCblasString(), m, n, k, alpha, getBackingArray(a),
-        a.getOffset(), Math.max(1, a.stride(1)), getBackingArray(b), b.getOffset(),
-        Math.max(1, b.stride(1)), beta, getBackingArray(maybeC), maybeC.getOffset(),
-        Math.max(1, maybeC.stride(1)));
+    blas.dgemm(layoutA.transpose(transA), layoutB.transpose(transB), m, n, k, alpha,
+        getBackingArray(a), layoutA.offset, layoutA.leadingDimension, getBackingArray(b),
+        layoutB.offset, layoutB.leadingDimension, beta, getBackingArray(maybeC), layoutC.offset,
+        layoutC.leadingDimension);
 
     // If c was copied, maybeC and c won't be the same instance.
     // To simulate an out parameter, c is assigned the new data if this is the case.
@@ -213,6 +701,110 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
     }
   }
 
+  @Override
+  public float inner(FloatArray a, FloatArray b) {
+    int incA = getIncrement(a);
+    int incB = getIncrement(b);
+    if (incA != 0 && incB != 0) {
+      Check.size(a, b);
+      return blas.sdot(a.size(), getBackingArray(a), BlasLayout.offset(a, incA), incA,
+          getBackingArray(b), BlasLayout.offset(b, incB), incB);
+    } else {
+      return super.inner(a, b);
+    }
+  }
+
+  @Override
+  public void scal(float alpha, FloatArray a) {
+    int inc = getIncrement(a);
+    if (inc != 0 && alpha != 1) {
+      blas.sscal(a.size(), alpha, getBackingArray(a), BlasLayout.offset(a, inc), Math.abs(inc));
+    } else {
+      super.scal(alpha, a);
+    }
+  }
+
+  @Override
+  public void axpy(float alpha, FloatArray x, FloatArray y) {
+    if (alpha == 0) {
+      return;
+    }
+    int incX = getIncrement(x);
+    int incY = getIncrement(y);
+    if (incX != 0 && incY != 0) {
+      Check.size(x, y);
+      blas.saxpy(x.size(), alpha, getBackingArray(x), BlasLayout.offset(x, incX), incX,
+          getBackingArray(y), BlasLayout.offset(y, incY), incY);
+    } else {
+      super.axpy(alpha, x, y);
+    }
+  }
+
+  @Override
+  public void gemv(ArrayOperation transA, float alpha, FloatArray a, FloatArray x, float beta,
+      FloatArray y) {
+    BlasLayout layout = a instanceof NetlibFloatArray ? BlasLayout.of(a) : null;
+    int incX = getIncrement(x);
+    int incY = getIncrement(y);
+    if (NATIVE_BLAS && layout != null && incX != 0 && incY != 0) {
+      Check.dimension(a.size(transA.isTranspose() ? 0 : 1), x.size());
+      Check.dimension(a.size(transA.isTranspose() ? 1 : 0), y.size());
+      blas.sgemv(layout.transpose(transA), layout.rows, layout.columns, alpha,
+          getBackingArray(a), layout.offset, layout.leadingDimension, getBackingArray(x),
+          BlasLayout.offset(x, incX), incX, beta, getBackingArray(y), BlasLayout.offset(y, incY),
+          incY);
+    } else {
+      super.gemv(transA, alpha, a, x, beta, y);
+    }
+  }
+
+  @Override
+  public void gemm(ArrayOperation transA, ArrayOperation transB, float alpha, FloatArray a,
+      FloatArray b, float beta, FloatArray c) {
+    BlasLayout layoutA = a instanceof NetlibFloatArray ? BlasLayout.of(a) : null;
+    BlasLayout layoutB = b instanceof NetlibFloatArray ? BlasLayout.of(b) : null;
+    BlasLayout layoutC = c instanceof NetlibFloatArray ? BlasLayout.of(c) : null;
+    if (!NATIVE_BLAS || layoutA == null || layoutB == null || layoutC == null) {
+      super.gemm(transA, transB, alpha, a, b, beta, c);
+      return;
+    }
+    if (layoutC.transposed) {
+      // c' = op(b)' * op(a)', where c' is column-major
+      gemm(flip(transB), flip(transA), alpha, b, a, beta, c.transpose());
+      return;
+    }
+    int m = a.size(transA.isTranspose() ? 1 : 0);
+    int n = b.size(transB.isTranspose() ? 0 : 1);
+    int k = a.size(transA.isTranspose() ? 0 : 1);
+    Check.dimension(k, b.size(transB.isTranspose() ? 1 : 0));
+    Check.dimension(m, c.size(0));
+    Check.dimension(n, c.size(1));
+    blas.sgemm(layoutA.transpose(transA), layoutB.transpose(transB), m, n, k, alpha,
+        getBackingArray(a), layoutA.offset, layoutA.leadingDimension, getBackingArray(b),
+        layoutB.offset, layoutB.leadingDimension, beta, getBackingArray(c), layoutC.offset,
+        layoutC.leadingDimension);
+  }
+
+  private static float[] getBackingArray(FloatArray x) {
+    return ((NetlibFloatArray) x).getBackingArray();
+  }
+
+  /**
+   * Returns the BLAS increment of a netlib vector, or {@code 0} if {@code x} is not a netlib
+   * vector which can be passed to BLAS as is.
+   */
+  private static int getIncrement(DoubleArray x) {
+    return x instanceof NetlibDoubleArray ? BlasLayout.increment(x) : 0;
+  }
+
+  private static int getIncrement(FloatArray x) {
+    return x instanceof NetlibFloatArray ? BlasLayout.increment(x) : 0;
+  }
+
+  private static ArrayOperation flip(ArrayOperation op) {
+    return op.isTranspose() ? ArrayOperation.KEEP : ArrayOperation.TRANSPOSE;
+  }
+
   @Override
   public <T extends BaseArray<T>> void copy(T from, T to) {
     // This is a naive optimization that relies on the fact that netlib arrays expose their
@@ -226,6 +818,30 @@ class NetlibArrayRoutines extends AbstractArrayRoutines {
     }
   }
 
+  @Override
+  public BooleanArray and(BooleanArray a, BooleanArray b) {
+    if (NetlibBooleanArray.isAligned(a, b)) {
+      return NetlibBooleanArray.combineWords(a, b, (x, y) -> x & y);
+    }
+    return super.and(a, b);
+  }
+
+  @Override
+  public BooleanArray or(BooleanArray a, BooleanArray b) {
+    if (NetlibBooleanArray.isAligned(a, b)) {
+      return NetlibBooleanArray.combineWords(a, b, (x, y) -> x | y);
+    }
+    return super.or(a, b);
+  }
+
+  @Override
+  public BooleanArray xor(BooleanArray a, BooleanArray b) {
+    if (NetlibBooleanArray.isAligned(a, b)) {
+      return NetlibBooleanArray.combineWords(a, b, (x, y) -> x ^ y);
+    }
+    return super.xor(a, b);
+  }
+
   /**
    * Returns true if the given array is an a proper array with the proper strides.
    *
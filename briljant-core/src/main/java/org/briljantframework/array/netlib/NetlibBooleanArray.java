@@ -20,42 +20,125 @@
  */
 package org.briljantframework.array.netlib;
 
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.LongBinaryOperator;
 
+import org.briljantframework.Check;
 import org.briljantframework.array.AbstractBooleanArray;
 import org.briljantframework.array.BooleanArray;
 import org.briljantframework.array.api.ArrayBackend;
 
 /**
+ * A boolean array packed into {@code long} words, i.e., the element at position {@code i} is bit
+ * {@code i % 64} of word {@code i / 64}.
+ *
+ * <p/>
+ * If the elements of the array occupy a single contiguous range of bits, {@link #sum()},
+ * {@link #any()}, {@link #all()} and {@link #nextSetIndex(int)} operate on one word at a time.
+ * If, in addition, the range starts at a word boundary {@link #not()} and the logical routines
+ * (and, or, xor) of two arrays with the same shape also operate on one word at a time.
+ *
+ * <p/>
+ * Since an element is set by updating the word containing it, concurrent writes to different
+ * elements in the same word may be lost. Unlike a {@code boolean[]}, the array is therefore not
+ * safe for concurrent writes, even to disjoint elements, unless the writers partition the array at
+ * multiples of 64 elements. The {@linkplain org.briljantframework.array.parallel parallel routines}
+ * compute boolean results serially.
+ *
  * @author Isak Karlsson
  */
 class NetlibBooleanArray extends AbstractBooleanArray {
 
-  private final boolean[] data;
+  private static final int ADDRESS_BITS_PER_WORD = 6;
+  private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+  private static final long WORD_MASK = 0xffffffffffffffffL;
+
+  private final long[] words;
+  private final int elementSize;
 
   NetlibBooleanArray(ArrayBackend backend, int size) {
     super(backend, size);
-    data = new boolean[size];
+    this.elementSize = size;
+    this.words = new long[wordCount(size)];
   }
 
   NetlibBooleanArray(ArrayBackend backend, boolean[] data) {
     super(backend, Objects.requireNonNull(data).length);
-    this.data = data;
+    this.elementSize = data.length;
+    this.words = new long[wordCount(data.length)];
+    for (int i = 0; i < data.length; i++) {
+      if (data[i]) {
+        words[i >>> ADDRESS_BITS_PER_WORD] |= 1L << i;
+      }
+    }
   }
 
   NetlibBooleanArray(ArrayBackend bj, int[] shape) {
     super(bj, shape);
-    this.data = new boolean[size()];
+    this.elementSize = size();
+    this.words = new long[wordCount(elementSize)];
   }
 
-  private NetlibBooleanArray(ArrayBackend bj, int offset, int[] shape, int[] stride, boolean[] data) {
+  private NetlibBooleanArray(ArrayBackend bj, int offset, int[] shape, int[] stride, long[] words,
+      int elementSize) {
     super(bj, offset, shape, stride);
-    this.data = data;
+    this.words = words;
+    this.elementSize = elementSize;
+  }
+
+  private static int wordCount(int bits) {
+    return (bits + BITS_PER_WORD - 1) >>> ADDRESS_BITS_PER_WORD;
+  }
+
+  /**
+   * Returns true if both arrays are bit-packed, have the same shape and are
+   * {@linkplain #isAligned() aligned}.
+   */
+  static boolean isAligned(BooleanArray a, BooleanArray b) {
+    return a instanceof NetlibBooleanArray && b instanceof NetlibBooleanArray
+        && Arrays.equals(a.getShape(), b.getShape()) && ((NetlibBooleanArray) a).isAligned()
+        && ((NetlibBooleanArray) b).isAligned();
+  }
+
+  /**
+   * Combine the words of two {@linkplain #isAligned(BooleanArray, BooleanArray) aligned} arrays.
+   */
+  static BooleanArray combineWords(BooleanArray a, BooleanArray b, LongBinaryOperator operator) {
+    NetlibBooleanArray x = (NetlibBooleanArray) a;
+    NetlibBooleanArray y = (NetlibBooleanArray) b;
+    NetlibBooleanArray out = new NetlibBooleanArray(x.getArrayBackend(), x.getShape());
+    int xOffset = x.getOffset() >>> ADDRESS_BITS_PER_WORD;
+    int yOffset = y.getOffset() >>> ADDRESS_BITS_PER_WORD;
+    long[] outWords = out.words;
+    for (int i = 0; i < outWords.length; i++) {
+      outWords[i] = operator.applyAsLong(x.words[xOffset + i], y.words[yOffset + i]);
+    }
+    out.clearTail();
+    return out;
+  }
+
+  /**
+   * Set the bits of this (non-view) array from the given predicate, one word at a time.
+   */
+  void setBits(java.util.function.IntPredicate predicate) {
+    int size = size();
+    for (int w = 0; w < words.length; w++) {
+      int from = w << ADDRESS_BITS_PER_WORD;
+      int to = Math.min(size, from + BITS_PER_WORD);
+      long word = 0;
+      for (int i = from; i < to; i++) {
+        if (predicate.test(i)) {
+          word |= 1L << i;
+        }
+      }
+      words[w] = word;
+    }
   }
 
   @Override
   public BooleanArray asView(int offset, int[] shape, int[] stride) {
-    return new NetlibBooleanArray(getArrayBackend(), offset, shape, stride, data);
+    return new NetlibBooleanArray(getArrayBackend(), offset, shape, stride, words, elementSize);
   }
 
   @Override
@@ -65,16 +148,138 @@ class NetlibBooleanArray extends AbstractBooleanArray {
 
   @Override
   protected int elementSize() {
-    return data.length;
+    return elementSize;
   }
 
   @Override
   public boolean getElement(int index) {
-    return data[index];
+    return (words[index >>> ADDRESS_BITS_PER_WORD] & (1L << index)) != 0;
   }
 
   @Override
   public void setElement(int index, boolean value) {
-    data[index] = value;
+    if (value) {
+      words[index >>> ADDRESS_BITS_PER_WORD] |= 1L << index;
+    } else {
+      words[index >>> ADDRESS_BITS_PER_WORD] &= ~(1L << index);
+    }
+  }
+
+  @Override
+  public BooleanArray not() {
+    if (isAligned()) {
+      NetlibBooleanArray out = new NetlibBooleanArray(getArrayBackend(), getShape());
+      int wordOffset = getOffset() >>> ADDRESS_BITS_PER_WORD;
+      for (int i = 0; i < out.words.length; i++) {
+        out.words[i] = ~words[wordOffset + i];
+      }
+      out.clearTail();
+      return out;
+    }
+    return super.not();
+  }
+
+  @Override
+  public int sum() {
+    if (isDense()) {
+      int from = getOffset();
+      int to = from + size();
+      if (from == to) {
+        return 0;
+      }
+      int first = from >>> ADDRESS_BITS_PER_WORD;
+      int last = (to - 1) >>> ADDRESS_BITS_PER_WORD;
+      long firstMask = WORD_MASK << from;
+      long lastMask = WORD_MASK >>> -to;
+      if (first == last) {
+        return Long.bitCount(words[first] & firstMask & lastMask);
+      }
+      int sum = Long.bitCount(words[first] & firstMask);
+      for (int i = first + 1; i < last; i++) {
+        sum += Long.bitCount(words[i]);
+      }
+      return sum + Long.bitCount(words[last] & lastMask);
+    }
+    return super.sum();
+  }
+
+  @Override
+  public boolean any() {
+    if (isDense()) {
+      return nextSetIndex(0) >= 0;
+    }
+    return super.any();
+  }
+
+  @Override
+  public boolean all() {
+    if (isDense()) {
+      return sum() == size();
+    }
+    return super.all();
+  }
+
+  @Override
+  public int nextSetIndex(int fromIndex) {
+    Check.argument(fromIndex >= 0, "fromIndex < 0");
+    if (!isDense()) {
+      return super.nextSetIndex(fromIndex);
+    }
+    int offset = getOffset();
+    int to = offset + size();
+    int from = offset + fromIndex;
+    if (from >= to) {
+      return -1;
+    }
+    int u = from >>> ADDRESS_BITS_PER_WORD;
+    long word = words[u] & (WORD_MASK << from);
+    while (true) {
+      if (word != 0) {
+        int position = (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+        return position < to ? position - offset : -1;
+      }
+      if (++u * BITS_PER_WORD >= to) {
+        return -1;
+      }
+      word = words[u];
+    }
+  }
+
+  /**
+   * Returns true if the elements of this array occupy a single contiguous range of bits (in
+   * column-major order).
+   */
+  private boolean isDense() {
+    int expected = 1;
+    for (int i = 0; i < shape.length; i++) {
+      if (shape[i] == 0) {
+        return true;
+      }
+      if (shape[i] > 1) {
+        if (stride[i] != expected) {
+          return false;
+        }
+        expected *= shape[i];
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if the array is {@linkplain #isDense() dense} and the first element is the first
+   * bit of a word.
+   */
+  private boolean isAligned() {
+    return (getOffset() & (BITS_PER_WORD - 1)) == 0 && isDense();
+  }
+
+  /**
+   * Clear the bits after the last element, which are set by word-wise operations.
+   */
+  private void clearTail() {
+    int size = size();
+    if (size > 0 && (size & (BITS_PER_WORD - 1)) != 0) {
+      words[words.length - 1] &= WORD_MASK >>> -size;
+    }
   }
 }
@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import java.util.Objects;
+
+import org.briljantframework.array.AbstractByteArray;
+import org.briljantframework.array.ByteArray;
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayPool;
+
+/**
+ * @author Isak Karlsson
+ */
+class NetlibByteArray extends AbstractByteArray {
+
+  private byte[] data;
+
+  NetlibByteArray(ArrayBackend bj, int[] shape) {
+    super(bj, shape);
+    this.data = ArrayPool.newByteBuffer(size());
+  }
+
+  NetlibByteArray(ArrayBackend bj, byte[] data) {
+    super(bj, new int[] {Objects.requireNonNull(data).length});
+    this.data = data;
+  }
+
+  private NetlibByteArray(ArrayBackend bj, int offset, int[] shape, int[] stride, byte[] data) {
+    super(bj, offset, shape, stride);
+    this.data = data;
+  }
+
+  @Override
+  public void setElement(int index, byte value) {
+    data[index] = value;
+  }
+
+  @Override
+  public byte getElement(int index) {
+    return data[index];
+  }
+
+  @Override
+  public ByteArray asView(int offset, int[] shape, int[] stride) {
+    return new NetlibByteArray(getArrayBackend(), offset, shape, stride, data);
+  }
+
+  @Override
+  public ByteArray newEmptyArray(int... shape) {
+    return new NetlibByteArray(getArrayBackend(), shape);
+  }
+
+  @Override
+  protected int elementSize() {
+    return data.length;
+  }
+
+  byte[] getBackingArray() {
+    return data;
+  }
+}
@@ -28,29 +28,40 @@ import org.briljantframework.array.ComplexArray;
 import org.briljantframework.array.api.ArrayBackend;
 
 /**
+ * A complex array backed by a single {@code double[]} with the real and imaginary parts of each
+ * element interleaved, i.e., the element at position {@code i} is stored at {@code data[2 * i]}
+ * (real) and {@code data[2 * i + 1]} (imaginary).
+ *
  * @author Isak Karlsson
  */
 class NetlibComplexArray extends AbstractComplexArray {
 
-  private Complex[] data;
-  private Complex defaultValue = Complex.ZERO;
+  private final double[] data;
 
   NetlibComplexArray(ArrayBackend bj, int size) {
     super(bj, size);
-    this.data = new Complex[size];
+    this.data = new double[size * 2];
   }
 
   NetlibComplexArray(ArrayBackend bj, Complex[] data) {
     super(bj, Objects.requireNonNull(data).length);
-    this.data = data;
+    this.data = new double[data.length * 2];
+    for (int i = 0; i < data.length; i++) {
+      Complex c = data[i];
+      if (c != null) {
+        this.data[i * 2] = c.getReal();
+        this.data[i * 2 + 1] = c.getImaginary();
+      }
+    }
   }
 
   NetlibComplexArray(ArrayBackend bj, int[] shape) {
     super(bj, shape);
-    this.data = new Complex[size()];
+    this.data = new double[size() * 2];
   }
 
-  private NetlibComplexArray(ArrayBackend bj, int offset, int[] shape, int[] stride, Complex[] data) {
+  private NetlibComplexArray(ArrayBackend bj, int offset, int[] shape, int[] stride,
+      double[] data) {
     super(bj, offset, shape, stride);
     this.data = data;
   }
@@ -67,21 +78,33 @@ class NetlibComplexArray extends AbstractComplexArray {
 
   @Override
   protected int elementSize() {
-    return data.length;
+    return data.length / 2;
   }
 
   @Override
   protected Complex getElement(int i) {
-    Complex r = data[i];
-    if (r == null) {
-      return defaultValue;
-    } else {
-      return r;
-    }
+    return new Complex(data[i * 2], data[i * 2 + 1]);
   }
 
   @Override
   protected void setElement(int i, Complex value) {
-    data[i] = value;
+    data[i * 2] = value.getReal();
+    data[i * 2 + 1] = value.getImaginary();
+  }
+
+  @Override
+  protected double getRealElement(int i) {
+    return data[i * 2];
+  }
+
+  @Override
+  protected double getImaginaryElement(int i) {
+    return data[i * 2 + 1];
+  }
+
+  @Override
+  protected void setElement(int i, double real, double imaginary) {
+    data[i * 2] = real;
+    data[i * 2 + 1] = imaginary;
   }
 }
@@ -22,13 +22,19 @@ package org.briljantframework.array.netlib;
 
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.DoublePredicate;
 
 import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.DoubleComparator;
 
 import org.briljantframework.array.AbstractDoubleArray;
+import org.briljantframework.array.BooleanArray;
 import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.StrideUtils;
 import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayPool;
+import org.briljantframework.util.sort.RadixSort;
 
 import com.github.fommil.netlib.BLAS;
 
@@ -47,7 +53,7 @@ class NetlibDoubleArray extends AbstractDoubleArray {
 
   NetlibDoubleArray(ArrayBackend bj, int[] shape) {
     super(bj, shape);
-    this.data = new double[size()];
+    this.data = ArrayPool.newDoubleBuffer(size());
   }
 
   private NetlibDoubleArray(ArrayBackend bj, int offset, int[] shape, int[] stride, double[] data) {
@@ -79,15 +85,31 @@ class NetlibDoubleArray extends AbstractDoubleArray {
     return super.copy();
   }
 
+  @Override
+  public void sort() {
+    if (isDense()) {
+      RadixSort.sort(data, getOffset(), getOffset() + size());
+    } else {
+      super.sort();
+    }
+  }
+
   @Override
   public void sort(DoubleComparator cmp) {
-    if (!isView() && isVector() && stride(0) == 1) {
-      Primitive.sort(data, getOffset(), size(), cmp);
+    if (isDense()) {
+      Primitive.sort(data, getOffset(), getOffset() + size(), cmp);
     } else {
       super.sort(cmp);
     }
   }
 
+  /**
+   * Returns true if the elements are stored (in order) in {@code data[offset:offset + size]}.
+   */
+  private boolean isDense() {
+    return !isView() || stride(0) == 1 && size() == size(0);
+  }
+
   @Override
   protected double getElement(int i) {
     return data[i];
@@ -101,4 +123,31 @@ class NetlibDoubleArray extends AbstractDoubleArray {
   double[] getBackingArray() {
     return data;
   }
+
+  @Override
+  public DoubleArray map(DoubleUnaryOperator operator) {
+    if (NetlibKernels.isDense(this)) {
+      double[] out = new double[size()];
+      int offset = getOffset();
+      for (int i = 0; i < out.length; i++) {
+        out[i] = operator.applyAsDouble(data[offset + i]);
+      }
+      int[] shape = getShape();
+      return new NetlibDoubleArray(getArrayBackend(), 0, shape, StrideUtils.computeStride(shape),
+          out);
+    }
+    return super.map(operator);
+  }
+
+  @Override
+  public BooleanArray where(DoublePredicate predicate) {
+    if (NetlibKernels.isDense(this)) {
+      NetlibBooleanArray bits = new NetlibBooleanArray(getArrayBackend(), getShape());
+      int offset = getOffset();
+      bits.setBits(i -> predicate.test(data[offset + i]));
+      return bits;
+    }
+    return super.where(predicate);
+  }
+
 }
@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import java.util.Objects;
+
+import org.briljantframework.array.AbstractFloatArray;
+import org.briljantframework.array.FloatArray;
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayPool;
+
+/**
+ * @author Isak Karlsson
+ */
+class NetlibFloatArray extends AbstractFloatArray {
+
+  private float[] data;
+
+  NetlibFloatArray(ArrayBackend bj, int[] shape) {
+    super(bj, shape);
+    this.data = ArrayPool.newFloatBuffer(size());
+  }
+
+  NetlibFloatArray(ArrayBackend bj, float[] data) {
+    super(bj, new int[] {Objects.requireNonNull(data).length});
+    this.data = data;
+  }
+
+  private NetlibFloatArray(ArrayBackend bj, int offset, int[] shape, int[] stride, float[] data) {
+    super(bj, offset, shape, stride);
+    this.data = data;
+  }
+
+  @Override
+  public void setElement(int index, float value) {
+    data[index] = value;
+  }
+
+  @Override
+  public float getElement(int index) {
+    return data[index];
+  }
+
+  @Override
+  public FloatArray asView(int offset, int[] shape, int[] stride) {
+    return new NetlibFloatArray(getArrayBackend(), offset, shape, stride, data);
+  }
+
+  @Override
+  public FloatArray newEmptyArray(int... shape) {
+    return new NetlibFloatArray(getArrayBackend(), shape);
+  }
+
+  @Override
+  protected int elementSize() {
+    return data.length;
+  }
+
+  float[] getBackingArray() {
+    return data;
+  }
+}
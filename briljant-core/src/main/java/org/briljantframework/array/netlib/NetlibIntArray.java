@@ -20,12 +20,19 @@
  */
 package org.briljantframework.array.netlib;
 
+import java.util.function.IntUnaryOperator;
+import java.util.function.IntPredicate;
+
 import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.IntComparator;
 
 import org.briljantframework.array.AbstractIntArray;
+import org.briljantframework.array.BooleanArray;
 import org.briljantframework.array.IntArray;
+import org.briljantframework.array.StrideUtils;
 import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayPool;
+import org.briljantframework.util.sort.RadixSort;
 
 /**
  * @author Isak Karlsson
@@ -36,12 +43,12 @@ class NetlibIntArray extends AbstractIntArray {
 
   NetlibIntArray(ArrayBackend bj, int size) {
     super(bj, new int[] {size});
-    this.data = new int[size];
+    this.data = ArrayPool.newIntBuffer(size);
   }
 
   NetlibIntArray(ArrayBackend bj, int[] shape) {
     super(bj, shape);
-    this.data = new int[size()];
+    this.data = ArrayPool.newIntBuffer(size());
   }
 
   private NetlibIntArray(ArrayBackend bj, int offset, int[] shape, int[] stride, int[] data) {
@@ -54,15 +61,31 @@ class NetlibIntArray extends AbstractIntArray {
     this.data = data;
   }
 
+  @Override
+  public void sort() {
+    if (isDense()) {
+      RadixSort.sort(data, getOffset(), getOffset() + size());
+    } else {
+      super.sort();
+    }
+  }
+
   @Override
   public void sort(IntComparator cmp) {
-    if (!isView() && isVector() && stride(0) == 1) {
-      Primitive.sort(data, getOffset(), size(), cmp);
+    if (isDense()) {
+      Primitive.sort(data, getOffset(), getOffset() + size(), cmp);
     } else {
       super.sort(cmp);
     }
   }
 
+  /**
+   * Returns true if the elements are stored (in order) in {@code data[offset:offset + size]}.
+   */
+  private boolean isDense() {
+    return !isView() || stride(0) == 1 && size() == size(0);
+  }
+
   @Override
   public int getElement(int index) {
     return data[index];
@@ -91,4 +114,30 @@ class NetlibIntArray extends AbstractIntArray {
   int[] getBackingArray() {
     return data;
   }
+
+  @Override
+  public IntArray map(IntUnaryOperator operator) {
+    if (NetlibKernels.isDense(this)) {
+      int[] out = new int[size()];
+      int offset = getOffset();
+      for (int i = 0; i < out.length; i++) {
+        out[i] = operator.applyAsInt(data[offset + i]);
+      }
+      int[] shape = getShape();
+      return new NetlibIntArray(getArrayBackend(), 0, shape, StrideUtils.computeStride(shape), out);
+    }
+    return super.map(operator);
+  }
+
+  @Override
+  public BooleanArray where(IntPredicate predicate) {
+    if (NetlibKernels.isDense(this)) {
+      NetlibBooleanArray bits = new NetlibBooleanArray(getArrayBackend(), getShape());
+      int offset = getOffset();
+      bits.setBits(i -> predicate.test(data[offset + i]));
+      return bits;
+    }
+    return super.where(predicate);
+  }
+
 }
@@ -0,0 +1,375 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import org.briljantframework.array.BaseArray;
+
+/**
+ * Element-wise and reduction kernels over contiguous ranges of primitive arrays.
+ *
+ * <p/>
+ * The kernels are written as simple counted loops over the backing arrays (without cursors, index
+ * computations or virtual calls) so that the JIT-compiler can unroll and auto-vectorize them using
+ * the SIMD instructions of the CPU. Since floating point addition is not associative, the JIT
+ * can't vectorize reductions; instead, the reductions use four independent accumulators.
+ *
+ * @author Isak Karlsson
+ */
+final class NetlibKernels {
+
+  private NetlibKernels() {}
+
+  /**
+   * Returns true if the elements of the array are stored contiguously in column-major order, i.e.,
+   * the linear index {@code i} is stored at {@code x.getOffset() + i}.
+   *
+   * @param x the array
+   * @return true if dense
+   */
+  static boolean isDense(BaseArray<?> x) {
+    int expected = 1;
+    for (int i = 0; i < x.dims(); i++) {
+      int size = x.size(i);
+      if (size != 1 && x.stride(i) != expected) {
+        return false;
+      }
+      expected *= size;
+    }
+    return true;
+  }
+
+  static void plus(double[] x, int xo, double[] y, int yo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] + y[yo + i];
+    }
+  }
+
+  static void minus(double[] x, int xo, double[] y, int yo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] - y[yo + i];
+    }
+  }
+
+  static void times(double[] x, int xo, double[] y, int yo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] * y[yo + i];
+    }
+  }
+
+  static void div(double[] x, int xo, double[] y, int yo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] / y[yo + i];
+    }
+  }
+
+  static void plus(int[] x, int xo, int[] y, int yo, int[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] + y[yo + i];
+    }
+  }
+
+  static void minus(int[] x, int xo, int[] y, int yo, int[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] - y[yo + i];
+    }
+  }
+
+  static void times(int[] x, int xo, int[] y, int yo, int[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] * y[yo + i];
+    }
+  }
+
+  static void plus(long[] x, int xo, long[] y, int yo, long[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] + y[yo + i];
+    }
+  }
+
+  static void minus(long[] x, int xo, long[] y, int yo, long[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] - y[yo + i];
+    }
+  }
+
+  static void times(long[] x, int xo, long[] y, int yo, long[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] * y[yo + i];
+    }
+  }
+
+  static void plus(double[] x, int xo, double y, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] + y;
+    }
+  }
+
+  static void minus(double[] x, int xo, double y, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] - y;
+    }
+  }
+
+  static void times(double[] x, int xo, double y, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] * y;
+    }
+  }
+
+  static void div(double[] x, int xo, double y, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x[xo + i] / y;
+    }
+  }
+
+  static void minus(double x, double[] y, int yo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x - y[yo + i];
+    }
+  }
+
+  static void div(double x, double[] y, int yo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = x / y[yo + i];
+    }
+  }
+
+  static double sum(double[] x, int o, int n) {
+    double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      s0 += x[o + i];
+      s1 += x[o + i + 1];
+      s2 += x[o + i + 2];
+      s3 += x[o + i + 3];
+    }
+    for (; i < n; i++) {
+      s0 += x[o + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  static int sum(int[] x, int o, int n) {
+    int s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      s0 += x[o + i];
+      s1 += x[o + i + 1];
+      s2 += x[o + i + 2];
+      s3 += x[o + i + 3];
+    }
+    for (; i < n; i++) {
+      s0 += x[o + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  static long sum(long[] x, int o, int n) {
+    long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      s0 += x[o + i];
+      s1 += x[o + i + 1];
+      s2 += x[o + i + 2];
+      s3 += x[o + i + 3];
+    }
+    for (; i < n; i++) {
+      s0 += x[o + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  static long sumUnsigned(byte[] x, int o, int n) {
+    // the partial sums of at most 2^23 unsigned bytes fit in an int
+    long sum = 0;
+    for (int from = 0; from < n; from += 1 << 23) {
+      int s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+      int to = Math.min(n, from + (1 << 23));
+      int i = from;
+      for (; i + 3 < to; i += 4) {
+        s0 += x[o + i] & 0xFF;
+        s1 += x[o + i + 1] & 0xFF;
+        s2 += x[o + i + 2] & 0xFF;
+        s3 += x[o + i + 3] & 0xFF;
+      }
+      for (; i < to; i++) {
+        s0 += x[o + i] & 0xFF;
+      }
+      sum += (long) s0 + s1 + s2 + s3;
+    }
+    return sum;
+  }
+
+  static long sum(short[] x, int o, int n) {
+    long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      s0 += x[o + i];
+      s1 += x[o + i + 1];
+      s2 += x[o + i + 2];
+      s3 += x[o + i + 3];
+    }
+    for (; i < n; i++) {
+      s0 += x[o + i];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  static void dequantizeUnsigned(byte[] x, int xo, double scale, double zeroPoint, double[] out,
+      int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = scale * ((x[xo + i] & 0xFF) - zeroPoint);
+    }
+  }
+
+  static void dequantize(short[] x, int xo, double scale, double zeroPoint, double[] out, int oo,
+      int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = scale * (x[xo + i] - zeroPoint);
+    }
+  }
+
+  static double min(double[] x, int o, int n) {
+    double m0 = Double.POSITIVE_INFINITY;
+    double m1 = m0, m2 = m0, m3 = m0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      m0 = Math.min(m0, x[o + i]);
+      m1 = Math.min(m1, x[o + i + 1]);
+      m2 = Math.min(m2, x[o + i + 2]);
+      m3 = Math.min(m3, x[o + i + 3]);
+    }
+    for (; i < n; i++) {
+      m0 = Math.min(m0, x[o + i]);
+    }
+    return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+  }
+
+  static double max(double[] x, int o, int n) {
+    double m0 = Double.NEGATIVE_INFINITY;
+    double m1 = m0, m2 = m0, m3 = m0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      m0 = Math.max(m0, x[o + i]);
+      m1 = Math.max(m1, x[o + i + 1]);
+      m2 = Math.max(m2, x[o + i + 2]);
+      m3 = Math.max(m3, x[o + i + 3]);
+    }
+    for (; i < n; i++) {
+      m0 = Math.max(m0, x[o + i]);
+    }
+    return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+  }
+
+  static int min(int[] x, int o, int n) {
+    int m0 = Integer.MAX_VALUE;
+    int m1 = m0, m2 = m0, m3 = m0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      m0 = Math.min(m0, x[o + i]);
+      m1 = Math.min(m1, x[o + i + 1]);
+      m2 = Math.min(m2, x[o + i + 2]);
+      m3 = Math.min(m3, x[o + i + 3]);
+    }
+    for (; i < n; i++) {
+      m0 = Math.min(m0, x[o + i]);
+    }
+    return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+  }
+
+  static int max(int[] x, int o, int n) {
+    int m0 = Integer.MIN_VALUE;
+    int m1 = m0, m2 = m0, m3 = m0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      m0 = Math.max(m0, x[o + i]);
+      m1 = Math.max(m1, x[o + i + 1]);
+      m2 = Math.max(m2, x[o + i + 2]);
+      m3 = Math.max(m3, x[o + i + 3]);
+    }
+    for (; i < n; i++) {
+      m0 = Math.max(m0, x[o + i]);
+    }
+    return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+  }
+
+  static long min(long[] x, int o, int n) {
+    long m0 = Long.MAX_VALUE;
+    long m1 = m0, m2 = m0, m3 = m0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      m0 = Math.min(m0, x[o + i]);
+      m1 = Math.min(m1, x[o + i + 1]);
+      m2 = Math.min(m2, x[o + i + 2]);
+      m3 = Math.min(m3, x[o + i + 3]);
+    }
+    for (; i < n; i++) {
+      m0 = Math.min(m0, x[o + i]);
+    }
+    return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+  }
+
+  static long max(long[] x, int o, int n) {
+    long m0 = Long.MIN_VALUE;
+    long m1 = m0, m2 = m0, m3 = m0;
+    int i = 0;
+    for (; i + 3 < n; i += 4) {
+      m0 = Math.max(m0, x[o + i]);
+      m1 = Math.max(m1, x[o + i + 1]);
+      m2 = Math.max(m2, x[o + i + 2]);
+      m3 = Math.max(m3, x[o + i + 3]);
+    }
+    for (; i < n; i++) {
+      m0 = Math.max(m0, x[o + i]);
+    }
+    return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+  }
+
+  static void sqrt(double[] x, int xo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = Math.sqrt(x[xo + i]);
+    }
+  }
+
+  static void abs(double[] x, int xo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = Math.abs(x[xo + i]);
+    }
+  }
+
+  static void exp(double[] x, int xo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = Math.exp(x[xo + i]);
+    }
+  }
+
+  static void log(double[] x, int xo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = Math.log(x[xo + i]);
+    }
+  }
+
+  static void log10(double[] x, int xo, double[] out, int oo, int n) {
+    for (int i = 0; i < n; i++) {
+      out[oo + i] = Math.log10(x[xo + i]);
+    }
+  }
+}
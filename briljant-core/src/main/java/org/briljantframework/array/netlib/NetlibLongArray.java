@@ -21,13 +21,19 @@
 package org.briljantframework.array.netlib;
 
 import java.util.Objects;
+import java.util.function.LongUnaryOperator;
+import java.util.function.LongPredicate;
 
 import net.mintern.primitive.Primitive;
 import net.mintern.primitive.comparators.LongComparator;
 
 import org.briljantframework.array.AbstractLongArray;
+import org.briljantframework.array.BooleanArray;
 import org.briljantframework.array.LongArray;
+import org.briljantframework.array.StrideUtils;
 import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayPool;
+import org.briljantframework.util.sort.RadixSort;
 
 /**
  * @author Isak Karlsson
@@ -38,7 +44,7 @@ class NetlibLongArray extends AbstractLongArray {
 
   NetlibLongArray(ArrayBackend bj, int[] shape) {
     super(bj, shape);
-    this.data = new long[size()];
+    this.data = ArrayPool.newLongBuffer(size());
   }
 
   NetlibLongArray(ArrayBackend bj, long[] data) {
@@ -51,15 +57,31 @@ class NetlibLongArray extends AbstractLongArray {
     this.data = data;
   }
 
+  @Override
+  public void sort() {
+    if (isDense()) {
+      RadixSort.sort(data, getOffset(), getOffset() + size());
+    } else {
+      super.sort();
+    }
+  }
+
   @Override
   public void sort(LongComparator cmp) {
-    if (!isView() && isVector() && stride(0) == 1) {
-      Primitive.sort(data(), getOffset(), size(), cmp);
+    if (isDense()) {
+      Primitive.sort(data, getOffset(), getOffset() + size(), cmp);
     } else {
       super.sort(cmp);
     }
   }
 
+  /**
+   * Returns true if the elements are stored (in order) in {@code data[offset:offset + size]}.
+   */
+  private boolean isDense() {
+    return !isView() || stride(0) == 1 && size() == size(0);
+  }
+
   @Override
   public void setElement(int index, long value) {
     data[index] = value;
@@ -84,4 +106,35 @@ class NetlibLongArray extends AbstractLongArray {
   protected int elementSize() {
     return data.length;
   }
+
+  @Override
+  public LongArray map(LongUnaryOperator operator) {
+    if (NetlibKernels.isDense(this)) {
+      long[] out = new long[size()];
+      int offset = getOffset();
+      for (int i = 0; i < out.length; i++) {
+        out[i] = operator.applyAsLong(data[offset + i]);
+      }
+      int[] shape = getShape();
+      return new NetlibLongArray(getArrayBackend(), 0, shape, StrideUtils.computeStride(shape),
+          out);
+    }
+    return super.map(operator);
+  }
+
+  @Override
+  public BooleanArray where(LongPredicate predicate) {
+    if (NetlibKernels.isDense(this)) {
+      NetlibBooleanArray bits = new NetlibBooleanArray(getArrayBackend(), getShape());
+      int offset = getOffset();
+      bits.setBits(i -> predicate.test(data[offset + i]));
+      return bits;
+    }
+    return super.where(predicate);
+  }
+
+  long[] getBackingArray() {
+    return data;
+  }
+
 }
@@ -0,0 +1,375 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import java.util.Arrays;
+
+import org.briljantframework.Check;
+
+/**
+ * An n-dimensional array with {@code long} size, offset and strides. Such arrays are stored
+ * off-heap (or in a {@linkplain MappedArrays memory-mapped file}) and can hold more than
+ * {@code 2^31} elements. For example, an embedding table with 50 million rows and 100 columns:
+ *
+ * <pre>
+ * LargeDoubleArray table = LargeDoubleArray.zeros(50_000_000, 100);
+ * DoubleArray row = table.select(0, 42_000_000).asDoubleArray();
+ * </pre>
+ *
+ * <p/>
+ * Large arrays support the structural operations of regular arrays ({@linkplain #select(int, long)
+ * selections}, {@linkplain #getView(long[], long[]) views}, {@linkplain #transpose() transposes}
+ * and {@linkplain #reshape(long...) reshapes}), which share the memory of the array. Views with
+ * less than {@code 2^31} elements can be converted to a regular (int indexed) array sharing the
+ * memory of the large array (e.g., using {@link LargeDoubleArray#asDoubleArray()}) to use the
+ * full set of array routines.
+ *
+ * <p/>
+ * Like {@linkplain org.briljantframework.array.BaseArray#get(int) regular arrays}, the linear
+ * index of an element is its column-major index.
+ *
+ * @param <E> the array type
+ * @author Isak Karlsson
+ */
+public abstract class LargeArray<E extends LargeArray<E>> {
+
+  final OffHeapArena arena;
+  final OffHeapMemory memory;
+  private final long offset;
+  private final long[] shape;
+  private final long[] stride;
+  private final long size;
+
+  LargeArray(OffHeapArena arena, OffHeapMemory memory, long offset, long[] shape, long[] stride) {
+    this.arena = arena;
+    this.memory = memory;
+    this.offset = offset;
+    this.shape = shape;
+    this.stride = stride;
+    this.size = size(shape);
+  }
+
+  static long size(long[] shape) {
+    long size = 1;
+    for (long s : shape) {
+      Check.argument(s >= 0, "Illegal dimension size: %s", s);
+      size = Math.multiplyExact(size, s);
+    }
+    return size;
+  }
+
+  static long[] computeStride(long[] shape) {
+    long[] stride = new long[shape.length];
+    long st = 1;
+    for (int i = 0; i < stride.length; i++) {
+      stride[i] = st;
+      st *= shape[i];
+    }
+    return stride;
+  }
+
+  /**
+   * Create a new view of the memory of this array.
+   *
+   * @param offset the offset
+   * @param shape the shape
+   * @param stride the stride
+   * @return a new view
+   */
+  abstract E asView(long offset, long[] shape, long[] stride);
+
+  /**
+   * Create a new array (in the same arena) with the given shape.
+   *
+   * @param shape the shape
+   * @return a new array
+   */
+  abstract E newEmptyArray(long... shape);
+
+  /**
+   * Copy the element at memory position {@code from} of {@code src} to the memory position
+   * {@code to} of this array.
+   */
+  abstract void copyElement(long to, E src, long from);
+
+  /**
+   * Returns the number of elements
+   *
+   * @return the number of elements
+   */
+  public final long size() {
+    return size;
+  }
+
+  /**
+   * Returns the size of the given dimension
+   *
+   * @param dim the dimension
+   * @return the size of the dimension
+   */
+  public final long size(int dim) {
+    return shape[dim];
+  }
+
+  /**
+   * Returns the number of dimensions
+   *
+   * @return the number of dimensions
+   */
+  public final int dims() {
+    return shape.length;
+  }
+
+  /**
+   * Returns (a copy of) the shape
+   *
+   * @return the shape
+   */
+  public final long[] getShape() {
+    return shape.clone();
+  }
+
+  /**
+   * Returns (a copy of) the stride
+   *
+   * @return the stride
+   */
+  public final long[] getStride() {
+    return stride.clone();
+  }
+
+  /**
+   * Returns the offset of the first element
+   *
+   * @return the offset
+   */
+  public final long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns true if the elements of the array are stored contiguously in column-major order.
+   *
+   * @return true if contiguous
+   */
+  public final boolean isContiguous() {
+    return Arrays.equals(stride, computeStride(shape));
+  }
+
+  /**
+   * Select the {@code index}:th slice of the given dimension. The returned array has one
+   * dimension less than this array and shares its memory.
+   *
+   * @param dim the dimension
+   * @param index the index
+   * @return a view of the selected slice
+   */
+  public final E select(int dim, long index) {
+    Check.argument(dims() > 1, "Can't select in a 1-dimensional array");
+    Check.index(dim, dims());
+    Check.index(index, shape[dim]);
+    long[] newShape = new long[dims() - 1];
+    long[] newStride = new long[dims() - 1];
+    for (int i = 0, j = 0; i < dims(); i++) {
+      if (i != dim) {
+        newShape[j] = shape[i];
+        newStride[j] = stride[i];
+        j++;
+      }
+    }
+    return asView(offset + index * stride[dim], newShape, newStride);
+  }
+
+  /**
+   * Returns a view of the (hyper-)rectangle starting at {@code begin} with the given shape.
+   *
+   * @param begin the index of the first element
+   * @param shape the shape of the view
+   * @return a view
+   */
+  public final E getView(long[] begin, long[] shape) {
+    Check.argument(begin.length == dims() && shape.length == dims(), "Illegal number of indexes");
+    long newOffset = offset;
+    for (int i = 0; i < dims(); i++) {
+      Check.argument(begin[i] >= 0 && shape[i] >= 0 && begin[i] + shape[i] <= this.shape[i],
+          "View out of bounds in dimension %s", i);
+      newOffset += begin[i] * stride[i];
+    }
+    return asView(newOffset, shape.clone(), stride.clone());
+  }
+
+  /**
+   * Returns a view with the dimensions reversed.
+   *
+   * @return a transposed view
+   */
+  public final E transpose() {
+    long[] newShape = new long[dims()];
+    long[] newStride = new long[dims()];
+    for (int i = 0; i < dims(); i++) {
+      newShape[i] = shape[dims() - 1 - i];
+      newStride[i] = stride[dims() - 1 - i];
+    }
+    return asView(offset, newShape, newStride);
+  }
+
+  /**
+   * Returns a view with the given shape. If the array is not contiguous, the array is copied.
+   *
+   * @param shape the new shape
+   * @return an array with the given shape
+   */
+  public final E reshape(long... shape) {
+    Check.argument(size(shape) == size, "Total size of new array must be unchanged");
+    if (isContiguous()) {
+      return asView(offset, shape.clone(), computeStride(shape));
+    } else {
+      return copy().reshape(shape);
+    }
+  }
+
+  /**
+   * Returns a contiguous copy of this array allocated in the same arena.
+   *
+   * @return a copy
+   */
+  @SuppressWarnings("unchecked")
+  public final E copy() {
+    E copy = newEmptyArray(shape.clone());
+    LargeStrideCursor from = cursor();
+    long to = 0;
+    while (from.hasNext()) {
+      copy.copyElement(to++, (E) this, from.next());
+    }
+    return copy;
+  }
+
+  /**
+   * Release the memory of this array (and all views of it).
+   *
+   * @see OffHeapArrayBackend#free(org.briljantframework.array.BaseArray)
+   */
+  public final void free() {
+    memory.free();
+  }
+
+  /**
+   * Returns true if the memory of this array has been freed.
+   *
+   * @return true if freed
+   */
+  public final boolean isFreed() {
+    return memory.isFreed();
+  }
+
+  /**
+   * Force changes to be written to the file, if this array is memory-mapped.
+   *
+   * @see MappedArrays#force(org.briljantframework.array.BaseArray)
+   */
+  public final void force() {
+    memory.force();
+  }
+
+  /**
+   * Returns a cursor over the memory positions of this array in column-major order.
+   */
+  final LargeStrideCursor cursor() {
+    return new LargeStrideCursor(offset, shape, stride);
+  }
+
+  /**
+   * Returns the memory position of the element with the given linear (column-major) index.
+   */
+  final long position(long index) {
+    Check.index(index, size);
+    if (shape.length == 1) {
+      return offset + index * stride[0];
+    }
+    long position = offset;
+    for (int i = 0; i < shape.length; i++) {
+      position += (index % shape[i]) * stride[i];
+      index /= shape[i];
+    }
+    return position;
+  }
+
+  /**
+   * Returns the memory position of the element with the given row and column.
+   */
+  final long position(long i, long j) {
+    Check.argument(dims() == 2, "Not a 2d-array");
+    Check.index(i, shape[0]);
+    Check.index(j, shape[1]);
+    return offset + i * stride[0] + j * stride[1];
+  }
+
+  /**
+   * Returns the memory position of the element with the given index.
+   */
+  final long position(long[] index) {
+    Check.argument(index.length == dims(), "Illegal number of indexes");
+    long position = offset;
+    for (int i = 0; i < index.length; i++) {
+      Check.index(index[i], shape[i]);
+      position += index[i] * stride[i];
+    }
+    return position;
+  }
+
+  /**
+   * Returns a regular (int indexed) view of this array. The view is backed by a window of the
+   * memory spanning the elements of this array.
+   *
+   * @param factory creates the view from the window, offset, shape and stride
+   * @return a regular view
+   * @throws IllegalStateException if the array spans {@code 2^31} or more memory positions
+   */
+  final <T> T asIntIndexed(IntIndexedView<T> factory) {
+    long span = 1;
+    for (int i = 0; i < shape.length; i++) {
+      if (shape[i] == 0) {
+        span = 0;
+        break;
+      }
+      span += (shape[i] - 1) * stride[i];
+    }
+    Check.state(span <= Integer.MAX_VALUE,
+        "The array spans %s elements; views are limited to 2^31 - 1 elements", span);
+    int[] intShape = new int[shape.length];
+    int[] intStride = new int[shape.length];
+    for (int i = 0; i < shape.length; i++) {
+      intShape[i] = (int) shape[i];
+      intStride[i] = (int) stride[i];
+    }
+    return factory.create(memory.slice(offset, span), intShape, intStride);
+  }
+
+  @FunctionalInterface
+  interface IntIndexedView<T> {
+    T create(OffHeapMemory memory, int[] shape, int[] stride);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s(shape=%s)", getClass().getSimpleName(), Arrays.toString(shape));
+  }
+}
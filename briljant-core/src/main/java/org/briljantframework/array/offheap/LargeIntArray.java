@@ -0,0 +1,187 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import java.util.function.IntUnaryOperator;
+
+import org.briljantframework.array.IntArray;
+
+/**
+ * A {@linkplain LargeArray large} (long indexed) array of int values.
+ *
+ * @author Isak Karlsson
+ * @see LargeArray
+ */
+public final class LargeIntArray extends LargeArray<LargeIntArray> {
+
+  LargeIntArray(OffHeapArena arena, long... shape) {
+    this(arena, arena.allocate(size(shape), OffHeapIntArray.SHIFT), 0, shape, computeStride(shape));
+  }
+
+  LargeIntArray(OffHeapArena arena, OffHeapMemory memory, long offset, long[] shape,
+      long[] stride) {
+    super(arena, memory, offset, shape, stride);
+  }
+
+  /**
+   * Create a new array with the given shape filled with zeros. The array is freed when it becomes
+   * unreachable or using {@link #free()}.
+   *
+   * @param shape the shape
+   * @return a new array
+   * @see OffHeapArena#newLargeIntArray(long...)
+   */
+  public static LargeIntArray zeros(long... shape) {
+    return new LargeIntArray(OffHeapArrayBackend.getInstance().getImplicitArena(), shape.clone());
+  }
+
+  @Override
+  LargeIntArray asView(long offset, long[] shape, long[] stride) {
+    return new LargeIntArray(arena, memory, offset, shape, stride);
+  }
+
+  @Override
+  LargeIntArray newEmptyArray(long... shape) {
+    return new LargeIntArray(arena, shape);
+  }
+
+  @Override
+  void copyElement(long to, LargeIntArray src, long from) {
+    memory.putInt(to, src.memory.getInt(from));
+  }
+
+  /**
+   * Returns the element with the given linear (column-major) index
+   *
+   * @param index the index
+   * @return the element
+   */
+  public int get(long index) {
+    return memory.getInt(position(index));
+  }
+
+  /**
+   * Returns the element at the given row and column of a 2d-array
+   *
+   * @param i the row
+   * @param j the column
+   * @return the element
+   */
+  public int get(long i, long j) {
+    return memory.getInt(position(i, j));
+  }
+
+  /**
+   * Returns the element at the given index
+   *
+   * @param index the index
+   * @return the element
+   */
+  public int get(long[] index) {
+    return memory.getInt(position(index));
+  }
+
+  /**
+   * Set the element with the given linear (column-major) index
+   *
+   * @param index the index
+   * @param value the value
+   */
+  public void set(long index, int value) {
+    memory.putInt(position(index), value);
+  }
+
+  /**
+   * Set the element at the given row and column of a 2d-array
+   *
+   * @param i the row
+   * @param j the column
+   * @param value the value
+   */
+  public void set(long i, long j, int value) {
+    memory.putInt(position(i, j), value);
+  }
+
+  /**
+   * Set the element at the given index
+   *
+   * @param index the index
+   * @param value the value
+   */
+  public void set(long[] index, int value) {
+    memory.putInt(position(index), value);
+  }
+
+  /**
+   * Assign {@code value} to every element
+   *
+   * @param value the value
+   * @return this array
+   */
+  public LargeIntArray assign(int value) {
+    LargeStrideCursor cursor = cursor();
+    while (cursor.hasNext()) {
+      memory.putInt(cursor.next(), value);
+    }
+    return this;
+  }
+
+  /**
+   * Replace every element with the result of applying {@code operator} to it
+   *
+   * @param operator the operator
+   * @return this array
+   */
+  public LargeIntArray apply(IntUnaryOperator operator) {
+    LargeStrideCursor cursor = cursor();
+    while (cursor.hasNext()) {
+      long position = cursor.next();
+      memory.putInt(position, operator.applyAsInt(memory.getInt(position)));
+    }
+    return this;
+  }
+
+  /**
+   * Returns the sum of all elements
+   *
+   * @return the sum
+   */
+  public long sum() {
+    long sum = 0;
+    LargeStrideCursor cursor = cursor();
+    while (cursor.hasNext()) {
+      sum += memory.getInt(cursor.next());
+    }
+    return sum;
+  }
+
+  /**
+   * Returns a regular (int indexed) view of this array, e.g., a row of a large matrix. The view
+   * shares the memory of this array.
+   *
+   * @return a regular view
+   * @throws IllegalStateException if the array spans {@code 2^31} or more elements
+   */
+  public IntArray asIntArray() {
+    return asIntIndexed((window, shape, stride) -> new OffHeapIntArray(
+        OffHeapArrayBackend.getInstance(), arena, 0, shape, stride, window));
+  }
+}
@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over the memory positions of a {@link LargeArray}. This is the {@code long} indexed
+ * counterpart of {@link org.briljantframework.array.StrideCursor}: the positions are visited in
+ * column-major order, dimensions that can be addressed using a single stride are merged, and the
+ * first of the remaining dimensions forms the run of the cursor.
+ *
+ * @author Isak Karlsson
+ */
+final class LargeStrideCursor {
+
+  private final long offset;
+  private final long size;
+  private final int dims;
+  private final long[] shape;
+  private final long[] stride;
+  private final long[] counter;
+  private final long runLength;
+  private final long runStride;
+  private final long runs;
+
+  private long run;
+  private long runStart;
+  private long position;
+  private long index;
+  private long remaining;
+
+  LargeStrideCursor(long offset, long[] shape, long[] stride) {
+    long[] newShape = new long[Math.max(1, shape.length)];
+    long[] newStride = new long[newShape.length];
+    int dims = 0;
+    long size = 1;
+    for (int i = 0; i < shape.length; i++) {
+      size *= shape[i];
+      if (shape[i] == 1) {
+        continue;
+      }
+      if (dims > 0 && stride[i] == newShape[dims - 1] * newStride[dims - 1]) {
+        newShape[dims - 1] *= shape[i];
+      } else {
+        newShape[dims] = shape[i];
+        newStride[dims] = stride[i];
+        dims++;
+      }
+    }
+    if (dims == 0) {
+      newShape[0] = 1;
+      newStride[0] = 1;
+      dims = 1;
+    }
+    this.offset = offset;
+    this.size = size;
+    this.dims = dims;
+    this.shape = newShape;
+    this.stride = newStride;
+    this.counter = new long[dims];
+    this.runLength = size == 0 ? 0 : newShape[0];
+    this.runStride = newStride[0];
+    this.runs = size == 0 ? 0 : size / runLength;
+    this.run = -1;
+    this.runStart = offset;
+    this.position = offset;
+    this.index = -1;
+  }
+
+  boolean hasNext() {
+    return index + 1 < size;
+  }
+
+  long next() {
+    if (remaining > 0) {
+      remaining--;
+      position += runStride;
+      index++;
+    } else {
+      nextRun();
+    }
+    return position;
+  }
+
+  boolean hasNextRun() {
+    return run + 1 < runs;
+  }
+
+  long nextRun() {
+    if (run + 1 >= runs) {
+      throw new NoSuchElementException();
+    }
+    if (++run > 0) {
+      for (int i = 1; i < dims; i++) {
+        runStart += stride[i];
+        if (++counter[i] < shape[i]) {
+          break;
+        }
+        runStart -= stride[i] * shape[i];
+        counter[i] = 0;
+      }
+    }
+    position = runStart;
+    index = run * runLength;
+    remaining = runLength - 1;
+    return position;
+  }
+
+  long runLength() {
+    return runLength;
+  }
+
+  long runStride() {
+    return runStride;
+  }
+}
@@ -0,0 +1,376 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.BaseArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.briljantframework.array.ShapeUtils;
+import org.briljantframework.array.StrideUtils;
+
+/**
+ * Static methods for creating arrays backed by memory-mapped files. The elements of the file are
+ * read (and written) in place; no data is copied onto the heap. Views, reshapes and transposes of a
+ * mapped array are also backed by the file.
+ *
+ * <p/>
+ * For example, to create a 1000 x 1000 array backed by a file and modify it:
+ *
+ * <pre>
+ * DoubleArray x = MappedArrays.mapDoubleArray(path, FileChannel.MapMode.READ_WRITE, 1000, 1000);
+ * x.getColumn(0).assign(1);
+ * MappedArrays.force(x);
+ * </pre>
+ *
+ * Arrays mapped with {@link FileChannel.MapMode#READ_WRITE} share modifications with other
+ * processes mapping the same file. Arrays mapped with {@link FileChannel.MapMode#READ_ONLY} throw
+ * {@link java.nio.ReadOnlyBufferException} when modified.
+ *
+ * <p/>
+ * The elements are stored in column-major order, i.e., in the same order as the linear indexes of
+ * the array, using the native byte order unless otherwise specified. Arrays created from a mapped
+ * array (e.g., using {@code copy()} or {@code map(...)}) are allocated by the
+ * {@link OffHeapArrayBackend}. The file is unmapped when the array (and all its views) become
+ * unreachable or using {@link OffHeapArrayBackend#free(BaseArray)}.
+ *
+ * <p/>
+ * Files with more than {@code 2^31} elements can be mapped as {@linkplain LargeArray large arrays},
+ * e.g., using {@link #mapLargeDoubleArray(Path, FileChannel.MapMode, long...)}.
+ *
+ * @author Isak Karlsson
+ */
+public final class MappedArrays {
+
+  private MappedArrays() {}
+
+  /**
+   * Map a file as a double array with the given shape.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static DoubleArray mapDoubleArray(Path path, FileChannel.MapMode mode, int... shape)
+      throws IOException {
+    return mapDoubleArray(path, mode, 0, ByteOrder.nativeOrder(), shape);
+  }
+
+  /**
+   * Map a region of a file, starting at {@code position}, as a double array with the given shape.
+   * If the map mode is {@link FileChannel.MapMode#READ_WRITE} and the file is too small (or does
+   * not exist), the file is extended (or created).
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param position the position (in bytes) of the first element in the file
+   * @param order the byte order of the elements in the file
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   */
+  public static DoubleArray mapDoubleArray(Path path, FileChannel.MapMode mode, long position,
+      ByteOrder order, int... shape) throws IOException {
+    return mapDoubleArray(path, mode, position, order, shape, StrideUtils.computeStride(shape));
+  }
+
+  /**
+   * Map a file as an int array with the given shape.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static IntArray mapIntArray(Path path, FileChannel.MapMode mode, int... shape)
+      throws IOException {
+    return mapIntArray(path, mode, 0, ByteOrder.nativeOrder(), shape);
+  }
+
+  /**
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static IntArray mapIntArray(Path path, FileChannel.MapMode mode, long position,
+      ByteOrder order, int... shape) throws IOException {
+    return mapIntArray(path, mode, position, order, shape, StrideUtils.computeStride(shape));
+  }
+
+  /**
+   * Map a file as a long array with the given shape.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LongArray mapLongArray(Path path, FileChannel.MapMode mode, int... shape)
+      throws IOException {
+    return mapLongArray(path, mode, 0, ByteOrder.nativeOrder(), shape);
+  }
+
+  /**
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LongArray mapLongArray(Path path, FileChannel.MapMode mode, long position,
+      ByteOrder order, int... shape) throws IOException {
+    return mapLongArray(path, mode, position, order, shape, StrideUtils.computeStride(shape));
+  }
+
+  /**
+   * Map a file as a {@linkplain LargeArray large} double array with the given shape.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LargeDoubleArray mapLargeDoubleArray(Path path, FileChannel.MapMode mode,
+      long... shape) throws IOException {
+    return mapLargeDoubleArray(path, mode, 0, ByteOrder.nativeOrder(), shape);
+  }
+
+  /**
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LargeDoubleArray mapLargeDoubleArray(Path path, FileChannel.MapMode mode,
+      long position, ByteOrder order, long... shape) throws IOException {
+    shape = shape.clone();
+    OffHeapMemory memory =
+        map(path, mode, position, order, LargeArray.size(shape), OffHeapDoubleArray.SHIFT);
+    return new LargeDoubleArray(OffHeapArrayBackend.getInstance().getImplicitArena(), memory, 0,
+        shape, LargeArray.computeStride(shape));
+  }
+
+  /**
+   * Map a file as a {@linkplain LargeArray large} int array with the given shape.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LargeIntArray mapLargeIntArray(Path path, FileChannel.MapMode mode, long... shape)
+      throws IOException {
+    return mapLargeIntArray(path, mode, 0, ByteOrder.nativeOrder(), shape);
+  }
+
+  /**
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LargeIntArray mapLargeIntArray(Path path, FileChannel.MapMode mode,
+      long position, ByteOrder order, long... shape) throws IOException {
+    shape = shape.clone();
+    OffHeapMemory memory =
+        map(path, mode, position, order, LargeArray.size(shape), OffHeapIntArray.SHIFT);
+    return new LargeIntArray(OffHeapArrayBackend.getInstance().getImplicitArena(), memory, 0,
+        shape, LargeArray.computeStride(shape));
+  }
+
+  /**
+   * Map a file as a {@linkplain LargeArray large} long array with the given shape.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @param shape the shape
+   * @return a new array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LargeLongArray mapLargeLongArray(Path path, FileChannel.MapMode mode, long... shape)
+      throws IOException {
+    return mapLargeLongArray(path, mode, 0, ByteOrder.nativeOrder(), shape);
+  }
+
+  /**
+   * @see #mapDoubleArray(Path, FileChannel.MapMode, long, ByteOrder, int...)
+   */
+  public static LargeLongArray mapLargeLongArray(Path path, FileChannel.MapMode mode,
+      long position, ByteOrder order, long... shape) throws IOException {
+    shape = shape.clone();
+    OffHeapMemory memory =
+        map(path, mode, position, order, LargeArray.size(shape), OffHeapLongArray.SHIFT);
+    return new LargeLongArray(OffHeapArrayBackend.getInstance().getImplicitArena(), memory, 0,
+        shape, LargeArray.computeStride(shape));
+  }
+
+  /**
+   * Force any changes made to a mapped array to be written to the file. If the array is not
+   * mapped, this method has no effect.
+   *
+   * @param array the array
+   * @throws IllegalArgumentException if the array is not an off-heap array
+   */
+  public static void force(BaseArray<?> array) {
+    Check.argument(array instanceof OffHeapArray, "Not a mapped array");
+    ((OffHeapArray) array).getMemory().force();
+  }
+
+  /**
+   * Map the elements of an IDX file in place. Since the elements of an IDX file are stored in
+   * row-major order, the returned array has row-major strides (e.g., {@code x.transpose()} is
+   * contiguous). Files of unsigned bytes ({@code 0x08}), bytes ({@code 0x09}) and shorts (
+   * {@code 0x0B}) are mapped as {@link IntArray int arrays} backed by the narrow elements of the
+   * file, ints ({@code 0x0C}) as int arrays, and floats ({@code 0x0D}) and doubles ({@code 0x0E})
+   * as {@link DoubleArray double arrays}. Values set in a narrow array are narrowed to the element
+   * type of the file.
+   *
+   * @param path the file
+   * @param mode the map mode
+   * @return an int or double array backed by the file
+   * @throws IOException if an IO error occurs
+   * @see Arrays#readIdxArray(java.io.InputStream)
+   */
+  public static BaseArray<?> mapIdx(Path path, FileChannel.MapMode mode) throws IOException {
+    int[] shape;
+    int type;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = readFully(channel, ByteBuffer.allocate(4));
+      int magic = header.getInt();
+      Check.state(magic >>> 16 == 0, "Illegal IDX magic number: 0x%08X", magic);
+      type = magic >> 8 & 0xFF;
+      int dims = magic & 0xFF;
+      Check.state(dims > 0, "Illegal number of dimensions: %s", dims);
+      header = readFully(channel, ByteBuffer.allocate(dims * 4));
+      shape = new int[dims];
+      for (int i = 0; i < dims; i++) {
+        shape[i] = header.getInt();
+      }
+    }
+
+    int[] stride = StrideUtils.reverse(StrideUtils.computeStride(StrideUtils.reverse(shape)));
+    long position = 4 + 4 * shape.length;
+    int size = ShapeUtils.size(shape);
+    OffHeapArrayBackend backend = OffHeapArrayBackend.getInstance();
+    OffHeapArena arena = backend.getImplicitArena();
+    ByteOrder order = ByteOrder.BIG_ENDIAN;
+    switch (type) {
+      case 0x08:
+      case 0x09:
+        return new OffHeapByteIntArray(backend, arena, 0, shape, stride,
+            map(path, mode, position, order, size, OffHeapByteIntArray.SHIFT), type == 0x08);
+      case 0x0B:
+        return new OffHeapShortIntArray(backend, arena, 0, shape, stride,
+            map(path, mode, position, order, size, OffHeapShortIntArray.SHIFT));
+      case 0x0C:
+        return mapIntArray(path, mode, position, order, shape, stride);
+      case 0x0D:
+        return new OffHeapFloatDoubleArray(backend, arena, 0, shape, stride,
+            map(path, mode, position, order, size, OffHeapFloatDoubleArray.SHIFT));
+      case 0x0E:
+        return mapDoubleArray(path, mode, position, order, shape, stride);
+      default:
+        throw new IllegalStateException(String.format("Illegal IDX type: 0x%02X", type));
+    }
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException();
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  static DoubleArray mapDoubleArray(Path path, FileChannel.MapMode mode, long position,
+      ByteOrder order, int[] shape, int[] stride) throws IOException {
+    OffHeapArrayBackend backend = OffHeapArrayBackend.getInstance();
+    OffHeapMemory memory = map(path, mode, position, order, ShapeUtils.size(shape),
+        OffHeapDoubleArray.SHIFT);
+    return new OffHeapDoubleArray(backend, backend.getImplicitArena(), 0, shape, stride, memory);
+  }
+
+  static IntArray mapIntArray(Path path, FileChannel.MapMode mode, long position, ByteOrder order,
+      int[] shape, int[] stride) throws IOException {
+    OffHeapArrayBackend backend = OffHeapArrayBackend.getInstance();
+    OffHeapMemory memory =
+        map(path, mode, position, order, ShapeUtils.size(shape), OffHeapIntArray.SHIFT);
+    return new OffHeapIntArray(backend, backend.getImplicitArena(), 0, shape, stride, memory);
+  }
+
+  static LongArray mapLongArray(Path path, FileChannel.MapMode mode, long position,
+      ByteOrder order, int[] shape, int[] stride) throws IOException {
+    OffHeapArrayBackend backend = OffHeapArrayBackend.getInstance();
+    OffHeapMemory memory =
+        map(path, mode, position, order, ShapeUtils.size(shape), OffHeapLongArray.SHIFT);
+    return new OffHeapLongArray(backend, backend.getImplicitArena(), 0, shape, stride, memory);
+  }
+
+  /**
+   * Map {@code size} elements of {@code 1 << shift} bytes, starting at {@code position}.
+   */
+  static OffHeapMemory map(Path path, FileChannel.MapMode mode, long position, ByteOrder order,
+      long size, int shift) throws IOException {
+    Check.argument(position >= 0, "Illegal position: %s", position);
+    try (FileChannel channel = open(path, mode)) {
+      long bytes = size << shift;
+      if (mode != FileChannel.MapMode.READ_WRITE && channel.size() < position + bytes) {
+        throw new IllegalArgumentException(String.format(
+            "File is too small: %d bytes required but only %d available", position + bytes,
+            channel.size()));
+      }
+      int chunkCount = OffHeapMemory.chunkCount(size);
+      ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+      long chunkBytes = 1L << (OffHeapMemory.CHUNK_BITS + shift);
+      for (int i = 0; i < chunkCount; i++) {
+        long start = i * chunkBytes;
+        long length = Math.min(bytes - start, chunkBytes);
+        chunks[i] = channel.map(mode, position + start, length).order(order);
+      }
+      return new OffHeapMemory(chunks, size, shift, true);
+    }
+  }
+
+  /**
+   * Open a channel for mapping {@code path} in the given mode. A file mapped for reading and
+   * writing is created if it does not exist.
+   */
+  private static FileChannel open(Path path, FileChannel.MapMode mode) throws IOException {
+    if (mode == FileChannel.MapMode.READ_WRITE) {
+      return FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+          StandardOpenOption.CREATE);
+    } else {
+      return FileChannel.open(path, StandardOpenOption.READ);
+    }
+  }
+}
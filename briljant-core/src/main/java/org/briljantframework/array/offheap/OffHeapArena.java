@@ -0,0 +1,168 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.api.ArrayFactory;
+
+/**
+ * An arena controls the lifetime of off-heap arrays. All arrays created by the
+ * {@linkplain #getArrayFactory() factory} of an arena (and all arrays derived from these, e.g., by
+ * {@code copy()} or element-wise operations) are freed when the arena is closed.
+ *
+ * <pre>
+ * try (OffHeapArena arena = OffHeapArena.open()) {
+ *   ArrayFactory factory = arena.getArrayFactory();
+ *   DoubleArray x = factory.newDoubleArray(10000, 1000);
+ *   // ...
+ * } // the memory of x is released here
+ * </pre>
+ *
+ * <p/>
+ * Arrays created by {@link OffHeapArrayBackend#getArrayFactory()} belong to an implicit arena that
+ * can't be closed. Their memory is reclaimed when they become unreachable or when released using
+ * {@link OffHeapArrayBackend#free(org.briljantframework.array.BaseArray)}.
+ *
+ * <p/>
+ * Accessing an array after its memory has been freed throws {@link IllegalStateException}.
+ *
+ * @author Isak Karlsson
+ */
+public final class OffHeapArena implements AutoCloseable {
+
+  private final boolean implicit;
+  private final ArrayFactory arrayFactory;
+  private final List<OffHeapMemory> allocations = new ArrayList<>();
+  private boolean closed = false;
+
+  OffHeapArena(OffHeapArrayBackend backend, boolean implicit) {
+    this.implicit = implicit;
+    this.arrayFactory = new OffHeapArrayFactory(backend, this);
+  }
+
+  /**
+   * Open a new arena.
+   *
+   * @return a new arena
+   */
+  public static OffHeapArena open() {
+    return new OffHeapArena(OffHeapArrayBackend.getInstance(), false);
+  }
+
+  /**
+   * Returns an array factory, which allocates arrays in this arena.
+   *
+   * @return the array factory
+   */
+  public ArrayFactory getArrayFactory() {
+    return arrayFactory;
+  }
+
+  /**
+   * Create a new {@linkplain LargeArray large} double array in this arena filled with zeros.
+   *
+   * @param shape the shape
+   * @return a new array
+   */
+  public LargeDoubleArray newLargeDoubleArray(long... shape) {
+    return new LargeDoubleArray(this, shape.clone());
+  }
+
+  /**
+   * Create a new {@linkplain LargeArray large} int array in this arena filled with zeros.
+   *
+   * @param shape the shape
+   * @return a new array
+   */
+  public LargeIntArray newLargeIntArray(long... shape) {
+    return new LargeIntArray(this, shape.clone());
+  }
+
+  /**
+   * Create a new {@linkplain LargeArray large} long array in this arena filled with zeros.
+   *
+   * @param shape the shape
+   * @return a new array
+   */
+  public LargeLongArray newLargeLongArray(long... shape) {
+    return new LargeLongArray(this, shape.clone());
+  }
+
+  /**
+   * Returns the number of bytes currently allocated in this arena.
+   *
+   * @return the number of allocated bytes
+   */
+  public synchronized long getAllocatedBytes() {
+    long bytes = 0;
+    for (OffHeapMemory memory : allocations) {
+      if (!memory.isFreed()) {
+        bytes += memory.bytes();
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns true if this arena is closed.
+   *
+   * @return true if closed
+   */
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Free all arrays allocated in this arena.
+   *
+   * @throws UnsupportedOperationException for the implicit arena of the backend
+   */
+  @Override
+  public synchronized void close() {
+    if (implicit) {
+      throw new UnsupportedOperationException("The implicit arena can't be closed");
+    }
+    if (!closed) {
+      closed = true;
+      for (OffHeapMemory memory : allocations) {
+        memory.free();
+      }
+      allocations.clear();
+    }
+  }
+
+  /**
+   * Allocate memory for {@code size} elements of {@code 1 << shift} bytes in this arena.
+   */
+  OffHeapMemory allocate(long size, int shift) {
+    OffHeapMemory memory = new OffHeapMemory(size, shift);
+    if (!implicit) {
+      synchronized (this) {
+        Check.state(!closed, "The arena is closed");
+        allocations.add(memory);
+      }
+    }
+    return memory;
+  }
+}
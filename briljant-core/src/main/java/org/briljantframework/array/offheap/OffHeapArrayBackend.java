@@ -0,0 +1,124 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import org.briljantframework.array.BaseArray;
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayFactory;
+import org.briljantframework.array.api.ArrayRoutines;
+import org.briljantframework.array.api.LinearAlgebraRoutines;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+
+/**
+ * Provides double, int, long and boolean arrays stored outside of the Java heap. The size of such
+ * arrays is not limited by the maximum heap size and they are never moved or scanned by the garbage
+ * collector.
+ *
+ * <p/>
+ * The arrays are backed by direct buffers, so the total size of the off-heap arrays is limited by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size ({@code -Xmx}). To
+ * allocate arrays larger than the heap, set {@code -XX:MaxDirectMemorySize} explicitly, e.g.,
+ * {@code -XX:MaxDirectMemorySize=64g}. Arrays {@linkplain MappedArrays mapped} from files are not
+ * subject to this limit.
+ *
+ * <p/>
+ * Arrays created by {@link #getArrayFactory()} are freed when they become unreachable or
+ * explicitly using {@link #free(BaseArray)}. To free a group of arrays at once, use an
+ * {@link OffHeapArena}.
+ *
+ * <p/>
+ * Linear algebra routines are delegated to the {@linkplain NetlibArrayBackend netlib backend}.
+ *
+ * @author Isak Karlsson
+ */
+public final class OffHeapArrayBackend implements ArrayBackend {
+
+  private static final OffHeapArrayBackend instance = new OffHeapArrayBackend();
+
+  private final OffHeapArena arena;
+  private ArrayRoutines arrayRoutines;
+
+  private OffHeapArrayBackend() {
+    if (instance != null) {
+      throw new IllegalStateException("Already initialized");
+    }
+    this.arena = new OffHeapArena(this, true);
+  }
+
+  public static OffHeapArrayBackend getInstance() {
+    return instance;
+  }
+
+  /**
+   * Release the memory of an off-heap array. Since views share the memory of the array they are
+   * created from, all views of the array are also freed. Accessing a freed array throws
+   * {@link IllegalStateException}.
+   *
+   * @param array the array
+   * @throws IllegalArgumentException if the array is not stored off-heap
+   */
+  public static void free(BaseArray<?> array) {
+    if (!(array instanceof OffHeapArray)) {
+      throw new IllegalArgumentException("Not an off-heap array");
+    }
+    ((OffHeapArray) array).getMemory().free();
+  }
+
+  /**
+   * Returns true if the given array is stored off-heap.
+   *
+   * @param array the array
+   * @return true if the array is stored off-heap
+   */
+  public static boolean isOffHeap(BaseArray<?> array) {
+    return array instanceof OffHeapArray;
+  }
+
+  /**
+   * Returns the arena of arrays created by {@link #getArrayFactory()}.
+   */
+  OffHeapArena getImplicitArena() {
+    return arena;
+  }
+
+  @Override
+  protected Object clone() throws CloneNotSupportedException {
+    throw new CloneNotSupportedException();
+  }
+
+  @Override
+  public ArrayFactory getArrayFactory() {
+    return arena.getArrayFactory();
+  }
+
+  @Override
+  public ArrayRoutines getArrayRoutines() {
+    if (arrayRoutines == null) {
+      arrayRoutines = new OffHeapArrayRoutines(this);
+    }
+    return arrayRoutines;
+  }
+
+  @Override
+  public LinearAlgebraRoutines getLinearAlgebraRoutines() {
+    return NetlibArrayBackend.getInstance().getLinearAlgebraRoutines();
+  }
+}
@@ -0,0 +1,331 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.distribution.RealDistribution;
+import org.apache.commons.math3.distribution.UniformRealDistribution;
+import org.briljantframework.Check;
+import org.briljantframework.array.*;
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayFactory;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+
+/**
+ * Creates double, int, long and boolean arrays in an {@link OffHeapArena}. Since object arrays,
+ * complex arrays and ranges can't be stored outside of the heap, these are created by the
+ * {@linkplain NetlibArrayBackend netlib backend}.
+ *
+ * @author Isak Karlsson
+ */
+class OffHeapArrayFactory implements ArrayFactory {
+
+  private static final ThreadLocal<RealDistribution> normalDistribution =
+      ThreadLocal.withInitial(() -> new NormalDistribution(0, 1));
+
+  private static final ThreadLocal<RealDistribution> uniformDistribution =
+      ThreadLocal.withInitial(() -> new UniformRealDistribution(0, 1));
+
+  private final ArrayBackend backend;
+  private final OffHeapArena arena;
+
+  OffHeapArrayFactory(ArrayBackend backend, OffHeapArena arena) {
+    this.backend = backend;
+    this.arena = arena;
+  }
+
+  private static ArrayFactory getHeapArrayFactory() {
+    return NetlibArrayBackend.getInstance().getArrayFactory();
+  }
+
+  @Override
+  public <T> Array<T> newVector(T[] data) {
+    return getHeapArrayFactory().newVector(data);
+  }
+
+  @Override
+  public <T> Array<T> newMatrix(T[][] data) {
+    return getHeapArrayFactory().newMatrix(data);
+  }
+
+  @Override
+  public <T> Array<T> newArray(int... shape) {
+    return getHeapArrayFactory().newArray(shape);
+  }
+
+  @Override
+  public BooleanArray newBooleanMatrix(boolean[][] data) {
+    Check.argument(data.length > 0, "illegal row count");
+    Check.argument(data[0].length > 0, "illegal column count");
+
+    int m = data.length;
+    int n = data[0].length;
+    BooleanArray array = newBooleanArray(m, n);
+    for (int i = 0; i < m; i++) {
+      boolean[] row = data[i];
+      Check.argument(row.length == n, "illegal row count");
+      for (int j = 0; j < n; j++) {
+        array.set(i, j, row[j]);
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public BooleanArray newBooleanVector(boolean... data) {
+    BooleanArray array = newBooleanArray(data.length);
+    for (int i = 0; i < data.length; i++) {
+      array.set(i, data[i]);
+    }
+    return array;
+  }
+
+  @Override
+  public BooleanArray newBooleanArray(int... shape) {
+    return new OffHeapBooleanArray(backend, arena, shape);
+  }
+
+  @Override
+  public IntArray newIntMatrix(int[][] data) {
+    Check.argument(data.length > 0, "illegal row count");
+    Check.argument(data[0].length > 0, "illegal column count");
+
+    int m = data.length;
+    int n = data[0].length;
+    IntArray array = newIntArray(m, n);
+    for (int i = 0; i < m; i++) {
+      int[] row = data[i];
+      Check.argument(row.length == n, "illegal row count");
+      for (int j = 0; j < n; j++) {
+        array.set(i, j, row[j]);
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public IntArray newIntVector(int... data) {
+    IntArray array = newIntArray(data.length);
+    array.assign(data);
+    return array;
+  }
+
+  @Override
+  public IntArray newIntArray(int... shape) {
+    return new OffHeapIntArray(backend, arena, shape);
+  }
+
+  @Override
+  public LongArray newLongMatrix(long[][] data) {
+    Check.argument(data.length > 0, "illegal row count");
+    Check.argument(data[0].length > 0, "illegal column count");
+
+    int m = data.length;
+    int n = data[0].length;
+    LongArray array = newLongArray(m, n);
+    for (int i = 0; i < m; i++) {
+      long[] row = data[i];
+      Check.argument(row.length == n, "illegal row count");
+      for (int j = 0; j < n; j++) {
+        array.set(i, j, row[j]);
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public LongArray newLongVector(long... data) {
+    LongArray array = newLongArray(data.length);
+    for (int i = 0; i < data.length; i++) {
+      array.set(i, data[i]);
+    }
+    return array;
+  }
+
+  @Override
+  public LongArray newLongArray(int... shape) {
+    return new OffHeapLongArray(backend, arena, shape);
+  }
+
+  @Override
+  public ByteArray newByteVector(byte... data) {
+    ByteArray array = newByteArray(data.length);
+    array.assign(data);
+    return array;
+  }
+
+  @Override
+  public ByteArray newByteArray(int... shape) {
+    return new OffHeapByteArray(backend, arena, shape);
+  }
+
+  @Override
+  public ShortArray newShortVector(short... data) {
+    ShortArray array = newShortArray(data.length);
+    array.assign(data);
+    return array;
+  }
+
+  @Override
+  public ShortArray newShortArray(int... shape) {
+    return new OffHeapShortArray(backend, arena, shape);
+  }
+
+  @Override
+  public FloatArray newFloatMatrix(float[][] data) {
+    Check.argument(data.length > 0, "illegal row count");
+    Check.argument(data[0].length > 0, "illegal column count");
+
+    int m = data.length;
+    int n = data[0].length;
+    FloatArray array = newFloatArray(m, n);
+    for (int i = 0; i < m; i++) {
+      float[] row = data[i];
+      Check.argument(row.length == n, "illegal row count");
+      for (int j = 0; j < n; j++) {
+        array.set(i, j, row[j]);
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public FloatArray newFloatVector(float... data) {
+    FloatArray array = newFloatArray(data.length);
+    for (int i = 0; i < data.length; i++) {
+      array.set(i, data[i]);
+    }
+    return array;
+  }
+
+  @Override
+  public FloatArray newFloatArray(int... shape) {
+    return new OffHeapFloatArray(backend, arena, shape);
+  }
+
+  @Override
+  public DoubleArray newDoubleMatrix(double[][] data) {
+    Check.argument(data.length > 0, "illegal row count");
+    Check.argument(data[0].length > 0, "illegal column count");
+
+    int m = data.length;
+    int n = data[0].length;
+    DoubleArray array = newDoubleArray(m, n);
+    for (int i = 0; i < m; i++) {
+      double[] row = data[i];
+      Check.argument(row.length == n, "illegal row count");
+      for (int j = 0; j < n; j++) {
+        array.set(i, j, row[j]);
+      }
+    }
+    return array;
+  }
+
+  @Override
+  public DoubleArray newDoubleVector(double... data) {
+    DoubleArray array = newDoubleArray(data.length);
+    array.assign(data);
+    return array;
+  }
+
+  @Override
+  public DoubleArray newDoubleArray(int... shape) {
+    return new OffHeapDoubleArray(backend, arena, shape);
+  }
+
+  @Override
+  public ComplexArray newComplexMatrix(Complex[][] data) {
+    return getHeapArrayFactory().newComplexMatrix(data);
+  }
+
+  @Override
+  public ComplexArray newComplexVector(Complex... data) {
+    return getHeapArrayFactory().newComplexVector(data);
+  }
+
+  @Override
+  public ComplexArray newComplexVector(double... data) {
+    return getHeapArrayFactory().newComplexVector(data);
+  }
+
+  @Override
+  public ComplexArray newComplexArray(int... shape) {
+    return getHeapArrayFactory().newComplexArray(shape);
+  }
+
+  @Override
+  public DoubleArray randn(int size) {
+    RealDistribution distribution = normalDistribution.get();
+    DoubleArray array = newDoubleArray(size);
+    array.assign(distribution::sample);
+    return array;
+  }
+
+  @Override
+  public DoubleArray rand(int size) {
+    RealDistribution distribution = uniformDistribution.get();
+    DoubleArray array = newDoubleArray(size);
+    array.assign(distribution::sample);
+    return array;
+  }
+
+  @Override
+  public DoubleArray ones(int... shape) {
+    DoubleArray array = newDoubleArray(shape);
+    array.assign(1);
+    return array;
+  }
+
+  @Override
+  public Range range(int start, int end, int step) {
+    return getHeapArrayFactory().range(start, end, step);
+  }
+
+  @Override
+  public Range range(int start, int end) {
+    return range(start, end, 1);
+  }
+
+  @Override
+  public Range range(int end) {
+    return range(0, end);
+  }
+
+  @Override
+  public DoubleArray linspace(double start, double end, int size) {
+    DoubleArray values = newDoubleArray(size);
+    double step = (end - start) / (size - 1);
+    double value = start;
+    for (int index = 0; index < size; index++) {
+      values.set(index, value);
+      value += step;
+    }
+    return values;
+  }
+
+  @Override
+  public DoubleArray eye(int size) {
+    DoubleArray eye = newDoubleArray(size, size);
+    eye.getDiagonal().assign(1);
+    return eye;
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import org.briljantframework.array.AbstractByteArray;
+import org.briljantframework.array.ByteArray;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * A byte array stored outside of the Java heap (1-byte elements).
+ *
+ * @author Isak Karlsson
+ */
+class OffHeapByteArray extends AbstractByteArray implements OffHeapArray {
+
+  static final int SHIFT = 0;
+
+  private final OffHeapArena arena;
+  private final OffHeapMemory memory;
+
+  OffHeapByteArray(ArrayBackend backend, OffHeapArena arena, int[] shape) {
+    super(backend, shape);
+    this.arena = arena;
+    this.memory = arena.allocate(size(), SHIFT);
+  }
+
+  OffHeapByteArray(ArrayBackend backend, OffHeapArena arena, int offset, int[] shape, int[] stride,
+      OffHeapMemory memory) {
+    super(backend, offset, shape, stride);
+    this.arena = arena;
+    this.memory = memory;
+  }
+
+  @Override
+  public ByteArray asView(int offset, int[] shape, int[] stride) {
+    return new OffHeapByteArray(getArrayBackend(), arena, offset, shape, stride, memory);
+  }
+
+  @Override
+  public ByteArray newEmptyArray(int... shape) {
+    return new OffHeapByteArray(getArrayBackend(), arena, shape);
+  }
+
+  @Override
+  protected int elementSize() {
+    return memory.size();
+  }
+
+  @Override
+  protected byte getElement(int i) {
+    return memory.getByte(i);
+  }
+
+  @Override
+  protected void setElement(int i, byte value) {
+    memory.putByte(i, value);
+  }
+
+  @Override
+  public OffHeapMemory getMemory() {
+    return memory;
+  }
+}
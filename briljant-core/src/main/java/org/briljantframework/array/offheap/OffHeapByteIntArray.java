@@ -0,0 +1,81 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import org.briljantframework.array.AbstractIntArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * An int array whose elements are stored as (signed or unsigned) bytes outside of the Java heap.
+ * Values are narrowed to a byte when set. New arrays (e.g., the result of {@code map(...)}) are
+ * regular {@link OffHeapIntArray int arrays}.
+ *
+ * @author Isak Karlsson
+ */
+class OffHeapByteIntArray extends AbstractIntArray implements OffHeapArray {
+
+  static final int SHIFT = 0;
+
+  private final OffHeapArena arena;
+  private final OffHeapMemory memory;
+  private final boolean unsigned;
+
+  OffHeapByteIntArray(ArrayBackend backend, OffHeapArena arena, int offset, int[] shape,
+      int[] stride, OffHeapMemory memory, boolean unsigned) {
+    super(backend, offset, shape, stride);
+    this.arena = arena;
+    this.memory = memory;
+    this.unsigned = unsigned;
+  }
+
+  @Override
+  public IntArray asView(int offset, int[] shape, int[] stride) {
+    return new OffHeapByteIntArray(getArrayBackend(), arena, offset, shape, stride, memory,
+        unsigned);
+  }
+
+  @Override
+  public IntArray newEmptyArray(int... shape) {
+    return new OffHeapIntArray(getArrayBackend(), arena, shape);
+  }
+
+  @Override
+  protected int elementSize() {
+    return memory.size();
+  }
+
+  @Override
+  protected int getElement(int i) {
+    byte value = memory.getByte(i);
+    return unsigned ? value & 0xFF : value;
+  }
+
+  @Override
+  protected void setElement(int i, int value) {
+    memory.putByte(i, (byte) value);
+  }
+
+  @Override
+  public OffHeapMemory getMemory() {
+    return memory;
+  }
+}
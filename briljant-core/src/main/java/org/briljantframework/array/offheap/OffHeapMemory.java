@@ -0,0 +1,336 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.briljantframework.Check;
+
+/**
+ * A block of native memory (outside of the Java heap) holding a fixed number of elements of a
+ * fixed width. Since a {@link ByteBuffer} is limited to {@code 2^31} bytes, the memory is split
+ * into chunks of {@code 2^27} elements. Positions are {@code long}, so the number of elements is
+ * only limited by the available (native or virtual) memory.
+ *
+ * <p/>
+ * Memory allocated by {@link #OffHeapMemory(long, int)} consists of direct buffers, and the total
+ * size is limited by {@code -XX:MaxDirectMemorySize} (which, unless set, defaults to the maximum
+ * heap size). Memory mapped from files consists of mapped buffers and is not limited.
+ *
+ * <p/>
+ * A {@linkplain #slice(long, long) slice} is a window into the memory starting at a (possibly
+ * large) base position. Slices share the chunks of the memory they are created from, which allows
+ * the regular (int indexed) arrays to view parts of a {@link LargeArray}. Accesses are checked
+ * against the bounds of the slice.
+ *
+ * <p/>
+ * The memory is reclaimed when it becomes unreachable or, explicitly, when {@link #free()} is
+ * called. After the memory (or any slice of it) is freed, any access throws
+ * {@link IllegalStateException}. Note that freeing memory concurrently with accessing it from
+ * another thread is not safe.
+ *
+ * @author Isak Karlsson
+ */
+final class OffHeapMemory {
+
+  static final int CHUNK_BITS = 27;
+  private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+  private static final Logger LOGGER = Logger.getLogger(OffHeapMemory.class.getName());
+  private static final BufferReleaser RELEASER = createReleaser();
+
+  private final long base;
+  private final long length;
+  private final int shift;
+  private final boolean owner;
+  private final ByteBuffer[] chunks;
+
+  /**
+   * Allocate native memory for {@code length} elements of {@code 1 << shift} bytes. The memory is
+   * filled with zeros.
+   *
+   * @param length the number of elements
+   * @param shift the base 2 logarithm of the element width in bytes
+   */
+  OffHeapMemory(long length, int shift) {
+    Check.argument(length >= 0, "Illegal size: %s", length);
+    int chunkCount = chunkCount(length);
+    ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+    for (int i = 0; i < chunkCount; i++) {
+      long elements = Math.min(length - ((long) i << CHUNK_BITS), 1L << CHUNK_BITS);
+      chunks[i] =
+          ByteBuffer.allocateDirect((int) (elements << shift)).order(ByteOrder.nativeOrder());
+    }
+    this.base = 0;
+    this.length = length;
+    this.shift = shift;
+    this.chunks = chunks;
+    this.owner = true;
+  }
+
+  /**
+   * Wrap existing direct (or mapped) buffers of {@code 2^27} elements each (except the last).
+   *
+   * @param chunks the buffers
+   * @param length the number of elements
+   * @param shift the base 2 logarithm of the element width in bytes
+   * @param owner if true, {@link #free()} releases (or unmaps) the buffers; otherwise only the
+   *        references to the buffers are released
+   */
+  OffHeapMemory(ByteBuffer[] chunks, long length, int shift, boolean owner) {
+    this(chunks, 0, length, shift, owner);
+  }
+
+  private OffHeapMemory(ByteBuffer[] chunks, long base, long length, int shift, boolean owner) {
+    this.chunks = chunks;
+    this.base = base;
+    this.length = length;
+    this.shift = shift;
+    this.owner = owner;
+  }
+
+  /**
+   * Returns the number of chunks needed for {@code length} elements
+   */
+  static int chunkCount(long length) {
+    return (int) Math.max(1, (length + CHUNK_MASK) >>> CHUNK_BITS);
+  }
+
+  /**
+   * Resolve (reflectively, since the classes are internal to the JDK) the method used to release
+   * direct and mapped buffers explicitly.
+   */
+  private static BufferReleaser createReleaser() {
+    try {
+      // Java 9+
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (Exception | LinkageError ignored) {
+      // Java 8
+    }
+    try {
+      Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> {
+        Object c = cleaner.invoke(buffer);
+        if (c != null) {
+          clean.invoke(c);
+        }
+      };
+    } catch (Exception | LinkageError e) {
+      LOGGER.log(Level.WARNING, "Direct and mapped buffers can't be released explicitly; their "
+          + "memory is reclaimed when they become unreachable", e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns a window of {@code length} elements starting at {@code position}. The window shares
+   * the memory of this block.
+   *
+   * @param position the position of the first element of the window
+   * @param length the number of elements
+   * @return a window
+   */
+  OffHeapMemory slice(long position, long length) {
+    Check.argument(position >= 0 && length >= 0 && position + length <= this.length,
+        "Illegal slice: [%s, %s)", position, position + length);
+    return new OffHeapMemory(chunks, base + position, length, shift, owner);
+  }
+
+  /**
+   * Returns the number of elements
+   *
+   * @return the number of elements
+   * @throws ArithmeticException if the number of elements is larger than
+   *         {@link Integer#MAX_VALUE}
+   */
+  int size() {
+    return Math.toIntExact(length);
+  }
+
+  /**
+   * Returns the number of elements
+   *
+   * @return the number of elements
+   */
+  long length() {
+    return length;
+  }
+
+  /**
+   * Returns the number of bytes
+   *
+   * @return the number of bytes
+   */
+  long bytes() {
+    return length << shift;
+  }
+
+  /**
+   * Returns true if the memory has been freed
+   *
+   * @return true if freed
+   */
+  boolean isFreed() {
+    return chunks[0] == null;
+  }
+
+  /**
+   * Release the native memory (including the memory of all slices). Freeing memory more than once
+   * has no effect.
+   *
+   * @throws UnsupportedOperationException if the buffers can't be released explicitly on this JVM;
+   *         the memory is reclaimed when it becomes unreachable
+   * @throws IllegalStateException if releasing the buffers fails
+   */
+  void free() {
+    ByteBuffer[] chunks = this.chunks;
+    if (owner && RELEASER == null && chunks[0] != null) {
+      throw new UnsupportedOperationException("Direct buffers can't be released on this JVM");
+    }
+    Exception failure = null;
+    for (int i = 0; i < chunks.length; i++) {
+      ByteBuffer chunk = chunks[i];
+      chunks[i] = null;
+      if (owner && chunk != null) {
+        try {
+          RELEASER.release(chunk);
+        } catch (Exception e) {
+          failure = e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw new IllegalStateException("Failed to release memory", failure);
+    }
+  }
+
+  /**
+   * Flush changes to the underlying storage device if the memory is mapped from a file.
+   */
+  void force() {
+    for (int i = 0; i < chunks.length; i++) {
+      ByteBuffer chunk = chunk((long) i << CHUNK_BITS);
+      if (chunk instanceof MappedByteBuffer) {
+        ((MappedByteBuffer) chunk).force();
+      }
+    }
+  }
+
+  /**
+   * Returns the position of the element at {@code position} (relative to this slice) in the
+   * chunks
+   */
+  private long index(long position) {
+    if (position < 0 || position >= length) {
+      throw new IndexOutOfBoundsException(String.valueOf(position));
+    }
+    return base + position;
+  }
+
+  private ByteBuffer chunk(long index) {
+    ByteBuffer chunk = chunks[(int) (index >>> CHUNK_BITS)];
+    if (chunk == null) {
+      throw new IllegalStateException("Memory has been freed");
+    }
+    return chunk;
+  }
+
+  private int offset(long index) {
+    return (int) (index & CHUNK_MASK) << shift;
+  }
+
+  double getDouble(long position) {
+    long i = index(position);
+    return chunk(i).getDouble(offset(i));
+  }
+
+  void putDouble(long position, double value) {
+    long i = index(position);
+    chunk(i).putDouble(offset(i), value);
+  }
+
+  long getLong(long position) {
+    long i = index(position);
+    return chunk(i).getLong(offset(i));
+  }
+
+  void putLong(long position, long value) {
+    long i = index(position);
+    chunk(i).putLong(offset(i), value);
+  }
+
+  int getInt(long position) {
+    long i = index(position);
+    return chunk(i).getInt(offset(i));
+  }
+
+  void putInt(long position, int value) {
+    long i = index(position);
+    chunk(i).putInt(offset(i), value);
+  }
+
+  short getShort(long position) {
+    long i = index(position);
+    return chunk(i).getShort(offset(i));
+  }
+
+  void putShort(long position, short value) {
+    long i = index(position);
+    chunk(i).putShort(offset(i), value);
+  }
+
+  float getFloat(long position) {
+    long i = index(position);
+    return chunk(i).getFloat(offset(i));
+  }
+
+  void putFloat(long position, float value) {
+    long i = index(position);
+    chunk(i).putFloat(offset(i), value);
+  }
+
+  byte getByte(long position) {
+    long i = index(position);
+    return chunk(i).get(offset(i));
+  }
+
+  void putByte(long position, byte value) {
+    long i = index(position);
+    chunk(i).put(offset(i), value);
+  }
+
+  @FunctionalInterface
+  private interface BufferReleaser {
+    void release(ByteBuffer buffer) throws Exception;
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import org.briljantframework.array.AbstractIntArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * An int array whose elements are stored as shorts outside of the Java heap. Values are narrowed
+ * to a short when set. New arrays (e.g., the result of {@code map(...)}) are regular
+ * {@link OffHeapIntArray int arrays}.
+ *
+ * @author Isak Karlsson
+ */
+class OffHeapShortIntArray extends AbstractIntArray implements OffHeapArray {
+
+  static final int SHIFT = 1;
+
+  private final OffHeapArena arena;
+  private final OffHeapMemory memory;
+
+  OffHeapShortIntArray(ArrayBackend backend, OffHeapArena arena, int offset, int[] shape,
+      int[] stride, OffHeapMemory memory) {
+    super(backend, offset, shape, stride);
+    this.arena = arena;
+    this.memory = memory;
+  }
+
+  @Override
+  public IntArray asView(int offset, int[] shape, int[] stride) {
+    return new OffHeapShortIntArray(getArrayBackend(), arena, offset, shape, stride, memory);
+  }
+
+  @Override
+  public IntArray newEmptyArray(int... shape) {
+    return new OffHeapIntArray(getArrayBackend(), arena, shape);
+  }
+
+  @Override
+  protected int elementSize() {
+    return memory.size();
+  }
+
+  @Override
+  protected int getElement(int i) {
+    return memory.getShort(i);
+  }
+
+  @Override
+  protected void setElement(int i, int value) {
+    memory.putShort(i, (short) value);
+  }
+
+  @Override
+  public OffHeapMemory getMemory() {
+    return memory;
+  }
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.parallel;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayFactory;
+import org.briljantframework.array.api.ArrayRoutines;
+import org.briljantframework.array.api.LinearAlgebraRoutines;
+
+/**
+ * A backend which wraps another backend and executes the array routines of large arrays in
+ * parallel using {@link ParallelArrayRoutines}. The array factory and the linear algebra routines
+ * are those of the wrapped backend.
+ *
+ * <pre>
+ * ArrayBackend backend = new ParallelArrayBackend(NetlibArrayBackend.getInstance(),
+ *     new ForkJoinPool(32), ParallelArrayRoutines.DEFAULT_THRESHOLD);
+ * ArrayRoutines routines = backend.getArrayRoutines();
+ * double sum = routines.sum(x);
+ * </pre>
+ *
+ * <p/>
+ * To use the parallel routines as the default backend (e.g., in
+ * {@link org.briljantframework.array.Arrays}), set the system property
+ * {@code org.briljantframework.array.parallel} to {@code true}.
+ *
+ * @author Isak Karlsson
+ * @see ParallelArrayService
+ */
+public class ParallelArrayBackend implements ArrayBackend {
+
+  private final ArrayBackend backend;
+  private final ArrayRoutines arrayRoutines;
+
+  /**
+   * Wrap the given backend using the {@linkplain ForkJoinPool#commonPool() common pool} and the
+   * default threshold.
+   *
+   * @param backend the backend
+   */
+  public ParallelArrayBackend(ArrayBackend backend) {
+    this(backend, ForkJoinPool.commonPool(), ParallelArrayRoutines.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Wrap the given backend.
+   *
+   * @param backend the backend
+   * @param pool the pool executing the chunks and the parallel routines of the wrapped backend
+   * @param threshold the minimum number of elements for which a routine is executed in parallel
+   */
+  public ParallelArrayBackend(ArrayBackend backend, ForkJoinPool pool, int threshold) {
+    this.backend = Objects.requireNonNull(backend);
+    this.arrayRoutines = new ParallelArrayRoutines(backend.getArrayRoutines(), pool, threshold,
+        ParallelArrayRoutines.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Returns the wrapped backend
+   *
+   * @return the wrapped backend
+   */
+  public ArrayBackend getBackend() {
+    return backend;
+  }
+
+  @Override
+  public ArrayFactory getArrayFactory() {
+    return backend.getArrayFactory();
+  }
+
+  @Override
+  public ArrayRoutines getArrayRoutines() {
+    return arrayRoutines;
+  }
+
+  @Override
+  public LinearAlgebraRoutines getLinearAlgebraRoutines() {
+    return backend.getLinearAlgebraRoutines();
+  }
+}
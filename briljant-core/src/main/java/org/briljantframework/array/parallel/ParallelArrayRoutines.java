@@ -0,0 +1,1639 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.parallel;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.util.FastMath;
+import org.apache.commons.math3.util.Precision;
+import org.briljantframework.Check;
+import org.briljantframework.array.*;
+import org.briljantframework.array.api.ArrayRoutines;
+
+/**
+ * Array routines which split large arrays into chunks processed in parallel by a
+ * {@link ForkJoinPool}. Each chunk is processed by a delegate (e.g., the routines of the
+ * {@linkplain org.briljantframework.array.netlib.NetlibArrayBackend netlib backend}) or, for
+ * element-wise operations, by the same operators as the delegate, and written directly into the
+ * matching slice of the output. Hence, the parallel routines compute the same values as the
+ * delegate (up to the order of floating point additions in reductions).
+ *
+ * <p/>
+ * An array is split along its largest dimension into slices of about {@code chunkSize} elements
+ * (by default {@value #DEFAULT_CHUNK_SIZE}, i.e., small enough to fit in the L2 cache). Arrays with
+ * fewer than {@code threshold} elements (by default {@value #DEFAULT_THRESHOLD}) and operations
+ * with broadcasting are passed to the delegate unchanged.
+ *
+ * <p/>
+ * The following routines are parallel:
+ * <ul>
+ * <li>element-wise arithmetic ({@code plus}, {@code minus}, {@code times}, {@code div} and their
+ * in-place variants)</li>
+ * <li>element-wise functions ({@code sin}, {@code exp}, {@code sqrt}, {@code abs}, ...)</li>
+ * <li>reductions ({@code sum}, {@code mean}, {@code var}, {@code std}, {@code min}, {@code max},
+ * {@code prod}, {@code inner} and {@code asum})</li>
+ * <li>reductions along a dimension ({@code sum(dim, x)}, {@code mean(dim, x)}, ...), which reduce
+ * the vectors in parallel</li>
+ * </ul>
+ * Other routines (e.g., the BLAS routines and the logical routines) are delegated. Delegated
+ * routines which fork tasks themselves (e.g., the matrix products, the cumulative sums and the
+ * reductions along a dimension which are not split) are invoked in the pool, so that their tasks
+ * are executed by the threads of the pool rather than by the
+ * {@linkplain ForkJoinPool#commonPool() common pool}. Routines producing a {@link BooleanArray}
+ * are never split, since the elements of a bit-packed array can't be written concurrently.
+ *
+ * @author Isak Karlsson
+ * @see ParallelArrayBackend
+ */
+public class ParallelArrayRoutines implements ArrayRoutines {
+
+  /**
+   * The default minimum number of elements for which a routine is executed in parallel
+   */
+  public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+  /**
+   * The default number of elements in each chunk
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+  private static final double LOG_2 = Math.log(2);
+  private static final double EPS = 1e-10;
+
+  private final ArrayRoutines delegate;
+  private final ForkJoinPool pool;
+  private final int threshold;
+  private final int chunkSize;
+
+  /**
+   * Create new parallel routines using the {@linkplain ForkJoinPool#commonPool() common pool} and
+   * the default threshold and chunk size.
+   *
+   * @param delegate the routines used for each chunk
+   */
+  public ParallelArrayRoutines(ArrayRoutines delegate) {
+    this(delegate, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Create new parallel routines.
+   *
+   * @param delegate the routines used for each chunk
+   * @param pool the pool executing the chunks
+   * @param threshold the minimum number of elements for which a routine is executed in parallel
+   * @param chunkSize the (approximate) number of elements in each chunk
+   */
+  public ParallelArrayRoutines(ArrayRoutines delegate, ForkJoinPool pool, int threshold,
+      int chunkSize) {
+    Check.argument(threshold >= 0, "Illegal threshold: %s", threshold);
+    Check.argument(chunkSize > 0, "Illegal chunk size: %s", chunkSize);
+    this.delegate = Objects.requireNonNull(delegate);
+    this.pool = Objects.requireNonNull(pool);
+    this.threshold = threshold;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Returns the pool executing the chunks
+   *
+   * @return the pool
+   */
+  public ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * Returns the minimum number of elements for which a routine is executed in parallel
+   *
+   * @return the threshold
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Returns the (approximate) number of elements in each chunk
+   *
+   * @return the chunk size
+   */
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Returns the routines used for each chunk
+   *
+   * @return the delegate
+   */
+  public ArrayRoutines getDelegate() {
+    return delegate;
+  }
+
+  private boolean isParallel(BaseArray<?> x) {
+    return x.size() >= threshold && x.size() > chunkSize && pool.getParallelism() > 1;
+  }
+
+  private boolean isParallel(BaseArray<?> a, BaseArray<?> b) {
+    return isParallel(a) && java.util.Arrays.equals(a.getShape(), b.getShape());
+  }
+
+  /**
+   * The dimension along which the array is split (the largest)
+   */
+  private static int splitDimension(BaseArray<?> x) {
+    int dim = 0;
+    for (int i = 1; i < x.dims(); i++) {
+      if (x.size(i) > x.size(dim)) {
+        dim = i;
+      }
+    }
+    return dim;
+  }
+
+  /**
+   * The dimension along which the array is split when reduced along {@code dim} (the largest other)
+   */
+  private static int splitDimension(BaseArray<?> x, int dim) {
+    int split = dim == 0 ? 1 : 0;
+    for (int i = 0; i < x.dims(); i++) {
+      if (i != dim && x.size(i) > x.size(split)) {
+        split = i;
+      }
+    }
+    return split;
+  }
+
+  private int chunks(BaseArray<?> x, int dim) {
+    return Math.max(1, Math.min(x.size(dim), (x.size() + chunkSize - 1) / chunkSize));
+  }
+
+  /**
+   * Returns a view of the {@code chunk}:th of {@code chunks} slices along {@code dim}
+   */
+  private static <E extends BaseArray<E>> E slice(E x, int dim, int chunk, int chunks) {
+    int size = x.size(dim);
+    int from = (int) ((long) size * chunk / chunks);
+    int to = (int) ((long) size * (chunk + 1) / chunks);
+    int[] shape = x.getShape();
+    int[] stride = x.getStride();
+    shape[dim] = to - from;
+    return x.asView(x.getOffset() + from * stride[dim], shape, stride);
+  }
+
+  /**
+   * Compute a delegated routine over {@code x} in the pool, so that the tasks forked by the
+   * delegate (e.g., by the prefix scans and the reductions along a dimension) are executed by the
+   * pool instead of the common pool. Small arrays are computed by the calling thread.
+   */
+  private <T> T inPool(BaseArray<?> x, Supplier<T> routine) {
+    if (x.size() < threshold || ForkJoinTask.getPool() == pool) {
+      return routine.get();
+    }
+    return pool.invoke(ForkJoinTask.adapt(routine::get));
+  }
+
+  /**
+   * Execute a delegated routine (e.g., a matrix product) in the pool.
+   */
+  private void inPool(Runnable routine) {
+    if (ForkJoinTask.getPool() == pool) {
+      routine.run();
+    } else {
+      pool.invoke(ForkJoinTask.adapt(routine));
+    }
+  }
+
+  /**
+   * Apply {@code function} to each chunk in parallel and combine the results.
+   */
+  private <T> T invoke(int chunks, IntFunction<T> function, BinaryOperator<T> combine) {
+    return pool.invoke(new ChunkTask<>(0, chunks, function, combine));
+  }
+
+  /**
+   * Apply {@code operation} to the matching slices of {@code a}, {@code b} and {@code out}. Boolean
+   * arrays may be bit-packed, so that writes to different slices can race; these are computed
+   * serially.
+   */
+  private <E extends BaseArray<E>> void forEachChunk(E a, E b, E out, SliceOperation<E> operation) {
+    if (out instanceof BooleanArray) {
+      operation.apply(a, b, out);
+      return;
+    }
+    int dim = splitDimension(out);
+    int chunks = chunks(out, dim);
+    invoke(chunks, chunk -> {
+      operation.apply(slice(a, dim, chunk, chunks), slice(b, dim, chunk, chunks),
+          slice(out, dim, chunk, chunks));
+      return null;
+    }, (x, y) -> null);
+  }
+
+  /**
+   * Compute {@code operator} for each element of {@code x} in parallel. Each chunk is written
+   * directly into the matching slice of the new array.
+   */
+  private DoubleArray map(DoubleArray x, DoubleUnaryOperator operator) {
+    DoubleArray out = x.newEmptyArray(x.getShape());
+    forEachChunk(x, x, out, (s, ignore, o) -> o.assign(s, operator));
+    return out;
+  }
+
+  /**
+   * @see #map(DoubleArray, DoubleUnaryOperator)
+   */
+  private IntArray map(IntArray x, IntUnaryOperator operator) {
+    IntArray out = x.newEmptyArray(x.getShape());
+    forEachChunk(x, x, out, (s, ignore, o) -> o.assign(s, operator));
+    return out;
+  }
+
+  /**
+   * @see #map(DoubleArray, DoubleUnaryOperator)
+   */
+  private LongArray map(LongArray x, LongUnaryOperator operator) {
+    LongArray out = x.newEmptyArray(x.getShape());
+    forEachChunk(x, x, out, (s, ignore, o) -> o.assign(s, operator));
+    return out;
+  }
+
+  /**
+   * @see #map(DoubleArray, DoubleUnaryOperator)
+   */
+  private ComplexArray map(ComplexArray x, UnaryOperator<Complex> operator) {
+    ComplexArray out = x.newEmptyArray(x.getShape());
+    forEachChunk(x, x, out, (s, ignore, o) -> o.assign(s, operator));
+    return out;
+  }
+
+  /**
+   * The operator computing {@code x^power}, as computed by
+   * {@link org.briljantframework.array.api.AbstractArrayRoutines#pow(DoubleArray, double)}.
+   */
+  private static DoubleUnaryOperator power(double power) {
+    if (Precision.equals(power, 2, EPS)) {
+      return x -> x * x;
+    } else if (Precision.equals(power, 3, EPS)) {
+      return x -> x * x * x;
+    } else if (Precision.equals(power, 4, EPS)) {
+      return x -> x * x * x * x;
+    } else {
+      return x -> FastMath.pow(x, power);
+    }
+  }
+
+  /**
+   * Apply {@code operation} to the matching slices of {@code a}, {@code b} and a new array in
+   * parallel. The operation writes each chunk directly into its slice of the new array.
+   */
+  private <E extends BaseArray<E>> E combine(E a, E b, SliceOperation<E> operation) {
+    E out = a.newEmptyArray(a.getShape());
+    forEachChunk(a, b, out, operation);
+    return out;
+  }
+
+  /**
+   * Combine the elements of the matching chunks of two complex arrays, writing directly into the
+   * slice of {@code out}.
+   */
+  private static void combine(ComplexArray a, ComplexArray b, ComplexArray out,
+      BinaryOperator<Complex> operator) {
+    ComplexCursor oc = out.cursor();
+    ComplexCursor ac = a.cursor();
+    ComplexCursor bc = b.cursor();
+    while (oc.hasNext()) {
+      oc.setNext(operator.apply(ac.nextComplex(), bc.nextComplex()));
+    }
+  }
+
+  /**
+   * Reduce the slices of {@code x} in parallel.
+   */
+  private <E extends BaseArray<E>, T> T reduce(E x, Function<E, T> function,
+      BinaryOperator<T> combine) {
+    int dim = splitDimension(x);
+    int chunks = chunks(x, dim);
+    return invoke(chunks, chunk -> function.apply(slice(x, dim, chunk, chunks)), combine);
+  }
+
+  /**
+   * Reduce slices of {@code x} (split along the largest dimension other than {@code dim}) in
+   * parallel, so that the delegate reduces (and chooses the traversal of) each slice.
+   */
+  private <E extends BaseArray<E>> E reduceSlices(int dim, E x, DimensionReduction<E> reduction) {
+    Check.argument(dim >= 0 && dim < x.dims(), "Invalid dimension");
+    int split = splitDimension(x, dim);
+    int reducedSplit = split < dim ? split : split - 1;
+    E reduced = x.newEmptyArray(ArrayUtils.remove(x.getShape(), dim));
+    int chunks = chunks(x, split);
+    invoke(chunks, chunk -> {
+      slice(reduced, reducedSplit, chunk, chunks)
+          .assign(reduction.apply(dim, slice(x, split, chunk, chunks)));
+      return null;
+    }, (a, b) -> null);
+    return reduced;
+  }
+
+  private boolean isParallel(int dim, BaseArray<?> x) {
+    return isParallel(x) && x.size(dim) < x.size();
+  }
+
+  /**
+   * The number of elements, mean and sum of squared deviations of a chunk
+   */
+  private double[] moments(DoubleArray x) {
+    int n = x.size();
+    return new double[] {n, delegate.mean(x), delegate.var(x) * n};
+  }
+
+  private static double[] combineMoments(double[] a, double[] b) {
+    double n = a[0] + b[0];
+    if (n == 0) {
+      return a;
+    }
+    double delta = b[1] - a[1];
+    double mean = a[1] + delta * b[0] / n;
+    double m2 = a[2] + b[2] + delta * delta * a[0] * b[0] / n;
+    return new double[] {n, mean, m2};
+  }
+
+  @Override
+  public double mean(DoubleArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return sum(x) / x.size();
+    }
+    return delegate.mean(x);
+  }
+
+  @Override
+  public DoubleArray mean(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::mean);
+    }
+    return inPool(x, () -> delegate.mean(dim, x));
+  }
+
+  @Override
+  public double var(DoubleArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      double[] moments = reduce(x, this::moments, ParallelArrayRoutines::combineMoments);
+      return moments[0] > 1 ? moments[2] / moments[0] : 0;
+    }
+    return delegate.var(x);
+  }
+
+  @Override
+  public DoubleArray var(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::var);
+    }
+    return inPool(x, () -> delegate.var(dim, x));
+  }
+
+  @Override
+  public double std(DoubleArray x) {
+    if (isParallel(x)) {
+      return Math.sqrt(var(x));
+    }
+    return delegate.std(x);
+  }
+
+  @Override
+  public DoubleArray std(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::std);
+    }
+    return inPool(x, () -> delegate.std(dim, x));
+  }
+
+  @Override
+  public double min(DoubleArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return reduce(x, delegate::min, Math::min);
+    }
+    return delegate.min(x);
+  }
+
+  @Override
+  public int min(IntArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return reduce(x, delegate::min, Math::min);
+    }
+    return delegate.min(x);
+  }
+
+  @Override
+  public long min(LongArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return reduce(x, delegate::min, Math::min);
+    }
+    return delegate.min(x);
+  }
+
+  @Override
+  public DoubleArray min(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::min);
+    }
+    return inPool(x, () -> delegate.min(dim, x));
+  }
+
+  @Override
+  public IntArray min(int dim, IntArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::min);
+    }
+    return inPool(x, () -> delegate.min(dim, x));
+  }
+
+  @Override
+  public LongArray min(int dim, LongArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::min);
+    }
+    return inPool(x, () -> delegate.min(dim, x));
+  }
+
+  @Override
+  public double max(DoubleArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return reduce(x, delegate::max, Math::max);
+    }
+    return delegate.max(x);
+  }
+
+  @Override
+  public int max(IntArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return reduce(x, delegate::max, Math::max);
+    }
+    return delegate.max(x);
+  }
+
+  @Override
+  public long max(LongArray x) {
+    if (isParallel(x)) {
+      Check.argument(x.isVector(), "1d-array required");
+      return reduce(x, delegate::max, Math::max);
+    }
+    return delegate.max(x);
+  }
+
+  @Override
+  public DoubleArray max(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::max);
+    }
+    return inPool(x, () -> delegate.max(dim, x));
+  }
+
+  @Override
+  public IntArray max(int dim, IntArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::max);
+    }
+    return inPool(x, () -> delegate.max(dim, x));
+  }
+
+  @Override
+  public LongArray max(int dim, LongArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::max);
+    }
+    return inPool(x, () -> delegate.max(dim, x));
+  }
+
+  @Override
+  public double sum(DoubleArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Double::sum);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public int sum(IntArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Integer::sum);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public long sum(LongArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Long::sum);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public Complex sum(ComplexArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Complex::add);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public DoubleArray sum(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::sum);
+    }
+    return inPool(x, () -> delegate.sum(dim, x));
+  }
+
+  @Override
+  public IntArray sum(int dim, IntArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::sum);
+    }
+    return inPool(x, () -> delegate.sum(dim, x));
+  }
+
+  @Override
+  public LongArray sum(int dim, LongArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::sum);
+    }
+    return inPool(x, () -> delegate.sum(dim, x));
+  }
+
+  @Override
+  public double prod(DoubleArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::prod, (a, b) -> a * b);
+    }
+    return delegate.prod(x);
+  }
+
+  @Override
+  public DoubleArray prod(int dim, DoubleArray x) {
+    if (isParallel(dim, x)) {
+      return reduceSlices(dim, x, delegate::prod);
+    }
+    return inPool(x, () -> delegate.prod(dim, x));
+  }
+
+  @Override
+  public double inner(DoubleArray a, DoubleArray b) {
+    if (isParallel(a, b)) {
+      int dim = splitDimension(a);
+      int chunks = chunks(a, dim);
+      return invoke(chunks,
+          chunk -> delegate.inner(slice(a, dim, chunk, chunks), slice(b, dim, chunk, chunks)),
+          Double::sum);
+    }
+    return delegate.inner(a, b);
+  }
+
+  @Override
+  public double asum(DoubleArray a) {
+    if (isParallel(a)) {
+      return reduce(a, delegate::asum, Double::sum);
+    }
+    return delegate.asum(a);
+  }
+
+  @Override
+  public DoubleArray plus(DoubleArray a, DoubleArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b, delegate::plus);
+    }
+    return delegate.plus(a, b);
+  }
+
+  @Override
+  public void plus(DoubleArray a, DoubleArray b, DoubleArray out) {
+    if (isParallel(a, b) && isParallel(a, out)) {
+      forEachChunk(a, b, out, delegate::plus);
+    } else {
+      delegate.plus(a, b, out);
+    }
+  }
+
+  @Override
+  public DoubleArray minus(DoubleArray a, DoubleArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b, (u, v, o) -> delegate.minus(v, u, o));
+    }
+    return delegate.minus(a, b);
+  }
+
+  @Override
+  public void minus(DoubleArray a, DoubleArray b, DoubleArray out) {
+    if (isParallel(a, b) && isParallel(a, out)) {
+      forEachChunk(a, b, out, delegate::minus);
+    } else {
+      delegate.minus(a, b, out);
+    }
+  }
+
+  @Override
+  public DoubleArray times(DoubleArray a, DoubleArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b, delegate::times);
+    }
+    return delegate.times(a, b);
+  }
+
+  @Override
+  public void times(DoubleArray a, DoubleArray b, DoubleArray out) {
+    if (isParallel(a, b) && isParallel(a, out)) {
+      forEachChunk(a, b, out, delegate::times);
+    } else {
+      delegate.times(a, b, out);
+    }
+  }
+
+  @Override
+  public DoubleArray div(DoubleArray nominator, DoubleArray denominator) {
+    if (isParallel(nominator, denominator)) {
+      return combine(nominator, denominator, (u, v, o) -> delegate.div(v, u, o));
+    }
+    return delegate.div(nominator, denominator);
+  }
+
+  @Override
+  public void div(DoubleArray a, DoubleArray b, DoubleArray out) {
+    if (isParallel(a, b) && isParallel(a, out)) {
+      forEachChunk(a, b, out, delegate::div);
+    } else {
+      delegate.div(a, b, out);
+    }
+  }
+
+  @Override
+  public IntArray plus(IntArray a, IntArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p + q));
+    }
+    return delegate.plus(a, b);
+  }
+
+  @Override
+  public void plusAssign(IntArray a, IntArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.plusAssign(x, o));
+    } else {
+      delegate.plusAssign(a, out);
+    }
+  }
+
+  @Override
+  public IntArray minus(IntArray a, IntArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p - q));
+    }
+    return delegate.minus(a, b);
+  }
+
+  @Override
+  public void minusAssign(IntArray a, IntArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.minusAssign(x, o));
+    } else {
+      delegate.minusAssign(a, out);
+    }
+  }
+
+  @Override
+  public IntArray times(IntArray a, IntArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p * q));
+    }
+    return delegate.times(a, b);
+  }
+
+  @Override
+  public void timesAssign(IntArray a, IntArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.timesAssign(x, o));
+    } else {
+      delegate.timesAssign(a, out);
+    }
+  }
+
+  @Override
+  public IntArray div(IntArray nominator, IntArray denominator) {
+    if (isParallel(nominator, denominator)) {
+      return combine(nominator, denominator,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p / q));
+    }
+    return delegate.div(nominator, denominator);
+  }
+
+  @Override
+  public void divAssign(IntArray a, IntArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.divAssign(x, o));
+    } else {
+      delegate.divAssign(a, out);
+    }
+  }
+
+  @Override
+  public LongArray plus(LongArray a, LongArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p + q));
+    }
+    return delegate.plus(a, b);
+  }
+
+  @Override
+  public void plusAssign(LongArray a, LongArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.plusAssign(x, o));
+    } else {
+      delegate.plusAssign(a, out);
+    }
+  }
+
+  @Override
+  public LongArray minus(LongArray a, LongArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p - q));
+    }
+    return delegate.minus(a, b);
+  }
+
+  @Override
+  public void minusAssign(LongArray a, LongArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.minusAssign(x, o));
+    } else {
+      delegate.minusAssign(a, out);
+    }
+  }
+
+  @Override
+  public LongArray times(LongArray a, LongArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p * q));
+    }
+    return delegate.times(a, b);
+  }
+
+  @Override
+  public void timesAssign(LongArray a, LongArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.timesAssign(x, o));
+    } else {
+      delegate.timesAssign(a, out);
+    }
+  }
+
+  @Override
+  public LongArray div(LongArray nominator, LongArray denominator) {
+    if (isParallel(nominator, denominator)) {
+      return combine(nominator, denominator,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p / q));
+    }
+    return delegate.div(nominator, denominator);
+  }
+
+  @Override
+  public void divAssign(LongArray a, LongArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.divAssign(x, o));
+    } else {
+      delegate.divAssign(a, out);
+    }
+  }
+
+  @Override
+  public long sum(ByteArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Long::sum);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public long sum(ShortArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Long::sum);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public LongArray sum(int dim, ByteArray x) {
+    return inPool(x, () -> delegate.sum(dim, x));
+  }
+
+  @Override
+  public LongArray sum(int dim, ShortArray x) {
+    return inPool(x, () -> delegate.sum(dim, x));
+  }
+
+  @Override
+  public void dequantize(ByteArray x, double scale, double zeroPoint, DoubleArray out) {
+    delegate.dequantize(x, scale, zeroPoint, out);
+  }
+
+  @Override
+  public void dequantize(ShortArray x, double scale, double zeroPoint, DoubleArray out) {
+    delegate.dequantize(x, scale, zeroPoint, out);
+  }
+
+  @Override
+  public FloatArray plus(FloatArray a, FloatArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p + q));
+    }
+    return delegate.plus(a, b);
+  }
+
+  @Override
+  public FloatArray minus(FloatArray a, FloatArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p - q));
+    }
+    return delegate.minus(a, b);
+  }
+
+  @Override
+  public FloatArray times(FloatArray a, FloatArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p * q));
+    }
+    return delegate.times(a, b);
+  }
+
+  @Override
+  public FloatArray div(FloatArray nominator, FloatArray denominator) {
+    if (isParallel(nominator, denominator)) {
+      return combine(nominator, denominator,
+          (u, v, o) -> BroadcastIterator.apply(o, u, v, (p, q) -> p / q));
+    }
+    return delegate.div(nominator, denominator);
+  }
+
+  @Override
+  public double sum(FloatArray x) {
+    if (isParallel(x)) {
+      return reduce(x, delegate::sum, Double::sum);
+    }
+    return delegate.sum(x);
+  }
+
+  @Override
+  public ComplexArray plus(ComplexArray a, ComplexArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b, (u, v, o) -> combine(u, v, o, Complex::add));
+    }
+    return delegate.plus(a, b);
+  }
+
+  @Override
+  public void plusAssign(ComplexArray a, ComplexArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.plusAssign(x, o));
+    } else {
+      delegate.plusAssign(a, out);
+    }
+  }
+
+  @Override
+  public ComplexArray minus(ComplexArray a, ComplexArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b, (u, v, o) -> combine(u, v, o, Complex::subtract));
+    }
+    return delegate.minus(a, b);
+  }
+
+  @Override
+  public void minusAssign(ComplexArray a, ComplexArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.minusAssign(x, o));
+    } else {
+      delegate.minusAssign(a, out);
+    }
+  }
+
+  @Override
+  public ComplexArray times(ComplexArray a, ComplexArray b) {
+    if (isParallel(a, b)) {
+      return combine(a, b, (u, v, o) -> combine(u, v, o, Complex::multiply));
+    }
+    return delegate.times(a, b);
+  }
+
+  @Override
+  public void timesAssign(ComplexArray a, ComplexArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.timesAssign(x, o));
+    } else {
+      delegate.timesAssign(a, out);
+    }
+  }
+
+  @Override
+  public ComplexArray div(ComplexArray nominator, ComplexArray denominator) {
+    if (isParallel(nominator, denominator)) {
+      return combine(nominator, denominator, (u, v, o) -> combine(u, v, o, Complex::divide));
+    }
+    return delegate.div(nominator, denominator);
+  }
+
+  @Override
+  public void divAssign(ComplexArray a, ComplexArray out) {
+    if (isParallel(a, out)) {
+      forEachChunk(a, a, out, (x, ignore, o) -> delegate.divAssign(x, o));
+    } else {
+      delegate.divAssign(a, out);
+    }
+  }
+
+  @Override
+  public DoubleArray sin(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::sin);
+    }
+    return delegate.sin(array);
+  }
+
+  @Override
+  public ComplexArray sin(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::sin);
+    }
+    return delegate.sin(array);
+  }
+
+  @Override
+  public DoubleArray cos(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::cos);
+    }
+    return delegate.cos(array);
+  }
+
+  @Override
+  public ComplexArray cos(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::cos);
+    }
+    return delegate.cos(array);
+  }
+
+  @Override
+  public DoubleArray tan(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::tan);
+    }
+    return delegate.tan(array);
+  }
+
+  @Override
+  public ComplexArray tan(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::tan);
+    }
+    return delegate.tan(array);
+  }
+
+  @Override
+  public DoubleArray asin(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::asin);
+    }
+    return delegate.asin(array);
+  }
+
+  @Override
+  public ComplexArray asin(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::asin);
+    }
+    return delegate.asin(array);
+  }
+
+  @Override
+  public DoubleArray acos(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::acos);
+    }
+    return delegate.acos(array);
+  }
+
+  @Override
+  public ComplexArray acos(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::acos);
+    }
+    return delegate.acos(array);
+  }
+
+  @Override
+  public DoubleArray atan(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::atan);
+    }
+    return delegate.atan(array);
+  }
+
+  @Override
+  public ComplexArray atan(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::atan);
+    }
+    return delegate.atan(array);
+  }
+
+  @Override
+  public DoubleArray sinh(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::sinh);
+    }
+    return delegate.sinh(array);
+  }
+
+  @Override
+  public ComplexArray sinh(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::sinh);
+    }
+    return delegate.sinh(array);
+  }
+
+  @Override
+  public DoubleArray cosh(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::cosh);
+    }
+    return delegate.cosh(array);
+  }
+
+  @Override
+  public ComplexArray cosh(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::cosh);
+    }
+    return delegate.cosh(array);
+  }
+
+  @Override
+  public DoubleArray tanh(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::tanh);
+    }
+    return delegate.tanh(array);
+  }
+
+  @Override
+  public ComplexArray tanh(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::tanh);
+    }
+    return delegate.tanh(array);
+  }
+
+  @Override
+  public DoubleArray exp(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::exp);
+    }
+    return delegate.exp(array);
+  }
+
+  @Override
+  public ComplexArray exp(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::exp);
+    }
+    return delegate.exp(array);
+  }
+
+  @Override
+  public DoubleArray cbrt(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::cbrt);
+    }
+    return delegate.cbrt(array);
+  }
+
+  @Override
+  public DoubleArray ceil(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::ceil);
+    }
+    return delegate.ceil(array);
+  }
+
+  @Override
+  public ComplexArray ceil(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, v -> new Complex(Math.ceil(v.getReal()), Math.ceil(v.getImaginary())));
+    }
+    return delegate.ceil(array);
+  }
+
+  @Override
+  public DoubleArray floor(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::floor);
+    }
+    return delegate.floor(array);
+  }
+
+  @Override
+  public ComplexArray floor(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, v -> new Complex(Math.floor(v.getReal()), Math.floor(v.getImaginary())));
+    }
+    return delegate.floor(array);
+  }
+
+  @Override
+  public IntArray abs(IntArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::abs);
+    }
+    return delegate.abs(array);
+  }
+
+  @Override
+  public LongArray abs(LongArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::abs);
+    }
+    return delegate.abs(array);
+  }
+
+  @Override
+  public DoubleArray abs(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::abs);
+    }
+    return delegate.abs(array);
+  }
+
+  @Override
+  public DoubleArray sqrt(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::sqrt);
+    }
+    return delegate.sqrt(array);
+  }
+
+  @Override
+  public ComplexArray sqrt(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::sqrt);
+    }
+    return delegate.sqrt(array);
+  }
+
+  @Override
+  public DoubleArray log(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, Math::log);
+    }
+    return delegate.log(array);
+  }
+
+  @Override
+  public ComplexArray log(ComplexArray array) {
+    if (isParallel(array)) {
+      return map(array, Complex::log);
+    }
+    return delegate.log(array);
+  }
+
+  @Override
+  public DoubleArray log2(DoubleArray array) {
+    if (isParallel(array)) {
+      return map(array, v -> Math.log(v) / LOG_2);
+    }
+    return delegate.log2(array);
+  }
+
+  @Override
+  public DoubleArray log10(DoubleArray in) {
+    if (isParallel(in)) {
+      return map(in, Math::log10);
+    }
+    return delegate.log10(in);
+  }
+
+  @Override
+  public DoubleArray signum(DoubleArray in) {
+    if (isParallel(in)) {
+      return map(in, Math::signum);
+    }
+    return delegate.signum(in);
+  }
+
+  @Override
+  public DoubleArray scalb(DoubleArray array, int scaleFactor) {
+    if (isParallel(array)) {
+      return map(array, v -> Math.scalb(v, scaleFactor));
+    }
+    return delegate.scalb(array, scaleFactor);
+  }
+
+  @Override
+  public DoubleArray pow(DoubleArray in, double power) {
+    if (isParallel(in)) {
+      return map(in, power(power));
+    }
+    return delegate.pow(in, power);
+  }
+
+  @Override
+  public <T extends Comparable<T>> T min(Array<T> x) {
+    return delegate.min(x);
+  }
+
+  @Override
+  public <T> T min(Array<T> x, Comparator<T> cmp) {
+    return delegate.min(x, cmp);
+  }
+
+  @Override
+  public <T extends Comparable<T>> Array<T> min(int dim, Array<T> x) {
+    return inPool(x, () -> delegate.min(dim, x));
+  }
+
+  @Override
+  public <T> Array<T> min(int dim, Array<T> x, Comparator<T> cmp) {
+    return delegate.min(dim, x, cmp);
+  }
+
+  @Override
+  public <T extends Comparable<T>> T max(Array<T> x) {
+    return delegate.max(x);
+  }
+
+  @Override
+  public <T> T max(Array<T> x, Comparator<T> cmp) {
+    return delegate.max(x, cmp);
+  }
+
+  @Override
+  public <T extends Comparable<T>> Array<T> max(int dim, Array<T> x) {
+    return inPool(x, () -> delegate.max(dim, x));
+  }
+
+  @Override
+  public <T> Array<T> max(int dim, Array<T> x, Comparator<T> cmp) {
+    return delegate.max(dim, x, cmp);
+  }
+
+  @Override
+  public ComplexArray sum(int dim, ComplexArray x) {
+    return inPool(x, () -> delegate.sum(dim, x));
+  }
+
+  @Override
+  public DoubleArray cumsum(DoubleArray x) {
+    return inPool(x, () -> delegate.cumsum(x));
+  }
+
+  @Override
+  public DoubleArray cumsum(int dim, DoubleArray x) {
+    return inPool(x, () -> delegate.cumsum(dim, x));
+  }
+
+  @Override
+  public DoubleArray cumprod(DoubleArray x) {
+    return inPool(x, () -> delegate.cumprod(x));
+  }
+
+  @Override
+  public DoubleArray cumprod(int dim, DoubleArray x) {
+    return inPool(x, () -> delegate.cumprod(dim, x));
+  }
+
+  @Override
+  public DoubleArray cummin(DoubleArray x) {
+    return inPool(x, () -> delegate.cummin(x));
+  }
+
+  @Override
+  public DoubleArray cummin(int dim, DoubleArray x) {
+    return inPool(x, () -> delegate.cummin(dim, x));
+  }
+
+  @Override
+  public DoubleArray cummax(DoubleArray x) {
+    return inPool(x, () -> delegate.cummax(x));
+  }
+
+  @Override
+  public DoubleArray cummax(int dim, DoubleArray x) {
+    return inPool(x, () -> delegate.cummax(dim, x));
+  }
+
+  @Override
+  public IntArray cumsum(IntArray x) {
+    return inPool(x, () -> delegate.cumsum(x));
+  }
+
+  @Override
+  public IntArray cumsum(int dim, IntArray x) {
+    return inPool(x, () -> delegate.cumsum(dim, x));
+  }
+
+  @Override
+  public IntArray cumprod(IntArray x) {
+    return inPool(x, () -> delegate.cumprod(x));
+  }
+
+  @Override
+  public IntArray cumprod(int dim, IntArray x) {
+    return inPool(x, () -> delegate.cumprod(dim, x));
+  }
+
+  @Override
+  public IntArray cummin(IntArray x) {
+    return inPool(x, () -> delegate.cummin(x));
+  }
+
+  @Override
+  public IntArray cummin(int dim, IntArray x) {
+    return inPool(x, () -> delegate.cummin(dim, x));
+  }
+
+  @Override
+  public IntArray cummax(IntArray x) {
+    return inPool(x, () -> delegate.cummax(x));
+  }
+
+  @Override
+  public IntArray cummax(int dim, IntArray x) {
+    return inPool(x, () -> delegate.cummax(dim, x));
+  }
+
+  @Override
+  public LongArray cumsum(LongArray x) {
+    return inPool(x, () -> delegate.cumsum(x));
+  }
+
+  @Override
+  public LongArray cumsum(int dim, LongArray x) {
+    return inPool(x, () -> delegate.cumsum(dim, x));
+  }
+
+  @Override
+  public LongArray cumprod(LongArray x) {
+    return inPool(x, () -> delegate.cumprod(x));
+  }
+
+  @Override
+  public LongArray cumprod(int dim, LongArray x) {
+    return inPool(x, () -> delegate.cumprod(dim, x));
+  }
+
+  @Override
+  public LongArray cummin(LongArray x) {
+    return inPool(x, () -> delegate.cummin(x));
+  }
+
+  @Override
+  public LongArray cummin(int dim, LongArray x) {
+    return inPool(x, () -> delegate.cummin(dim, x));
+  }
+
+  @Override
+  public LongArray cummax(LongArray x) {
+    return inPool(x, () -> delegate.cummax(x));
+  }
+
+  @Override
+  public LongArray cummax(int dim, LongArray x) {
+    return inPool(x, () -> delegate.cummax(dim, x));
+  }
+
+  @Override
+  public Complex inner(ComplexArray a, ComplexArray b) {
+    return delegate.inner(a, b);
+  }
+
+  @Override
+  public Complex conjugateInner(ComplexArray a, ComplexArray b) {
+    return delegate.conjugateInner(a, b);
+  }
+
+  @Override
+  public double norm2(DoubleArray a) {
+    return delegate.norm2(a);
+  }
+
+  @Override
+  public DoubleArray norm2(int dim, DoubleArray a) {
+    return delegate.norm2(dim, a);
+  }
+
+  @Override
+  public Complex norm2(ComplexArray a) {
+    return delegate.norm2(a);
+  }
+
+  @Override
+  public double asum(ComplexArray a) {
+    return delegate.asum(a);
+  }
+
+  @Override
+  public int iamax(DoubleArray x) {
+    return delegate.iamax(x);
+  }
+
+  @Override
+  public int iamax(ComplexArray x) {
+    return delegate.iamax(x);
+  }
+
+  @Override
+  public void scal(double alpha, DoubleArray x) {
+    delegate.scal(alpha, x);
+  }
+
+  @Override
+  public double trace(DoubleArray x) {
+    return delegate.trace(x);
+  }
+
+  @Override
+  public void axpy(double alpha, DoubleArray x, DoubleArray y) {
+    delegate.axpy(alpha, x, y);
+  }
+
+  @Override
+  public void gemv(ArrayOperation transA, double alpha, DoubleArray a, DoubleArray x, double beta,
+      DoubleArray y) {
+    inPool(() -> delegate.gemv(transA, alpha, a, x, beta, y));
+  }
+
+  @Override
+  public void ger(double alpha, DoubleArray x, DoubleArray y, DoubleArray a) {
+    delegate.ger(alpha, x, y, a);
+  }
+
+  @Override
+  public void gemm(ArrayOperation transA, ArrayOperation transB, double alpha, DoubleArray a,
+      DoubleArray b, double beta, DoubleArray c) {
+    inPool(() -> delegate.gemm(transA, transB, alpha, a, b, beta, c));
+  }
+
+  @Override
+  public void batchGemm(ArrayOperation transA, ArrayOperation transB, double alpha, DoubleArray a,
+      DoubleArray b, double beta, DoubleArray c) {
+    inPool(() -> delegate.batchGemm(transA, transB, alpha, a, b, beta, c));
+  }
+
+  @Override
+  public float inner(FloatArray a, FloatArray b) {
+    return delegate.inner(a, b);
+  }
+
+  @Override
+  public void scal(float alpha, FloatArray x) {
+    delegate.scal(alpha, x);
+  }
+
+  @Override
+  public void axpy(float alpha, FloatArray x, FloatArray y) {
+    delegate.axpy(alpha, x, y);
+  }
+
+  @Override
+  public void gemv(ArrayOperation transA, float alpha, FloatArray a, FloatArray x, float beta,
+      FloatArray y) {
+    inPool(() -> delegate.gemv(transA, alpha, a, x, beta, y));
+  }
+
+  @Override
+  public void gemm(ArrayOperation transA, ArrayOperation transB, float alpha, FloatArray a,
+      FloatArray b, float beta, FloatArray c) {
+    inPool(() -> delegate.gemm(transA, transB, alpha, a, b, beta, c));
+  }
+
+  @Override
+  public <T extends BaseArray<T>> void copy(T from, T to) {
+    delegate.copy(from, to);
+  }
+
+  @Override
+  public <T extends BaseArray<T>> void swap(T a, T b) {
+    delegate.swap(a, b);
+  }
+
+  @Override
+  public BooleanArray and(BooleanArray a, BooleanArray b) {
+    return delegate.and(a, b);
+  }
+
+  @Override
+  public BooleanArray or(BooleanArray a, BooleanArray b) {
+    return delegate.or(a, b);
+  }
+
+  @Override
+  public BooleanArray xor(BooleanArray a, BooleanArray b) {
+    return delegate.xor(a, b);
+  }
+
+  @Override
+  public DoubleArray abs(ComplexArray array) {
+    return delegate.abs(array);
+  }
+
+  @Override
+  public LongArray round(DoubleArray in) {
+    return delegate.round(in);
+  }
+
+  @FunctionalInterface
+  private interface SliceOperation<E> {
+    void apply(E a, E b, E out);
+  }
+
+  @FunctionalInterface
+  private interface DimensionReduction<E> {
+    E apply(int dim, E x);
+  }
+
+  /**
+   * Splits a range of chunks in halves until a single chunk remains
+   */
+  private static final class ChunkTask<T> extends RecursiveTask<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final IntFunction<T> function;
+    private final BinaryOperator<T> combine;
+
+    ChunkTask(int from, int to, IntFunction<T> function, BinaryOperator<T> combine) {
+      this.from = from;
+      this.to = to;
+      this.function = function;
+      this.combine = combine;
+    }
+
+    @Override
+    protected T compute() {
+      if (to - from == 1) {
+        return function.apply(from);
+      }
+      int mid = (from + to) >>> 1;
+      ChunkTask<T> left = new ChunkTask<>(from, mid, function, combine);
+      left.fork();
+      T right = new ChunkTask<>(mid, to, function, combine).compute();
+      return combine.apply(left.join(), right);
+    }
+  }
+}
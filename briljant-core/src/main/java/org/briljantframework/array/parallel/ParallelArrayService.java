@@ -0,0 +1,65 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayService;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+
+/**
+ * Provides a {@link ParallelArrayBackend} wrapping the {@linkplain NetlibArrayBackend netlib
+ * backend}. The service is only available (and then preferred over the netlib backend) if the
+ * system property {@value #ENABLED} is {@code true}. The threshold can be set using the system
+ * property {@value #THRESHOLD}.
+ *
+ * @author Isak Karlsson
+ */
+public class ParallelArrayService implements ArrayService {
+
+  public static final String ENABLED = "org.briljantframework.array.parallel";
+  public static final String THRESHOLD = "org.briljantframework.array.parallel.threshold";
+
+  private static ArrayBackend backend;
+
+  @Override
+  public boolean isAvailable() {
+    return Boolean.getBoolean(ENABLED);
+  }
+
+  @Override
+  public int getPriority() {
+    return 200;
+  }
+
+  @Override
+  public ArrayBackend getArrayBackend() {
+    synchronized (ParallelArrayService.class) {
+      if (backend == null) {
+        backend = new ParallelArrayBackend(NetlibArrayBackend.getInstance(),
+            ForkJoinPool.commonPool(),
+            Integer.getInteger(THRESHOLD, ParallelArrayRoutines.DEFAULT_THRESHOLD));
+      }
+      return backend;
+    }
+  }
+}
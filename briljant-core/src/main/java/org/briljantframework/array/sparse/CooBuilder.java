@@ -0,0 +1,200 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.sparse;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.util.primitive.ArrayAllocations;
+
+/**
+ * Builds sparse arrays from a list of coordinates (i.e., in the COO format). The elements can be
+ * added in any order. Elements added to the same position are summed and elements which are zero
+ * are not stored.
+ *
+ * <pre>
+ * CooBuilder builder = new CooBuilder(3, 3);
+ * builder.add(0, 0, 1);
+ * builder.add(2, 1, 3);
+ * CsrDoubleArray x = builder.toCsr();
+ * </pre>
+ *
+ * @author Isak Karlsson
+ */
+public final class CooBuilder {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private final ArrayBackend backend;
+  private final int rows;
+  private final int columns;
+
+  private int[] rowIndices;
+  private int[] columnIndices;
+  private double[] values;
+  private int size = 0;
+
+  /**
+   * Construct a new builder of a sparse {@code rows x columns} array.
+   *
+   * @param rows the number of rows
+   * @param columns the number of columns
+   */
+  public CooBuilder(int rows, int columns) {
+    this(Arrays.getArrayBackend(), rows, columns, DEFAULT_CAPACITY);
+  }
+
+  CooBuilder(ArrayBackend backend, int rows, int columns, int capacity) {
+    Check.argument(rows >= 0 && columns >= 0, "illegal shape: %s x %s", rows, columns);
+    this.backend = backend;
+    this.rows = rows;
+    this.columns = columns;
+    this.rowIndices = new int[Math.max(capacity, 1)];
+    this.columnIndices = new int[Math.max(capacity, 1)];
+    this.values = new double[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Add the value to the element at the specified position.
+   *
+   * @param row the row
+   * @param column the column
+   * @param value the value
+   * @return this builder
+   */
+  public CooBuilder add(int row, int column, double value) {
+    Check.index(row, rows, column, columns);
+    rowIndices = ArrayAllocations.ensureCapacity(rowIndices, size + 1);
+    columnIndices = ArrayAllocations.ensureCapacity(columnIndices, size + 1);
+    values = ArrayAllocations.ensureCapacity(values, size + 1);
+    rowIndices[size] = row;
+    columnIndices[size] = column;
+    values[size] = value;
+    size++;
+    return this;
+  }
+
+  /**
+   * Returns the number of added elements (including duplicates).
+   *
+   * @return the number of added elements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a new array in the compressed sparse row format.
+   *
+   * @return a new CSR array
+   */
+  public CsrDoubleArray toCsr() {
+    Compressed c = compress(rows, columns, rowIndices, columnIndices);
+    return new CsrDoubleArray(backend, rows, columns, c.pointers, c.indices, c.values);
+  }
+
+  /**
+   * Returns a new array in the compressed sparse column format.
+   *
+   * @return a new CSC array
+   */
+  public CscDoubleArray toCsc() {
+    Compressed c = compress(columns, rows, columnIndices, rowIndices);
+    return new CscDoubleArray(backend, rows, columns, c.pointers, c.indices, c.values);
+  }
+
+  /**
+   * Sort the elements by {@code (outer, inner)} using two (stable) counting sorts, sum duplicates
+   * and remove zeros.
+   */
+  private Compressed compress(int outerSize, int innerSize, int[] outer, int[] inner) {
+    int[] byInner = countingSort(innerSize, inner, identity(size));
+    int[] order = countingSort(outerSize, outer, byInner);
+
+    int[] pointers = new int[outerSize + 1];
+    int[] indices = new int[size];
+    double[] data = new double[size];
+    int n = 0;
+    int k = 0;
+    for (int o = 0; o < outerSize; o++) {
+      pointers[o] = n;
+      for (; k < size && outer[order[k]] == o; k++) {
+        int e = order[k];
+        if (n > pointers[o] && indices[n - 1] == inner[e]) {
+          data[n - 1] += values[e];
+        } else {
+          indices[n] = inner[e];
+          data[n] = values[e];
+          n++;
+        }
+      }
+
+      // remove the (summed) zeros of this outer index
+      int last = pointers[o];
+      for (int p = pointers[o]; p < n; p++) {
+        if (data[p] != 0) {
+          indices[last] = indices[p];
+          data[last] = data[p];
+          last++;
+        }
+      }
+      n = last;
+    }
+    pointers[outerSize] = n;
+    return new Compressed(pointers, java.util.Arrays.copyOf(indices, n),
+        java.util.Arrays.copyOf(data, n));
+  }
+
+  private int[] countingSort(int keys, int[] key, int[] order) {
+    int[] start = new int[keys + 1];
+    for (int i = 0; i < size; i++) {
+      start[key[i] + 1]++;
+    }
+    for (int i = 0; i < keys; i++) {
+      start[i + 1] += start[i];
+    }
+    int[] sorted = new int[size];
+    for (int e : order) {
+      sorted[start[key[e]]++] = e;
+    }
+    return sorted;
+  }
+
+  private static int[] identity(int size) {
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    return order;
+  }
+
+  private static final class Compressed {
+    private final int[] pointers;
+    private final int[] indices;
+    private final double[] values;
+
+    private Compressed(int[] pointers, int[] indices, double[] values) {
+      this.pointers = pointers;
+      this.indices = indices;
+      this.values = values;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.sparse;
+
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * A sparse 2d-array in the compressed sparse row (CSR) format. The columns of the non-zero
+ * elements of row {@code i} are stored in increasing order in
+ * {@code indices[pointers[i]:pointers[i + 1]]}.
+ *
+ * <p/>
+ * Use {@link CooBuilder} or {@link SparseArrays} to construct new arrays.
+ *
+ * @author Isak Karlsson
+ */
+public final class CsrDoubleArray extends SparseDoubleArray {
+
+  CsrDoubleArray(ArrayBackend backend, int rows, int columns, int[] pointers, int[] indices,
+      double[] values) {
+    super(backend, rows, columns, pointers, indices, values);
+  }
+
+  @Override
+  public boolean isRowCompressed() {
+    return true;
+  }
+
+  /**
+   * Returns the transpose of this array in the CSC format. The transpose shares the non-zero
+   * elements of this array.
+   *
+   * @return the transpose
+   */
+  @Override
+  public CscDoubleArray sparseTranspose() {
+    return new CscDoubleArray(getArrayBackend(), columns(), rows(), pointers, indices, values);
+  }
+
+  /**
+   * Returns a copy of this array in the CSC format.
+   *
+   * @return a CSC array
+   */
+  public CscDoubleArray toCsc() {
+    CooBuilder builder = new CooBuilder(getArrayBackend(), rows(), columns(), nonZeros());
+    forEachNonZero(builder::add);
+    return builder.toCsc();
+  }
+
+  @Override
+  CsrDoubleArray sliceOuter(int from, int to) {
+    int[] slice = java.util.Arrays.copyOfRange(pointers, from, to + 1);
+    return new CsrDoubleArray(getArrayBackend(), to - from, columns(), slice, indices, values);
+  }
+}
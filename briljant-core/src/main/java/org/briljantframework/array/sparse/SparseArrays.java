@@ -0,0 +1,197 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.sparse;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.data.dataframe.DataFrame;
+import org.briljantframework.data.series.Storage;
+
+/**
+ * Utilities for constructing and multiplying sparse arrays.
+ *
+ * <pre>
+ * CsrDoubleArray x = SparseArrays.toCsr(Arrays.doubleMatrix(new double[][] {
+ *     {0, 2, 0},
+ *     {1, 0, 0}}));
+ * DoubleArray y = Arrays.dot(x, Arrays.ones(3, 2)); // only visits the non-zero elements
+ * </pre>
+ *
+ * @author Isak Karlsson
+ * @see SparseDoubleArray
+ */
+public final class SparseArrays {
+
+  private SparseArrays() {}
+
+  /**
+   * Returns a new array in the compressed sparse row format from the given (non-copied) arrays.
+   * The columns of the non-zero elements of row {@code i} are
+   * {@code indices[pointers[i]:pointers[i + 1]]} (in increasing order).
+   *
+   * @param rows the number of rows
+   * @param columns the number of columns
+   * @param pointers the start of each row (of length {@code rows + 1})
+   * @param indices the column indices of the non-zero elements
+   * @param values the non-zero elements
+   * @return a new CSR array
+   */
+  public static CsrDoubleArray csr(int rows, int columns, int[] pointers, int[] indices,
+      double[] values) {
+    checkCompressed(rows, columns, pointers, indices, values);
+    return new CsrDoubleArray(Arrays.getArrayBackend(), rows, columns, pointers, indices, values);
+  }
+
+  /**
+   * Returns a new array in the compressed sparse column format from the given (non-copied) arrays.
+   * The rows of the non-zero elements of column {@code j} are
+   * {@code indices[pointers[j]:pointers[j + 1]]} (in increasing order).
+   *
+   * @param rows the number of rows
+   * @param columns the number of columns
+   * @param pointers the start of each column (of length {@code columns + 1})
+   * @param indices the row indices of the non-zero elements
+   * @param values the non-zero elements
+   * @return a new CSC array
+   */
+  public static CscDoubleArray csc(int rows, int columns, int[] pointers, int[] indices,
+      double[] values) {
+    checkCompressed(columns, rows, pointers, indices, values);
+    return new CscDoubleArray(Arrays.getArrayBackend(), rows, columns, pointers, indices, values);
+  }
+
+  private static void checkCompressed(int outer, int inner, int[] pointers, int[] indices,
+      double[] values) {
+    Check.argument(outer >= 0 && inner >= 0, "illegal shape");
+    Check.argument(pointers.length == outer + 1, "expected %s pointers (got %s)", outer + 1,
+        pointers.length);
+    Check.argument(indices.length == values.length, "indices and values differ in length");
+    Check.argument(pointers[0] == 0 && pointers[outer] <= indices.length, "illegal pointers");
+    for (int o = 0; o < outer; o++) {
+      Check.argument(pointers[o] <= pointers[o + 1], "pointers must be non-decreasing");
+      for (int p = pointers[o]; p < pointers[o + 1]; p++) {
+        Check.argument(indices[p] >= 0 && indices[p] < inner, "index out of bounds: %s",
+            indices[p]);
+        Check.argument(p == pointers[o] || indices[p - 1] < indices[p],
+            "indices must be increasing");
+      }
+    }
+  }
+
+  /**
+   * Returns the non-zero elements of the given 2d-array in the compressed sparse row format.
+   *
+   * @param x the array
+   * @return a new CSR array
+   */
+  public static CsrDoubleArray toCsr(DoubleArray x) {
+    return toCoo(x).toCsr();
+  }
+
+  /**
+   * Returns the non-zero elements of the given 2d-array in the compressed sparse column format.
+   *
+   * @param x the array
+   * @return a new CSC array
+   */
+  public static CscDoubleArray toCsc(DoubleArray x) {
+    return toCoo(x).toCsc();
+  }
+
+  private static CooBuilder toCoo(DoubleArray x) {
+    Check.argument(x.isMatrix(), "require 2d-array");
+    CooBuilder builder = new CooBuilder(x.rows(), x.columns());
+    for (int j = 0; j < x.columns(); j++) {
+      for (int i = 0; i < x.rows(); i++) {
+        double v = x.get(i, j);
+        if (v != 0) {
+          builder.add(i, j, v);
+        }
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Returns the data frame as a sparse array in the compressed sparse column format. Missing
+   * values (and zeros) are not stored, which makes the conversion suitable for data frames with
+   * mostly {@code NA} columns (e.g., one-hot encoded or very sparse features).
+   *
+   * @param df the data frame
+   * @return a new CSC array
+   */
+  public static CscDoubleArray toCsc(DataFrame df) {
+    int rows = df.rows();
+    int columns = df.columns();
+    CooBuilder builder = new CooBuilder(Arrays.getArrayBackend(), rows, columns, columns);
+    for (int j = 0; j < columns; j++) {
+      Storage storage = df.loc().get(j).values();
+      for (int i = 0; i < rows; i++) {
+        if (!storage.isNA(i)) {
+          double v = storage.getDouble(i);
+          if (v != 0) {
+            builder.add(i, j, v);
+          }
+        }
+      }
+    }
+    return builder.toCsc();
+  }
+
+  /**
+   * Computes {@code y := alpha * op(a) * x + beta * y} for a sparse array {@code a}. The
+   * dimensions are assumed to be validated.
+   *
+   * @see org.briljantframework.array.api.ArrayRoutines#gemv(ArrayOperation, double, DoubleArray,
+   *      DoubleArray, double, DoubleArray)
+   */
+  public static void gemv(ArrayOperation transA, double alpha, SparseDoubleArray a, DoubleArray x,
+      double beta, DoubleArray y) {
+    SparseGemm.gemv(transA.isTranspose(), alpha, a, x, beta, y);
+  }
+
+  /**
+   * Computes {@code c := alpha * op(a) * op(b) + beta * c} where {@code a} or {@code b} (or both)
+   * are sparse. If both are sparse, {@code b} is multiplied as a dense array. The dimensions are
+   * assumed to be validated.
+   *
+   * @see org.briljantframework.array.api.ArrayRoutines#gemm(ArrayOperation, ArrayOperation,
+   *      double, DoubleArray, DoubleArray, double, DoubleArray)
+   */
+  public static void gemm(ArrayOperation transA, ArrayOperation transB, double alpha,
+      DoubleArray a, DoubleArray b, double beta, DoubleArray c) {
+    boolean ta = transA.isTranspose();
+    boolean tb = transB.isTranspose();
+    int m = a.size(ta ? 1 : 0);
+    int k = a.size(ta ? 0 : 1);
+    int n = b.size(tb ? 0 : 1);
+    if (a instanceof SparseDoubleArray) {
+      DoubleArray db = b instanceof SparseDoubleArray ? ((SparseDoubleArray) b).toDense() : b;
+      SparseGemm.gemm(ta, tb, alpha, (SparseDoubleArray) a, db, beta, c, m, n, k);
+    } else if (b instanceof SparseDoubleArray) {
+      SparseGemm.gemm(ta, tb, alpha, a, (SparseDoubleArray) b, beta, c, m, n, k);
+    } else {
+      throw new IllegalArgumentException("neither 'a' nor 'b' is sparse");
+    }
+  }
+}
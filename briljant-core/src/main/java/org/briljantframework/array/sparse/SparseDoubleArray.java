@@ -0,0 +1,227 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.sparse;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.AbstractDoubleArray;
+import org.briljantframework.array.AsDoubleArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.api.ArrayBackend;
+
+/**
+ * A sparse (read-only) 2d-array of doubles in a compressed format. Only the non-zero elements are
+ * stored. For each <i>outer</i> index (the rows of a {@link CsrDoubleArray} or the columns of a
+ * {@link CscDoubleArray}) the <i>inner</i> indices (and values) of its non-zero elements are
+ * stored in increasing order in {@code indices} (and {@code values}) between
+ * {@code pointers[outer]} and {@code pointers[outer + 1]}.
+ *
+ * <p/>
+ * Sparse arrays implement the (read) interface of {@link DoubleArray}, e.g., {@code get(i, j)}
+ * returns the element at {@code (i, j)} (using a binary search among the non-zero elements of the
+ * row or column). Since a sparse array is read-only, setting an element throws
+ * {@link UnsupportedOperationException} and operations creating new arrays (e.g.,
+ * {@link #copy()} or {@link #map(java.util.function.DoubleUnaryOperator)}) return dense arrays.
+ *
+ * <p/>
+ * The views returned by {@link #transpose()} and by {@link #getRow(int)} and
+ * {@link #getView(int, int, int, int) row ranges} of a CSR array (or {@link #getColumn(int)} and
+ * column ranges of a CSC array) are sparse arrays sharing the non-zero elements of this array.
+ * Other views are read through the elements of this array.
+ *
+ * <p/>
+ * The matrix multiplication ({@code gemm}, {@code gemv} and {@code dot} in
+ * {@link org.briljantframework.array.Arrays}) of sparse and dense arrays only visits the non-zero
+ * elements.
+ *
+ * @author Isak Karlsson
+ * @see SparseArrays
+ */
+public abstract class SparseDoubleArray extends AbstractDoubleArray {
+
+  final int[] pointers;
+  final int[] indices;
+  final double[] values;
+
+  SparseDoubleArray(ArrayBackend backend, int rows, int columns, int[] pointers, int[] indices,
+      double[] values) {
+    super(backend, new int[] {rows, columns});
+    Check.argument((long) rows * columns <= Integer.MAX_VALUE, "too many elements: %s x %s", rows,
+        columns);
+    this.pointers = pointers;
+    this.indices = indices;
+    this.values = values;
+  }
+
+  /**
+   * A consumer of the non-zero elements of a sparse array.
+   */
+  @FunctionalInterface
+  public interface NonZeroConsumer {
+
+    /**
+     * Accept a non-zero element.
+     *
+     * @param row the row
+     * @param column the column
+     * @param value the value
+     */
+    void accept(int row, int column, double value);
+  }
+
+  /**
+   * Returns true if the non-zero elements are compressed by row (i.e., the array is a
+   * {@link CsrDoubleArray}).
+   *
+   * @return true if compressed by row
+   */
+  public abstract boolean isRowCompressed();
+
+  /**
+   * Returns the sparse transpose of this array. The transpose shares the non-zero elements of this
+   * array, i.e., the transpose of a CSR array is a CSC array (and vice versa).
+   *
+   * @return the transpose
+   */
+  public abstract SparseDoubleArray sparseTranspose();
+
+  /**
+   * Returns the number of stored (non-zero) elements.
+   *
+   * @return the number of non-zero elements
+   */
+  public final int nonZeros() {
+    return pointers[pointers.length - 1] - pointers[0];
+  }
+
+  /**
+   * Returns the fraction of non-zero elements.
+   *
+   * @return the density of this array
+   */
+  public final double density() {
+    return size() == 0 ? 0 : (double) nonZeros() / size();
+  }
+
+  /**
+   * Apply the consumer to each non-zero element in the compressed order, i.e., row by row for a
+   * CSR array and column by column for a CSC array.
+   *
+   * @param consumer the consumer
+   */
+  public final void forEachNonZero(NonZeroConsumer consumer) {
+    boolean byRow = isRowCompressed();
+    for (int o = 0; o < pointers.length - 1; o++) {
+      for (int p = pointers[o]; p < pointers[o + 1]; p++) {
+        if (byRow) {
+          consumer.accept(o, indices[p], values[p]);
+        } else {
+          consumer.accept(indices[p], o, values[p]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a dense copy of this array.
+   *
+   * @return a dense array
+   */
+  public final DoubleArray toDense() {
+    DoubleArray dense = newEmptyArray(getShape());
+    forEachNonZero(dense::set);
+    return dense;
+  }
+
+  /**
+   * Returns the number of outer indices (rows or columns).
+   */
+  final int outerSize() {
+    return pointers.length - 1;
+  }
+
+  /**
+   * Returns a sparse array of the outer indices {@code [from, to)}. The array shares the inner
+   * indices and values of this array.
+   */
+  abstract SparseDoubleArray sliceOuter(int from, int to);
+
+  @Override
+  protected double getElement(int i) {
+    int m = rows();
+    int row = i % m;
+    int column = i / m;
+    int outer = isRowCompressed() ? row : column;
+    int inner = isRowCompressed() ? column : row;
+    int index = java.util.Arrays.binarySearch(indices, pointers[outer], pointers[outer + 1], inner);
+    return index < 0 ? 0 : values[index];
+  }
+
+  @Override
+  protected void setElement(int i, double value) {
+    throw new UnsupportedOperationException("sparse arrays are read-only");
+  }
+
+  @Override
+  protected int elementSize() {
+    return size();
+  }
+
+  @Override
+  public DoubleArray asView(int offset, int[] shape, int[] stride) {
+    int m = rows();
+    int n = columns();
+    if (shape.length == 2 && stride[0] == 1 && stride[1] == m) {
+      if (offset == 0 && shape[0] == m && shape[1] == n) {
+        return this;
+      }
+      // a range of complete rows (or columns) of a CSR (or CSC) array
+      if (isRowCompressed() && offset < m && shape[1] == n) {
+        return sliceOuter(offset, offset + shape[0]);
+      } else if (!isRowCompressed() && offset % m == 0 && shape[0] == m) {
+        return sliceOuter(offset / m, offset / m + shape[1]);
+      }
+    } else if (shape.length == 2 && offset == 0 && shape[0] == n && shape[1] == m
+        && stride[0] == m && stride[1] == 1) {
+      return sparseTranspose();
+    }
+    return new AsDoubleArray(getArrayBackend(), offset, shape, stride) {
+      @Override
+      protected double getElement(int i) {
+        return SparseDoubleArray.this.getElement(i);
+      }
+
+      @Override
+      protected void setElement(int i, double value) {
+        SparseDoubleArray.this.setElement(i, value);
+      }
+
+      @Override
+      protected int elementSize() {
+        return SparseDoubleArray.this.elementSize();
+      }
+    };
+  }
+
+  @Override
+  public DoubleArray newEmptyArray(int... shape) {
+    return getArrayBackend().getArrayFactory().newDoubleArray(shape);
+  }
+}
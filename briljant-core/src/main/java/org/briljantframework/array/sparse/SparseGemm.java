@@ -0,0 +1,151 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.sparse;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.briljantframework.array.DoubleArray;
+
+/**
+ * Sparse-dense matrix-vector and matrix-matrix products. The kernels only visit the stored
+ * elements of the sparse operand and accumulate each (output) column in a dense buffer.
+ *
+ * @author Isak Karlsson
+ */
+final class SparseGemm {
+
+  /**
+   * The number of multiply-adds required before the product is computed in parallel
+   */
+  private static final long PARALLEL_THRESHOLD = 1L << 18;
+
+  private SparseGemm() {}
+
+  /**
+   * Computes {@code y := alpha * op(a) * x + beta * y}. The dimensions are assumed to be validated.
+   */
+  static void gemv(boolean transA, double alpha, SparseDoubleArray a, DoubleArray x, double beta,
+      DoubleArray y) {
+    double[] xv = new double[x.size()];
+    for (int i = 0; i < xv.length; i++) {
+      xv[i] = x.get(i);
+    }
+    double[] acc = new double[y.size()];
+    multiply(a, transA, xv, acc);
+    for (int i = 0; i < acc.length; i++) {
+      y.set(i, beta == 0 ? alpha * acc[i] : alpha * acc[i] + beta * y.get(i));
+    }
+  }
+
+  /**
+   * Computes {@code c := alpha * op(a) * op(b) + beta * c}, where {@code op(a)} is sparse,
+   * {@code op(a)} is {@code m x k}, {@code op(b)} is {@code k x n} and {@code c} is {@code m x n}.
+   * The columns of {@code c} are computed in parallel if the product is large.
+   */
+  static void gemm(boolean transA, boolean transB, double alpha, SparseDoubleArray a,
+      DoubleArray b, double beta, DoubleArray c, int m, int n, int k) {
+    int parts = (long) a.nonZeros() * n < PARALLEL_THRESHOLD ? 1
+        : Math.min(n, ForkJoinPool.getCommonPoolParallelism());
+    int columns = Math.max(1, (n + parts - 1) / parts);
+    IntStream chunks = IntStream.range(0, (n + columns - 1) / columns);
+    (parts > 1 ? chunks.parallel() : chunks).forEach(chunk -> {
+      double[] bv = new double[k];
+      double[] acc = new double[m];
+      for (int j = chunk * columns, end = Math.min(n, j + columns); j < end; j++) {
+        for (int i = 0; i < k; i++) {
+          bv[i] = transB ? b.get(j, i) : b.get(i, j);
+        }
+        java.util.Arrays.fill(acc, 0);
+        multiply(a, transA, bv, acc);
+        for (int i = 0; i < m; i++) {
+          c.set(i, j, beta == 0 ? alpha * acc[i] : alpha * acc[i] + beta * c.get(i, j));
+        }
+      }
+    });
+  }
+
+  /**
+   * Computes {@code c := alpha * op(a) * op(b) + beta * c}, where {@code op(b)} is sparse,
+   * {@code op(a)} is {@code m x k}, {@code op(b)} is {@code k x n} and {@code c} is {@code m x n}.
+   */
+  static void gemm(boolean transA, boolean transB, double alpha, DoubleArray a,
+      SparseDoubleArray b, double beta, DoubleArray c, int m, int n, int k) {
+    // op(a) in column-major order
+    double[] av = new double[m * k];
+    for (int j = 0; j < k; j++) {
+      for (int i = 0; i < m; i++) {
+        av[j * m + i] = transA ? a.get(j, i) : a.get(i, j);
+      }
+    }
+
+    // c[:, column] += op(a)[:, row] * v for each element v at (row, column) of op(b)
+    double[] acc = new double[m * n];
+    boolean byRow = b.isRowCompressed() != transB;
+    int[] pointers = b.pointers;
+    for (int o = 0; o < pointers.length - 1; o++) {
+      for (int p = pointers[o]; p < pointers[o + 1]; p++) {
+        int row = byRow ? o : b.indices[p];
+        int column = byRow ? b.indices[p] : o;
+        double v = b.values[p];
+        for (int i = 0, ai = row * m, ci = column * m; i < m; i++) {
+          acc[ci + i] += av[ai + i] * v;
+        }
+      }
+    }
+
+    for (int j = 0; j < n; j++) {
+      for (int i = 0; i < m; i++) {
+        double v = acc[j * m + i];
+        c.set(i, j, beta == 0 ? alpha * v : alpha * v + beta * c.get(i, j));
+      }
+    }
+  }
+
+  /**
+   * Computes {@code acc += op(a) * x}.
+   */
+  private static void multiply(SparseDoubleArray a, boolean transA, double[] x, double[] acc) {
+    // the outer index is the row of op(a) if a is (CSR and not transposed) or (CSC and transposed)
+    boolean byRow = a.isRowCompressed() != transA;
+    int[] pointers = a.pointers;
+    int[] indices = a.indices;
+    double[] values = a.values;
+    if (byRow) {
+      for (int o = 0; o < pointers.length - 1; o++) {
+        double sum = 0;
+        for (int p = pointers[o]; p < pointers[o + 1]; p++) {
+          sum += values[p] * x[indices[p]];
+        }
+        acc[o] += sum;
+      }
+    } else {
+      for (int o = 0; o < pointers.length - 1; o++) {
+        double xo = x[o];
+        if (xo != 0) {
+          for (int p = pointers[o]; p < pointers[o + 1]; p++) {
+            acc[indices[p]] += values[p] * xo;
+          }
+        }
+      }
+    }
+  }
+}
@@ -267,9 +267,7 @@ public final class Collectors {
       if (!Is.NA(v)) {
         a.addValue(v.doubleValue());
       }
-    }, (left, right) -> {
-      throw new IllegalStateException("Can't collect statistics in parallel yet.");
-    }, FastStatistics::getSummary);
+    }, FastStatistics::combine, FastStatistics::getSummary);
   }
 
   public static <T, A, R, F> Collector<T, ?, F> withFinisher(Collector<T, A, R> collector,
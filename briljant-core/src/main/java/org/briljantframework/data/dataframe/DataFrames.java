@@ -28,6 +28,8 @@ import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
 
 import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.briljantframework.Check;
@@ -45,6 +47,7 @@ import org.briljantframework.data.series.Series;
 import org.briljantframework.data.series.SeriesUtils;
 import org.briljantframework.data.series.Storage;
 import org.briljantframework.data.series.Types;
+import org.briljantframework.data.statistics.FastStatistics;
 
 import net.mintern.primitive.comparators.IntComparator;
 
@@ -193,20 +196,54 @@ public final class DataFrames {
         .newColumn("std", Types.DOUBLE).newColumn("min", Types.DOUBLE)
         .newColumn("max", Types.DOUBLE).newColumn("mode", Types.OBJECT);
 
-    for (Object columnKey : df.getColumnIndex().keySet()) {
-      Series column = df.get(columnKey);
-      if (Is.numeric(column)) {
-        StatisticalSummary summary = column.collect(Number.class, Collectors.statisticalSummary());
+    // summarize the columns concurrently (in a single pass over the values of each column)
+    List<Object> keys = new ArrayList<>(df.getColumnIndex().keySet());
+    StatisticalSummary[] summaries = new StatisticalSummary[keys.size()];
+    Object[] modes = new Object[keys.size()];
+    IntStream.range(0, keys.size()).parallel().forEach(i -> {
+      Series column = df.get(keys.get(i));
+      FastStatistics statistics = Is.numeric(column) ? new FastStatistics() : null;
+      modes[i] = summarize(column, statistics, Collectors.mode());
+      if (statistics != null) {
+        summaries[i] = statistics.getSummary();
+      }
+    });
+
+    for (int i = 0; i < keys.size(); i++) {
+      Object columnKey = keys.get(i);
+      StatisticalSummary summary = summaries[i];
+      if (summary != null) {
         builder.set(columnKey, "mean", summary.getMean())
             .set(columnKey, "var", summary.getVariance())
             .set(columnKey, "std", summary.getStandardDeviation())
             .set(columnKey, "min", summary.getMin()).set(columnKey, "max", summary.getMax());
       }
-      builder.set(columnKey, "mode", column.collect(Collectors.mode()));
+      builder.set(columnKey, "mode", modes[i]);
     }
     return builder.build();
   }
 
+  /**
+   * Collect the mode of {@code column} and, if {@code statistics} is not {@code null}, add the
+   * (non-NA) values of the column to {@code statistics} in a single pass over the values.
+   */
+  private static <C> Object summarize(Series column, FastStatistics statistics,
+      Collector<Object, C, Object> mode) {
+    Storage values = column.values();
+    Class<?> cls = column.getType().getDataClass();
+    C counts = mode.supplier().get();
+    for (int i = 0, size = column.size(); i < size; i++) {
+      mode.accumulator().accept(counts, values.get(cls, i));
+      if (statistics != null) {
+        double v = values.getDouble(i);
+        if (!Is.NA(v)) {
+          statistics.addValue(v);
+        }
+      }
+    }
+    return mode.finisher().apply(counts);
+  }
+
   public static Series sum(DataFrame df) {
     return df.reduce(SeriesUtils::sum);
   }
@@ -578,6 +578,46 @@ public interface Series extends Iterable<Object> {
     return collect(Double.class, Collectors.sum());
   }
 
+  /**
+   * Returns the cumulative sum of the values in this series. {@code NA} values are ignored.
+   *
+   * @return a series of cumulative sums
+   * @see SeriesUtils#cumsum(Series)
+   */
+  default Series cumsum() {
+    return SeriesUtils.cumsum(this);
+  }
+
+  /**
+   * Returns the cumulative product of the values in this series. {@code NA} values are ignored.
+   *
+   * @return a series of cumulative products
+   * @see SeriesUtils#cumprod(Series)
+   */
+  default Series cumprod() {
+    return SeriesUtils.cumprod(this);
+  }
+
+  /**
+   * Returns the cumulative minimum of the values in this series. {@code NA} values are ignored.
+   *
+   * @return a series of cumulative minimums
+   * @see SeriesUtils#cummin(Series)
+   */
+  default Series cummin() {
+    return SeriesUtils.cummin(this);
+  }
+
+  /**
+   * Returns the cumulative maximum of the values in this series. {@code NA} values are ignored.
+   *
+   * @return a series of cumulative maximums
+   * @see SeriesUtils#cummax(Series)
+   */
+  default Series cummax() {
+    return SeriesUtils.cummax(this);
+  }
+
   /**
    * Performs a mutable aggregation of the values in this series, similar to
    * {@linkplain Stream#collect(java.util.stream.Collector)}. A mutable aggregation performs its
@@ -23,12 +23,14 @@ package org.briljantframework.data.series;
 import java.util.*;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.distribution.RealDistribution;
 import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.briljantframework.Check;
 import org.briljantframework.array.Array;
+import org.briljantframework.array.Arrays;
 import org.briljantframework.array.ComplexArray;
 import org.briljantframework.array.DoubleArray;
 import org.briljantframework.array.IntArray;
@@ -37,7 +39,9 @@ import org.briljantframework.data.Na;
 import org.briljantframework.data.index.Index;
 import org.briljantframework.data.index.RangeIndex;
 import org.briljantframework.data.statistics.FastStatistics;
-import org.briljantframework.util.sort.QuickSort;
+import org.briljantframework.util.sort.ArgSort;
+
+import net.mintern.primitive.Primitive;
 
 /**
  * Utilities for handling series.
@@ -448,6 +452,75 @@ public final class SeriesUtils {
     return nonNas > 0 ? sum : Na.of(Double.class);
   }
 
+  /**
+   * Computes the cumulative sum of {@code series}. Ignores {@code NA} values, i.e.,
+   * {@code NA} values remain {@code NA} and do not contribute to the following values.
+   *
+   * @param series the series
+   * @return a double series of cumulative sums with the index of {@code series}
+   * @see Arrays#cumsum(DoubleArray)
+   */
+  public static Series cumsum(Series series) {
+    return cumulative(series, 0, Arrays::cumsum);
+  }
+
+  /**
+   * Computes the cumulative product of {@code series}. Ignores {@code NA} values, i.e.,
+   * {@code NA} values remain {@code NA} and do not contribute to the following values.
+   *
+   * @param series the series
+   * @return a double series of cumulative products with the index of {@code series}
+   * @see Arrays#cumprod(DoubleArray)
+   */
+  public static Series cumprod(Series series) {
+    return cumulative(series, 1, Arrays::cumprod);
+  }
+
+  /**
+   * Computes the cumulative minimum of {@code series}. Ignores {@code NA} values, i.e.,
+   * {@code NA} values remain {@code NA} and do not contribute to the following values.
+   *
+   * @param series the series
+   * @return a double series of cumulative minimums with the index of {@code series}
+   * @see Arrays#cummin(DoubleArray)
+   */
+  public static Series cummin(Series series) {
+    return cumulative(series, Double.POSITIVE_INFINITY, Arrays::cummin);
+  }
+
+  /**
+   * Computes the cumulative maximum of {@code series}. Ignores {@code NA} values, i.e.,
+   * {@code NA} values remain {@code NA} and do not contribute to the following values.
+   *
+   * @param series the series
+   * @return a double series of cumulative maximums with the index of {@code series}
+   * @see Arrays#cummax(DoubleArray)
+   */
+  public static Series cummax(Series series) {
+    return cumulative(series, Double.NEGATIVE_INFINITY, Arrays::cummax);
+  }
+
+  /**
+   * Scans the values of {@code series}, with {@code NA} replaced by the identity of the scan, and
+   * restores the {@code NA} values.
+   */
+  private static Series cumulative(Series series, double identity,
+      UnaryOperator<DoubleArray> scan) {
+    Storage values = series.values();
+    int size = series.size();
+    DoubleArray array = DoubleArray.zeros(size);
+    for (int i = 0; i < size; i++) {
+      double v = values.getDouble(i);
+      array.set(i, Is.NA(v) ? identity : v);
+    }
+    DoubleArray scanned = scan.apply(array);
+    double[] cumulative = new double[size];
+    for (int i = 0; i < size; i++) {
+      cumulative[i] = values.isNA(i) ? Na.DOUBLE : scanned.get(i);
+    }
+    return DoubleSeries.of(cumulative).reindex(series.index());
+  }
+
   public static <T extends Number> double sum(Class<T> cls, Series series) {
     return toList(cls, series).stream().filter(x -> !Is.NA(x)).mapToDouble(Number::doubleValue)
         .sum();
@@ -561,8 +634,12 @@ public final class SeriesUtils {
    * @return the indexes of {@code series} sorted in increasing order by value
    */
   public static int[] indexSort(Series series) {
-    return indexSort(series,
-        (o1, o2) -> Double.compare(series.values().getDouble(o1), series.values().getDouble(o2)));
+    Storage storage = series.values();
+    double[] values = new double[series.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = storage.getDouble(i);
+    }
+    return ArgSort.argsort(values, true, true);
   }
 
   /**
@@ -575,12 +652,7 @@ public final class SeriesUtils {
     for (int i = 0; i < indicies.length; i++) {
       indicies[i] = i;
     }
-    QuickSort.quickSort(0, indicies.length, (a, b) -> comparator.compare(indicies[a], indicies[b]),
-        (a, b) -> {
-          int tmp = indicies[a];
-          indicies[a] = indicies[b];
-          indicies[b] = tmp;
-        });
+    Primitive.sort(indicies, comparator::compare, true);
     return indicies;
   }
 
@@ -20,34 +20,101 @@
  */
 package org.briljantframework.data.statistics;
 
+import java.util.stream.IntStream;
+
 import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
 import org.briljantframework.DoubleVector;
 
 /**
- * A fast implementation of the {@link StatisticalSummary} interface.
+ * A fast implementation of the {@link StatisticalSummary} interface. The mean and variance are
+ * updated using Welford's algorithm and partial statistics (e.g., of the chunks of an array or the
+ * columns of a data frame computed in parallel) can be {@linkplain #combine(FastStatistics)
+ * combined} using the pairwise update of Chan et al.
+ *
+ * <pre>
+ * FastStatistics stats = DoubleStream.of(values).parallel()
+ *     .collect(FastStatistics::new, FastStatistics::addValue, FastStatistics::combine);
+ * </pre>
  *
  * @author Isak Karlsson
  */
 public class FastStatistics implements StatisticalSummary {
 
-  private int n = 0;
+  /**
+   * The number of values required before {@link #addAll(DoubleVector)} and
+   * {@link #addAll(double[])} summarize chunks of the values in parallel
+   */
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  /**
+   * The number of values in each chunk summarized in parallel
+   */
+  private static final int CHUNK_SIZE = 1 << 14;
+
+  private long n = 0;
   private double sum = 0;
   private double om, nm, os, ns;
   private double min = Double.NEGATIVE_INFINITY, max = Double.POSITIVE_INFINITY;
 
+  /**
+   * Add all values. Large arrays are summarized in parallel.
+   *
+   * @param arr the values
+   */
   public void addAll(double[] arr) {
-    for (double v : arr) {
-      addValue(v);
+    if (arr.length >= PARALLEL_THRESHOLD) {
+      combine(summarize(arr.length, (from, to) -> {
+        FastStatistics chunk = new FastStatistics();
+        for (int i = from; i < to; i++) {
+          chunk.addValue(arr[i]);
+        }
+        return chunk;
+      }));
+    } else {
+      for (double v : arr) {
+        addValue(v);
+      }
     }
   }
 
+  /**
+   * Add all values. Large vectors (e.g., {@linkplain org.briljantframework.array.DoubleArray
+   * arrays}) are summarized in parallel.
+   *
+   * @param arr the values
+   */
   public void addAll(DoubleVector arr) {
-    for (int i = 0; i < arr.size(); i++) {
-      addValue(arr.getDouble(i));
+    if (arr.size() >= PARALLEL_THRESHOLD) {
+      combine(summarize(arr.size(), (from, to) -> {
+        FastStatistics chunk = new FastStatistics();
+        for (int i = from; i < to; i++) {
+          chunk.addValue(arr.getDouble(i));
+        }
+        return chunk;
+      }));
+    } else {
+      for (int i = 0; i < arr.size(); i++) {
+        addValue(arr.getDouble(i));
+      }
     }
   }
 
+  @FunctionalInterface
+  private interface Chunk {
+    FastStatistics summarize(int from, int to);
+  }
+
+  /**
+   * Summarize the chunks of {@code size} values in parallel and combine the results
+   */
+  private static FastStatistics summarize(int size, Chunk chunk) {
+    int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    return IntStream.range(0, chunks).parallel()
+        .mapToObj(c -> chunk.summarize(c * CHUNK_SIZE, Math.min(size, (c + 1) * CHUNK_SIZE)))
+        .reduce(FastStatistics::combine).orElseGet(FastStatistics::new);
+  }
+
   public void addValue(double x) {
     n += 1;
     if (n == 1) {
@@ -71,6 +138,44 @@ public class FastStatistics implements StatisticalSummary {
     }
   }
 
+  /**
+   * Combine the given statistics with these, i.e., these statistics summarize the values added to
+   * both (the given statistics are unchanged). The mean and variance are combined using the
+   * pairwise update of Chan et al.
+   *
+   * @param other the statistics to combine with
+   * @return these statistics
+   */
+  public FastStatistics combine(FastStatistics other) {
+    if (other.n == 0) {
+      return this;
+    } else if (n == 0) {
+      n = other.n;
+      sum = other.sum;
+      om = nm = other.nm;
+      os = ns = other.ns;
+      min = other.min;
+      max = other.max;
+      return this;
+    }
+
+    long total = n + other.n;
+    double delta = other.nm - nm;
+    nm = nm + delta * other.n / total;
+    ns = ns + other.ns + delta * delta * ((double) n * other.n / total);
+    om = nm;
+    os = ns;
+    n = total;
+    sum += other.sum;
+    if (other.min < min) {
+      min = other.min;
+    }
+    if (other.max > max) {
+      max = other.max;
+    }
+    return this;
+  }
+
   public StatisticalSummary getSummary() {
     return new StatisticalSummaryValues(getMean(), getVariance(), getN(), getMax(), getMin(),
         getSum());
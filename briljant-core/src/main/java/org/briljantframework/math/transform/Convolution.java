@@ -0,0 +1,261 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.math.transform;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.api.ForkJoinTasks;
+
+/**
+ * Convolution and (cross- and auto-) correlation of vectors.
+ *
+ * <p/>
+ * Short vectors are convolved directly, i.e., in {@code O(n * m)} time. Otherwise, the vectors are
+ * convolved as the product of their (real) {@linkplain FftPlan transforms}, in
+ * {@code O((n + m) log(n + m))} time. If one of the vectors is much longer than the other, the
+ * convolution is computed using the {@linkplain OverlapAdd overlap-add} method. The modes follow
+ * the conventions of, e.g., NumPy. Large direct convolutions (and the transforms) are computed in
+ * parallel by the pool of the calling thread, which is the
+ * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool} unless the convolution
+ * is computed by a task of another fork/join pool.
+ *
+ * <pre>
+ * DoubleArray smooth = Convolution.convolve(x, DoubleArray.of(1, 2, 1), ConvolutionMode.SAME);
+ * DoubleArray acf = Convolution.autocorrelate(x); // the (unnormalized) autocorrelation of x
+ * </pre>
+ *
+ * @author Isak Karlsson
+ */
+public final class Convolution {
+
+  /**
+   * Vectors with at most this many elements are always convolved directly
+   */
+  private static final int DIRECT_THRESHOLD = 64;
+
+  /**
+   * The relative cost of a transform compared to a multiply-add
+   */
+  private static final int TRANSFORM_COST = 4;
+
+  /**
+   * The amount of work required before the direct convolution is computed in parallel
+   */
+  private static final long PARALLEL_THRESHOLD = 1L << 20;
+
+  private Convolution() {}
+
+  /**
+   * Returns the full convolution of {@code a} and {@code v}.
+   *
+   * @param a the first vector
+   * @param v the second vector
+   * @return the convolution
+   * @see #convolve(DoubleArray, DoubleArray, ConvolutionMode)
+   */
+  public static DoubleArray convolve(DoubleArray a, DoubleArray v) {
+    return convolve(a, v, ConvolutionMode.FULL);
+  }
+
+  /**
+   * Returns the convolution of {@code a} and {@code v}, i.e., the full convolution is
+   * {@code c[k] = sum(a[j] * v[k - j])}.
+   *
+   * @param a the first vector
+   * @param v the second vector
+   * @param mode the part of the convolution returned
+   * @return the convolution
+   */
+  public static DoubleArray convolve(DoubleArray a, DoubleArray v, ConvolutionMode mode) {
+    return DoubleArray.of(convolve(toArray(a), toArray(v), mode));
+  }
+
+  /**
+   * Returns the valid cross-correlation of {@code a} and {@code v}.
+   *
+   * @param a the first vector
+   * @param v the second vector
+   * @return the cross-correlation
+   * @see #correlate(DoubleArray, DoubleArray, ConvolutionMode)
+   */
+  public static DoubleArray correlate(DoubleArray a, DoubleArray v) {
+    return correlate(a, v, ConvolutionMode.VALID);
+  }
+
+  /**
+   * Returns the cross-correlation of {@code a} and {@code v}, i.e., the convolution of {@code a}
+   * and the reverse of {@code v}. The {@code k}:th value of the full cross-correlation is
+   * {@code sum(a[j + l] * v[j])} for the lag {@code l = k - (v.size() - 1)}.
+   *
+   * @param a the first vector
+   * @param v the second vector
+   * @param mode the part of the cross-correlation returned
+   * @return the cross-correlation
+   */
+  public static DoubleArray correlate(DoubleArray a, DoubleArray v, ConvolutionMode mode) {
+    return DoubleArray.of(convolve(toArray(a), reverse(toArray(v)), mode));
+  }
+
+  /**
+   * Returns the autocorrelation of {@code x} for the lags {@code 0, ..., x.size() - 1}, i.e.,
+   * {@code r[l] = sum(x[j] * x[j + l])}. The autocorrelation is neither centered nor normalized;
+   * to get the autocorrelation function, subtract the mean of {@code x} and divide by
+   * {@code r[0]}.
+   *
+   * @param x the vector
+   * @return the autocorrelation
+   */
+  public static DoubleArray autocorrelate(DoubleArray x) {
+    double[] values = toArray(x);
+    int n = values.length;
+    Check.argument(n > 0, "Empty array");
+    int size = nextPowerOfTwo(2 * n - 1);
+    if (isDirect(n, n, size)) {
+      return DoubleArray.of(direct(values, reverse(values), n - 1, n));
+    }
+
+    // the autocorrelation is the inverse transform of the power spectrum
+    FftPlan plan = FftPlan.of(size);
+    double[] real = Arrays.copyOf(values, size);
+    double[] half = new double[2 * (size / 2 + 1)];
+    plan.realForward(real, 0, half, 0);
+    for (int k = 0; k < half.length; k += 2) {
+      half[k] = half[k] * half[k] + half[k + 1] * half[k + 1];
+      half[k + 1] = 0;
+    }
+    plan.realInverse(half, 0, real, 0);
+    return DoubleArray.of(Arrays.copyOf(real, n));
+  }
+
+  /**
+   * Returns the autocorrelation of {@code x}, i.e., the cross-correlation of {@code x} with
+   * itself.
+   *
+   * @param x the vector
+   * @param mode the part of the autocorrelation returned
+   * @return the autocorrelation
+   * @see #correlate(DoubleArray, DoubleArray, ConvolutionMode)
+   */
+  public static DoubleArray autocorrelate(DoubleArray x, ConvolutionMode mode) {
+    return correlate(x, x, mode);
+  }
+
+  static double[] convolve(double[] a, double[] v, ConvolutionMode mode) {
+    int n = a.length;
+    int m = v.length;
+    Check.argument(n > 0 && m > 0, "Empty array");
+    int offset = mode.offset(n, m);
+    int length = mode.size(n, m);
+    int size = nextPowerOfTwo(n + m - 1);
+    if (isDirect(n, m, size)) {
+      return direct(a, v, offset, length);
+    }
+
+    double[] full;
+    if (Math.max(n, m) > 8 * Math.min(n, m)) {
+      full = n > m ? new OverlapAdd(v, nextPowerOfTwo(4 * m)).convolve(a)
+          : new OverlapAdd(a, nextPowerOfTwo(4 * n)).convolve(v);
+    } else {
+      FftPlan plan = FftPlan.of(size);
+      double[] real = new double[size];
+      double[] ha = new double[2 * (size / 2 + 1)];
+      double[] hv = new double[ha.length];
+      System.arraycopy(a, 0, real, 0, n);
+      plan.realForward(real, 0, ha, 0);
+      Arrays.fill(real, 0);
+      System.arraycopy(v, 0, real, 0, m);
+      plan.realForward(real, 0, hv, 0);
+      multiply(ha, hv);
+      plan.realInverse(ha, 0, real, 0);
+      full = real;
+    }
+    return Arrays.copyOfRange(full, offset, offset + length);
+  }
+
+  /**
+   * Computes the values {@code [offset, offset + length)} of the full convolution directly
+   */
+  private static double[] direct(double[] a, double[] v, int offset, int length) {
+    int n = a.length;
+    int m = v.length;
+    double[] out = new double[length];
+    IntStream range = IntStream.range(0, (length + 1023) / 1024);
+    boolean parallel = (long) length * Math.min(n, m) >= PARALLEL_THRESHOLD
+        && ForkJoinTasks.parallelism() > 1;
+    (parallel ? range.parallel() : range).forEach(chunk -> {
+      for (int i = chunk * 1024, to = Math.min(length, i + 1024); i < to; i++) {
+        int k = offset + i;
+        double sum = 0;
+        for (int j = Math.max(0, k - m + 1), end = Math.min(k, n - 1); j <= end; j++) {
+          sum += a[j] * v[k - j];
+        }
+        out[i] = sum;
+      }
+    });
+    return out;
+  }
+
+  /**
+   * Returns true if the convolution of vectors of size {@code n} and {@code m} is cheaper to
+   * compute directly than using transforms of the given size
+   */
+  private static boolean isDirect(int n, int m, int size) {
+    long transform = (long) TRANSFORM_COST * size * Integer.numberOfTrailingZeros(size);
+    return Math.min(n, m) <= DIRECT_THRESHOLD || (long) n * m <= transform;
+  }
+
+  /**
+   * Multiplies the interleaved complex values of {@code a} with those of {@code b}, in-place
+   */
+  static void multiply(double[] a, double[] b) {
+    for (int k = 0; k < a.length; k += 2) {
+      double re = a[k] * b[k] - a[k + 1] * b[k + 1];
+      double im = a[k] * b[k + 1] + a[k + 1] * b[k];
+      a[k] = re;
+      a[k + 1] = im;
+    }
+  }
+
+  static int nextPowerOfTwo(int n) {
+    Check.argument(n > 0 && n <= 1 << 30, "Illegal size: %s", n);
+    return n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  static double[] toArray(DoubleArray x) {
+    Check.argument(x.isVector(), "1d-array required");
+    double[] values = new double[x.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = x.get(i);
+    }
+    return values;
+  }
+
+  private static double[] reverse(double[] x) {
+    double[] reverse = new double[x.length];
+    for (int i = 0; i < x.length; i++) {
+      reverse[i] = x[x.length - 1 - i];
+    }
+    return reverse;
+  }
+}
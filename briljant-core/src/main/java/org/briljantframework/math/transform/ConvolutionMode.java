@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.math.transform;
+
+/**
+ * The part of a convolution (or correlation) of two vectors of sizes {@code n} and {@code m} that
+ * is returned.
+ *
+ * @author Isak Karlsson
+ * @see Convolution
+ */
+public enum ConvolutionMode {
+
+  /**
+   * The full convolution, of size {@code n + m - 1}
+   */
+  FULL,
+
+  /**
+   * The central part of the full convolution, of size {@code max(n, m)}
+   */
+  SAME,
+
+  /**
+   * The part of the full convolution computed without zero-padding, of size
+   * {@code max(n, m) - min(n, m) + 1}
+   */
+  VALID;
+
+  /**
+   * Returns the size of the convolution of vectors of size {@code n} and {@code m}
+   *
+   * @param n the size of the first vector
+   * @param m the size of the second vector
+   * @return the size of the convolution
+   */
+  public int size(int n, int m) {
+    switch (this) {
+      case SAME:
+        return Math.max(n, m);
+      case VALID:
+        return Math.max(n, m) - Math.min(n, m) + 1;
+      default:
+        return n + m - 1;
+    }
+  }
+
+  /**
+   * Returns the index of the first element of the full convolution of vectors of size {@code n}
+   * and {@code m} that is part of the convolution.
+   *
+   * @param n the size of the first vector
+   * @param m the size of the second vector
+   * @return the offset in the full convolution
+   */
+  public int offset(int n, int m) {
+    switch (this) {
+      case SAME:
+        return (Math.min(n, m) - 1) / 2;
+      case VALID:
+        return Math.min(n, m) - 1;
+      default:
+        return 0;
+    }
+  }
+}
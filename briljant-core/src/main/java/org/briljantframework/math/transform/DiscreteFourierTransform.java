@@ -20,176 +20,285 @@
  */
 package org.briljantframework.math.transform;
 
-import org.apache.commons.math3.complex.Complex;
+import java.util.stream.IntStream;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.BaseArray;
 import org.briljantframework.array.ComplexArray;
 import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.api.ForkJoinTasks;
 
 /**
  * Computes the discrete fourier transform.
- * 
+ *
+ * <p/>
+ * The transforms are computed using the cached {@linkplain FftPlan plans} on interleaved
+ * {@code double[]} copies of the arrays. The transforms of real arrays exploit the Hermitian
+ * symmetry of the result, and {@link #rfft(DoubleArray)} only returns the {@code n / 2 + 1}
+ * non-redundant values. The transforms along a dimension transform each vector along the
+ * dimension, in parallel (in the fork/join pool of the calling thread, by default the common pool)
+ * if there are many vectors.
+ *
  * @author Isak Karlsson
  */
 public final class DiscreteFourierTransform {
 
-  private DiscreteFourierTransform() {}
+  /**
+   * The number of elements required before the vectors are transformed in parallel
+   */
+  private static final int PARALLEL_THRESHOLD = 1 << 14;
 
-  private static void fftInplace(ComplexArray a) {
-    int n = a.size();
-    if ((n & (n - 1)) == 0) { // n is a power of 2?
-      transformRadix2(a);
-    } else {
-      transformBluestein(a);
-    }
-  }
+  private DiscreteFourierTransform() {}
 
+  /**
+   * Computes the discrete fourier transform of the values of {@code a} (in linear order).
+   *
+   * @param a the array
+   * @return the transform
+   */
   public static ComplexArray fft(ComplexArray a) {
     ComplexArray copy = a.copy();
-    fftInplace(copy);
+    double[] data = new double[2 * a.size()];
+    if (data.length > 0) {
+      transform(FftPlan.of(a.size()), copy, data, false);
+    }
     return copy;
   }
 
+  /**
+   * Computes the discrete fourier transform of the real values of {@code a} (in linear order).
+   *
+   * @param a the array
+   * @return the transform
+   * @see #rfft(DoubleArray)
+   */
   public static ComplexArray fft(DoubleArray a) {
-    return fft(a.complexArray());
+    int n = a.size();
+    ComplexArray transform = ComplexArray.zeros(a.getShape());
+    if (n > 0) {
+      double[] half = realForward(FftPlan.of(n), a, new double[n], new double[2 * (n / 2 + 1)]);
+      for (int k = 0; k <= n / 2; k++) {
+        transform.set(k, half[2 * k], half[2 * k + 1]);
+      }
+      for (int k = n / 2 + 1; k < n; k++) {
+        transform.set(k, half[2 * (n - k)], -half[2 * (n - k) + 1]);
+      }
+    }
+    return transform;
   }
 
+  /**
+   * Computes the inverse discrete fourier transform of the values of {@code a} (in linear order).
+   *
+   * @param a the array
+   * @return the inverse transform
+   */
   public static ComplexArray ifft(ComplexArray a) {
-    ComplexArray copy = ComplexArray.zeros(a.size());
-    for (int i = 0; i < a.size(); i++) {
-      Complex c = a.get(i);
-      copy.set(i, new Complex(c.getImaginary(), c.getReal()));
-    }
-    fftInplace(copy);
-
-    int n = copy.size();
-
-    // Reversing and scaling
-    for (int i = 0; i < n; i++) {
-      Complex c = copy.get(i);
-      copy.set(i, new Complex(c.getImaginary() / n, c.getReal() / n));
+    ComplexArray copy = a.copy();
+    double[] data = new double[2 * a.size()];
+    if (data.length > 0) {
+      transform(FftPlan.of(a.size()), copy, data, true);
     }
     return copy;
   }
 
-  private static void transformBluestein(ComplexArray a) {
-    // Find a power-of-2 convolution length m such that m >= n * 2 + 1
+  /**
+   * Computes the discrete fourier transform of the real values of {@code a} (in linear order) and
+   * returns the {@code n / 2 + 1} non-redundant values, i.e., the values {@code X[n - k]} (equal
+   * to {@code conj(X[k])}) are omitted.
+   *
+   * @param a the array of {@code n} values
+   * @return the {@code n / 2 + 1} first values of the transform
+   */
+  public static ComplexArray rfft(DoubleArray a) {
     int n = a.size();
-    if (n >= 0x20000000) { // n >= 536870912
-      throw new IllegalArgumentException("");
-    }
-    int m = Integer.highestOneBit(n * 2 + 1) << 1;
-
-    // Trigonometric tables
-    DoubleArray cosTable = DoubleArray.zeros(n);
-    DoubleArray sinTable = DoubleArray.zeros(n);
-    for (int i = 0; i < n; i++) {
-      int j = (int) ((long) i * i % (n * 2));
-      cosTable.set(i, Math.cos(Math.PI * j / n));
-      sinTable.set(i, Math.sin(Math.PI * j / n));
+    Check.argument(n > 0, "Empty array");
+    double[] half = realForward(FftPlan.of(n), a, new double[n], new double[2 * (n / 2 + 1)]);
+    ComplexArray transform = ComplexArray.zeros(n / 2 + 1);
+    for (int k = 0; k <= n / 2; k++) {
+      transform.set(k, half[2 * k], half[2 * k + 1]);
     }
+    return transform;
+  }
 
-    ComplexArray an = ComplexArray.zeros(m);
-    ComplexArray bn = ComplexArray.zeros(m);
-
-    bn.set(0, new Complex(cosTable.get(0), sinTable.get(0)));
-    for (int i = 0; i < n; i++) {
-      double cos = cosTable.get(i);
-      double sin = sinTable.get(i);
-      Complex complex = a.get(i);
-      double real = complex.getReal() * cos + complex.getImaginary() * sin;
-      double imag = -complex.getReal() * sin + complex.getImaginary() * cos;
-      an.set(i, new Complex(real, imag));
-
-      int j = i + 1;
-      if (j < n) {
-        Complex bcVal = Complex.valueOf(cosTable.get(j), sinTable.get(j));
-        bn.set(j, bcVal);
-        bn.set(m - j, bcVal);
-      }
-    }
+  /**
+   * Computes the inverse of {@link #rfft(DoubleArray)}, i.e., the real values of length {@code n}
+   * whose transform has the {@code n / 2 + 1} non-redundant values of {@code a}.
+   *
+   * @param a the non-redundant values of the transform
+   * @param n the number of real values
+   * @return the real values
+   */
+  public static DoubleArray irfft(ComplexArray a, int n) {
+    Check.argument(n > 0 && a.size() == n / 2 + 1, "Illegal size %s for %s values", a.size(), n);
+    DoubleArray real = DoubleArray.zeros(n);
+    realInverse(FftPlan.of(n), a, new double[2 * (n / 2 + 1)], real, new double[n]);
+    return real;
+  }
+
+  /**
+   * Computes the discrete fourier transform of each vector along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param a the array
+   * @return an array of transforms
+   */
+  public static ComplexArray fft(int dim, ComplexArray a) {
+    return transform(dim, a, false);
+  }
 
-    // Convolution
-    ComplexArray cc = convolve(an, bn);
-    for (int i = 0; i < n; i++) {
-      double cos = cosTable.get(i);
-      double sin = sinTable.get(i);
+  /**
+   * Computes the inverse discrete fourier transform of each vector along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param a the array
+   * @return an array of inverse transforms
+   */
+  public static ComplexArray ifft(int dim, ComplexArray a) {
+    return transform(dim, a, true);
+  }
 
-      Complex cv = cc.get(i);
-      double real = cv.getReal() * cos + cv.getImaginary() * sin;
-      double imag = -cv.getReal() * sin + cv.getImaginary() * cos;
-      a.set(i, new Complex(real, imag));
-    }
+  /**
+   * Computes the non-redundant values of the discrete fourier transform of each (real) vector
+   * along the specified dimension (of size {@code n}). The size of the specified dimension of the
+   * returned array is {@code n / 2 + 1}.
+   *
+   * @param dim the dimension
+   * @param a the array
+   * @return an array of transforms
+   * @see #rfft(DoubleArray)
+   */
+  public static ComplexArray rfft(int dim, DoubleArray a) {
+    checkDimension(dim, a);
+    int n = a.size(dim);
+    int[] shape = a.getShape();
+    shape[dim] = n / 2 + 1;
+    ComplexArray out = ComplexArray.zeros(shape);
+    FftPlan plan = FftPlan.of(n);
+    forEachVector(a.vectors(dim), a.size(), (from, to) -> {
+      double[] real = new double[n];
+      double[] half = new double[2 * (n / 2 + 1)];
+      for (int i = from; i < to; i++) {
+        realForward(plan, a.getVector(dim, i), real, half);
+        ComplexArray vector = out.getVector(dim, i);
+        for (int k = 0; k <= n / 2; k++) {
+          vector.set(k, half[2 * k], half[2 * k + 1]);
+        }
+      }
+    });
+    return out;
   }
 
-  /*
-   * Computes the circular convolution of the given complex vectors. Each series's length must be
-   * the same.
+  /**
+   * Computes the inverse of {@link #rfft(int, DoubleArray)}, i.e., the real vectors of size
+   * {@code n} along the specified dimension.
+   *
+   * @param dim the dimension
+   * @param a the non-redundant values of the transforms
+   * @param n the size of the real vectors
+   * @return an array of real vectors
    */
-  private static ComplexArray convolve(ComplexArray x, ComplexArray y) {
-    int n = x.size();
-    ComplexArray xt = fft(x);
-    ComplexArray yt = fft(y);
+  public static DoubleArray irfft(int dim, ComplexArray a, int n) {
+    checkDimension(dim, a);
+    Check.argument(n > 0 && a.size(dim) == n / 2 + 1, "Illegal size %s for %s values",
+        a.size(dim), n);
+    int[] shape = a.getShape();
+    shape[dim] = n;
+    DoubleArray out = DoubleArray.zeros(shape);
+    FftPlan plan = FftPlan.of(n);
+    forEachVector(a.vectors(dim), out.size(), (from, to) -> {
+      double[] half = new double[2 * (n / 2 + 1)];
+      double[] real = new double[n];
+      for (int i = from; i < to; i++) {
+        realInverse(plan, a.getVector(dim, i), half, out.getVector(dim, i), real);
+      }
+    });
+    return out;
+  }
 
-    for (int i = 0; i < n; i++) {
-      xt.set(i, xt.get(i).multiply(yt.get(i)));
-    }
+  private static ComplexArray transform(int dim, ComplexArray a, boolean inverse) {
+    checkDimension(dim, a);
+    ComplexArray out = a.copy();
+    int n = a.size(dim);
+    FftPlan plan = FftPlan.of(n);
+    forEachVector(a.vectors(dim), a.size(), (from, to) -> {
+      double[] data = new double[2 * n];
+      for (int i = from; i < to; i++) {
+        transform(plan, out.getVector(dim, i), data, inverse);
+      }
+    });
+    return out;
+  }
 
-    // TODO: 02/12/15 performance
-    for (int i = 0; i < n; i++) {
-      Complex complex = xt.get(i);
-      xt.set(i, new Complex(complex.getImaginary(), complex.getReal()));
+  /**
+   * Transforms the vector {@code a} in-place, using {@code data} as working memory
+   */
+  private static void transform(FftPlan plan, ComplexArray a, double[] data, boolean inverse) {
+    int n = plan.size();
+    for (int k = 0; k < n; k++) {
+      data[2 * k] = a.getReal(k);
+      data[2 * k + 1] = a.getImaginary(k);
     }
-
-    fftInplace(xt); // inverse transform, since xt is reversed above
-    for (int i = 0; i < n; i++) {
-      Complex c = xt.get(i);
-      xt.set(i, Complex.valueOf(c.getImaginary() / n, c.getReal() / n));
+    if (inverse) {
+      plan.inverse(data, 0);
+    } else {
+      plan.forward(data, 0);
+    }
+    for (int k = 0; k < n; k++) {
+      a.set(k, data[2 * k], data[2 * k + 1]);
     }
-    return xt;
   }
 
-  private static void transformRadix2(ComplexArray a) {
-    final int n = a.size();
-    int levels = (int) Math.floor(Math.log(n) / Math.log(2));
-    if (1 << levels != n) {
-      throw new IllegalArgumentException();
+  /**
+   * Transforms the real vector {@code a} into {@code half}, using {@code real} as working memory
+   */
+  private static double[] realForward(FftPlan plan, DoubleArray a, double[] real,
+      double[] half) {
+    for (int k = 0; k < real.length; k++) {
+      real[k] = a.get(k);
     }
+    plan.realForward(real, 0, half, 0);
+    return half;
+  }
 
-    DoubleArray cosTable = DoubleArray.zeros(n / 2);
-    DoubleArray sinTable = DoubleArray.zeros(n / 2);
-    final double v = 2 * Math.PI;
-    for (int i = 0; i < n / 2; i++) {
-      cosTable.set(i, Math.cos(v * i / n));
-      sinTable.set(i, Math.sin(v * i / n));
+  /**
+   * Inverse transforms the non-redundant values {@code a} into {@code out}, using {@code half} and
+   * {@code real} as working memory
+   */
+  private static void realInverse(FftPlan plan, ComplexArray a, double[] half, DoubleArray out,
+      double[] real) {
+    for (int k = 0; k < a.size(); k++) {
+      half[2 * k] = a.getReal(k);
+      half[2 * k + 1] = a.getImaginary(k);
     }
-
-    // Bit-reversed addressing permutation (i.e. even addresses in the first half and odd in the
-    // second half)
-    for (int i = 0; i < n; i++) {
-      int j = Integer.reverse(i) >>> (32 - levels);
-      if (j > i) {
-        a.swap(j, i);
-      }
+    plan.realInverse(half, 0, real, 0);
+    for (int k = 0; k < real.length; k++) {
+      out.set(k, real[k]);
     }
+  }
 
-    // Cooley-Tukey decimation-in-time radix-2 FFT
-    for (int size = 2; size <= n; size *= 2) {
-      int halfSize = size / 2;
-      int tableStep = n / size;
-      for (int i = 0; i < n; i += size) {
-        for (int j = i, k = 0; j < i + halfSize; j++, k += tableStep) {
-          Complex hjVal = a.get(j + halfSize);
-          Complex jVal = a.get(j);
-          double cos = cosTable.get(k);
-          double sin = sinTable.get(k);
-          double tpre = hjVal.getReal() * cos + hjVal.getImaginary() * sin;
-          double tpim = -hjVal.getReal() * sin + hjVal.getImaginary() * cos;
-          a.set(j + halfSize, new Complex(jVal.getReal() - tpre, jVal.getImaginary() - tpim));
-          a.set(j, new Complex(jVal.getReal() + tpre, jVal.getImaginary() + tpim));
-        }
-      }
-      if (size == n) {
-        break;
-      }
+  @FunctionalInterface
+  private interface VectorRange {
+    void apply(int from, int to);
+  }
+
+  /**
+   * Transform the vectors in ranges, in parallel if there are many vectors and elements.
+   */
+  private static void forEachVector(int vectors, int size, VectorRange range) {
+    int parallelism = ForkJoinTasks.parallelism();
+    if (size < PARALLEL_THRESHOLD || vectors < 2 || parallelism < 2) {
+      range.apply(0, vectors);
+    } else {
+      int chunk = Math.max(1, vectors / (4 * parallelism));
+      int chunks = (vectors + chunk - 1) / chunk;
+      IntStream.range(0, chunks).parallel()
+          .forEach(c -> range.apply(c * chunk, Math.min(vectors, (c + 1) * chunk)));
     }
   }
+
+  private static void checkDimension(int dim, BaseArray<?> a) {
+    Check.argument(dim >= 0 && dim < a.dims(), "Dimension out of bounds (%s < %s)", dim, a.dims());
+    Check.argument(a.size(dim) > 0, "Empty dimension %s", dim);
+  }
 }
@@ -0,0 +1,421 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.math.transform;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.api.ForkJoinTasks;
+
+/**
+ * A reusable plan for computing the discrete fourier transform of a fixed size.
+ *
+ * <p/>
+ * A plan holds the twiddle factors of its size and, if the size is not a power of two, the chirp
+ * and the transformed chirp filter used by Bluestein's algorithm. Plans are immutable, cached by
+ * size and can be shared between threads.
+ *
+ * <p/>
+ * The transforms operate in-place on interleaved complex values, i.e., the real and imaginary parts
+ * of the {@code k}th value are stored at {@code offset + 2 * k} and {@code offset + 2 * k + 1}. The
+ * forward transform computes {@code X[k] = sum(x[j] * exp(-2 * pi * i * j * k / n))} and the
+ * inverse transform is scaled by {@code 1 / n}. Powers of two are transformed using an iterative
+ * radix-2 Cooley-Tukey algorithm, whose butterflies are computed in parallel for large sizes. The
+ * butterflies are computed by the {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common
+ * pool}, or by the pool of the calling thread if the plan is used from within another fork/join
+ * pool; the pool of a {@link org.briljantframework.array.parallel.ParallelArrayBackend} is not
+ * used.
+ *
+ * <pre>
+ * FftPlan plan = FftPlan.of(n);
+ * double[] data = new double[2 * n];
+ * // ... fill data
+ * plan.forward(data, 0);
+ * plan.inverse(data, 0); // data is restored (up to rounding)
+ * </pre>
+ *
+ * @author Isak Karlsson
+ */
+public final class FftPlan {
+
+  /**
+   * The number of butterflies (or swaps) computed by a single thread
+   */
+  private static final int CHUNK_SIZE = 1 << 13;
+
+  /**
+   * The size required before the radix-2 stages are computed in parallel
+   */
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private static final ConcurrentMap<Integer, FftPlan> PLANS = new ConcurrentHashMap<>();
+
+  private final int size;
+
+  /**
+   * The interleaved twiddle factors {@code cos(2 * pi * k / n), sin(2 * pi * k / n)} for
+   * {@code k < n / 2}
+   */
+  private final double[] twiddles;
+
+  /**
+   * The interleaved chirp {@code cos(pi * k^2 / n), sin(pi * k^2 / n)} (Bluestein only)
+   */
+  private final double[] chirp;
+
+  /**
+   * The transformed chirp filter (Bluestein only)
+   */
+  private final double[] filter;
+
+  /**
+   * The power of two plan used for the convolution (Bluestein only)
+   */
+  private final FftPlan convolution;
+
+  private FftPlan(int size) {
+    this.size = size;
+    this.twiddles = new double[size / 2 * 2];
+    for (int k = 0; k < size / 2; k++) {
+      double angle = 2 * Math.PI * k / size;
+      twiddles[2 * k] = Math.cos(angle);
+      twiddles[2 * k + 1] = Math.sin(angle);
+    }
+
+    if (isPowerOfTwo(size)) {
+      this.chirp = null;
+      this.filter = null;
+      this.convolution = null;
+    } else {
+      Check.argument(size < 0x20000000, "Too large transform: %s", size);
+      int m = Integer.highestOneBit(2 * size - 1) << 1;
+      this.convolution = of(m);
+      this.chirp = new double[2 * size];
+      for (int k = 0; k < size; k++) {
+        // k^2 mod 2n keeps the angle small and accurate
+        double angle = Math.PI * ((long) k * k % (2L * size)) / size;
+        chirp[2 * k] = Math.cos(angle);
+        chirp[2 * k + 1] = Math.sin(angle);
+      }
+      this.filter = new double[2 * m];
+      filter[0] = chirp[0];
+      filter[1] = chirp[1];
+      for (int k = 1; k < size; k++) {
+        filter[2 * k] = filter[2 * (m - k)] = chirp[2 * k];
+        filter[2 * k + 1] = filter[2 * (m - k) + 1] = chirp[2 * k + 1];
+      }
+      convolution.forward(filter, 0);
+    }
+  }
+
+  /**
+   * Returns the (cached) plan for transforms of the given size.
+   *
+   * @param size the size of the transform
+   * @return a plan
+   */
+  public static FftPlan of(int size) {
+    Check.argument(size > 0, "Illegal transform size: %s", size);
+    FftPlan plan = PLANS.get(size);
+    if (plan == null) {
+      plan = new FftPlan(size);
+      FftPlan previous = PLANS.putIfAbsent(size, plan);
+      if (previous != null) {
+        plan = previous;
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * Returns the size of the transform
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Computes the forward transform of the {@code size()} interleaved complex values starting at
+   * {@code offset}, in-place.
+   *
+   * @param data the interleaved complex values
+   * @param offset the offset of the first value
+   */
+  public void forward(double[] data, int offset) {
+    checkBounds(data, offset, 2 * size);
+    if (chirp == null) {
+      radix2(data, offset);
+    } else {
+      bluestein(data, offset);
+    }
+  }
+
+  /**
+   * Computes the inverse (scaled) transform of the {@code size()} interleaved complex values
+   * starting at {@code offset}, in-place.
+   *
+   * @param data the interleaved complex values
+   * @param offset the offset of the first value
+   */
+  public void inverse(double[] data, int offset) {
+    // ifft(x) = conj(fft(conj(x))) / n
+    conjugate(data, offset, size, 1);
+    forward(data, offset);
+    conjugate(data, offset, size, 1.0 / size);
+  }
+
+  /**
+   * Computes the transform of {@code size()} real values, starting at {@code inOffset}, and
+   * stores the {@code size() / 2 + 1} non-redundant interleaved complex values starting at
+   * {@code outOffset}. The remaining values are given by the Hermitian symmetry
+   * {@code X[n - k] = conj(X[k])}.
+   *
+   * <p/>
+   * If the size is even, the real values are transformed as a complex sequence of half the size.
+   *
+   * @param in the real values
+   * @param inOffset the offset of the first real value
+   * @param out the array of interleaved complex values (of length at least
+   *        {@code 2 * (size() / 2 + 1)} after {@code outOffset})
+   * @param outOffset the offset of the first complex value
+   */
+  public void realForward(double[] in, int inOffset, double[] out, int outOffset) {
+    checkBounds(in, inOffset, size);
+    checkBounds(out, outOffset, 2 * (size / 2 + 1));
+    if (size % 2 != 0) {
+      double[] complex = new double[2 * size];
+      for (int k = 0; k < size; k++) {
+        complex[2 * k] = in[inOffset + k];
+      }
+      forward(complex, 0);
+      System.arraycopy(complex, 0, out, outOffset, 2 * (size / 2 + 1));
+      return;
+    }
+
+    // z[k] = x[2k] + i * x[2k + 1] is already interleaved
+    int half = size / 2;
+    System.arraycopy(in, inOffset, out, outOffset, size);
+    of(half).forward(out, outOffset);
+
+    double r0 = out[outOffset];
+    double i0 = out[outOffset + 1];
+    out[outOffset] = r0 + i0;
+    out[outOffset + 1] = 0;
+    out[outOffset + 2 * half] = r0 - i0;
+    out[outOffset + 2 * half + 1] = 0;
+    for (int k = 1, l = half - 1; k <= l; k++, l--) {
+      // X[k] = E[k] + W^k * O[k] and X[h - k] = conj(E[k] - W^k * O[k]), where E and O are the
+      // transforms of the even and odd values and W = exp(-2 * pi * i / n)
+      int a = outOffset + 2 * k;
+      int b = outOffset + 2 * l;
+      double zr = out[a], zi = out[a + 1];
+      double cr = out[b], ci = out[b + 1];
+      double er = (zr + cr) / 2, ei = (zi - ci) / 2;
+      double or = (zi + ci) / 2, oi = (cr - zr) / 2;
+      double cos = twiddles[2 * k], sin = twiddles[2 * k + 1];
+      double wr = or * cos + oi * sin, wi = oi * cos - or * sin;
+      out[b] = er - wr;
+      out[b + 1] = wi - ei;
+      out[a] = er + wr;
+      out[a + 1] = ei + wi;
+    }
+  }
+
+  /**
+   * Computes the inverse (scaled) transform of the {@code size() / 2 + 1} non-redundant
+   * interleaved complex values (e.g., as computed by
+   * {@link #realForward(double[], int, double[], int)}) starting at {@code inOffset}, and stores
+   * the {@code size()} real values starting at {@code outOffset}. The imaginary parts of the first
+   * value (and of the last, if the size is even) are ignored.
+   *
+   * @param in the interleaved complex values
+   * @param inOffset the offset of the first complex value
+   * @param out the real values
+   * @param outOffset the offset of the first real value
+   */
+  public void realInverse(double[] in, int inOffset, double[] out, int outOffset) {
+    checkBounds(in, inOffset, 2 * (size / 2 + 1));
+    checkBounds(out, outOffset, size);
+    if (size % 2 != 0) {
+      double[] complex = new double[2 * size];
+      System.arraycopy(in, inOffset, complex, 0, 2 * (size / 2 + 1));
+      for (int k = size / 2 + 1; k < size; k++) {
+        complex[2 * k] = in[inOffset + 2 * (size - k)];
+        complex[2 * k + 1] = -in[inOffset + 2 * (size - k) + 1];
+      }
+      inverse(complex, 0);
+      for (int k = 0; k < size; k++) {
+        out[outOffset + k] = complex[2 * k];
+      }
+      return;
+    }
+
+    int half = size / 2;
+    double r0 = in[inOffset];
+    double rh = in[inOffset + 2 * half];
+    for (int k = 1, l = half - 1; k <= l; k++, l--) {
+      // E[k] = (X[k] + conj(X[h - k])) / 2 and O[k] = (X[k] - conj(X[h - k])) * conj(W^k) / 2
+      int a = inOffset + 2 * k;
+      int b = inOffset + 2 * l;
+      double xr = in[a], xi = in[a + 1];
+      double yr = in[b], yi = in[b + 1];
+      double er = (xr + yr) / 2, ei = (xi - yi) / 2;
+      double dr = (xr - yr) / 2, di = (xi + yi) / 2;
+      double cos = twiddles[2 * k], sin = twiddles[2 * k + 1];
+      double or = dr * cos - di * sin, oi = dr * sin + di * cos;
+      out[outOffset + 2 * l] = er + oi;
+      out[outOffset + 2 * l + 1] = or - ei;
+      out[outOffset + 2 * k] = er - oi;
+      out[outOffset + 2 * k + 1] = ei + or;
+    }
+    out[outOffset] = (r0 + rh) / 2;
+    out[outOffset + 1] = (r0 - rh) / 2;
+    of(half).inverse(out, outOffset);
+  }
+
+  private void radix2(double[] data, int offset) {
+    int n = size;
+    if (n == 1) {
+      return;
+    }
+    boolean parallel = n >= PARALLEL_THRESHOLD && ForkJoinTasks.parallelism() > 1;
+
+    // Bit-reversed addressing permutation
+    int levels = Integer.numberOfTrailingZeros(n);
+    forEachChunk(n, parallel, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        int j = Integer.reverse(i) >>> (32 - levels);
+        if (j > i) {
+          swap(data, offset + 2 * i, offset + 2 * j);
+        }
+      }
+    });
+
+    // Cooley-Tukey decimation-in-time radix-2 FFT
+    for (int size = 2; size <= n; size *= 2) {
+      int stage = size;
+      forEachChunk(n / 2, parallel, (from, to) -> butterflies(data, offset, stage, from, to));
+    }
+  }
+
+  /**
+   * Computes the butterflies {@code [from, to)} of the stage combining transforms of half the
+   * given size.
+   */
+  private void butterflies(double[] data, int offset, int size, int from, int to) {
+    int half = size / 2;
+    int step = this.size / size;
+    int b = from;
+    while (b < to) {
+      int block = b / half;
+      int start = b - block * half;
+      int end = Math.min(half, start + to - b);
+      int base = offset + 2 * block * size;
+      for (int j = start; j < end; j++) {
+        int p = base + 2 * j;
+        int q = p + 2 * half;
+        double cos = twiddles[2 * j * step];
+        double sin = twiddles[2 * j * step + 1];
+        double qr = data[q], qi = data[q + 1];
+        double tr = qr * cos + qi * sin;
+        double ti = qi * cos - qr * sin;
+        double pr = data[p], pi = data[p + 1];
+        data[q] = pr - tr;
+        data[q + 1] = pi - ti;
+        data[p] = pr + tr;
+        data[p + 1] = pi + ti;
+      }
+      b += end - start;
+    }
+  }
+
+  /**
+   * Bluestein's algorithm, i.e., the transform is computed as the convolution of the values
+   * multiplied by the chirp with the chirp filter.
+   */
+  private void bluestein(double[] data, int offset) {
+    int m = convolution.size;
+    double[] work = new double[2 * m];
+    for (int k = 0; k < size; k++) {
+      double re = data[offset + 2 * k], im = data[offset + 2 * k + 1];
+      double cos = chirp[2 * k], sin = chirp[2 * k + 1];
+      work[2 * k] = re * cos + im * sin;
+      work[2 * k + 1] = im * cos - re * sin;
+    }
+    convolution.forward(work, 0);
+    for (int k = 0; k < m; k++) {
+      double re = work[2 * k], im = work[2 * k + 1];
+      double fr = filter[2 * k], fi = filter[2 * k + 1];
+      work[2 * k] = re * fr - im * fi;
+      work[2 * k + 1] = re * fi + im * fr;
+    }
+    convolution.inverse(work, 0);
+    for (int k = 0; k < size; k++) {
+      double re = work[2 * k], im = work[2 * k + 1];
+      double cos = chirp[2 * k], sin = chirp[2 * k + 1];
+      data[offset + 2 * k] = re * cos + im * sin;
+      data[offset + 2 * k + 1] = im * cos - re * sin;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Chunk {
+    void apply(int from, int to);
+  }
+
+  private static void forEachChunk(int size, boolean parallel, Chunk chunk) {
+    if (!parallel) {
+      chunk.apply(0, size);
+    } else {
+      int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+      IntStream.range(0, chunks).parallel()
+          .forEach(c -> chunk.apply(c * CHUNK_SIZE, Math.min(size, (c + 1) * CHUNK_SIZE)));
+    }
+  }
+
+  private static void conjugate(double[] data, int offset, int n, double scale) {
+    for (int k = 0; k < n; k++) {
+      data[offset + 2 * k] *= scale;
+      data[offset + 2 * k + 1] *= -scale;
+    }
+  }
+
+  private static void swap(double[] data, int i, int j) {
+    double re = data[i], im = data[i + 1];
+    data[i] = data[j];
+    data[i + 1] = data[j + 1];
+    data[j] = re;
+    data[j + 1] = im;
+  }
+
+  private static void checkBounds(double[] data, int offset, int length) {
+    Check.argument(offset >= 0 && data.length - offset >= length,
+        "Illegal range: offset %s and length %s (array length %s)", offset, length, data.length);
+  }
+
+  private static boolean isPowerOfTwo(int n) {
+    return (n & (n - 1)) == 0;
+  }
+}
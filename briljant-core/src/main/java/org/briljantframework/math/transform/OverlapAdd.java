@@ -0,0 +1,181 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.math.transform;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.briljantframework.Check;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.api.ForkJoinTasks;
+
+/**
+ * Streaming convolution of a (long) signal with a (short) kernel using the overlap-add method.
+ *
+ * <p/>
+ * The signal is split into segments which are convolved with the kernel using transforms of a fixed
+ * size, and the overlapping parts of the convolved segments are added. The signal can be processed
+ * in blocks of any size, e.g., as it arrives. Each call to {@link #process(DoubleArray)} returns
+ * the part of the convolution that is complete, i.e., as many values as there are values in the
+ * block, and {@link #flush()} returns the remaining {@code kernel.size() - 1} values. Large blocks
+ * are convolved segment-wise in parallel, using the fork/join pool of the calling thread (i.e., the
+ * {@linkplain java.util.concurrent.ForkJoinPool#commonPool() common pool} by default).
+ *
+ * <pre>
+ * OverlapAdd filter = new OverlapAdd(kernel);
+ * DoubleArray a = filter.process(block1);
+ * DoubleArray b = filter.process(block2);
+ * DoubleArray c = filter.flush(); // a, b and c is the full convolution of (block1, block2)
+ * </pre>
+ *
+ * <p/>
+ * Instances are not thread-safe.
+ *
+ * @author Isak Karlsson
+ * @see Convolution
+ */
+public final class OverlapAdd {
+
+  /**
+   * The number of values required before the segments are convolved in parallel
+   */
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private final int kernelSize;
+  private final int segmentSize;
+  private final FftPlan plan;
+
+  /**
+   * The non-redundant values of the transform of the (zero-padded) kernel
+   */
+  private final double[] spectrum;
+
+  /**
+   * The incomplete values of the convolution
+   */
+  private double[] tail;
+
+  /**
+   * Constructs a new overlap-add convolution with the given kernel, using transforms of the
+   * smallest power of two greater than or equal to {@code 4 * kernel.size()}.
+   *
+   * @param kernel the kernel
+   */
+  public OverlapAdd(DoubleArray kernel) {
+    this(kernel, Math.max(64, Convolution.nextPowerOfTwo(4 * kernel.size())));
+  }
+
+  /**
+   * Constructs a new overlap-add convolution with the given kernel, using transforms of the given
+   * size. The signal is split into segments of size {@code transformSize - kernel.size() + 1}.
+   *
+   * @param kernel the kernel
+   * @param transformSize the size of the transforms (preferably a power of two)
+   */
+  public OverlapAdd(DoubleArray kernel, int transformSize) {
+    this(Convolution.toArray(kernel), transformSize);
+  }
+
+  OverlapAdd(double[] kernel, int transformSize) {
+    Check.argument(kernel.length > 0, "Empty kernel");
+    Check.argument(transformSize >= kernel.length, "Too small transform size: %s (kernel size %s)",
+        transformSize, kernel.length);
+    this.kernelSize = kernel.length;
+    this.segmentSize = transformSize - kernelSize + 1;
+    this.plan = FftPlan.of(transformSize);
+    this.spectrum = new double[2 * (transformSize / 2 + 1)];
+    double[] padded = Arrays.copyOf(kernel, transformSize);
+    plan.realForward(padded, 0, spectrum, 0);
+    this.tail = new double[kernelSize - 1];
+  }
+
+  /**
+   * Processes the next block of the signal and returns the next {@code block.size()} values of
+   * the convolution.
+   *
+   * @param block the next values of the signal
+   * @return the next values of the convolution
+   */
+  public DoubleArray process(DoubleArray block) {
+    int n = block.size();
+    double[] out = convolve(Convolution.toArray(block));
+    tail = Arrays.copyOfRange(out, n, out.length);
+    return DoubleArray.of(Arrays.copyOf(out, n));
+  }
+
+  /**
+   * Returns the remaining {@code kernel.size() - 1} values of the convolution of the processed
+   * signal and resets the convolution, i.e., the next block starts a new signal.
+   *
+   * @return the remaining values of the convolution
+   */
+  public DoubleArray flush() {
+    DoubleArray rest = DoubleArray.of(tail);
+    tail = new double[kernelSize - 1];
+    return rest;
+  }
+
+  /**
+   * Returns the convolution of {@code x} with the kernel, of size
+   * {@code x.length + kernel.size() - 1}, including the values of the previous block.
+   */
+  double[] convolve(double[] x) {
+    double[] out = new double[x.length + kernelSize - 1];
+    System.arraycopy(tail, 0, out, 0, tail.length);
+    int segments = (x.length + segmentSize - 1) / segmentSize;
+    // segments s and s + 2 do not overlap if the segments are at least as long as the overlap
+    if (x.length >= PARALLEL_THRESHOLD && segmentSize >= kernelSize - 1
+        && ForkJoinTasks.parallelism() > 1) {
+      for (int parity = 0; parity < 2; parity++) {
+        int first = parity;
+        IntStream.range(0, (segments - first + 1) / 2).parallel().forEach(s -> {
+          double[] real = new double[plan.size()];
+          double[] half = new double[spectrum.length];
+          convolveSegment(x, first + 2 * s, out, real, half);
+        });
+      }
+    } else {
+      double[] real = new double[plan.size()];
+      double[] half = new double[spectrum.length];
+      for (int s = 0; s < segments; s++) {
+        convolveSegment(x, s, out, real, half);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Add the convolution of the {@code segment}:th segment of {@code x} to {@code out}
+   */
+  private void convolveSegment(double[] x, int segment, double[] out, double[] real,
+      double[] half) {
+    int from = segment * segmentSize;
+    int length = Math.min(segmentSize, x.length - from);
+    System.arraycopy(x, from, real, 0, length);
+    Arrays.fill(real, length, real.length, 0);
+    plan.realForward(real, 0, half, 0);
+    Convolution.multiply(half, spectrum);
+    plan.realInverse(half, 0, real, 0);
+    for (int i = 0, n = length + kernelSize - 1; i < n; i++) {
+      out[from + i] += real[i];
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.util.sort;
+
+import static org.briljantframework.util.sort.RadixPasses.BITS;
+import static org.briljantframework.util.sort.RadixPasses.MASK;
+
+/**
+ * Primitive argsort, i.e., the indices which sort an array of primitive values. The values are
+ * transformed to unsigned 64-bit keys (respecting the order and direction) which are sorted along
+ * with their indices using a least significant digit radix sort (see {@link RadixSort}). Since
+ * the radix sort is stable, equal values keep their relative order (in both directions) and no
+ * comparator (or boxing) is involved. Only the bytes which differ between the keys are sorted and
+ * large arrays are counted and scattered in parallel.
+ *
+ * @author Isak Karlsson
+ */
+public final class ArgSort {
+
+  /**
+   * Arrays smaller than this are sorted using an insertion sort
+   */
+  private static final int INSERTION_THRESHOLD = 64;
+
+  private ArgSort() {}
+
+  /**
+   * Returns the (stable) indices which sort the values in the specified direction. {@code NaN}
+   * values (including {@code NA}) are placed first or last (independent of the direction).
+   *
+   * @param values the values
+   * @param ascending the direction of the order
+   * @param nanLast place {@code NaN} last if true; otherwise first
+   * @return the indices which sort the values
+   */
+  public static int[] argsort(double[] values, boolean ascending, boolean nanLast) {
+    long[] keys = new long[values.length];
+    for (int i = 0; i < keys.length; i++) {
+      double v = values[i];
+      if (Double.isNaN(v)) {
+        keys[i] = nanLast ? -1L : 0L;
+      } else {
+        long key = RadixSort.key(v);
+        keys[i] = ascending ? key : ~key;
+      }
+    }
+    return argsort(keys);
+  }
+
+  /**
+   * Returns the (stable) indices which sort the values in the specified direction.
+   *
+   * @param values the values
+   * @param ascending the direction of the order
+   * @return the indices which sort the values
+   */
+  public static int[] argsort(int[] values, boolean ascending) {
+    long[] keys = new long[values.length];
+    for (int i = 0; i < keys.length; i++) {
+      int key = values[i] ^ Integer.MIN_VALUE;
+      keys[i] = (ascending ? key : ~key) & 0xFFFFFFFFL;
+    }
+    return argsort(keys);
+  }
+
+  /**
+   * Returns the (stable) indices which sort the values in the specified direction.
+   *
+   * @param values the values
+   * @param ascending the direction of the order
+   * @return the indices which sort the values
+   */
+  public static int[] argsort(long[] values, boolean ascending) {
+    long[] keys = new long[values.length];
+    for (int i = 0; i < keys.length; i++) {
+      long key = values[i] ^ Long.MIN_VALUE;
+      keys[i] = ascending ? key : ~key;
+    }
+    return argsort(keys);
+  }
+
+  /**
+   * Returns the indices which sort the unsigned keys (which are overwritten).
+   */
+  private static int[] argsort(long[] keys) {
+    int n = keys.length;
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    if (n < INSERTION_THRESHOLD) {
+      insertionSort(keys, order);
+      return order;
+    }
+
+    long varying = 0;
+    for (long key : keys) {
+      varying |= key ^ keys[0];
+    }
+    int bits = Long.SIZE - Long.numberOfLeadingZeros(varying);
+    RadixPasses passes = new RadixPasses(n);
+    long[] srcKeys = keys, dstKeys = new long[n];
+    int[] srcOrder = order, dstOrder = new int[n];
+    for (int shift = 0; shift < bits; shift += BITS) {
+      final long[] sk = srcKeys, dk = dstKeys;
+      final int[] so = srcOrder, dO = dstOrder;
+      final int sh = shift;
+      passes.run((p, start, end) -> {
+        int[] count = passes.counts[p];
+        java.util.Arrays.fill(count, 0);
+        for (int i = start; i < end; i++) {
+          count[(int) (sk[i] >>> sh) & MASK]++;
+        }
+      });
+      if (passes.offsets()) {
+        passes.run((p, start, end) -> {
+          int[] position = passes.counts[p];
+          for (int i = start; i < end; i++) {
+            int to = position[(int) (sk[i] >>> sh) & MASK]++;
+            dk[to] = sk[i];
+            dO[to] = so[i];
+          }
+        });
+        srcKeys = dk;
+        dstKeys = sk;
+        srcOrder = dO;
+        dstOrder = so;
+      }
+    }
+    return srcOrder;
+  }
+
+  private static void insertionSort(long[] keys, int[] order) {
+    for (int i = 1; i < order.length; i++) {
+      int index = order[i];
+      long key = keys[index];
+      int j = i - 1;
+      for (; j >= 0 && Long.compareUnsigned(keys[order[j]], key) > 0; j--) {
+        order[j + 1] = order[j];
+      }
+      order[j + 1] = index;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.util.sort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The (per thread) bucket counts of the passes of a radix sort over {@code n} elements. The
+ * elements are divided in consecutive parts which are counted and scattered by the threads of the
+ * {@linkplain ForkJoinPool#commonPool() common pool} if the number of elements is large.
+ *
+ * @author Isak Karlsson
+ */
+final class RadixPasses {
+
+  static final int BITS = 8;
+  static final int BUCKETS = 1 << BITS;
+  static final int MASK = BUCKETS - 1;
+
+  /**
+   * The minimum number of elements counted and scattered by each thread
+   */
+  private static final int PARALLEL_CHUNK = 1 << 16;
+
+  final int[][] counts;
+  private final int n;
+  private final int parts;
+  private final int chunk;
+
+  RadixPasses(int n) {
+    this.n = n;
+    int parts = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), n / PARALLEL_CHUNK));
+    this.chunk = Math.max(1, (n + parts - 1) / parts);
+    this.parts = (n + chunk - 1) / chunk;
+    this.counts = new int[this.parts][BUCKETS];
+  }
+
+  @FunctionalInterface
+  interface Pass {
+    void apply(int part, int start, int end);
+  }
+
+  /**
+   * Apply the pass to each part.
+   */
+  void run(Pass pass) {
+    IntConsumer part = p -> pass.apply(p, p * chunk, Math.min(n, (p + 1) * chunk));
+    if (parts > 1) {
+      IntStream.range(0, parts).parallel().forEach(part);
+    } else if (parts == 1) {
+      part.accept(0);
+    }
+  }
+
+  /**
+   * Replace the counts with the position of the first element of each bucket and part. Returns
+   * false if all elements share the same digit, i.e., if the pass can be skipped.
+   */
+  boolean offsets() {
+    for (int b = 0; b < BUCKETS; b++) {
+      int total = 0;
+      for (int p = 0; p < parts; p++) {
+        total += counts[p][b];
+      }
+      if (total == n) {
+        return false;
+      }
+    }
+
+    int position = 0;
+    for (int b = 0; b < BUCKETS; b++) {
+      for (int p = 0; p < parts; p++) {
+        int count = counts[p][b];
+        counts[p][b] = position;
+        position += count;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.util.sort;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Least significant digit (LSD) radix sort of primitive arrays in their natural order. The keys
+ * are sorted one byte at a time (skipping bytes shared by all keys) using an auxiliary buffer of
+ * the same size as the sorted range. Signed integers are sorted by flipping the sign bit and
+ * doubles by transforming the bits of the value so that the unsigned order of the transformed bits
+ * agree with {@link Double#compare(double, double)} (i.e., {@code -0.0 < 0.0} and {@code NaN} is
+ * larger than all other values).
+ *
+ * <p/>
+ * For large ranges, the counting and scattering of each pass are divided between the threads of
+ * the {@linkplain ForkJoinPool#commonPool() common pool}. Small ranges are sorted using
+ * {@link java.util.Arrays#sort(int[], int, int)}.
+ *
+ * @author Isak Karlsson
+ */
+public final class RadixSort {
+
+  private static final int BITS = RadixPasses.BITS;
+  private static final int MASK = RadixPasses.MASK;
+
+  /**
+   * Ranges smaller than this are sorted by comparisons
+   */
+  private static final int RADIX_THRESHOLD = 1 << 12;
+
+  private RadixSort() {}
+
+  /**
+   * Sort the specified range of the array in ascending order.
+   *
+   * @param a the array
+   * @param from the first index (inclusive)
+   * @param to the last index (exclusive)
+   */
+  public static void sort(int[] a, int from, int to) {
+    checkBounds(a.length, from, to);
+    int n = to - from;
+    if (n < RADIX_THRESHOLD) {
+      java.util.Arrays.sort(a, from, to);
+      return;
+    }
+    RadixPasses passes = new RadixPasses(n);
+    int[] src = a, dst = new int[n];
+    int srcOffset = from, dstOffset = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += BITS) {
+      final int[] s = src, d = dst;
+      final int srcOff = srcOffset, dstOff = dstOffset, sh = shift;
+      passes.run((p, start, end) -> {
+        int[] count = passes.counts[p];
+        java.util.Arrays.fill(count, 0);
+        for (int i = start; i < end; i++) {
+          count[digit(s[srcOff + i], sh)]++;
+        }
+      });
+      if (passes.offsets()) {
+        passes.run((p, start, end) -> {
+          int[] position = passes.counts[p];
+          for (int i = start; i < end; i++) {
+            int v = s[srcOff + i];
+            d[dstOff + position[digit(v, sh)]++] = v;
+          }
+        });
+        src = d;
+        dst = s;
+        srcOffset = dstOff;
+        dstOffset = srcOff;
+      }
+    }
+    if (src != a) {
+      System.arraycopy(src, srcOffset, a, from, n);
+    }
+  }
+
+  /**
+   * Sort the specified range of the array in ascending order.
+   *
+   * @param a the array
+   * @param from the first index (inclusive)
+   * @param to the last index (exclusive)
+   */
+  public static void sort(long[] a, int from, int to) {
+    checkBounds(a.length, from, to);
+    int n = to - from;
+    if (n < RADIX_THRESHOLD) {
+      java.util.Arrays.sort(a, from, to);
+      return;
+    }
+    RadixPasses passes = new RadixPasses(n);
+    long[] src = a, dst = new long[n];
+    int srcOffset = from, dstOffset = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += BITS) {
+      final long[] s = src, d = dst;
+      final int srcOff = srcOffset, dstOff = dstOffset, sh = shift;
+      passes.run((p, start, end) -> {
+        int[] count = passes.counts[p];
+        java.util.Arrays.fill(count, 0);
+        for (int i = start; i < end; i++) {
+          count[digit(s[srcOff + i] ^ Long.MIN_VALUE, sh)]++;
+        }
+      });
+      if (passes.offsets()) {
+        passes.run((p, start, end) -> {
+          int[] position = passes.counts[p];
+          for (int i = start; i < end; i++) {
+            long v = s[srcOff + i];
+            d[dstOff + position[digit(v ^ Long.MIN_VALUE, sh)]++] = v;
+          }
+        });
+        src = d;
+        dst = s;
+        srcOffset = dstOff;
+        dstOffset = srcOff;
+      }
+    }
+    if (src != a) {
+      System.arraycopy(src, srcOffset, a, from, n);
+    }
+  }
+
+  /**
+   * Sort the specified range of the array in ascending order (as defined by
+   * {@link Double#compare(double, double)}).
+   *
+   * @param a the array
+   * @param from the first index (inclusive)
+   * @param to the last index (exclusive)
+   */
+  public static void sort(double[] a, int from, int to) {
+    checkBounds(a.length, from, to);
+    int n = to - from;
+    if (n < RADIX_THRESHOLD) {
+      java.util.Arrays.sort(a, from, to);
+      return;
+    }
+    RadixPasses passes = new RadixPasses(n);
+    double[] src = a, dst = new double[n];
+    int srcOffset = from, dstOffset = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += BITS) {
+      final double[] s = src, d = dst;
+      final int srcOff = srcOffset, dstOff = dstOffset, sh = shift;
+      passes.run((p, start, end) -> {
+        int[] count = passes.counts[p];
+        java.util.Arrays.fill(count, 0);
+        for (int i = start; i < end; i++) {
+          count[digit(key(s[srcOff + i]), sh)]++;
+        }
+      });
+      if (passes.offsets()) {
+        passes.run((p, start, end) -> {
+          int[] position = passes.counts[p];
+          for (int i = start; i < end; i++) {
+            double v = s[srcOff + i];
+            d[dstOff + position[digit(key(v), sh)]++] = v;
+          }
+        });
+        src = d;
+        dst = s;
+        srcOffset = dstOff;
+        dstOffset = srcOff;
+      }
+    }
+    if (src != a) {
+      System.arraycopy(src, srcOffset, a, from, n);
+    }
+  }
+
+  /**
+   * Returns the bits of the value transformed so that the unsigned order of the keys is the order
+   * of {@link Double#compare(double, double)}: the sign bit of positive values is set and all bits
+   * of negative values are flipped.
+   */
+  static long key(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+  }
+
+  private static int digit(int value, int shift) {
+    return ((value ^ Integer.MIN_VALUE) >>> shift) & MASK;
+  }
+
+  private static int digit(long key, int shift) {
+    return (int) (key >>> shift) & MASK;
+  }
+
+  private static void checkBounds(int length, int from, int to) {
+    if (from > to) {
+      throw new IllegalArgumentException(String.format("from(%d) > to(%d)", from, to));
+    }
+    if (from < 0 || to > length) {
+      throw new ArrayIndexOutOfBoundsException(from < 0 ? from : to);
+    }
+  }
+}
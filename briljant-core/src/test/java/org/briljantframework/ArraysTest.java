@@ -24,12 +24,19 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 
 import org.briljantframework.array.Array;
 import org.briljantframework.array.Arrays;
+import org.briljantframework.array.BaseArray;
 import org.briljantframework.array.DoubleArray;
 import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.briljantframework.array.ShortArray;
+import org.briljantframework.data.Na;
+import org.briljantframework.data.SortOrder;
 import org.junit.Test;
 
 /**
@@ -67,6 +74,57 @@ public class ArraysTest {
     // frame.setVisible(true);
   }
 
+  @Test
+  public void testWriteAndReadIdx() throws Exception {
+    DoubleArray x = Arrays.linspace(0, 1, 24).reshape(2, 3, 4);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Arrays.writeIdx(x, out);
+    byte[] bytes = out.toByteArray();
+    assertEquals(4 + 3 * 4 + 24 * 8, bytes.length);
+    assertEquals(0x0E, bytes[2]);
+    assertEquals(3, bytes[3]);
+
+    DoubleArray y = Arrays.readIdx(new ByteArrayInputStream(bytes));
+    assertArrayEquals(x.getShape(), y.getShape());
+    assertEquals(x, y);
+  }
+
+  @Test
+  public void testReadIdxIsRowMajor() throws Exception {
+    byte[] bytes = {0, 0, 0x08, 2, 0, 0, 0, 2, 0, 0, 0, 3, 1, 2, 3, 4, 5, (byte) 200};
+    DoubleArray x = Arrays.readIdx(new ByteArrayInputStream(bytes));
+    assertEquals(Arrays.doubleMatrix(new double[][] {{1, 2, 3}, {4, 5, 200}}), x);
+
+    BaseArray<?> y = Arrays.readIdxArray(new ByteArrayInputStream(bytes));
+    assertEquals(Arrays.intVector(1, 4, 2, 5, 3, 200).reshape(2, 3), y);
+  }
+
+  @Test
+  public void testReadIdxCompact() throws Exception {
+    byte[] bytes = {0, 0, 0x08, 2, 0, 0, 0, 2, 0, 0, 0, 3, 1, 2, 3, 4, 5, (byte) 200};
+    BaseArray<?> x = Arrays.readIdxCompact(new ByteArrayInputStream(bytes));
+    assertEquals(Arrays.byteVector(new byte[] {1, 4, 2, 5, 3, (byte) 200}).reshape(2, 3), x);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Arrays.writeIdx(x, out);
+    assertArrayEquals(bytes, out.toByteArray());
+
+    ShortArray s = Arrays.shortVector(new short[] {-1, 300, 2, 4}).reshape(2, 2);
+    out = new ByteArrayOutputStream();
+    Arrays.writeIdx(s, out);
+    assertEquals(s, Arrays.readIdxCompact(new ByteArrayInputStream(out.toByteArray())));
+    assertEquals(s.doubleArray(), Arrays.readIdx(new ByteArrayInputStream(out.toByteArray())));
+  }
+
+  @Test
+  public void testWriteIdxWithType() throws Exception {
+    IntArray x = Arrays.intVector(1, 4, 2, 5, 3, 200).reshape(2, 3);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Arrays.writeIdx(x.transpose().transpose(), 0x08, out);
+    assertArrayEquals(new byte[] {0, 0, 0x08, 2, 0, 0, 0, 2, 0, 0, 0, 3, 1, 2, 3, 4, 5, (byte) 200},
+        out.toByteArray());
+  }
+
   @Test
   public void testPlus() throws Exception {
     DoubleArray a = Arrays.doubleVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
@@ -279,12 +337,56 @@ public class ArraysTest {
     assertEquals(IntArray.of(1, 2, 3, 3, 5, 9), Arrays.sort(x));
   }
 
+  @Test
+  public void testSort_LongArray() throws Exception {
+    LongArray x = LongArray.of(3, -2, 5, 1, 9, 3);
+    x.sort();
+    assertEquals(LongArray.of(-2, 1, 3, 3, 5, 9), x);
+  }
+
+  @Test
+  public void testSort_StridedView() throws Exception {
+    DoubleArray x = DoubleArray.of(3, 2, 1, 9, 8, 10, 12, 3, 1).reshape(3, 3);
+    x.getRow(0).sort();
+    assertEquals(DoubleArray.of(3, 9, 12), x.getRow(0).reshape(3));
+    x.getColumn(1).sort((a, b) -> Double.compare(b, a));
+    assertEquals(DoubleArray.of(10, 9, 8), x.getColumn(1).reshape(3));
+    assertEquals(DoubleArray.of(3, 2, 1), x.getColumn(0).reshape(3));
+  }
+
+  @Test
+  public void testSort_Dimension_Large() throws Exception {
+    DoubleArray x = Arrays.linspace(1, -1, 200000).reshape(1000, 200);
+    DoubleArray columns = Arrays.sort(0, x);
+    DoubleArray rows = Arrays.sort(1, x);
+    for (int i = 0; i < 200; i++) {
+      assertEquals(Arrays.sort(x.getColumn(i)), columns.getColumn(i));
+    }
+    for (int i = 0; i < 1000; i += 111) {
+      assertEquals(Arrays.sort(x.getRow(i)), rows.getRow(i));
+    }
+    IntArray y = Arrays.sort(1, Arrays.range(200000).reshape(1000, 200),
+        (a, b) -> Integer.compare(b, a));
+    assertEquals(199999, y.get(999, 0));
+    assertEquals(999, y.get(999, 199));
+  }
+
   @Test
   public void testOrder() throws Exception {
     DoubleArray array = DoubleArray.of(2, 3, 1, 9, 1);
     assertEquals(IntArray.of(2, 4, 0, 1, 3), Arrays.order(array));
   }
 
+  @Test
+  public void testOrder_SortOrder() throws Exception {
+    DoubleArray array = DoubleArray.of(2, Na.DOUBLE, 1, 9, 1);
+    assertEquals(IntArray.of(2, 4, 0, 3, 1), Arrays.order(array));
+    assertEquals(IntArray.of(3, 0, 2, 4, 1), Arrays.order(array, SortOrder.DESC));
+    assertEquals(IntArray.of(1, 3, 0, 2, 4), Arrays.order(array, SortOrder.DESC, false));
+    assertEquals(IntArray.of(2, 0, 1), Arrays.order(IntArray.of(3, -1, 4), SortOrder.DESC));
+    assertEquals(IntArray.of(1, 0, 2), Arrays.order(LongArray.of(3, -1, 4)));
+  }
+
   @Test
   public void testOrderDimension() throws Exception {
     DoubleArray array = DoubleArray.of(1, 9, 1, 9, 2, 4).reshape(3, 2);
@@ -0,0 +1,104 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class BroadcastIteratorTest {
+
+  @Test
+  public void testRuns() throws Exception {
+    DoubleArray x = Arrays.linspace(0, 1, 12).reshape(3, 4);
+    DoubleArray mean = Arrays.mean(0, x);
+    BroadcastIterator it = BroadcastIterator.of(x, mean);
+    assertArrayEquals(new int[] {3, 4}, it.getShape());
+    assertEquals(3, it.runLength());
+    assertEquals(1, it.runStride(0));
+    assertEquals(0, it.runStride(1));
+    for (int j = 0; j < 4; j++) {
+      it.nextRun();
+      assertEquals(j * 3, it.position(0));
+      assertEquals(mean.getOffset() + j * mean.stride(mean.dims() - 1), it.position(1));
+    }
+    assertFalse(it.hasNextRun());
+
+    // all contiguous operands are traversed in a single run
+    it = BroadcastIterator.of(x, x.copy(), Arrays.doubleVector(1));
+    assertEquals(12, it.runLength());
+  }
+
+  @Test
+  public void testApply() throws Exception {
+    DoubleArray x = Arrays.linspace(0, 1, 24).reshape(4, 6);
+    DoubleArray a = x.getView(1, 1, 3, 4).transpose();
+    DoubleArray b = Arrays.doubleVector(1, 2, 3).reshape(1, 3);
+    DoubleArray out = Arrays.doubleArray(4, 3);
+    BroadcastIterator.apply(out, a, b, (i, j) -> i - j);
+    DoubleArray bb = Arrays.broadcastTo(b, 4, 3);
+    for (int i = 0; i < out.size(); i++) {
+      assertEquals(a.get(i) - bb.get(i), out.get(i), 0);
+    }
+
+    IntArray c = Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    BroadcastIterator.apply(c, c, Arrays.intVector(10, 20).reshape(2, 1), (i, j) -> i * j);
+    assertEquals(Arrays.intVector(10, 40, 30, 80, 50, 120).reshape(2, 3), c);
+
+    LongArray d = Arrays.longArray(3);
+    BroadcastIterator.apply(d, Arrays.longVector(1, 2, 3), Arrays.longVector(4), Long::sum);
+    assertEquals(Arrays.longVector(5, 6, 7), d);
+  }
+
+  @Test
+  public void testAssign_linearPairing() throws Exception {
+    // a row or a column vector is added to a vector of the same size element by element
+    IntArray out = Arrays.intVector(1, 2, 3, 4);
+    Arrays.plusAssign(Arrays.intVector(10, 20, 30, 40).reshape(1, 4), out);
+    assertEquals(Arrays.intVector(11, 22, 33, 44), out);
+    Arrays.plusAssign(Arrays.intVector(10, 20, 30, 40).reshape(4, 1), out);
+    assertEquals(Arrays.intVector(21, 42, 63, 84), out);
+
+    // matrices of the same size but different shapes are paired in linear order
+    IntArray matrix = Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    Arrays.timesAssign(Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(3, 2), matrix);
+    assertEquals(Arrays.intVector(1, 4, 9, 16, 25, 36).reshape(2, 3), matrix);
+
+    LongArray longs = Arrays.longVector(2, 4, 6, 8);
+    Arrays.divAssign(Arrays.longVector(8, 8, 12, 16).reshape(4, 1), longs);
+    assertEquals(Arrays.longVector(4, 2, 2, 2), longs);
+    Arrays.minusAssign(Arrays.longVector(1, 1, 1, 1).reshape(1, 4), longs);
+    assertEquals(Arrays.longVector(-3, -1, -1, -1), longs);
+
+    // proper broadcasting is unchanged
+    IntArray broadcast = Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    Arrays.plusAssign(Arrays.intVector(10, 20).reshape(2, 1), broadcast);
+    assertEquals(Arrays.intVector(11, 22, 13, 24, 15, 26).reshape(2, 3), broadcast);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testApply_incompatibleOut() throws Exception {
+    BroadcastIterator.apply(Arrays.doubleArray(3, 2), Arrays.doubleArray(3),
+        Arrays.doubleArray(3), Double::sum);
+  }
+}
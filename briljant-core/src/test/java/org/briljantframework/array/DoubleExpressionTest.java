@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DoubleExpressionTest {
+
+  @Test
+  public void testEvaluate() throws Exception {
+    DoubleArray a = Arrays.linspace(1, 2, 3000).reshape(100, 30);
+    DoubleArray b = Arrays.rand(3000).reshape(100, 30);
+    DoubleArray c = Arrays.rand(3000).reshape(100, 30);
+    DoubleArray actual = a.lazy().times(b).plus(c).minus(2).div(a).sqrt().evaluate();
+    DoubleArray expected = Arrays.sqrt(Arrays.div(Arrays.minus(Arrays.plus(Arrays.times(a, b), c),
+        Arrays.doubleVector(2)), a));
+    ArrayAssert.assertArrayEquals(expected, actual, 1e-12);
+  }
+
+  @Test
+  public void testEvaluate_broadcast() throws Exception {
+    DoubleArray a = Arrays.doubleVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    DoubleArray b = Arrays.doubleVector(1, 2, 3);
+    DoubleArray actual = a.lazy().times(b).reverseMinus(1).evaluate();
+    ArrayAssert.assertArrayEquals(
+        Arrays.doubleVector(0, -1, -5, -7, -14, -17).reshape(2, 3), actual, 0);
+    assertArrayEquals(new int[] {2, 3}, b.lazy().plus(a).getShape());
+  }
+
+  @Test
+  public void testEvaluate_into() throws Exception {
+    DoubleArray a = Arrays.doubleVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    DoubleArray out = Arrays.zeros(3, 3);
+    a.getRow(0).lazy().pow(2).reverseDiv(1).evaluate(out.getRow(1));
+    DoubleArray expected = Arrays.doubleVector(1, 1 / 9.0, 1 / 25.0).reshape(1, 3);
+    ArrayAssert.assertArrayEquals(expected, out.getRow(1), 1e-12);
+    ArrayAssert.assertArrayEquals(Arrays.zeros(1, 3), out.getRow(0), 0);
+
+    // evaluate in place
+    a.lazy().times(a).evaluate(a);
+    ArrayAssert.assertArrayEquals(Arrays.doubleVector(1, 4, 9, 16, 25, 36).reshape(2, 3), a, 0);
+  }
+
+  @Test
+  public void testSum() throws Exception {
+    DoubleArray a = Arrays.linspace(0, 1, 5000);
+    assertEquals(Arrays.sum(Arrays.times(a, a)), a.lazy().pow(2).sum(), 1e-9);
+    assertEquals(2 * 5000, a.lazy().times(0).plus(DoubleExpression.constant(2)).sum(), 0);
+  }
+
+  @Test
+  public void testIntExpression() throws Exception {
+    IntArray a = Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(3, 2);
+    IntArray b = Arrays.intVector(10, 20, 30).reshape(3, 1);
+    IntArray actual = a.lazy().times(2).plus(b).map(x -> x - 1).evaluate();
+    assertEquals(Arrays.intVector(11, 23, 35, 17, 29, 41).reshape(3, 2), actual);
+    assertEquals(21, a.lazy().sum());
+    ArrayAssert.assertArrayEquals(Arrays.doubleVector(0.5, 1, 1.5, 2, 2.5, 3).reshape(3, 2),
+        a.lazy().asDouble().div(2).evaluate(), 0);
+  }
+}
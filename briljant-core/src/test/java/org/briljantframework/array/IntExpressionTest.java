@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntExpressionTest {
+
+  private final Random random = new Random(123);
+
+  @Test
+  public void testEvaluate() throws Exception {
+    IntArray a = random(100, 30);
+    IntArray b = random(100, 30);
+    IntArray c = random(100, 30);
+    IntArray actual =
+        a.lazy().times(b).plus(c).minus(2).map(x -> x * x % 97).negate().plus(a).evaluate();
+    IntArray expected = Arrays.intArray(100, 30);
+    for (int i = 0; i < a.size(); i++) {
+      int x = a.get(i) * b.get(i) + c.get(i) - 2;
+      expected.set(i, -(x * x % 97) + a.get(i));
+    }
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testEvaluate_broadcast() throws Exception {
+    IntArray a = Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    IntArray b = Arrays.intVector(1, 2, 3);
+    assertEquals(Arrays.intVector(0, 1, 5, 7, 14, 17).reshape(2, 3),
+        a.lazy().times(b).minus(1).evaluate());
+    assertEquals(Arrays.intVector(6, 7, 8, 9, 10, 11).reshape(2, 3),
+        a.lazy().plus(IntExpression.constant(5)).evaluate());
+    assertEquals(Arrays.intVector(2, 3, 5, 6, 8, 9).reshape(2, 3), b.lazy().plus(a).evaluate());
+    assertArrayEquals(new int[] {2, 3}, b.lazy().plus(a).getShape());
+  }
+
+  @Test
+  public void testEvaluate_into() throws Exception {
+    IntArray a = Arrays.intVector(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    IntArray out = Arrays.intArray(4, 6);
+    IntArray view = out.getView(Arrays.range(0, 4, 2), Arrays.range(1, 6, 2));
+    a.lazy().times(a).plus(1).evaluate(view);
+    assertEquals(Arrays.intVector(2, 5, 10, 17, 26, 37).reshape(2, 3), view);
+    assertEquals(2 + 10 + 5 + 17 + 26 + 37, Arrays.sum(out));
+
+    IntArray transposed = Arrays.intArray(3, 2);
+    a.lazy().map(x -> x * 10).evaluate(transposed.transpose());
+    assertEquals(Arrays.intVector(10, 30, 50, 20, 40, 60).reshape(3, 2), transposed);
+
+    // evaluate in place
+    a.lazy().times(a).evaluate(a);
+    assertEquals(Arrays.intVector(1, 4, 9, 16, 25, 36).reshape(2, 3), a);
+  }
+
+  @Test
+  public void testSum() throws Exception {
+    IntArray a = random(5000);
+    int expected = 0;
+    for (int i = 0; i < a.size(); i++) {
+      expected += 2 * a.get(i) + 1;
+    }
+    assertEquals(expected, a.lazy().times(2).plus(1).sum());
+    assertEquals(2 * 5000, a.lazy().times(0).plus(IntExpression.constant(2)).sum());
+
+    IntArray view = random(100, 60).getView(Arrays.range(1, 100, 3), Arrays.range(0, 60, 2));
+    assertEquals(3 * Arrays.sum(view), view.lazy().times(3).sum());
+  }
+
+  private IntArray random(int... shape) {
+    IntArray x = Arrays.intArray(shape);
+    x.assign(() -> random.nextInt(41) - 20);
+    return x;
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author Isak Karlsson
+ */
+public class StrideCursorTest {
+
+  private static void assertPositions(int offset, int[] shape, int[] stride) {
+    StrideCursor cursor = new StrideCursor(offset, shape, stride);
+    int size = ShapeUtils.size(shape);
+    assertEquals(size, cursor.size());
+    for (int i = 0; i < size; i++) {
+      assertTrue(cursor.hasNext());
+      assertEquals(StrideUtils.index(i, offset, stride, shape), cursor.next());
+      assertEquals(i, cursor.index());
+    }
+    assertFalse(cursor.hasNext());
+  }
+
+  @Test
+  public void testContiguous() throws Exception {
+    assertPositions(0, new int[] {10}, new int[] {1});
+    assertPositions(0, new int[] {3, 4}, new int[] {1, 3});
+    assertPositions(2, new int[] {2, 3, 4}, new int[] {1, 2, 6});
+
+    StrideCursor cursor = new StrideCursor(0, new int[] {2, 3, 4}, new int[] {1, 2, 6});
+    assertEquals(24, cursor.runLength());
+    assertEquals(1, cursor.runStride());
+  }
+
+  @Test
+  public void testTransposed() throws Exception {
+    assertPositions(0, new int[] {4, 3}, new int[] {3, 1});
+    assertPositions(0, new int[] {4, 3, 2}, new int[] {6, 2, 1});
+  }
+
+  @Test
+  public void testStridedView() throws Exception {
+    assertPositions(1, new int[] {3, 2}, new int[] {2, 10});
+    assertPositions(5, new int[] {1, 4, 1, 2}, new int[] {1, 3, 12, 24});
+  }
+
+  @Test
+  public void testBroadcast() throws Exception {
+    assertPositions(0, new int[] {3, 4}, new int[] {1, 0});
+    assertPositions(0, new int[] {3, 4}, new int[] {0, 1});
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    StrideCursor cursor = new StrideCursor(0, new int[] {0, 3}, new int[] {1, 0});
+    assertFalse(cursor.hasNext());
+    assertFalse(cursor.hasNextRun());
+  }
+
+  @Test
+  public void testRuns() throws Exception {
+    int[] shape = {3, 4};
+    int[] stride = {2, 10};
+    StrideCursor cursor = new StrideCursor(1, shape, stride);
+    assertEquals(3, cursor.runLength());
+    assertEquals(2, cursor.runStride());
+    int i = 0;
+    while (cursor.hasNextRun()) {
+      int position = cursor.nextRun();
+      for (int j = 0; j < cursor.runLength(); j++) {
+        assertEquals(StrideUtils.index(i++, 1, stride, shape), position);
+        position += cursor.runStride();
+      }
+    }
+    assertEquals(12, i);
+  }
+
+  @Test
+  public void testTypedCursorOnView() throws Exception {
+    DoubleArray x = Arrays.linspace(0, 19, 20).reshape(4, 5);
+    DoubleArray view = x.getView(Arrays.range(1, 4, 2), Arrays.range(0, 5, 2));
+    DoubleCursor cursor = view.cursor();
+    int i = 0;
+    while (cursor.hasNext()) {
+      assertEquals(view.get(i), cursor.nextDouble(), 0);
+      cursor.set(-1);
+      assertEquals(-1, view.get(i++), 0);
+    }
+    assertEquals(view.size(), i);
+  }
+}
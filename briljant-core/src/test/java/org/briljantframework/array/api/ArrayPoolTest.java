@@ -0,0 +1,100 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.junit.Test;
+
+public class ArrayPoolTest {
+
+  private final ArrayFactory bj = NetlibArrayBackend.getInstance().getArrayFactory();
+
+  @Test
+  public void testScopeReusesBuffers() throws Exception {
+    ArrayPool pool = new ArrayPool(ArrayPool.DEFAULT_MAX_RETAINED_BYTES);
+    DoubleArray x = bj.newDoubleArray(100);
+    x.assign(1);
+    for (int i = 0; i < 10; i++) {
+      try (ArrayPool.Scope scope = pool.open()) {
+        DoubleArray tmp = bj.newDoubleArray(100);
+        assertEquals(0, Arrays.sum(tmp), 0);
+        tmp.assign(2);
+        x = scope.keep(Arrays.plus(x, tmp));
+        assertEquals(2, scope.getAllocated());
+      }
+    }
+    assertEquals(21 * 100, Arrays.sum(x), 0);
+    assertEquals(20, pool.getRequests());
+    assertEquals(18, pool.getReused());
+    assertEquals(0.9, pool.getReuseRate(), 1e-9);
+    assertEquals(2 * 100 * Double.BYTES, pool.getRetainedBytes());
+  }
+
+  @Test
+  public void testNestedScopes() throws Exception {
+    ArrayPool pool = new ArrayPool(ArrayPool.DEFAULT_MAX_RETAINED_BYTES);
+    try (ArrayPool.Scope outer = pool.open()) {
+      DoubleArray kept;
+      try (ArrayPool.Scope inner = pool.open()) {
+        bj.newIntArray(32);
+        kept = inner.keep(bj.newDoubleArray(8, 8));
+        assertEquals(2, inner.getAllocated());
+      }
+      assertEquals(1, outer.getAllocated());
+      assertEquals(2, pool.getReleased());
+      DoubleArray reused = bj.newDoubleArray(64);
+      assertTrue(reused != kept);
+      assertEquals(1, pool.getReused());
+    }
+  }
+
+  @Test
+  public void testLimit() throws Exception {
+    ArrayPool pool = new ArrayPool(100 * Double.BYTES);
+    try (ArrayPool.Scope scope = pool.open()) {
+      bj.newDoubleArray(100);
+      bj.newDoubleArray(100);
+      bj.newDoubleArray(4); // not pooled
+      assertSame(pool, scope.getPool());
+    }
+    assertEquals(1, pool.getReleased());
+    assertEquals(1, pool.getDiscarded());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCloseOuterScopeFirst() throws Exception {
+    ArrayPool pool = new ArrayPool(1024);
+    ArrayPool.Scope outer = pool.open();
+    ArrayPool.Scope inner = pool.open();
+    try {
+      outer.close();
+    } finally {
+      inner.close();
+      outer.close();
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.briljantframework.array.ArrayAssert;
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.briljantframework.exceptions.MultiDimensionMismatchException;
+import org.junit.Test;
+
+public class BatchedGemmTest {
+
+  private final ArrayBackend backend = NetlibArrayBackend.getInstance();
+  private final ArrayFactory bj = backend.getArrayFactory();
+  private final ArrayRoutines routines = backend.getArrayRoutines();
+  private final Random random = new Random(123);
+
+  @Test
+  public void testBatchGemm() throws Exception {
+    ArrayOperation[] ops = {ArrayOperation.KEEP, ArrayOperation.TRANSPOSE};
+    int[][] sizes = {{3, 4, 2}, {40, 50, 30}};
+    for (int[] mnk : sizes) {
+      int m = mnk[0], n = mnk[1], k = mnk[2];
+      for (ArrayOperation transA : ops) {
+        for (ArrayOperation transB : ops) {
+          DoubleArray a = transA.isTranspose() ? random(6, k, m) : random(6, m, k);
+          DoubleArray b = transB.isTranspose() ? random(6, n, k) : random(6, k, n);
+          DoubleArray c = random(6, m, n);
+          DoubleArray expected = gemm(transA, transB, 2, a, b, 0.5, c);
+          routines.batchGemm(transA, transB, 2, a, b, 0.5, c);
+          ArrayAssert.assertArrayEquals(expected, c, 1e-10);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBatchGemm_Broadcast() throws Exception {
+    DoubleArray a = random(4, 1, 3, 5);
+    DoubleArray b = random(7, 5, 2);
+    DoubleArray c = bj.newDoubleArray(4, 7, 3, 2);
+    DoubleArray expected = gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 0, c);
+    DoubleArray actual = Arrays.matmul(a, b);
+    assertArrayEquals(new int[] {4, 7, 3, 2}, actual.getShape());
+    ArrayAssert.assertArrayEquals(expected, actual, 1e-10);
+
+    DoubleArray matrix = random(5, 2);
+    actual = Arrays.dot(random(3, 5).reshape(1, 3, 5), matrix);
+    assertArrayEquals(new int[] {1, 3, 2}, actual.getShape());
+  }
+
+  @Test
+  public void testBatchGemm_Views() throws Exception {
+    DoubleArray a = random(5, 4, 6).transpose();
+    DoubleArray b = random(6, 5, 3);
+    DoubleArray c = random(2, 6, 4, 3).select(1);
+    DoubleArray expected = gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 1, c);
+    routines.batchGemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 1, c);
+    ArrayAssert.assertArrayEquals(expected, c, 1e-10);
+  }
+
+  @Test
+  public void testBatchGemm_Parallel() throws Exception {
+    DoubleArray a = random(4000, 4, 4);
+    DoubleArray b = random(4000, 4, 3);
+    DoubleArray expected = gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 0,
+        bj.newDoubleArray(4000, 4, 3));
+    ArrayAssert.assertArrayEquals(expected, Arrays.matmul(a, b), 1e-10);
+  }
+
+  @Test(expected = MultiDimensionMismatchException.class)
+  public void testBatchGemm_Mismatch() throws Exception {
+    Arrays.matmul(random(2, 3, 4), random(2, 3, 4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBatchGemm_BroadcastMismatch() throws Exception {
+    Arrays.matmul(random(2, 3, 4), random(3, 4, 4));
+  }
+
+  /**
+   * Computes the batched product one matrix at a time using 2d gemm, returning a new array
+   */
+  private DoubleArray gemm(ArrayOperation transA, ArrayOperation transB, double alpha,
+      DoubleArray a, DoubleArray b, double beta, DoubleArray c) {
+    DoubleArray out = c.copy();
+    int[] shape = c.getShape();
+    int batches = c.size() / (c.size(c.dims() - 2) * c.size(c.dims() - 1));
+    for (int i = 0; i < batches; i++) {
+      int[] batch = new int[shape.length - 2];
+      for (int d = 0, rest = i; d < batch.length; d++) {
+        batch[d] = rest % shape[d];
+        rest /= shape[d];
+      }
+      DoubleArray slice = slice(out, batch);
+      routines.gemm(transA, transB, alpha, slice(a, batch), slice(b, batch), beta, slice);
+      int[] index = java.util.Arrays.copyOf(batch, shape.length);
+      for (int r = 0; r < slice.rows(); r++) {
+        for (int col = 0; col < slice.columns(); col++) {
+          index[shape.length - 2] = r;
+          index[shape.length - 1] = col;
+          out.set(index, slice.get(r, col));
+        }
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Returns a copy of the matrix of {@code x} at the given (broadcast) batch index
+   */
+  private DoubleArray slice(DoubleArray x, int[] batch) {
+    int dims = x.dims();
+    int[] index = new int[dims];
+    int shift = batch.length - (dims - 2);
+    for (int d = 0; d < dims - 2; d++) {
+      index[d] = x.size(d) == 1 ? 0 : batch[d + shift];
+    }
+    DoubleArray slice = bj.newDoubleArray(x.size(dims - 2), x.size(dims - 1));
+    for (int r = 0; r < slice.rows(); r++) {
+      for (int c = 0; c < slice.columns(); c++) {
+        index[dims - 2] = r;
+        index[dims - 1] = c;
+        slice.set(r, c, x.get(index));
+      }
+    }
+    return slice;
+  }
+
+  private DoubleArray random(int... shape) {
+    DoubleArray x = bj.newDoubleArray(shape);
+    x.assign(random::nextGaussian);
+    return x;
+  }
+}
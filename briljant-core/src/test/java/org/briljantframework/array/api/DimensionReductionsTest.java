@@ -0,0 +1,94 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.briljantframework.array.ArrayAssert;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.junit.Test;
+
+public class DimensionReductionsTest {
+
+  private final ArrayBackend backend = NetlibArrayBackend.getInstance();
+  private final ArrayFactory bj = backend.getArrayFactory();
+  private final ArrayRoutines routines = backend.getArrayRoutines();
+  private final Random random = new Random(123);
+
+  @Test
+  public void testDoubleReductions() throws Exception {
+    DoubleArray large = random(700, 300);
+    DoubleArray[] arrays = {random(1, 1), random(13, 7), large, large.transpose(),
+        random(40, 30).getView(bj.range(1, 40, 3), bj.range(0, 30, 2))};
+    for (DoubleArray x : arrays) {
+      for (int dim = 0; dim < 2; dim++) {
+        ArrayAssert.assertArrayEquals(x.reduceVectors(dim, routines::sum),
+            DimensionReductions.sum(dim, x), 1e-10);
+        ArrayAssert.assertArrayEquals(x.reduceVectors(dim, routines::mean),
+            DimensionReductions.mean(dim, x), 1e-10);
+        ArrayAssert.assertArrayEquals(x.reduceVectors(dim, routines::var),
+            DimensionReductions.var(dim, x), 1e-10);
+        ArrayAssert.assertArrayEquals(x.reduceVectors(dim, routines::std),
+            DimensionReductions.std(dim, x), 1e-10);
+        assertEquals(x.reduceVectors(dim, routines::min), DimensionReductions.min(dim, x));
+        assertEquals(x.reduceVectors(dim, routines::max), DimensionReductions.max(dim, x));
+      }
+    }
+  }
+
+  @Test
+  public void testNaNPropagates() throws Exception {
+    DoubleArray x = random(600, 200);
+    x.set(3, 4, Double.NaN);
+    for (int dim = 0; dim < 2; dim++) {
+      int vector = dim == 0 ? 4 : 3;
+      assertEquals(Double.NaN, DimensionReductions.sum(dim, x).get(vector), 0);
+      assertEquals(Double.NaN, DimensionReductions.var(dim, x).get(vector), 0);
+      assertEquals(Double.NaN, DimensionReductions.max(dim, x).get(vector), 0);
+    }
+  }
+
+  @Test
+  public void testIntAndLongReductions() throws Exception {
+    IntArray x = bj.newIntArray(300, 400);
+    x.assign(() -> random.nextInt(1000) - 500);
+    LongArray y = x.longArray().copy();
+    for (int dim = 0; dim < 2; dim++) {
+      assertEquals(x.reduceVectors(dim, routines::sum), DimensionReductions.sum(dim, x));
+      assertEquals(x.reduceVectors(dim, routines::min), DimensionReductions.min(dim, x));
+      assertEquals(x.reduceVectors(dim, routines::max), DimensionReductions.max(dim, x));
+      assertEquals(y.reduceVector(dim, routines::sum), DimensionReductions.sum(dim, y));
+      assertEquals(y.reduceVector(dim, routines::min), DimensionReductions.min(dim, y));
+      assertEquals(y.reduceVector(dim, routines::max), DimensionReductions.max(dim, y));
+    }
+  }
+
+  private DoubleArray random(int rows, int columns) {
+    DoubleArray array = bj.newDoubleArray(rows, columns);
+    array.assign(random::nextGaussian);
+    return array;
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import java.util.Random;
+
+import org.briljantframework.array.ArrayAssert;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.junit.Test;
+
+public class DoubleGemmTest {
+
+  private final ArrayFactory bj = NetlibArrayBackend.getInstance().getArrayFactory();
+  private final Random random = new Random(123);
+
+  @Test
+  public void testGemm() throws Exception {
+    int[][] sizes = {{1, 1, 1}, {3, 5, 7}, {13, 9, 300}, {130, 150, 70}, {5, 600, 400}};
+    for (int[] size : sizes) {
+      for (boolean transA : new boolean[] {false, true}) {
+        for (boolean transB : new boolean[] {false, true}) {
+          int m = size[0], n = size[1], k = size[2];
+          DoubleArray a = random(transA ? k : m, transA ? m : k);
+          DoubleArray b = random(transB ? n : k, transB ? k : n);
+          DoubleArray c = random(m, n);
+          DoubleArray expected = naive(transA, transB, 2, a, b, 0.5, c);
+          DoubleGemm.gemm(transA, transB, 2, a, b, 0.5, c, m, n, k);
+          ArrayAssert.assertArrayEquals(expected, c, 1e-9);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGemm_stridedViews() throws Exception {
+    DoubleArray a = random(40, 30).transpose().getView(bj.range(1, 30, 2), bj.range(0, 40, 3));
+    DoubleArray b = random(14, 21).getView(bj.range(0, 14), bj.range(1, 21, 2));
+    DoubleArray c = random(15, 22).getView(bj.range(0, 15), bj.range(0, 20, 2));
+    DoubleArray expected = naive(false, false, 1, a, b, 0, c);
+    DoubleGemm.gemm(false, false, 1, a, b, 0, c, 15, 10, 14);
+    ArrayAssert.assertArrayEquals(expected, c, 1e-9);
+  }
+
+  @Test
+  public void testGemv() throws Exception {
+    for (boolean transA : new boolean[] {false, true}) {
+      for (int[] size : new int[][] {{1, 1}, {7, 3}, {1200, 1100}}) {
+        int m = size[0], n = size[1];
+        DoubleArray a = random(transA ? n : m, transA ? m : n);
+        DoubleArray x = random(n, 1).getColumn(0);
+        DoubleArray y = random(m, 2).getColumn(1);
+        DoubleArray expected =
+            naive(transA, false, 3, a, x.reshape(n, 1), 2, y.copy().reshape(m, 1));
+        expected = expected.reshape(y.getShape());
+        DoubleGemm.gemv(transA, 3, a, x, 2, y, m, n);
+        ArrayAssert.assertArrayEquals(expected, y, 1e-9);
+      }
+    }
+  }
+
+  private DoubleArray random(int rows, int columns) {
+    DoubleArray array = bj.newDoubleArray(rows, columns);
+    array.assign(random::nextGaussian);
+    return array;
+  }
+
+  private static DoubleArray naive(boolean transA, boolean transB, double alpha, DoubleArray a,
+      DoubleArray b, double beta, DoubleArray c) {
+    DoubleArray out = c.copy();
+    int k = transA ? a.rows() : a.columns();
+    for (int i = 0; i < c.rows(); i++) {
+      for (int j = 0; j < c.columns(); j++) {
+        double sum = 0;
+        for (int p = 0; p < k; p++) {
+          sum += (transA ? a.get(p, i) : a.get(i, p)) * (transB ? b.get(j, p) : b.get(p, j));
+        }
+        out.set(i, j, alpha * sum + beta * c.get(i, j));
+      }
+    }
+    return out;
+  }
+}
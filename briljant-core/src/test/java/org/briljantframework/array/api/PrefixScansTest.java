@@ -0,0 +1,131 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.briljantframework.array.ArrayAssert;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.junit.Test;
+
+public class PrefixScansTest {
+
+  private final ArrayBackend backend = NetlibArrayBackend.getInstance();
+  private final ArrayFactory bj = backend.getArrayFactory();
+  private final ArrayRoutines routines = backend.getArrayRoutines();
+  private final Random random = new Random(123);
+
+  @Test
+  public void testDoubleScans() throws Exception {
+    DoubleArray large = random(700, 300);
+    DoubleArray[] arrays = {random(1, 1), random(13, 7), large, large.transpose(),
+        random(40, 30).getView(bj.range(1, 40, 3), bj.range(0, 30, 2)), random(1 << 17),
+        random(3, 1 << 16), random(4, 5, 6)};
+    for (DoubleArray x : arrays) {
+      for (int dim = 0; dim < x.dims(); dim++) {
+        for (PrefixScans.Scan scan : PrefixScans.Scan.values()) {
+          ArrayAssert.assertArrayEquals(scan(scan, dim, x), PrefixScans.scan(scan, dim, x), 1e-6);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testVectorScan() throws Exception {
+    DoubleArray x = random(1 << 18);
+    DoubleArray row = random(40, 1 << 12).getRow(7);
+    for (PrefixScans.Scan scan : PrefixScans.Scan.values()) {
+      ArrayAssert.assertArrayEquals(scan(scan, 0, x), PrefixScans.scan(scan, x), 1e-6);
+      ArrayAssert.assertArrayEquals(scan(scan, 1, row), PrefixScans.scan(scan, row), 1e-6);
+    }
+  }
+
+  @Test
+  public void testNaNPropagates() throws Exception {
+    DoubleArray x = random(1 << 17);
+    x.set(100, Double.NaN);
+    DoubleArray sum = PrefixScans.scan(PrefixScans.Scan.SUM, x);
+    assertEquals(x.get(0), sum.get(0), 0);
+    assertEquals(Double.NaN, sum.get(100), 0);
+    assertEquals(Double.NaN, sum.get(x.size() - 1), 0);
+  }
+
+  @Test
+  public void testIntAndLongScans() throws Exception {
+    IntArray[] arrays = {bj.newIntArray(300, 400), bj.newIntArray(3, 1 << 16),
+        bj.newIntArray(1 << 17), bj.newIntArray(4, 5, 6)};
+    for (IntArray x : arrays) {
+      x.assign(() -> random.nextInt(1000) - 500);
+      LongArray y = x.longArray().copy();
+      for (int dim = 0; dim < x.dims(); dim++) {
+        for (PrefixScans.Scan scan : PrefixScans.Scan.values()) {
+          LongArray expected = scan(scan, dim, y);
+          assertEquals(expected, PrefixScans.scan(scan, dim, y));
+          IntArray actual = PrefixScans.scan(scan, dim, x);
+          for (int i = 0; i < x.size(); i++) {
+            assertEquals((int) expected.get(i), actual.get(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCumsumAlongDimension() throws Exception {
+    DoubleArray x = bj.newDoubleMatrix(new double[][] {{1, 2}, {3, 4}});
+    assertEquals(bj.newDoubleMatrix(new double[][] {{1, 2}, {4, 6}}), routines.cumsum(0, x));
+    assertEquals(bj.newDoubleMatrix(new double[][] {{1, 3}, {3, 7}}), routines.cumsum(1, x));
+    assertEquals(bj.newDoubleVector(1, 3, 6, 10), routines.cumsum(bj.newDoubleVector(1, 2, 3, 4)));
+  }
+
+  private DoubleArray scan(PrefixScans.Scan scan, int dim, DoubleArray x) {
+    DoubleArray out = x.copy();
+    for (int i = 0; i < x.vectors(dim); i++) {
+      DoubleArray vector = out.getVector(dim, i);
+      for (int k = 1; k < vector.size(); k++) {
+        vector.set(k, scan.apply(vector.get(k - 1), vector.get(k)));
+      }
+    }
+    return out;
+  }
+
+  private LongArray scan(PrefixScans.Scan scan, int dim, LongArray x) {
+    LongArray out = x.copy();
+    for (int i = 0; i < x.vectors(dim); i++) {
+      LongArray vector = out.getVector(dim, i);
+      for (int k = 1; k < vector.size(); k++) {
+        vector.set(k, scan.apply(vector.get(k - 1), vector.get(k)));
+      }
+    }
+    return out;
+  }
+
+  private DoubleArray random(int... shape) {
+    DoubleArray x = bj.newDoubleArray(shape);
+    x.assign(random::nextDouble);
+    return x;
+  }
+}
@@ -0,0 +1,171 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.briljantframework.array.ArrayAssert;
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.api.ArrayBackend;
+import org.briljantframework.array.api.ArrayFactory;
+import org.briljantframework.array.api.ArrayRoutines;
+import org.junit.Test;
+
+import com.github.fommil.netlib.BLAS;
+import com.github.fommil.netlib.F2jBLAS;
+
+public class BlasLayoutTest {
+
+  private final ArrayBackend backend = NetlibArrayBackend.getInstance();
+  private final ArrayFactory bj = backend.getArrayFactory();
+  private final ArrayRoutines bjr = backend.getArrayRoutines();
+  private final Random random = new Random(123);
+
+  @Test
+  public void testMatrixLayout() throws Exception {
+    DoubleArray x = random(10, 8);
+    BlasLayout dense = BlasLayout.of(x);
+    assertFalse(dense.transposed);
+    assertEquals(10, dense.leadingDimension);
+
+    BlasLayout sub = BlasLayout.of(x.getView(2, 3, 5, 4));
+    assertFalse(sub.transposed);
+    assertEquals(2 + 3 * 10, sub.offset);
+    assertEquals(5, sub.rows);
+    assertEquals(4, sub.columns);
+    assertEquals(10, sub.leadingDimension);
+
+    BlasLayout transposed = BlasLayout.of(x.getView(2, 3, 5, 4).transpose());
+    assertTrue(transposed.transposed);
+    assertEquals(5, transposed.rows);
+    assertEquals(4, transposed.columns);
+    assertEquals(10, transposed.leadingDimension);
+    assertEquals("n", transposed.transpose(ArrayOperation.TRANSPOSE));
+    assertEquals("t", transposed.transpose(ArrayOperation.KEEP));
+
+    assertNull(BlasLayout.of(x.asView(0, new int[] {4, 4}, new int[] {2, 20})));
+  }
+
+  @Test
+  public void testVectorIncrement() throws Exception {
+    DoubleArray x = random(10, 8);
+    assertEquals(1, BlasLayout.increment(x.getColumn(2)));
+    assertEquals(10, BlasLayout.increment(x.getRow(2)));
+    assertEquals(0, BlasLayout.increment(x));
+
+    DoubleArray reversed = x.getColumn(2).asView(29, new int[] {10}, new int[] {-1});
+    assertEquals(-1, BlasLayout.increment(reversed));
+    assertEquals(20, BlasLayout.offset(reversed, -1));
+  }
+
+  @Test
+  public void testGemm_Views() throws Exception {
+    BLAS blas = new F2jBLAS();
+    DoubleArray x = random(30, 30);
+    DoubleArray[] as = {x.getView(1, 2, 7, 5), x.getView(3, 1, 5, 7).transpose(), random(7, 5)};
+    DoubleArray[] bs = {x.getView(10, 10, 5, 6), x.getView(0, 20, 6, 5).transpose()};
+    for (DoubleArray a : as) {
+      for (DoubleArray b : bs) {
+        DoubleArray expected = bj.newDoubleArray(7, 6);
+        bjr.gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a.copy(), b.copy(), 0, expected);
+
+        DoubleArray c = random(20, 20).getView(2, 3, 7, 6);
+        BlasLayout la = BlasLayout.of(a);
+        BlasLayout lb = BlasLayout.of(b);
+        BlasLayout lc = BlasLayout.of(c);
+        blas.dgemm(la.transpose(ArrayOperation.KEEP), lb.transpose(ArrayOperation.KEEP), 7, 6, 5, 1,
+            ((NetlibDoubleArray) a).getBackingArray(), la.offset, la.leadingDimension,
+            ((NetlibDoubleArray) b).getBackingArray(), lb.offset, lb.leadingDimension, 0,
+            ((NetlibDoubleArray) c).getBackingArray(), lc.offset, lc.leadingDimension);
+        ArrayAssert.assertArrayEquals(expected, c, 1e-10);
+
+        DoubleArray out = random(7, 6);
+        bjr.gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, b, 0, out.transpose().transpose());
+        ArrayAssert.assertArrayEquals(expected, out, 1e-10);
+      }
+    }
+  }
+
+  @Test
+  public void testGemv_Views() throws Exception {
+    BLAS blas = new F2jBLAS();
+    DoubleArray a = random(20, 20).getView(2, 3, 6, 4).transpose();
+    DoubleArray x = random(6, 6).getRow(2);
+    DoubleArray y = random(8).asView(7, new int[] {4}, new int[] {-2});
+    DoubleArray expected = y.copy();
+    bjr.gemv(ArrayOperation.KEEP, 2, a.copy(), x.copy(), 0.5, expected);
+
+    BlasLayout la = BlasLayout.of(a);
+    int incX = BlasLayout.increment(x);
+    int incY = BlasLayout.increment(y);
+    blas.dgemv(la.transpose(ArrayOperation.KEEP), la.rows, la.columns, 2,
+        ((NetlibDoubleArray) a).getBackingArray(), la.offset, la.leadingDimension,
+        ((NetlibDoubleArray) x).getBackingArray(), BlasLayout.offset(x, incX), incX, 0.5,
+        ((NetlibDoubleArray) y).getBackingArray(), BlasLayout.offset(y, incY), incY);
+    ArrayAssert.assertArrayEquals(expected, y, 1e-10);
+  }
+
+  @Test
+  public void testLevel1_NegativeIncrement() throws Exception {
+    DoubleArray x = random(10);
+    DoubleArray reversed = x.asView(9, new int[] {10}, new int[] {-1});
+    DoubleArray y = random(20).asView(1, new int[] {10}, new int[] {2});
+    double expected = 0;
+    for (int i = 0; i < 10; i++) {
+      expected += reversed.get(i) * y.get(i);
+    }
+    assertEquals(expected, bjr.inner(reversed, y), 1e-10);
+    assertEquals(bjr.norm2(x), bjr.norm2(reversed), 1e-10);
+
+    DoubleArray copy = y.copy();
+    bjr.axpy(2, reversed, y);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(copy.get(i) + 2 * reversed.get(i), y.get(i), 1e-10);
+    }
+  }
+
+  @Test
+  public void testGer_TransposedView() throws Exception {
+    DoubleArray a = random(10, 10).getView(1, 1, 4, 3).transpose();
+    DoubleArray x = random(3);
+    DoubleArray y = random(8).asView(7, new int[] {4}, new int[] {-2});
+    DoubleArray expected = a.copy();
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 4; j++) {
+        expected.set(i, j, expected.get(i, j) + 3 * x.get(i) * y.get(j));
+      }
+    }
+    bjr.ger(3, x, y, a);
+    ArrayAssert.assertArrayEquals(expected, a, 1e-10);
+  }
+
+  private DoubleArray random(int... shape) {
+    DoubleArray x = bj.newDoubleArray(shape);
+    x.assign(random::nextGaussian);
+    return x;
+  }
+}
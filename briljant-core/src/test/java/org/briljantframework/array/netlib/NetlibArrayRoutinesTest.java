@@ -23,12 +23,17 @@ package org.briljantframework.array.netlib;
 import org.briljantframework.array.ArrayAssert;
 import org.briljantframework.array.ArrayOperation;
 import org.briljantframework.array.ArrayPrinter;
+import org.briljantframework.array.BooleanArray;
 import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
 import org.briljantframework.array.api.ArrayBackend;
 import org.briljantframework.array.api.ArrayFactory;
 import org.briljantframework.array.api.ArrayRoutines;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 public class NetlibArrayRoutinesTest {
 
   static {
@@ -59,4 +64,136 @@ public class NetlibArrayRoutinesTest {
     bjr.gemv(ArrayOperation.TRANSPOSE, 1, a, x, 1, y);
     ArrayAssert.assertArrayEquals(bj.newDoubleVector(9, 15, 21), y, 0.0);
   }
+
+  @Test
+  public void testDenseElementwise() throws Exception {
+    DoubleArray a = bj.newDoubleArray(3, 7);
+    a.assign(() -> Math.random() + 1);
+    DoubleArray b = bj.newDoubleArray(3, 7);
+    b.assign(() -> Math.random() + 1);
+    DoubleArray plus = bjr.plus(a, b);
+    DoubleArray minus = bjr.minus(a, b);
+    DoubleArray times = bjr.times(a, b);
+    DoubleArray div = bjr.div(a, b);
+    for (int i = 0; i < a.size(); i++) {
+      assertEquals(a.get(i) + b.get(i), plus.get(i), 0);
+      assertEquals(a.get(i) - b.get(i), minus.get(i), 0);
+      assertEquals(a.get(i) * b.get(i), times.get(i), 0);
+      assertEquals(a.get(i) / b.get(i), div.get(i), 0);
+    }
+
+    DoubleArray out = bj.newDoubleArray(3, 7);
+    bjr.minus(a, b, out);
+    ArrayAssert.assertArrayEquals(bjr.minus(b, a), out, 0);
+    bjr.div(a, b, out);
+    ArrayAssert.assertArrayEquals(bjr.div(b, a), out, 0);
+  }
+
+  @Test
+  public void testDenseElementwise_scalarAndView() throws Exception {
+    DoubleArray a = bj.newDoubleArray(5, 9);
+    a.assign(() -> Math.random() + 1);
+    DoubleArray column = a.getColumn(3);
+    DoubleArray scalar = bj.newDoubleVector(2);
+    DoubleArray minus = bjr.minus(scalar, column);
+    DoubleArray div = bjr.div(column, scalar);
+    assertEquals(column.size(), minus.size());
+    for (int i = 0; i < column.size(); i++) {
+      assertEquals(2 - column.get(i), minus.get(i), 0);
+      assertEquals(column.get(i) / 2, div.get(i), 0);
+    }
+
+    // a row view is strided and handled by the generic implementation
+    DoubleArray row = a.getRow(1);
+    DoubleArray times = bjr.times(row, row);
+    for (int i = 0; i < row.size(); i++) {
+      assertEquals(row.get(i) * row.get(i), times.get(i), 0);
+    }
+  }
+
+  @Test
+  public void testDenseElementwise_nonNetlibScalar() throws Exception {
+    DoubleArray one = bj.newDoubleVector(1);
+    DoubleArray two = bj.newIntVector(2).doubleArray();
+    DoubleArray expected = bj.newDoubleVector(2);
+    assertEquals(bj.newDoubleVector(3), bjr.plus(one, two));
+    assertEquals(bj.newDoubleVector(-1), bjr.minus(one, two));
+    assertEquals(bj.newDoubleVector(1), bjr.minus(two, one));
+    assertEquals(bj.newDoubleVector(2), bjr.times(two, one));
+    assertEquals(bj.newDoubleVector(0.5), bjr.div(one, two));
+    assertEquals(bj.newDoubleVector(3, 4, 5), bjr.plus(bj.newDoubleVector(1, 2, 3), two));
+
+    DoubleArray actualOut = bj.newDoubleArray(1);
+    DoubleArray expectedOut = bj.newDoubleArray(1);
+    bjr.plus(one, two, actualOut);
+    bjr.plus(one, expected, expectedOut);
+    assertEquals(expectedOut, actualOut);
+    bjr.minus(one, two, actualOut);
+    bjr.minus(one, expected, expectedOut);
+    assertEquals(expectedOut, actualOut);
+    bjr.times(two, one, actualOut);
+    bjr.times(expected, one, expectedOut);
+    assertEquals(expectedOut, actualOut);
+    bjr.div(two, one, actualOut);
+    bjr.div(expected, one, expectedOut);
+    assertEquals(expectedOut, actualOut);
+  }
+
+  @Test
+  public void testDenseUnary() throws Exception {
+    DoubleArray a = bj.newDoubleArray(4, 3);
+    a.assign(() -> Math.random() - 0.5);
+    a = a.getColumn(1);
+    DoubleArray abs = bjr.abs(a);
+    DoubleArray exp = bjr.exp(a);
+    DoubleArray sqrt = bjr.sqrt(abs);
+    DoubleArray log = bjr.log(abs);
+    for (int i = 0; i < a.size(); i++) {
+      assertEquals(Math.abs(a.get(i)), abs.get(i), 0);
+      assertEquals(Math.exp(a.get(i)), exp.get(i), 0);
+      assertEquals(Math.sqrt(Math.abs(a.get(i))), sqrt.get(i), 0);
+      assertEquals(Math.log(Math.abs(a.get(i))), log.get(i), 0);
+    }
+  }
+
+  @Test
+  public void testDenseReductions() throws Exception {
+    IntArray i = bj.newIntVector(3, -1, 7, 2, 9, -4, 5);
+    assertEquals(21, bjr.sum(i));
+    assertEquals(-4, bjr.min(i));
+    assertEquals(9, bjr.max(i));
+
+    LongArray l = bj.newLongVector(3, -1, 7, 2, 9, -4, 5, 11, 8);
+    assertEquals(40, bjr.sum(l));
+    assertEquals(-4, bjr.min(l));
+    assertEquals(11, bjr.max(l));
+
+    DoubleArray d = bj.newDoubleVector(3, -1, 7, 2, 9, -4, 5, 0.5, 8, 1);
+    assertEquals(30.5, bjr.sum(d), 0);
+    assertEquals(-4, bjr.min(d), 0);
+    assertEquals(9, bjr.max(d), 0);
+    assertEquals(27.5, bjr.sum(d.asView(1, new int[] {9}, new int[] {1})), 0);
+
+    IntArray plus = bjr.plus(i, i);
+    IntArray ones = bj.newIntArray(7);
+    ones.assign(1);
+    IntArray minus = bjr.minus(i, ones);
+    for (int k = 0; k < i.size(); k++) {
+      assertEquals(2 * i.get(k), plus.get(k));
+      assertEquals(i.get(k) - 1, minus.get(k));
+    }
+  }
+
+  @Test
+  public void testDenseMapAndWhere() throws Exception {
+    DoubleArray d = bj.newDoubleArray(13, 11);
+    d.assign(() -> Math.random() - 0.5);
+    BooleanArray positive = d.where(v -> v > 0);
+    DoubleArray squared = d.map(v -> v * v);
+    for (int k = 0; k < d.size(); k++) {
+      assertEquals(d.get(k) > 0, positive.get(k));
+      assertEquals(d.get(k) * d.get(k), squared.get(k), 0);
+    }
+    ArrayAssert.assertEqualShape(d, positive);
+  }
 }
@@ -20,9 +20,17 @@
  */
 package org.briljantframework.array.netlib;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
 import org.briljantframework.array.AbstractBooleanArrayTest;
+import org.briljantframework.array.Arrays;
 import org.briljantframework.array.BooleanArray;
 import org.briljantframework.array.api.ArrayBackend;
+import org.junit.Test;
 
 /**
  * Created by isak on 9/6/16.
@@ -32,4 +40,89 @@ public class NetlibBooleanArrayTest extends AbstractBooleanArrayTest {
   public ArrayBackend getArrayBackend() {
     return NetlibArrayBackend.getInstance();
   }
+
+  private BooleanArray randomArray(Random random, int... shape) {
+    BooleanArray array = getArrayFactory().newBooleanArray(shape);
+    array.assign(random::nextBoolean);
+    return array;
+  }
+
+  @Test
+  public void testWordParallelLogic() throws Exception {
+    Random random = new Random(123);
+    for (int size : new int[] {1, 63, 64, 65, 200}) {
+      BooleanArray a = randomArray(random, size);
+      BooleanArray b = randomArray(random, size);
+      BooleanArray and = Arrays.and(a, b);
+      BooleanArray or = Arrays.or(a, b);
+      BooleanArray xor = Arrays.xor(a, b);
+      BooleanArray not = a.not();
+      int sum = 0;
+      for (int i = 0; i < size; i++) {
+        assertEquals(a.get(i) && b.get(i), and.get(i));
+        assertEquals(a.get(i) || b.get(i), or.get(i));
+        assertEquals(a.get(i) ^ b.get(i), xor.get(i));
+        assertEquals(!a.get(i), not.get(i));
+        sum += a.get(i) ? 1 : 0;
+      }
+      assertEquals(sum, a.sum());
+      assertEquals(size - sum, not.sum());
+      assertEquals(size - sum, Arrays.sum(not));
+    }
+  }
+
+  @Test
+  public void testSumAnyAllOnViews() throws Exception {
+    BooleanArray x = getArrayFactory().newBooleanArray(130);
+    x.set(3, true);
+    x.set(70, true);
+    x.set(129, true);
+
+    assertEquals(3, x.sum());
+    assertEquals(1, x.getView(Arrays.range(4, 129)).sum());
+    assertEquals(0, x.getView(Arrays.range(71, 129)).sum());
+    assertFalse(x.getView(Arrays.range(71, 129)).any());
+    assertTrue(x.getView(Arrays.range(70, 71)).all());
+    assertEquals(2, x.getView(Arrays.range(0, 130, 3)).sum());
+
+    BooleanArray matrix = x.reshape(10, 13);
+    assertEquals(1, matrix.getRow(3).sum()); // 3, 13, ..., 123
+    assertTrue(matrix.getColumn(12).any()); // 120-129
+  }
+
+  @Test
+  public void testSumOnMatrixViews() throws Exception {
+    BooleanArray x = getArrayFactory().newBooleanArray(130);
+    x.set(3, true);
+    x.set(25, true);
+    x.set(70, true);
+
+    BooleanArray matrix = x.reshape(10, 13);
+    assertEquals(3, matrix.transpose().sum());
+    assertEquals(3, x.reshape(1, 130).sum());
+    assertEquals(3, x.reshape(130, 1, 1).sum());
+    assertEquals(1, matrix.getView(0, 2, 10, 3).sum()); // 20-49
+    assertEquals(2, matrix.getView(3, 0, 7, 13).sum()); // rows 3-9
+    assertTrue(matrix.getView(5, 2, 1, 1).all()); // 25
+    assertEquals(0, getArrayFactory().newBooleanArray(0, 3).sum());
+  }
+
+  @Test
+  public void testNextSetIndex() throws Exception {
+    BooleanArray x = getArrayFactory().newBooleanArray(200);
+    int[] set = {0, 5, 63, 64, 130, 199};
+    for (int i : set) {
+      x.set(i, true);
+    }
+    int j = 0;
+    for (int i = x.nextSetIndex(0); i >= 0; i = x.nextSetIndex(i + 1)) {
+      assertEquals(set[j++], i);
+    }
+    assertEquals(set.length, j);
+
+    BooleanArray view = x.getView(Arrays.range(64, 131));
+    assertEquals(0, view.nextSetIndex(0));
+    assertEquals(66, view.nextSetIndex(1));
+    assertEquals(-1, view.nextSetIndex(67));
+  }
 }
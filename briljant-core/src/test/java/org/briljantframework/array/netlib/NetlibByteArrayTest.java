@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.ByteArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.ShortArray;
+import org.briljantframework.array.api.ArrayFactory;
+import org.briljantframework.array.offheap.OffHeapArrayBackend;
+import org.junit.Test;
+
+public class NetlibByteArrayTest {
+
+  @Test
+  public void testUnsignedElements() throws Exception {
+    ByteArray x = ByteArray.of((byte) 1, (byte) 200, (byte) 255, (byte) 0);
+    assertEquals(200, x.get(1));
+    assertEquals(255, x.get(2));
+    x.set(3, 256 + 7);
+    assertEquals(7, x.get(3));
+    assertEquals(Arrays.intVector(1, 200, 255, 7), x.intArray().copy());
+    assertArrayEquals(new byte[] {1, (byte) 200, (byte) 255, 7}, x.data());
+  }
+
+  @Test
+  public void testViews() throws Exception {
+    ByteArray x = Arrays.byteArray(3, 4);
+    for (int i = 0; i < x.size(); i++) {
+      x.set(i, i * 20);
+    }
+    ByteArray t = x.transpose();
+    assertEquals(x.get(2, 1), t.get(1, 2));
+    ByteArray row = x.getRow(1);
+    assertEquals(20, row.get(0));
+    assertEquals(80, row.get(1));
+    ByteArray r = x.reshape(6, 2);
+    assertEquals(x.get(5), r.get(5, 0));
+    assertEquals(x.select(0, 2).copy(), x.getRow(2).reshape(4));
+  }
+
+  @Test
+  public void testSum() throws Exception {
+    ByteArray x = Arrays.byteArray(100, 3);
+    x.assign(250);
+    assertEquals(250L * 300, Arrays.sum(x));
+    assertEquals(250L * 150, Arrays.sum(x.getView(0, 0, 50, 3)));
+    assertEquals(Arrays.longVector(25000, 25000, 25000), Arrays.sum(0, x));
+    assertEquals(Arrays.longArray(100).assign(750), Arrays.sum(1, x));
+
+    ShortArray s = Arrays.shortVector((short) -3, (short) 30000, (short) 30000);
+    assertEquals(59997, Arrays.sum(s));
+  }
+
+  @Test
+  public void testDequantize() throws Exception {
+    ByteArray x = Arrays.byteVector((byte) 0, (byte) 128, (byte) 255, (byte) 10).reshape(2, 2);
+    DoubleArray d = Arrays.dequantize(x, 0.5, 128);
+    assertEquals(Arrays.doubleVector(-64, 0, 63.5, -59).reshape(2, 2), d);
+
+    // strided input and output use the generic path
+    DoubleArray out = Arrays.doubleArray(2, 2);
+    Arrays.dequantize(x.transpose(), 0.5, 128, out.transpose());
+    assertEquals(d, out);
+
+    ShortArray s = Arrays.shortVector((short) -100, (short) 100);
+    assertEquals(Arrays.doubleVector(-1, 1), Arrays.dequantize(s, 0.01, 0));
+  }
+
+  @Test
+  public void testOffHeap() throws Exception {
+    ArrayFactory factory = OffHeapArrayBackend.getInstance().getArrayFactory();
+    ByteArray x = factory.newByteVector((byte) 1, (byte) 200, (byte) 3);
+    assertEquals(ByteArray.of((byte) 1, (byte) 200, (byte) 3), x);
+    assertEquals(204, Arrays.sum(x));
+    ShortArray s = factory.newShortArray(2, 2);
+    s.set(1, 1, (short) -7);
+    assertEquals(-7, s.get(3));
+    assertEquals(Arrays.doubleVector(0, 0, 0, -7).reshape(2, 2), s.doubleArray());
+  }
+}
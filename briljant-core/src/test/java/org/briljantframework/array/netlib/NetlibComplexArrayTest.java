@@ -0,0 +1,78 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.math3.complex.Complex;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.ComplexArray;
+import org.briljantframework.array.api.ArrayFactory;
+import org.junit.Test;
+
+/**
+ * @author Isak Karlsson
+ */
+public class NetlibComplexArrayTest {
+
+  private final ArrayFactory factory = NetlibArrayBackend.getInstance().getArrayFactory();
+
+  @Test
+  public void testInterleavedStorage() throws Exception {
+    ComplexArray x = factory.newComplexVector(new Complex(1, 2), new Complex(3, 4));
+    x.set(1, 5, 6);
+    assertEquals(1, x.getReal(0), 0);
+    assertEquals(2, x.getImaginary(0), 0);
+    assertEquals(new Complex(5, 6), x.get(1));
+    assertArrayEquals(new double[] {1, 2, 5, 6}, x.data(), 0);
+  }
+
+  @Test
+  public void testAssignInterleaved() throws Exception {
+    ComplexArray x = factory.newComplexArray(2, 2);
+    x.assign(new double[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertEquals(new Complex(3, 4), x.get(1, 0));
+    assertEquals(new Complex(7, 8), x.get(1, 1));
+  }
+
+  @Test
+  public void testViewSharesStorage() throws Exception {
+    ComplexArray x = factory.newComplexArray(3, 3);
+    ComplexArray column = x.getColumn(1);
+    column.set(2, -1, 1);
+    assertEquals(new Complex(-1, 1), x.get(2, 1));
+    assertEquals(-1, x.getReal(5), 0);
+  }
+
+  @Test
+  public void testPlusTimesConjugate() throws Exception {
+    ComplexArray a = factory.newComplexVector(new Complex(1, 2), new Complex(3, -1));
+    ComplexArray b = factory.newComplexVector(new Complex(2, -3), new Complex(0, 1));
+
+    assertEquals(new Complex(3, -1), Arrays.plus(a, b).get(0));
+    assertEquals(new Complex(3, 0), Arrays.plus(a, b).get(1));
+    assertEquals(new Complex(1, 2).multiply(new Complex(2, -3)), Arrays.times(a, b).get(0));
+    assertEquals(new Complex(3, -1).multiply(new Complex(0, 1)), Arrays.times(a, b).get(1));
+    assertEquals(new Complex(1, -2), a.conjugate().get(0));
+    assertEquals(new Complex(3, 1), a.conjugate().get(1));
+  }
+}
@@ -0,0 +1,131 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.netlib;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.FloatArray;
+import org.briljantframework.array.api.ArrayPool;
+import org.briljantframework.array.api.ArrayRoutines;
+import org.briljantframework.array.offheap.OffHeapArrayBackend;
+import org.junit.Test;
+
+public class NetlibFloatArrayTest {
+
+  private static final double EPSILON = 1e-4;
+
+  @Test
+  public void testConversion() throws Exception {
+    DoubleArray x = Arrays.linspace(0, 1, 12).reshape(3, 4);
+    FloatArray f = Arrays.toFloatArray(x);
+    assertArrayEquals(x.getShape(), f.getShape());
+    for (int i = 0; i < x.size(); i++) {
+      assertEquals((float) x.get(i), f.get(i), 0);
+    }
+    DoubleArray d = Arrays.toDoubleArray(f);
+    d.set(0, 10);
+    assertEquals(0, f.get(0), 0);
+    f.doubleArray().set(0, 3);
+    assertEquals(3, f.get(0), 0);
+  }
+
+  @Test
+  public void testArithmetic() throws Exception {
+    FloatArray a = FloatArray.of(1, 2, 3, 4, 5, 6).reshape(2, 3);
+    FloatArray b = FloatArray.of(2, 4).reshape(2, 1);
+    assertEquals(FloatArray.of(3, 6, 5, 8, 7, 10).reshape(2, 3), Arrays.plus(a, b));
+    assertEquals(FloatArray.of(-1, -2, 1, 0, 3, 2).reshape(2, 3), Arrays.minus(a, b));
+    assertEquals(FloatArray.of(2, 8, 6, 16, 10, 24).reshape(2, 3), Arrays.times(a, b));
+    assertEquals(FloatArray.of(0.5f, 0.5f, 1.5f, 1, 2.5f, 1.5f).reshape(2, 3), Arrays.div(a, b));
+    assertEquals(21, Arrays.sum(a), 0);
+    assertEquals(FloatArray.of(-1, -2, -3, -4, -5, -6).reshape(2, 3), a.negate());
+  }
+
+  @Test
+  public void testBlasLevel1() throws Exception {
+    FloatArray x = FloatArray.of(1, 2, 3, 4);
+    FloatArray y = FloatArray.of(4, 3, 2, 1);
+    assertEquals(20, Arrays.inner(x, y), 0);
+    Arrays.axpy(2, x, y);
+    assertEquals(FloatArray.of(6, 7, 8, 9), y);
+    Arrays.scal(0.5f, y);
+    assertEquals(FloatArray.of(3, 3.5f, 4, 4.5f), y);
+  }
+
+  @Test
+  public void testGemmAndGemvAgreeWithDoublePrecision() throws Exception {
+    DoubleArray a = Arrays.randn(35 * 20).reshape(35, 20);
+    DoubleArray b = Arrays.randn(20 * 17).reshape(20, 17);
+    DoubleArray c = Arrays.doubleArray(35, 17);
+    Arrays.gemm(a, b, c);
+
+    FloatArray fc = Arrays.floatArray(35, 17);
+    Arrays.gemm(Arrays.toFloatArray(a), Arrays.toFloatArray(b), fc);
+    assertEqualsDouble(c, fc);
+
+    // transposed views are handled by the fallback
+    DoubleArray ct = Arrays.doubleArray(17, 35);
+    Arrays.gemm(ArrayOperation.TRANSPOSE, ArrayOperation.TRANSPOSE, 2, b, a, 0, ct);
+    FloatArray fct = Arrays.floatArray(17, 35);
+    Arrays.gemm(ArrayOperation.TRANSPOSE, ArrayOperation.TRANSPOSE, 2,
+        Arrays.toFloatArray(b), Arrays.toFloatArray(a), 0, fct);
+    assertEqualsDouble(ct, fct);
+
+    DoubleArray x = Arrays.randn(20);
+    DoubleArray y = Arrays.doubleArray(35);
+    Arrays.gemv(a, x, y);
+    FloatArray fy = Arrays.floatArray(35);
+    Arrays.gemv(Arrays.toFloatArray(a), Arrays.toFloatArray(x), fy);
+    assertEqualsDouble(y, fy);
+  }
+
+  @Test
+  public void testOffHeapFloatArray() throws Exception {
+    OffHeapArrayBackend backend = OffHeapArrayBackend.getInstance();
+    FloatArray a = backend.getArrayFactory().newFloatMatrix(new float[][] {{1, 2}, {3, 4}});
+    FloatArray b = Arrays.floatMatrix(new float[][] {{1, 2}, {3, 4}});
+    assertEquals(b, a);
+    ArrayRoutines routines = backend.getArrayRoutines();
+    FloatArray c = backend.getArrayFactory().newFloatArray(2, 2);
+    routines.gemm(ArrayOperation.KEEP, ArrayOperation.KEEP, 1, a, a, 0, c);
+    assertEquals(Arrays.floatMatrix(new float[][] {{7, 10}, {15, 22}}), c);
+  }
+
+  @Test
+  public void testPooledBuffers() throws Exception {
+    try (ArrayPool.Scope scope = ArrayPool.openScope()) {
+      Arrays.floatArray(100);
+      assertEquals(1, scope.getAllocated());
+    }
+  }
+
+  private static void assertEqualsDouble(DoubleArray expected, FloatArray actual) {
+    assertArrayEquals(expected.getShape(), actual.getShape());
+    for (int i = 0; i < expected.size(); i++) {
+      double e = expected.get(i);
+      assertEquals(e, actual.get(i), EPSILON * Math.max(1, Math.abs(e)));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Isak Karlsson
+ */
+public class LargeArrayTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testGetAndSet() throws Exception {
+    LargeDoubleArray x = LargeDoubleArray.zeros(3, 4);
+    x.set(2, 3, 10);
+    x.set(new long[] {1, 2}, 5);
+    x.set(0, 1);
+    assertEquals(10, x.get(11), 0);
+    assertEquals(5, x.get(7), 0);
+    assertEquals(1, x.get(0, 0), 0);
+    assertEquals(16, x.sum(), 0);
+    assertArrayEquals(new long[] {3, 4}, x.getShape());
+    assertEquals(12, x.size());
+  }
+
+  @Test
+  public void testViewsShareMemory() throws Exception {
+    LargeIntArray x = LargeIntArray.zeros(4, 5);
+    x.select(0, 2).assign(3);
+    x.getView(new long[] {1, 1}, new long[] {2, 2}).transpose().set(0, 1, 7);
+    assertEquals(3, x.get(2, 0));
+    assertEquals(7, x.get(2, 1));
+    assertEquals(3 * 5 + 4, x.sum());
+
+    LargeIntArray t = x.transpose();
+    assertArrayEquals(new long[] {5, 4}, t.getShape());
+    assertEquals(7, t.get(1, 2));
+    LargeIntArray r = t.reshape(20);
+    assertEquals(7, r.get(2 * 5 + 1));
+  }
+
+  @Test
+  public void testAsIntIndexedView() throws Exception {
+    LargeDoubleArray x = LargeDoubleArray.zeros(10, 3);
+    x.apply(v -> v + 1);
+    DoubleArray row = x.select(0, 7).asDoubleArray();
+    assertArrayEquals(new int[] {3}, row.getShape());
+    row.assign(4);
+    assertEquals(4, x.get(7, 2), 0);
+    assertEquals(1, x.get(6, 2), 0);
+
+    IntArray y = LargeIntArray.zeros(6).asIntArray();
+    y.set(5, 2);
+    assertEquals(2, y.get(5));
+  }
+
+  @Test
+  public void testCopyIsContiguous() throws Exception {
+    LargeLongArray x = LargeLongArray.zeros(3, 3);
+    x.set(0, 1, 2);
+    LargeLongArray copy = x.transpose().copy();
+    assertTrue(copy.isContiguous());
+    assertEquals(2, copy.get(1, 0));
+    copy.set(0, 0, 1);
+    assertEquals(0, x.get(0, 0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAccessFreedArray() throws Exception {
+    LargeDoubleArray x = LargeDoubleArray.zeros(10);
+    DoubleArray view = x.asDoubleArray();
+    x.free();
+    view.get(0);
+  }
+
+  @Test
+  public void testMoreThanIntegerMaxValueElements() throws Exception {
+    // a sparse file; only the touched pages are allocated
+    Path path = folder.newFile().toPath();
+    long rows = (1L << 31) / 4 + 10;
+    LargeDoubleArray x =
+        MappedArrays.mapLargeDoubleArray(path, FileChannel.MapMode.READ_WRITE, 8, rows);
+    assertTrue(x.size() > Integer.MAX_VALUE);
+    x.set(7, rows - 1, 42);
+    x.set(x.size() - 2, 3);
+    assertEquals(42, x.get(x.size() - 1), 0);
+    assertEquals(3, x.get(6, rows - 1), 0);
+
+    DoubleArray column = x.select(1, rows - 1).asDoubleArray();
+    assertEquals(42, column.get(7), 0);
+    x.free();
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.BaseArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Isak Karlsson
+ */
+public class MappedArraysTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testWriteAndReadMappedArray() throws Exception {
+    Path path = folder.newFile().toPath();
+    DoubleArray x = MappedArrays.mapDoubleArray(path, FileChannel.MapMode.READ_WRITE, 3, 4);
+    x.getColumn(1).assign(2);
+    x.set(2, 3, 10);
+    MappedArrays.force(x);
+    OffHeapArrayBackend.free(x);
+    assertEquals(3 * 4 * 8, Files.size(path));
+
+    DoubleArray y = MappedArrays.mapDoubleArray(path, FileChannel.MapMode.READ_ONLY, 4, 3);
+    assertEquals(2, y.get(3), 0);
+    assertEquals(2, y.get(5), 0);
+    assertEquals(10, y.get(11), 0);
+    assertEquals(0, y.get(0), 0);
+  }
+
+  @Test
+  public void testViewsAreBackedByFile() throws Exception {
+    Path path = folder.newFile().toPath();
+    IntArray x = MappedArrays.mapIntArray(path, FileChannel.MapMode.READ_WRITE, 4, 4);
+    x.getView(1, 1, 2, 2).transpose().set(0, 1, 5);
+    x.reshape(16).set(0, 3);
+    x.getRow(3).assign(9);
+    MappedArrays.force(x);
+
+    IntArray y = MappedArrays.mapIntArray(path, FileChannel.MapMode.READ_ONLY, 16);
+    assertEquals(3, y.get(0));
+    assertEquals(5, y.get(6));
+    assertEquals(9, y.get(15));
+    assertEquals(9, y.get(7));
+  }
+
+  @Test
+  public void testByteOrderAndPosition() throws Exception {
+    Path path = folder.newFile().toPath();
+    LongArray x = MappedArrays.mapLongArray(path, FileChannel.MapMode.READ_WRITE, 4,
+        ByteOrder.BIG_ENDIAN, 2);
+    x.set(0, 1);
+    x.set(1, 42);
+    MappedArrays.force(x);
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+      assertEquals(0, in.readInt());
+      assertEquals(1, in.readLong());
+      assertEquals(42, in.readLong());
+    }
+  }
+
+  @Test(expected = ReadOnlyBufferException.class)
+  public void testReadOnlyArrayCannotBeModified() throws Exception {
+    Path path = folder.newFile().toPath();
+    Files.write(path, new byte[8 * 4]);
+    DoubleArray x = MappedArrays.mapDoubleArray(path, FileChannel.MapMode.READ_ONLY, 4);
+    x.set(0, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadOnlyFileTooSmall() throws Exception {
+    Path path = folder.newFile().toPath();
+    MappedArrays.mapDoubleArray(path, FileChannel.MapMode.READ_ONLY, 4);
+  }
+
+  @Test
+  public void testMapIdx() throws Exception {
+    Path path = folder.newFile().toPath();
+    IntArray x = Arrays.intVector(1, 4, 2, 5, 3, 200).reshape(2, 3);
+    try (OutputStream out = Files.newOutputStream(path)) {
+      Arrays.writeIdx(x, 0x08, out);
+    }
+
+    BaseArray<?> y = MappedArrays.mapIdx(path, FileChannel.MapMode.READ_WRITE);
+    assertEquals(x, y);
+    IntArray z = (IntArray) y;
+    z.set(0, 1, 7);
+    assertEquals(7, z.get(0, 1));
+    MappedArrays.force(z);
+    assertEquals(7, Files.readAllBytes(path)[4 + 2 * 4 + 1]);
+
+    try (OutputStream out = Files.newOutputStream(path)) {
+      Arrays.writeIdx(x.doubleArray(), 0x0D, out);
+    }
+    assertEquals(x.doubleArray(), MappedArrays.mapIdx(path, FileChannel.MapMode.READ_ONLY));
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.api.ArrayFactory;
+import org.junit.Test;
+
+/**
+ * @author Isak Karlsson
+ */
+public class OffHeapArenaTest {
+
+  @Test
+  public void testArraysAreFreedWhenArenaIsClosed() throws Exception {
+    DoubleArray x;
+    DoubleArray y;
+    try (OffHeapArena arena = OffHeapArena.open()) {
+      ArrayFactory factory = arena.getArrayFactory();
+      x = factory.newDoubleArray(10, 10);
+      x.assign(2);
+      y = x.map(v -> v * 2);
+      assertTrue(OffHeapArrayBackend.isOffHeap(y));
+      assertEquals(4, y.get(3, 3), 0);
+      assertEquals(2 * 100 * 8, arena.getAllocatedBytes());
+    }
+    assertFreed(x);
+    assertFreed(y);
+  }
+
+  @Test
+  public void testViewsShareMemory() throws Exception {
+    try (OffHeapArena arena = OffHeapArena.open()) {
+      IntArray x = arena.getArrayFactory().newIntArray(4, 4);
+      x.getRow(1).assign(3);
+      x.getView(2, 2, 2, 2).transpose().set(0, 1, 7);
+      assertEquals(3, x.get(1, 0));
+      assertEquals(7, x.get(3, 2));
+      assertEquals(4 * 4 * 4, arena.getAllocatedBytes());
+    }
+  }
+
+  @Test
+  public void testExplicitFree() throws Exception {
+    DoubleArray x = OffHeapArrayBackend.getInstance().getArrayFactory().newDoubleArray(10);
+    DoubleArray view = x.getView(Arrays.range(2, 4));
+    OffHeapArrayBackend.free(x);
+    assertFreed(view);
+  }
+
+  @Test
+  public void testClosingArenaReleasesDirectMemory() throws Exception {
+    long direct = directMemoryUsed();
+    try (OffHeapArena arena = OffHeapArena.open()) {
+      DoubleArray x = arena.getArrayFactory().newDoubleArray(1 << 22);
+      x.set(x.size() - 1, 3);
+      assertEquals(3, x.get(x.size() - 1), 0);
+      assertEquals(0, x.get(0), 0);
+      assertTrue(directMemoryUsed() - direct >= (8 << 22));
+    }
+    assertTrue(directMemoryUsed() - direct < (8 << 22));
+  }
+
+  @Test
+  public void testSliceIsBoundsChecked() throws Exception {
+    OffHeapMemory memory = new OffHeapMemory(10, 3);
+    OffHeapMemory slice = memory.slice(2, 4);
+    slice.putDouble(3, 1);
+    assertEquals(1, memory.getDouble(5), 0);
+    try {
+      slice.getDouble(4);
+      fail("read past the end of the slice");
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    try {
+      slice.putDouble(-1, 1);
+      fail("wrote before the start of the slice");
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    memory.free();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAllocateInClosedArena() throws Exception {
+    OffHeapArena arena = OffHeapArena.open();
+    arena.close();
+    arena.getArrayFactory().newDoubleArray(10);
+  }
+
+  private static long directMemoryUsed() {
+    for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+      if (pool.getName().equals("direct")) {
+        return pool.getMemoryUsed();
+      }
+    }
+    return 0;
+  }
+
+  private static void assertFreed(DoubleArray x) {
+    try {
+      x.get(0);
+    } catch (IllegalStateException e) {
+      return;
+    }
+    throw new AssertionError("memory not freed");
+  }
+}
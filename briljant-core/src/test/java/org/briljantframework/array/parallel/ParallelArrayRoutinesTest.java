@@ -0,0 +1,184 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.complex.Complex;
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.ComplexArray;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.IntArray;
+import org.briljantframework.array.LongArray;
+import org.briljantframework.array.api.ArrayRoutines;
+import org.briljantframework.array.netlib.NetlibArrayBackend;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * @author Isak Karlsson
+ */
+public class ParallelArrayRoutinesTest {
+
+  private static final ForkJoinPool pool = new ForkJoinPool(4);
+  private static final ArrayRoutines serial =
+      NetlibArrayBackend.getInstance().getArrayRoutines();
+  private static final ArrayRoutines parallel = new ParallelArrayRoutines(serial, pool, 64, 16);
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    pool.shutdown();
+  }
+
+  private static DoubleArray randn(int... shape) {
+    return Arrays.randn(java.util.Arrays.stream(shape).reduce(1, (a, b) -> a * b)).reshape(shape);
+  }
+
+  @Test
+  public void testElementWise() throws Exception {
+    DoubleArray a = randn(30, 40);
+    DoubleArray b = randn(40, 30).transpose();
+    assertEquals(serial.plus(a, b), parallel.plus(a, b));
+    assertEquals(serial.minus(a, b), parallel.minus(a, b));
+    assertEquals(serial.times(a, b), parallel.times(a, b));
+    assertEquals(serial.div(a, b), parallel.div(a, b));
+
+    DoubleArray expected = a.newEmptyArray(30, 40);
+    DoubleArray actual = a.newEmptyArray(40, 30).transpose();
+    serial.minus(a, b, expected);
+    parallel.minus(a, b, actual);
+    assertEquals(expected, actual);
+
+    assertEquals(serial.sin(a), parallel.sin(a));
+    assertEquals(serial.pow(a, 2), parallel.pow(a, 2));
+    assertEquals(serial.exp(b), parallel.exp(b));
+  }
+
+  @Test
+  public void testElementWiseFunctions() throws Exception {
+    DoubleArray a = randn(40, 30).transpose();
+    assertEquals(serial.sqrt(serial.abs(a)), parallel.sqrt(parallel.abs(a)));
+    assertEquals(serial.ceil(a), parallel.ceil(a));
+    assertEquals(serial.pow(a, 3), parallel.pow(a, 3));
+    assertEquals(serial.pow(a, 2.5), parallel.pow(a, 2.5));
+
+    ComplexArray c = Arrays.complexArray(20, 30);
+    for (int i = 0; i < c.size(); i++) {
+      c.set(i, new Complex(i, -i / 2.0));
+    }
+    assertEquals(serial.sin(c), parallel.sin(c));
+    assertEquals(serial.times(c, c), parallel.times(c, c));
+
+    LongArray l = Arrays.longArray(100, 10);
+    for (int i = 0; i < l.size(); i++) {
+      l.set(i, 3L * i - 1000);
+    }
+    assertEquals(serial.minus(l, l.transpose().copy().transpose()),
+        parallel.minus(l, l.transpose().copy().transpose()));
+    assertEquals(serial.times(l, l), parallel.times(l, l));
+  }
+
+  @Test
+  public void testDelegatedRoutinesUseThePool() throws Exception {
+    AtomicInteger workers = new AtomicInteger();
+    ForkJoinPool counting = new ForkJoinPool(2, p -> {
+      workers.incrementAndGet();
+      return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+    }, null, false);
+    try {
+      ArrayRoutines routines = new ParallelArrayRoutines(serial, counting, 64, 16);
+      DoubleArray x = randn(30, 40);
+      assertEquals(serial.cumsum(1, x), routines.cumsum(1, x));
+      assertTrue(workers.get() > 0);
+
+      DoubleArray c = x.newEmptyArray(30, 30);
+      routines.gemm(ArrayOperation.KEEP, ArrayOperation.TRANSPOSE, 1, x, x, 0, c);
+      DoubleArray expected = x.newEmptyArray(30, 30);
+      serial.gemm(ArrayOperation.KEEP, ArrayOperation.TRANSPOSE, 1, x, x, 0, expected);
+      assertEquals(expected, c);
+    } finally {
+      counting.shutdown();
+    }
+  }
+
+  @Test
+  public void testIntElementWise() throws Exception {
+    IntArray a = Arrays.range(1000).reshape(10, 100);
+    IntArray b = Arrays.range(1000).map(x -> x % 7 + 1).reshape(100, 10).transpose();
+    assertEquals(serial.div(a, b), parallel.div(a, b));
+
+    IntArray expected = a.copy();
+    IntArray actual = a.copy();
+    serial.minusAssign(b, expected);
+    parallel.minusAssign(b, actual);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testReductions() throws Exception {
+    DoubleArray x = randn(1000);
+    assertEquals(serial.sum(x), parallel.sum(x), 1e-10);
+    assertEquals(serial.mean(x), parallel.mean(x), 1e-10);
+    assertEquals(serial.var(x), parallel.var(x), 1e-10);
+    assertEquals(serial.std(x), parallel.std(x), 1e-10);
+    assertEquals(serial.min(x), parallel.min(x), 0);
+    assertEquals(serial.max(x), parallel.max(x), 0);
+    assertEquals(serial.inner(x, x), parallel.inner(x, x), 1e-10);
+
+    DoubleArray view = randn(3, 1000).getRow(1);
+    assertEquals(serial.sum(view), parallel.sum(view), 1e-10);
+    assertEquals(serial.var(view), parallel.var(view), 1e-10);
+
+    IntArray i = Arrays.range(1000);
+    assertEquals(serial.sum(i), parallel.sum(i));
+    assertEquals(serial.max(i), parallel.max(i));
+  }
+
+  @Test
+  public void testDimensionReductions() throws Exception {
+    DoubleArray x = randn(20, 30);
+    for (int dim = 0; dim < 2; dim++) {
+      assertEquals(serial.sum(dim, x), parallel.sum(dim, x));
+      assertEquals(serial.mean(dim, x), parallel.mean(dim, x));
+      assertEquals(serial.var(dim, x), parallel.var(dim, x));
+      assertEquals(serial.min(dim, x), parallel.min(dim, x));
+    }
+    IntArray y = Arrays.range(600).reshape(20, 30);
+    assertEquals(serial.sum(1, y), parallel.sum(1, y));
+
+    DoubleArray z = randn(4, 5, 6);
+    for (int dim = 0; dim < 3; dim++) {
+      assertEquals(serial.max(dim, z), parallel.max(dim, z));
+    }
+  }
+
+  @Test
+  public void testSmallArraysAreDelegated() throws Exception {
+    DoubleArray x = Arrays.doubleVector(1, 2, 3);
+    assertEquals(6, parallel.sum(x), 0);
+    assertEquals(Arrays.doubleVector(2, 4, 6), parallel.plus(x, x));
+  }
+}
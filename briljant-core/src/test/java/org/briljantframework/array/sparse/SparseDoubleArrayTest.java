@@ -0,0 +1,137 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.array.sparse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.briljantframework.array.ArrayOperation;
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.data.Na;
+import org.briljantframework.data.dataframe.DataFrame;
+import org.briljantframework.data.series.Series;
+import org.junit.Test;
+
+public class SparseDoubleArrayTest {
+
+  private static final DoubleArray DENSE = Arrays.doubleMatrix(new double[][] {
+      {0, 2, 0, 0},
+      {1, 0, 0, 3},
+      {0, 0, 0, 0},
+      {4, 0, 5, 0},
+      {0, 6, 0, 7}});
+
+  @Test
+  public void testCooBuilder() throws Exception {
+    CooBuilder builder = new CooBuilder(5, 4);
+    builder.add(4, 3, 7).add(3, 0, 4).add(0, 1, 1).add(1, 0, 1).add(0, 1, 1).add(3, 2, 5);
+    builder.add(1, 3, 3).add(4, 1, 6).add(2, 2, 1).add(2, 2, -1);
+    CsrDoubleArray csr = builder.toCsr();
+    CscDoubleArray csc = builder.toCsc();
+    assertEquals(7, csr.nonZeros());
+    assertEquals(7, csc.nonZeros());
+    assertEquals(DENSE, csr);
+    assertEquals(DENSE, csc);
+    assertEquals(DENSE, csr.toCsc().toDense());
+    assertEquals(DENSE, csc.toCsr());
+  }
+
+  @Test
+  public void testViews() throws Exception {
+    CsrDoubleArray csr = SparseArrays.toCsr(DENSE);
+    CscDoubleArray csc = SparseArrays.toCsc(DENSE);
+
+    assertTrue(csr.transpose() instanceof CscDoubleArray);
+    assertEquals(DENSE.transpose(), csr.transpose());
+    assertEquals(DENSE.transpose(), csc.transpose());
+
+    assertTrue(csr.getRow(3) instanceof CsrDoubleArray);
+    assertEquals(DENSE.getRow(3), csr.getRow(3));
+    assertTrue(csr.getView(1, 0, 3, 4) instanceof CsrDoubleArray);
+    assertEquals(DENSE.getView(1, 0, 3, 4), csr.getView(1, 0, 3, 4));
+    assertTrue(csc.getColumn(1) instanceof CscDoubleArray);
+    assertEquals(DENSE.getColumn(1), csc.getColumn(1));
+    assertEquals(3, ((SparseDoubleArray) csc.getView(0, 1, 5, 2)).nonZeros());
+
+    // views which are not sparse are read through the sparse array
+    assertEquals(DENSE.getColumn(3), csr.getColumn(3));
+    assertEquals(DENSE.getView(1, 1, 3, 2), csc.getView(1, 1, 3, 2));
+    assertEquals(DENSE.reshape(4, 5), csr.reshape(4, 5));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadOnly() throws Exception {
+    SparseArrays.toCsr(DENSE).set(0, 0, 1);
+  }
+
+  @Test
+  public void testGemv() throws Exception {
+    DoubleArray x = Arrays.doubleVector(1, 2, 3, 4);
+    DoubleArray z = Arrays.doubleVector(1, 2, 3, 4, 5);
+    for (SparseDoubleArray a : new SparseDoubleArray[] {SparseArrays.toCsr(DENSE),
+        SparseArrays.toCsc(DENSE)}) {
+      DoubleArray expected = Arrays.doubleVector(1, 1, 1, 1, 1);
+      DoubleArray actual = expected.copy();
+      Arrays.gemv(ArrayOperation.KEEP, 2, DENSE, x, 0.5, expected);
+      Arrays.gemv(ArrayOperation.KEEP, 2, a, x, 0.5, actual);
+      assertEquals(expected, actual);
+
+      expected = Arrays.doubleVector(0, 0, 0, 0);
+      actual = expected.copy();
+      Arrays.gemv(ArrayOperation.TRANSPOSE, 1, DENSE, z, 0, expected);
+      Arrays.gemv(ArrayOperation.TRANSPOSE, 1, a, z, 0, actual);
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testGemm() throws Exception {
+    DoubleArray b = Arrays.linspace(-1, 1, 12).reshape(4, 3);
+    DoubleArray bt = b.transpose().copy();
+    for (SparseDoubleArray a : new SparseDoubleArray[] {SparseArrays.toCsr(DENSE),
+        SparseArrays.toCsc(DENSE)}) {
+      assertEquals(Arrays.dot(DENSE, b), Arrays.dot(a, b));
+      assertEquals(Arrays.dot(DENSE, b), Arrays.dot(ArrayOperation.KEEP,
+          ArrayOperation.TRANSPOSE, a, bt));
+      assertEquals(Arrays.dot(DENSE.transpose(), DENSE), Arrays.dot(ArrayOperation.TRANSPOSE,
+          ArrayOperation.KEEP, a, DENSE));
+
+      // dense times sparse
+      assertEquals(Arrays.dot(bt, DENSE.transpose()), Arrays.dot(bt, a.transpose()));
+      assertEquals(Arrays.dot(DENSE.transpose(), DENSE), Arrays.dot(ArrayOperation.TRANSPOSE,
+          ArrayOperation.KEEP, DENSE, a));
+
+      // sparse times sparse
+      assertEquals(Arrays.dot(DENSE.transpose(), DENSE), Arrays.dot(a.transpose(), a));
+    }
+  }
+
+  @Test
+  public void testToCscFromDataFrame() throws Exception {
+    DataFrame df = DataFrame.of("a", Series.of(Na.DOUBLE, 1.0, Na.DOUBLE), "b",
+        Series.of(Na.DOUBLE, Na.DOUBLE, Na.DOUBLE),
+        "c", Series.of(2.0, 0.0, 3.0));
+    CscDoubleArray x = SparseArrays.toCsc(df);
+    assertEquals(3, x.nonZeros());
+    assertEquals(Arrays.doubleMatrix(new double[][] {{0, 0, 2}, {1, 0, 0}, {0, 0, 3}}), x);
+  }
+}
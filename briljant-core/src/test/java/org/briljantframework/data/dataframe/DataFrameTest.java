@@ -22,6 +22,7 @@ package org.briljantframework.data.dataframe;
 
 import static org.briljantframework.data.Collectors.toDataFrame;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -29,6 +30,7 @@ import java.util.*;
 import java.util.Arrays;
 import java.util.function.Supplier;
 
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.briljantframework.array.*;
 import org.briljantframework.data.Collectors;
 import org.briljantframework.data.Is;
@@ -203,6 +205,49 @@ public abstract class DataFrameTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testSummary() throws Exception {
+    Random random = new Random(123);
+    DataFrame.Builder builder = getBuilder();
+    for (int c = 0; c < 12; c++) {
+      Series.Builder column;
+      if (c % 3 == 0) {
+        column = Series.Builder.of(String.class);
+        for (int i = 0; i < 5000; i++) {
+          column.add(i % 17 == 0 ? null : "v" + random.nextInt(20));
+        }
+      } else if (c % 3 == 1) {
+        column = Series.Builder.of(Integer.class);
+        for (int i = 0; i < 5000; i++) {
+          column.add(i % 13 == 0 ? Na.INT : random.nextInt(50));
+        }
+      } else {
+        column = Series.Builder.of(Double.class);
+        for (int i = 0; i < 5000; i++) {
+          column.add(i % 11 == 0 ? Na.DOUBLE : random.nextGaussian());
+        }
+      }
+      builder.setColumn("c" + c, column);
+    }
+    DataFrame df = builder.build();
+    DataFrame summary = DataFrames.summary(df);
+
+    for (Object key : df.getColumnIndex()) {
+      Series column = df.get(key);
+      assertEquals(column.collect(Collectors.mode()), summary.get(key, "mode"));
+      if (Is.numeric(column)) {
+        StatisticalSummary expected = SeriesUtils.statisticalSummary(column);
+        assertEquals(expected.getMean(), summary.getDouble(key, "mean"), 1e-10);
+        assertEquals(expected.getVariance(), summary.getDouble(key, "var"), 1e-10);
+        assertEquals(expected.getStandardDeviation(), summary.getDouble(key, "std"), 1e-10);
+        assertEquals(expected.getMin(), summary.getDouble(key, "min"), 0);
+        assertEquals(expected.getMax(), summary.getDouble(key, "max"), 0);
+      } else {
+        assertTrue(Is.NA(summary.getDouble(key, "mean")));
+      }
+    }
+  }
+
   @Test
   @Ignore
   public void testStream() throws Exception {
@@ -29,6 +29,9 @@ import java.util.List;
 
 import org.apache.commons.math3.complex.Complex;
 import org.briljantframework.data.Logical;
+import org.briljantframework.data.Na;
+import org.briljantframework.data.index.HashIndex;
+import org.briljantframework.data.index.Index;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -48,6 +51,17 @@ public class VectorsTest {
 
   }
 
+  @Test
+  public void testCumulative() throws Exception {
+    Index index = HashIndex.of("a", "b", "c", "d");
+    Series v = Series.of(3.0, Na.DOUBLE, 1.0, 5.0).reindex(index);
+    assertEquals(Series.of(3.0, Na.DOUBLE, 4.0, 9.0).reindex(index), v.cumsum());
+    assertEquals(Series.of(3.0, Na.DOUBLE, 3.0, 15.0).reindex(index), v.cumprod());
+    assertEquals(Series.of(3.0, Na.DOUBLE, 1.0, 1.0).reindex(index), v.cummin());
+    assertEquals(Series.of(3.0, Na.DOUBLE, 3.0, 5.0).reindex(index), v.cummax());
+    assertEquals(9.0, v.cumsum().getDouble("d"), 0);
+  }
+
   @Before
   public void setUp() throws Exception {
     vec6 = DoubleSeries.of(1.0, 2, 3, 4, 5, 6);
@@ -0,0 +1,90 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.junit.Test;
+
+/**
+ * @author Isak Karlsson
+ */
+public class FastStatisticsTest {
+
+  @Test
+  public void testCombine() throws Exception {
+    double[] values = new Random(123).doubles(1001).toArray();
+    FastStatistics expected = new FastStatistics();
+    FastStatistics left = new FastStatistics();
+    FastStatistics right = new FastStatistics();
+    for (int i = 0; i < values.length; i++) {
+      expected.addValue(values[i]);
+      (i < 300 ? left : right).addValue(values[i]);
+    }
+    assertSummaryEquals(expected, left.combine(right));
+  }
+
+  @Test
+  public void testCombine_Empty() throws Exception {
+    FastStatistics s = new FastStatistics();
+    s.addValue(1);
+    s.addValue(3);
+    assertSummaryEquals(s, new FastStatistics().combine(s));
+    assertEquals(2, s.combine(new FastStatistics()).getN());
+  }
+
+  @Test
+  public void testAddAll_Parallel() throws Exception {
+    DoubleArray x = Arrays.rand(1 << 17);
+    FastStatistics expected = new FastStatistics();
+    x.forEachDouble(expected::addValue);
+
+    FastStatistics actual = new FastStatistics();
+    actual.addAll(x);
+    assertSummaryEquals(expected, actual);
+  }
+
+  @Test
+  public void testCollect_ParallelStream() throws Exception {
+    double[] values = new Random(321).doubles(1 << 17).toArray();
+    FastStatistics expected = new FastStatistics();
+    for (double v : values) {
+      expected.addValue(v);
+    }
+    FastStatistics actual = DoubleStream.of(values).parallel()
+        .collect(FastStatistics::new, FastStatistics::addValue, FastStatistics::combine);
+    assertSummaryEquals(expected, actual);
+  }
+
+  private static void assertSummaryEquals(FastStatistics expected, FastStatistics actual) {
+    assertEquals(expected.getN(), actual.getN());
+    assertEquals(expected.getMean(), actual.getMean(), 1e-9);
+    assertEquals(expected.getVariance(), actual.getVariance(), 1e-9);
+    assertEquals(expected.getSum(), actual.getSum(), 1e-6);
+    assertEquals(expected.getMin(), actual.getMin(), 0);
+    assertEquals(expected.getMax(), actual.getMax(), 0);
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.math.transform;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.DoubleArray;
+import org.briljantframework.array.Range;
+import org.junit.Test;
+
+public class ConvolutionTest {
+
+  private final Random random = new Random(123);
+
+  @Test
+  public void testConvolve_Modes() throws Exception {
+    DoubleArray a = DoubleArray.of(1, 2, 3);
+    DoubleArray v = DoubleArray.of(0, 1, 0.5);
+    assertEquals(DoubleArray.of(0, 1, 2.5, 4, 1.5), Convolution.convolve(a, v));
+    assertEquals(DoubleArray.of(1, 2.5, 4), Convolution.convolve(a, v, ConvolutionMode.SAME));
+    assertEquals(DoubleArray.of(2.5), Convolution.convolve(a, v, ConvolutionMode.VALID));
+    assertEquals(DoubleArray.of(3.5), Convolution.correlate(a, v));
+    assertEquals(DoubleArray.of(0.5, 2, 3.5, 3, 0),
+        Convolution.correlate(a, v, ConvolutionMode.FULL));
+  }
+
+  @Test
+  public void testConvolve() throws Exception {
+    int[][] sizes = {{5, 3}, {100, 100}, {300, 500}, {5000, 200}, {200, 5000}, {1000, 70}};
+    for (int[] size : sizes) {
+      DoubleArray a = random(size[0]);
+      DoubleArray v = random(size[1]);
+      DoubleArray full = naive(a, v);
+      for (ConvolutionMode mode : ConvolutionMode.values()) {
+        int offset = mode.offset(size[0], size[1]);
+        int length = mode.size(size[0], size[1]);
+        assertArrayEquals(full.get(range(offset, length)), Convolution.convolve(a, v, mode));
+      }
+    }
+  }
+
+  @Test
+  public void testCorrelate() throws Exception {
+    DoubleArray a = random(700);
+    DoubleArray v = random(300);
+    DoubleArray full = Convolution.correlate(a, v, ConvolutionMode.FULL);
+    for (int k = 0; k < full.size(); k++) {
+      int lag = k - (v.size() - 1);
+      double sum = 0;
+      for (int j = 0; j < v.size(); j++) {
+        if (j + lag >= 0 && j + lag < a.size()) {
+          sum += a.get(j + lag) * v.get(j);
+        }
+      }
+      assertEquals(sum, full.get(k), 1e-9);
+    }
+  }
+
+  @Test
+  public void testAutocorrelate() throws Exception {
+    for (int n : new int[] {10, 2000}) {
+      DoubleArray x = random(n);
+      DoubleArray r = Convolution.autocorrelate(x);
+      assertEquals(n, r.size());
+      for (int lag = 0; lag < n; lag += 7) {
+        double sum = 0;
+        for (int j = 0; j + lag < n; j++) {
+          sum += x.get(j) * x.get(j + lag);
+        }
+        assertEquals(sum, r.get(lag), 1e-9);
+      }
+      DoubleArray full = Convolution.autocorrelate(x, ConvolutionMode.FULL);
+      assertArrayEquals(r, full.get(range(n - 1, n)));
+    }
+  }
+
+  @Test
+  public void testOverlapAdd() throws Exception {
+    DoubleArray signal = random(1 << 17);
+    DoubleArray kernel = random(100);
+    DoubleArray full = Convolution.convolve(signal, kernel);
+
+    OverlapAdd filter = new OverlapAdd(kernel);
+    int offset = 0;
+    for (int block : new int[] {1, 999, 50_000, 80_072}) {
+      DoubleArray out = filter.process(signal.get(range(offset, block)));
+      assertArrayEquals(full.get(range(offset, block)), out);
+      offset += block;
+    }
+    assertArrayEquals(full.get(range(offset, kernel.size() - 1)), filter.flush());
+  }
+
+  private static DoubleArray naive(DoubleArray a, DoubleArray v) {
+    DoubleArray c = DoubleArray.zeros(a.size() + v.size() - 1);
+    for (int i = 0; i < a.size(); i++) {
+      for (int j = 0; j < v.size(); j++) {
+        c.set(i + j, c.get(i + j) + a.get(i) * v.get(j));
+      }
+    }
+    return c;
+  }
+
+  private static void assertArrayEquals(DoubleArray expected, DoubleArray actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), actual.get(i), 1e-9);
+    }
+  }
+
+  private static Range range(int offset, int length) {
+    return Arrays.range(offset, offset + length);
+  }
+
+  private DoubleArray random(int n) {
+    DoubleArray x = DoubleArray.zeros(n);
+    x.assign(random::nextGaussian);
+    return x;
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.math.transform;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.briljantframework.array.Arrays;
+import org.briljantframework.array.ComplexArray;
+import org.briljantframework.array.DoubleArray;
+import org.junit.Test;
+
+public class DiscreteFourierTransformTest {
+
+  private static final int[] SIZES = {1, 2, 3, 4, 5, 6, 7, 8, 12, 17, 64, 100, 127};
+
+  private final Random random = new Random(123);
+
+  @Test
+  public void testFft() throws Exception {
+    for (int n : SIZES) {
+      ComplexArray x = randomComplex(n);
+      assertComplexEquals(dft(x, false), DiscreteFourierTransform.fft(x), 1e-9);
+      assertComplexEquals(dft(x, true), DiscreteFourierTransform.ifft(x), 1e-9);
+    }
+  }
+
+  @Test
+  public void testFft_RealInput() throws Exception {
+    for (int n : SIZES) {
+      DoubleArray x = randomDouble(n);
+      ComplexArray expected = dft(x.complexArray(), false);
+      assertComplexEquals(expected, DiscreteFourierTransform.fft(x), 1e-9);
+
+      ComplexArray half = DiscreteFourierTransform.rfft(x);
+      assertEquals(n / 2 + 1, half.size());
+      assertComplexEquals(expected.get(Arrays.range(n / 2 + 1)), half, 1e-9);
+
+      DoubleArray inverse = DiscreteFourierTransform.irfft(half, n);
+      for (int i = 0; i < n; i++) {
+        assertEquals(x.get(i), inverse.get(i), 1e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testFft_RealInputKeepsShape() throws Exception {
+    DoubleArray x = randomDouble(12).reshape(3, 4);
+    ComplexArray transform = DiscreteFourierTransform.fft(x);
+    assertArrayEquals(x.getShape(), transform.getShape());
+    assertArrayEquals(DiscreteFourierTransform.fft(x.complexArray()).getShape(),
+        transform.getShape());
+    assertComplexEquals(dft(x.complexArray(), false), transform, 1e-9);
+  }
+
+  @Test
+  public void testFft_Large() throws Exception {
+    for (int n : new int[] {1 << 17, 100_003}) {
+      ComplexArray x = randomComplex(n);
+      ComplexArray inverse = DiscreteFourierTransform.ifft(DiscreteFourierTransform.fft(x));
+      assertComplexEquals(x, inverse, 1e-9);
+    }
+  }
+
+  @Test
+  public void testFft_Dimension() throws Exception {
+    ComplexArray x = ComplexArray.zeros(12, 2000);
+    for (int i = 0; i < x.size(); i++) {
+      x.set(i, random.nextGaussian(), random.nextGaussian());
+    }
+    for (int dim = 0; dim < 2; dim++) {
+      ComplexArray transform = DiscreteFourierTransform.fft(dim, x);
+      ComplexArray inverse = DiscreteFourierTransform.ifft(dim, transform);
+      for (int i = 0; i < x.vectors(dim); i += 97) {
+        assertComplexEquals(DiscreteFourierTransform.fft(x.getVector(dim, i)),
+            transform.getVector(dim, i), 1e-9);
+      }
+      assertComplexEquals(x, inverse, 1e-9);
+    }
+  }
+
+  @Test
+  public void testRfft_Dimension() throws Exception {
+    DoubleArray x = DoubleArray.zeros(15, 1000);
+    x.assign(random::nextGaussian);
+    for (int dim = 0; dim < 2; dim++) {
+      int n = x.size(dim);
+      ComplexArray transform = DiscreteFourierTransform.rfft(dim, x);
+      assertEquals(n / 2 + 1, transform.size(dim));
+      for (int i = 0; i < x.vectors(dim); i += 89) {
+        assertComplexEquals(DiscreteFourierTransform.rfft(x.getVector(dim, i)),
+            transform.getVector(dim, i), 1e-9);
+      }
+      DoubleArray inverse = DiscreteFourierTransform.irfft(dim, transform, n);
+      for (int i = 0; i < x.size(); i++) {
+        assertEquals(x.get(i), inverse.get(i), 1e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testPlanIsCached() throws Exception {
+    assertEquals(FftPlan.of(96), FftPlan.of(96));
+    assertEquals(96, FftPlan.of(96).size());
+  }
+
+  private static ComplexArray dft(ComplexArray x, boolean inverse) {
+    int n = x.size();
+    ComplexArray out = ComplexArray.zeros(n);
+    double sign = inverse ? 1 : -1;
+    for (int k = 0; k < n; k++) {
+      double re = 0, im = 0;
+      for (int j = 0; j < n; j++) {
+        double angle = sign * 2 * Math.PI * ((long) j * k % n) / n;
+        double cos = Math.cos(angle), sin = Math.sin(angle);
+        re += x.getReal(j) * cos - x.getImaginary(j) * sin;
+        im += x.getReal(j) * sin + x.getImaginary(j) * cos;
+      }
+      out.set(k, inverse ? re / n : re, inverse ? im / n : im);
+    }
+    return out;
+  }
+
+  private static void assertComplexEquals(ComplexArray expected, ComplexArray actual,
+      double epsilon) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.getReal(i), actual.getReal(i), epsilon);
+      assertEquals(expected.getImaginary(i), actual.getImaginary(i), epsilon);
+    }
+  }
+
+  private ComplexArray randomComplex(int n) {
+    ComplexArray x = ComplexArray.zeros(n);
+    for (int i = 0; i < n; i++) {
+      x.set(i, random.nextGaussian(), random.nextGaussian());
+    }
+    return x;
+  }
+
+  private DoubleArray randomDouble(int n) {
+    DoubleArray x = DoubleArray.zeros(n);
+    x.assign(random::nextGaussian);
+    return x;
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.util.sort;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class ArgSortTest {
+
+  @Test
+  public void testArgsortDouble() throws Exception {
+    double[] values = {2, Double.NaN, 1, -0.0, 2, Double.NEGATIVE_INFINITY, 1};
+    assertArrayEquals(new int[] {5, 3, 2, 6, 0, 4, 1}, ArgSort.argsort(values, true, true));
+    assertArrayEquals(new int[] {1, 5, 3, 2, 6, 0, 4}, ArgSort.argsort(values, true, false));
+    assertArrayEquals(new int[] {0, 4, 2, 6, 3, 5, 1}, ArgSort.argsort(values, false, true));
+    assertArrayEquals(new int[] {1, 0, 4, 2, 6, 3, 5}, ArgSort.argsort(values, false, false));
+  }
+
+  @Test
+  public void testArgsortIntAndLong() throws Exception {
+    int[] ints = {3, Integer.MIN_VALUE, -1, 3, Integer.MAX_VALUE};
+    assertArrayEquals(new int[] {1, 2, 0, 3, 4}, ArgSort.argsort(ints, true));
+    assertArrayEquals(new int[] {4, 0, 3, 2, 1}, ArgSort.argsort(ints, false));
+    long[] longs = {3, Long.MIN_VALUE, -1, 3, Long.MAX_VALUE};
+    assertArrayEquals(new int[] {1, 2, 0, 3, 4}, ArgSort.argsort(longs, true));
+    assertArrayEquals(new int[] {4, 0, 3, 2, 1}, ArgSort.argsort(longs, false));
+  }
+
+  @Test
+  public void testArgsortLargeIsStable() throws Exception {
+    Random random = new Random(123);
+    for (int size : new int[] {1000, 300000}) {
+      int[] values = random.ints(size, -50, 50).toArray();
+      int[] expected = IntStream.range(0, size).boxed()
+          .sorted(Comparator.comparingInt(i -> values[i])).mapToInt(Integer::intValue).toArray();
+      assertArrayEquals(expected, ArgSort.argsort(values, true));
+
+      double[] doubles = random.doubles(size).toArray();
+      int[] order = ArgSort.argsort(doubles, false, true);
+      for (int i = 1; i < order.length; i++) {
+        assertTrue(doubles[order[i - 1]] >= doubles[order[i]]);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Isak Karlsson
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.briljantframework.util.sort;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RadixSortTest {
+
+  private static final int[] SIZES = {0, 1, 100, 5000, 300000};
+
+  @Test
+  public void testSortInt() throws Exception {
+    Random random = new Random(123);
+    for (int size : SIZES) {
+      int[] actual = random.ints(size).toArray();
+      if (size > 0) {
+        actual[0] = Integer.MIN_VALUE;
+      }
+      int[] expected = actual.clone();
+      RadixSort.sort(actual, 0, size);
+      Arrays.sort(expected);
+      assertArrayEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testSortLongRange() throws Exception {
+    Random random = new Random(123);
+    long[] actual = random.longs(10000).toArray();
+    long[] expected = actual.clone();
+    RadixSort.sort(actual, 100, 9000);
+    Arrays.sort(expected, 100, 9000);
+    assertArrayEquals(expected, actual);
+
+    // a pass where all elements share the same digit is skipped
+    actual = random.longs(300000, 0, 1000).toArray();
+    expected = actual.clone();
+    RadixSort.sort(actual, 0, actual.length);
+    Arrays.sort(expected);
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  public void testSortDouble() throws Exception {
+    Random random = new Random(123);
+    for (int size : SIZES) {
+      double[] actual = random.doubles(size, -100, 100).toArray();
+      double[] special = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+          Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE};
+      for (int i = 0; i < Math.min(size, special.length); i++) {
+        actual[random.nextInt(size)] = special[i];
+      }
+      double[] expected = actual.clone();
+      RadixSort.sort(actual, 0, size);
+      Arrays.sort(expected);
+      assertArrayEquals(expected, actual, 0);
+    }
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testSortIllegalRange() throws Exception {
+    RadixSort.sort(new int[10], 0, 11);
+  }
+}
@@ -96,6 +96,41 @@ public class JCudaArrayFactory implements ArrayFactory {
     return null;
   }
 
+  @Override
+  public ByteArray newByteVector(byte... data) {
+    return null;
+  }
+
+  @Override
+  public ByteArray newByteArray(int... shape) {
+    return null;
+  }
+
+  @Override
+  public ShortArray newShortVector(short... data) {
+    return null;
+  }
+
+  @Override
+  public ShortArray newShortArray(int... shape) {
+    return null;
+  }
+
+  @Override
+  public FloatArray newFloatMatrix(float[][] data) {
+    return null;
+  }
+
+  @Override
+  public FloatArray newFloatVector(float... data) {
+    return null;
+  }
+
+  @Override
+  public FloatArray newFloatArray(int... shape) {
+    return null;
+  }
+
   @Override
   public DoubleArray newDoubleMatrix(double[][] data) {
     return null;